@@ -83,7 +83,7 @@ public class ApiCatalogController {
                 return new ResponseEntity<>(apiContainers, HttpStatus.NO_CONTENT);
             } else {
                 // for each container, check the status of all it's services so it's overall status can be set here
-                apiContainers.forEach(cachedProductFamilyService::calculateContainerServiceValues);
+                apiContainers.replaceAll(cachedProductFamilyService::calculateContainerServiceValues);
                 return new ResponseEntity<>(apiContainers, HttpStatus.OK);
             }
         } catch (Exception e) {
@@ -109,15 +109,11 @@ public class ApiCatalogController {
             List<APIContainer> apiContainers = new ArrayList<>();
             APIContainer containerById = cachedProductFamilyService.getContainerById(id);
             if (containerById != null) {
-                apiContainers.add(containerById);
-            }
-            if (!apiContainers.isEmpty()) {
-                apiContainers.forEach(apiContainer -> {
-                    // For this single container, check the status of all it's services so it's overall status can be set here
-                    cachedProductFamilyService.calculateContainerServiceValues(apiContainer);
-                    // add API Doc to the services to improve UI performance
-                    setApiDocToService(apiContainer);
-                });
+                // For this single container, check the status of all it's services so it's overall status can be set here
+                APIContainer apiContainer = cachedProductFamilyService.calculateContainerServiceValues(containerById);
+                // add API Doc to the services (of the copy) to improve UI performance
+                setApiDocToService(apiContainer);
+                apiContainers.add(apiContainer);
             }
             return new ResponseEntity<>(apiContainers, HttpStatus.OK);
         } catch (Exception e) {
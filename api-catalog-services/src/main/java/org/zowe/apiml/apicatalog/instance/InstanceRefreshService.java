@@ -22,7 +22,9 @@ import org.zowe.apiml.apicatalog.services.cached.CachedServicesService;
 import org.zowe.apiml.message.log.ApimlLogger;
 import org.zowe.apiml.product.logging.annotations.InjectApimlLogger;
 
+import javax.annotation.PreDestroy;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.*;
 
@@ -30,19 +32,37 @@ import static org.zowe.apiml.constants.EurekaMetadataDefinition.CATALOG_ID;
 
 /**
  * Refresh the cache with the latest state of the discovery service
- * Use deltas to get latest changes from Eureka
+ * Use deltas to get latest changes from Eureka. The version of the delta is shared by all deltas generated by the
+ * discovery service, so the versions of the fetched deltas are not contiguous. As in the Eureka client, the state of
+ * the registry after the delta is reconciled with the hash code of the registry provided in the delta. If they differ
+ * (i.e. a change was missed or the discovery service was restarted), the whole registry is fetched instead.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class InstanceRefreshService {
 
+    private static final long REFRESH_TIMEOUT_SECONDS = 20;
+
     // until versioning is implemented, only v1 API docs are supported
     private final CachedProductFamilyService cachedProductFamilyService;
     private final CachedServicesService cachedServicesService;
     private final InstanceRetrievalService instanceRetrievalService;
     private boolean isStarted = false;
 
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<Set<String>> runningRefresh;
+
+    /**
+     * State of the registry as provided by the discovery service (without the instances kept DOWN by the catalog),
+     * null until the whole registry is fetched. It is used only by the refresh thread.
+     */
+    private Applications registry;
+
     @InjectApimlLogger
     private final ApimlLogger apimlLog = ApimlLogger.empty();
 
@@ -54,6 +74,11 @@ public class InstanceRefreshService {
         log.info("InstanceRefreshService started");
     }
 
+    @PreDestroy
+    public void stop() {
+        executorService.shutdownNow();
+    }
+
     /**
      * Periodically refresh the container/service caches
      * Depends on the GatewayClient: no refreshes happen when it's not initialized
@@ -67,20 +92,19 @@ public class InstanceRefreshService {
             return;
         }
 
-        log.debug("Refreshing API Catalog with the latest state of discovery service");
+        if ((runningRefresh != null) && !runningRefresh.isDone()) {
+            log.debug("Previous refresh of API Catalog is still running. Skip refresh.");
+            return;
+        }
 
-        Callable<Set<String>> callableTask = this::compareServices;
+        log.debug("Refreshing API Catalog with the latest state of discovery service");
 
         // run the comparison in a separate thread
-        ExecutorService executorService =
-            new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>());
-        Future<Set<String>> future = executorService.submit(callableTask);
-        executorService.shutdown();
+        runningRefresh = executorService.submit(this::compareServices);
 
         try {
             // get result of future, wait 20 secs for a result , if nothing then throw an exception but continue processing
-            final Set<String> containersUpdated = future.get(20, TimeUnit.SECONDS);
+            final Set<String> containersUpdated = runningRefresh.get(REFRESH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
             if (containersUpdated.isEmpty()) {
                 log.debug("No containers updated from discovered services.");
             } else {
@@ -102,34 +126,90 @@ public class InstanceRefreshService {
     private Set<String> compareServices() {
         // Updated containers
         Set<String> containersUpdated = new HashSet<>();
-        Applications cachedServices = cachedServicesService.getAllCachedServices();
         Applications deltaFromDiscovery = instanceRetrievalService.getAllInstancesFromDiscovery(true);
 
         if (deltaFromDiscovery != null && !deltaFromDiscovery.getRegisteredApplications().isEmpty()) {
             // use the version to check if this delta has changed, it is deprecated and should be replaced as soon as a
             // newer identifier is provided by Netflix
             // if getVersion is removed then the process will be slightly more inefficient but will not need to change
-            if (cachedServicesService.getVersionDelta() != deltaFromDiscovery.getVersion()) {
-                containersUpdated = processServiceInstances(cachedServices, deltaFromDiscovery);
+            long lastVersion = cachedServicesService.getVersionDelta();
+            long version = deltaFromDiscovery.getVersion();
+            if (lastVersion == version) {
+                return containersUpdated;
+            }
+
+            if (lastVersion == 0 || isReconciled(deltaFromDiscovery)) {
+                containersUpdated = processServiceInstances(deltaFromDiscovery);
+            } else {
+                log.debug("Registry after the delta version {} differs from the discovery service, refreshing all services", version);
+                containersUpdated = processAllServices();
             }
-            cachedServicesService.setVersionDelta(deltaFromDiscovery.getVersion());
+            cachedServicesService.setVersionDelta(version);
         }
         return containersUpdated;
     }
 
+    /**
+     * Apply the delta to the known state of the registry and compare it with the hash code of the registry in
+     * the discovery service
+     *
+     * @param delta retrieved from Eureka
+     * @return true if the registry is consistent after the delta
+     */
+    private boolean isReconciled(Applications delta) {
+        if (registry == null) {
+            return false;
+        }
+
+        for (Application app : delta.getRegisteredApplications()) {
+            for (InstanceInfo instance : app.getInstances()) {
+                Application registeredApp = registry.getRegisteredApplications(instance.getAppName());
+                if (InstanceInfo.ActionType.DELETED.equals(instance.getActionType())) {
+                    if (registeredApp != null) {
+                        registeredApp.removeInstance(instance);
+                        if (registeredApp.getInstancesAsIsFromEureka().isEmpty()) {
+                            registry.removeApplication(registeredApp);
+                        }
+                    }
+                } else {
+                    if (registeredApp == null) {
+                        registeredApp = new Application(instance.getAppName());
+                        registry.addApplication(registeredApp);
+                    }
+                    registeredApp.addInstance(instance);
+                }
+            }
+        }
+
+        String appsHashCode = delta.getAppsHashCode();
+        return (appsHashCode == null) || appsHashCode.equals(registry.getReconcileHashCode());
+    }
+
+    /**
+     * Copy the applications, the cached services must not be changed by the deltas applied to the registry
+     */
+    private Applications copyOf(Applications applications) {
+        Applications copy = new Applications();
+        for (Application application : applications.getRegisteredApplications()) {
+            Application applicationCopy = new Application(application.getName());
+            application.getInstancesAsIsFromEureka().forEach(applicationCopy::addInstance);
+            copy.addApplication(applicationCopy);
+        }
+        return copy;
+    }
+
     /**
      * Check each delta instance and consider it for processing
      *
-     * @param cachedServices     the collection of cached services
      * @param deltaFromDiscovery changed instances
      */
-    private Set<String> processServiceInstances(Applications cachedServices, Applications deltaFromDiscovery) {
+    private Set<String> processServiceInstances(Applications deltaFromDiscovery) {
         Set<String> containersUpdated = new HashSet<>();
         Set<InstanceInfo> updatedServices = updateDelta(deltaFromDiscovery);
         updatedServices.forEach(instance -> {
             try {
                 // check if this instance should be processed/updated
-                processServiceInstance(containersUpdated, cachedServices, deltaFromDiscovery, instance);
+                processServiceInstance(containersUpdated, deltaFromDiscovery, instance);
             } catch (Exception e) {
                 log.debug("could not update cache for service: " + instance + ", processing will continue.", e);
             }
@@ -141,22 +221,15 @@ public class InstanceRefreshService {
      * Get this instance service details and check if it should be processed
      *
      * @param containersUpdated  containers, which were updated
-     * @param cachedServices     existing services
      * @param deltaFromDiscovery changed service instances
      * @param instance           this instance
      */
-    private void processServiceInstance(Set<String> containersUpdated, Applications cachedServices,
-                                        Applications deltaFromDiscovery, InstanceInfo instance) {
-        Application application = null;
+    private void processServiceInstance(Set<String> containersUpdated, Applications deltaFromDiscovery, InstanceInfo instance) {
         // Get the application which this instance belongs to
-        if (cachedServices != null && cachedServices.getRegisteredApplications() != null) {
-            application = cachedServices.getRegisteredApplications().stream()
-                .filter(service -> service.getName().equalsIgnoreCase(instance.getAppName())).findFirst().orElse(null);
-        }
+        Application application = cachedServicesService.getService(instance.getAppName());
         // if its new then it will only be in the delta
         if (application == null || application.getInstances().isEmpty()) {
-            application = deltaFromDiscovery.getRegisteredApplications().stream()
-                .filter(service -> service.getName().equalsIgnoreCase(instance.getAppName())).findFirst().orElse(null);
+            application = deltaFromDiscovery.getRegisteredApplications(instance.getAppName());
         }
 
         // there's no chance which this case is not called. It's just double check
@@ -168,6 +241,62 @@ public class InstanceRefreshService {
         processInstance(containersUpdated, instance, application);
     }
 
+    /**
+     * Replace the cached services with the whole registry. Containers are updated only for instances which are new
+     * or changed since they were cached, services missing in the registry are cached with instances DOWN.
+     *
+     * @return containers, which were updated
+     */
+    private Set<String> processAllServices() {
+        Set<String> containersUpdated = new HashSet<>();
+        Applications allServices = instanceRetrievalService.getAllInstancesFromDiscovery(false);
+        if (allServices == null) {
+            registry = null;
+            return containersUpdated;
+        }
+        registry = copyOf(allServices);
+
+        Set<String> registeredServiceIds = new HashSet<>();
+        for (Application application : allServices.getRegisteredApplications()) {
+            registeredServiceIds.add(application.getName().toLowerCase());
+            Application cachedApplication = cachedServicesService.getService(application.getName());
+            for (InstanceInfo instance : application.getInstances()) {
+                if (!InstanceInfo.InstanceStatus.DOWN.equals(instance.getStatus()) && isChanged(cachedApplication, instance)) {
+                    updateContainer(containersUpdated, instance);
+                }
+            }
+            updateService(application.getName(), application);
+        }
+
+        Applications cachedServices = cachedServicesService.getAllCachedServices();
+        if (cachedServices != null) {
+            for (Application cachedApplication : cachedServices.getRegisteredApplications()) {
+                if (!registeredServiceIds.contains(cachedApplication.getName().toLowerCase())) {
+                    updateService(cachedApplication.getName(), toDownApplication(cachedApplication));
+                }
+            }
+        }
+
+        return containersUpdated;
+    }
+
+    private boolean isChanged(Application cachedApplication, InstanceInfo instance) {
+        InstanceInfo cachedInstance = (cachedApplication == null) ? null : cachedApplication.getByInstanceId(instance.getId());
+        return (cachedInstance == null)
+            || !Objects.equals(cachedInstance.getLastDirtyTimestamp(), instance.getLastDirtyTimestamp())
+            || !Objects.equals(cachedInstance.getStatus(), instance.getStatus());
+    }
+
+    private Application toDownApplication(Application application) {
+        Application downApplication = new Application(application.getName());
+        for (InstanceInfo instance : application.getInstances()) {
+            InstanceInfo downInstance = new InstanceInfo(instance);
+            downInstance.setStatus(InstanceInfo.InstanceStatus.DOWN);
+            downApplication.addInstance(downInstance);
+        }
+        return downApplication;
+    }
+
     /**
      * Go ahead and retrieve this instances API doc and update the cache
      *
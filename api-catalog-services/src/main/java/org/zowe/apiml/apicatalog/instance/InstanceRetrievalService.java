@@ -50,6 +50,10 @@ public class InstanceRetrievalService {
     private static final String DELTA_ENDPOINT = "delta";
     private static final String UNKNOWN = "unknown";
 
+    private static final ObjectMapper APPLICATIONS_MAPPER = createApplicationsMapper();
+    private static final ObjectMapper APPLICATION_MAPPER = new ObjectMapper()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
     @InjectApimlLogger
     private final ApimlLogger apimlLog = ApimlLogger.empty();
 
@@ -123,11 +127,8 @@ public class InstanceRetrievalService {
         if (!HttpStatus.OK.equals(response.getStatusCode()) || response.getBody() == null) {
             apimlLog.log("org.zowe.apiml.apicatalog.serviceRetrievalRequestFailed", response.getStatusCode(), response.getStatusCode().getReasonPhrase(), requestInfo.getLeft());
         } else {
-            ObjectMapper mapper = new EurekaJsonJacksonCodec().getObjectMapper(Applications.class);
-            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
             try {
-                applications = mapper.readValue(response.getBody(), Applications.class);
+                applications = APPLICATIONS_MAPPER.readValue(response.getBody(), Applications.class);
             } catch (IOException e) {
                 apimlLog.log("org.zowe.apiml.apicatalog.serviceRetrievalParsingFailed", e.getMessage());
             }
@@ -168,10 +169,8 @@ public class InstanceRetrievalService {
                 + " -- " + response.getStatusCode().getReasonPhrase() + " -- URL: " + url);
             return null;
         } else {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
             try {
-                application = mapper.readValue(response.getBody(), ApplicationWrapper.class);
+                application = APPLICATION_MAPPER.readValue(response.getBody(), ApplicationWrapper.class);
             } catch (IOException e) {
                 log.debug("Could not extract service: " + serviceId + " info from discovery --" + e.getMessage(), e);
             }
@@ -239,6 +238,17 @@ public class InstanceRetrievalService {
         return headers;
     }
 
+    /**
+     * The Eureka codec and its mapper are expensive to create and thread-safe once configured, so they are shared by
+     * all the requests.
+     */
+    private static ObjectMapper createApplicationsMapper() {
+        ObjectMapper mapper = new EurekaJsonJacksonCodec().getObjectMapper(Applications.class);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return mapper;
+    }
+
     private void configureUnicode(RestTemplate restTemplate) {
         restTemplate.getMessageConverters()
             .add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
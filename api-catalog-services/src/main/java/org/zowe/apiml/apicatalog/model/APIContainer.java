@@ -74,6 +74,26 @@ public class APIContainer implements Serializable {
         this.version = "1.0.0";
     }
 
+    /**
+     * Create a copy of the container, which can be modified without affecting the original one. The services are
+     * held in a new set, the services themselves are shared.
+     *
+     * @param container the container to copy
+     */
+    public APIContainer(APIContainer container) {
+        this.version = container.version;
+        this.id = container.id;
+        this.title = container.title;
+        this.status = container.status;
+        this.description = container.description;
+        this.services = (container.services == null) ? null : new HashSet<>(container.services);
+        this.totalServices = container.totalServices;
+        this.activeServices = container.activeServices;
+        this.lastUpdatedTimestamp = container.lastUpdatedTimestamp;
+        this.createdTimestamp = container.createdTimestamp;
+        this.sso = container.sso;
+    }
+
     public void addService(APIService apiService) {
         if (services == null) {
             services = new HashSet<>();
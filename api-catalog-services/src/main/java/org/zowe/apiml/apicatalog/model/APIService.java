@@ -69,6 +69,30 @@ public class APIService implements Serializable {
         this.serviceId = serviceId;
         this.status = "UP";
     }
+
+    /**
+     * Create a copy of the service, which can be modified without affecting the original one. The API versions and
+     * API IDs are shared.
+     *
+     * @param service the service to copy
+     */
+    public APIService(APIService service) {
+        this.serviceId = service.serviceId;
+        this.title = service.title;
+        this.description = service.description;
+        this.status = service.status;
+        this.secured = service.secured;
+        this.baseUrl = service.baseUrl;
+        this.homePageUrl = service.homePageUrl;
+        this.basePath = service.basePath;
+        this.apiDoc = service.apiDoc;
+        this.defaultApiVersion = service.defaultApiVersion;
+        this.apiVersions = service.apiVersions;
+        this.sso = service.sso;
+        this.ssoAllInstances = service.ssoAllInstances;
+        this.apiId = service.apiId;
+    }
+
     public static class Builder {
         private APIService apiService;
         
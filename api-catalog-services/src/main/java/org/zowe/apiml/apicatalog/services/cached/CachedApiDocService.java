@@ -9,9 +9,13 @@
  */
 package org.zowe.apiml.apicatalog.services.cached;
 
+import lombok.Value;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.stereotype.Service;
 import org.zowe.apiml.apicatalog.services.cached.model.ApiDocCacheKey;
+import org.zowe.apiml.apicatalog.services.cached.model.ApiDocCachedEvent;
 import org.zowe.apiml.apicatalog.services.cached.model.ApiDocInfo;
 import org.zowe.apiml.apicatalog.services.status.APIDocRetrievalService;
 import org.zowe.apiml.apicatalog.services.status.model.ApiDocNotFoundException;
@@ -23,6 +27,8 @@ import org.zowe.apiml.product.instance.InstanceInitializationException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 /**
@@ -30,16 +36,18 @@ import java.util.function.UnaryOperator;
  */
 
 @Service
-public class CachedApiDocService {
+public class CachedApiDocService implements ApplicationEventPublisherAware {
     private static final String DEFAULT_API_KEY = "default";
 
-    private static final Map<ApiDocCacheKey, String> serviceApiDocs = new HashMap<>();
+    private static final Map<ApiDocCacheKey, CachedApiDoc> serviceApiDocs = new ConcurrentHashMap<>();
     private static final Map<String, List<String>> serviceApiVersions = new HashMap<>();
     private static final Map<String, String> serviceApiDefaultVersions = new HashMap<>();
 
     private final APIDocRetrievalService apiDocRetrievalService;
     private final TransformApiDocService transformApiDocService;
 
+    private ApplicationEventPublisher applicationEventPublisher;
+
     private static final UnaryOperator<String> exceptionMessage = serviceId -> "No API Documentation was retrieved for the service " + serviceId + ".";
 
     @Autowired
@@ -48,6 +56,11 @@ public class CachedApiDocService {
         this.transformApiDocService = transformApiDocService;
     }
 
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
     /**
      * Update the api docs for this service
      *
@@ -56,28 +69,8 @@ public class CachedApiDocService {
      * @return api doc info for the requested service id
      */
     public String getApiDocForService(final String serviceId, final String apiVersion) {
-        String apiDoc = CachedApiDocService.serviceApiDocs.get(new ApiDocCacheKey(serviceId, apiVersion));
-        try {
-            ApiDocInfo apiDocInfo = apiDocRetrievalService.retrieveApiDoc(serviceId, apiVersion);
-            if (apiDocInfo != null && apiDocInfo.getApiDocContent() != null) {
-                apiDoc = transformApiDocService.transformApiDoc(serviceId, apiDocInfo);
-                CachedApiDocService.serviceApiDocs.put(new ApiDocCacheKey(serviceId, apiVersion), apiDoc);
-            }
-            if (apiDoc == null) {
-                throw new ApiDocNotFoundException(exceptionMessage.apply(serviceId));
-            }
-        } catch (InstanceInitializationException e) {
-            //If unable to get service info
-            if (apiDoc == null) {
-                throw new ServiceNotFoundException(exceptionMessage.apply(serviceId));
-            }
-        } catch (Exception e) {
-            //if there's not apiDoc in cache
-            if (apiDoc == null) {
-                throw new ApiDocNotFoundException(exceptionMessage.apply(serviceId));
-            }
-        }
-        return apiDoc;
+        return getApiDoc(serviceId, new ApiDocCacheKey(serviceId, apiVersion),
+            () -> apiDocRetrievalService.retrieveApiDoc(serviceId, apiVersion));
     }
 
     /**
@@ -89,7 +82,7 @@ public class CachedApiDocService {
      * @param apiDoc     API Doc info
      */
     public void updateApiDocForService(final String serviceId, final String apiVersion, final String apiDoc) {
-        CachedApiDocService.serviceApiDocs.put(new ApiDocCacheKey(serviceId, apiVersion), apiDoc);
+        CachedApiDocService.serviceApiDocs.put(new ApiDocCacheKey(serviceId, apiVersion), new CachedApiDoc(null, apiDoc));
     }
 
     /**
@@ -99,12 +92,17 @@ public class CachedApiDocService {
      * @return api doc info for the latest API of the request service id
      */
     public String getDefaultApiDocForService(final String serviceId) {
-        String apiDoc = CachedApiDocService.serviceApiDocs.get(new ApiDocCacheKey(serviceId, DEFAULT_API_KEY));
+        return getApiDoc(serviceId, new ApiDocCacheKey(serviceId, DEFAULT_API_KEY),
+            () -> apiDocRetrievalService.retrieveDefaultApiDoc(serviceId));
+    }
+
+    private String getApiDoc(final String serviceId, final ApiDocCacheKey cacheKey, final Supplier<ApiDocInfo> retrieval) {
+        CachedApiDoc cachedApiDoc = CachedApiDocService.serviceApiDocs.get(cacheKey);
+        String apiDoc = (cachedApiDoc == null) ? null : cachedApiDoc.getApiDoc();
         try {
-            ApiDocInfo apiDocInfo = apiDocRetrievalService.retrieveDefaultApiDoc(serviceId);
+            ApiDocInfo apiDocInfo = retrieval.get();
             if (apiDocInfo != null && apiDocInfo.getApiDocContent() != null) {
-                apiDoc = transformApiDocService.transformApiDoc(serviceId, apiDocInfo);
-                CachedApiDocService.serviceApiDocs.put(new ApiDocCacheKey(serviceId, DEFAULT_API_KEY), apiDoc);
+                apiDoc = transformApiDoc(serviceId, cacheKey, apiDocInfo, cachedApiDoc);
             }
             if (apiDoc == null) {
                 throw new ApiDocNotFoundException(exceptionMessage.apply(serviceId));
@@ -123,6 +121,24 @@ public class CachedApiDocService {
         return apiDoc;
     }
 
+    /**
+     * The transformation is done again only if the retrieved document, the API info or the routes differ from
+     * those the cached document was transformed from. Unchanged documents revalidated by the service come back as
+     * the same instance, so the comparison is cheap for them.
+     */
+    private String transformApiDoc(String serviceId, ApiDocCacheKey cacheKey, ApiDocInfo apiDocInfo, CachedApiDoc cachedApiDoc) {
+        if ((cachedApiDoc != null) && apiDocInfo.equals(cachedApiDoc.getSource())) {
+            return cachedApiDoc.getApiDoc();
+        }
+
+        String apiDoc = transformApiDocService.transformApiDoc(serviceId, apiDocInfo);
+        CachedApiDocService.serviceApiDocs.put(cacheKey, new CachedApiDoc(apiDocInfo, apiDoc));
+        if ((applicationEventPublisher != null) && !DEFAULT_API_KEY.equals(cacheKey.getApiVersion())) {
+            applicationEventPublisher.publishEvent(new ApiDocCachedEvent(this, serviceId, cacheKey.getApiVersion()));
+        }
+        return apiDoc;
+    }
+
     /**
      * Update the latest version api doc for this service.
      * THis method should be executed if a new version of a service is discovered on renewal
@@ -131,7 +147,7 @@ public class CachedApiDocService {
      * @param apiDoc    API Doc info
      */
     public void updateDefaultApiDocForService(final String serviceId, final String apiDoc) {
-        CachedApiDocService.serviceApiDocs.put(new ApiDocCacheKey(serviceId, DEFAULT_API_KEY), apiDoc);
+        CachedApiDocService.serviceApiDocs.put(new ApiDocCacheKey(serviceId, DEFAULT_API_KEY), new CachedApiDoc(null, apiDoc));
     }
 
     /**
@@ -207,4 +223,16 @@ public class CachedApiDocService {
         serviceApiDocs.clear();
         serviceApiVersions.clear();
     }
+
+    /**
+     * Transformed API doc together with the retrieved information it was transformed from
+     */
+    @Value
+    private static class CachedApiDoc {
+
+        ApiDocInfo source;
+        String apiDoc;
+
+    }
+
 }
@@ -15,10 +15,6 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.zowe.apiml.apicatalog.model.APIContainer;
 import org.zowe.apiml.apicatalog.model.APIService;
@@ -26,6 +22,7 @@ import org.zowe.apiml.apicatalog.model.SemanticVersion;
 import org.zowe.apiml.auth.Authentication;
 import org.zowe.apiml.auth.AuthenticationSchemes;
 import org.zowe.apiml.config.ApiInfo;
+import org.zowe.apiml.eurekaservice.client.util.CachedEurekaMetadataParser;
 import org.zowe.apiml.eurekaservice.client.util.EurekaMetadataParser;
 import org.zowe.apiml.message.log.ApimlLogger;
 import org.zowe.apiml.product.constants.CoreService;
@@ -36,6 +33,8 @@ import org.zowe.apiml.product.routing.transform.TransformService;
 import org.zowe.apiml.product.routing.transform.URLTransformationException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -43,10 +42,14 @@ import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
 
 /**
  * Caching service for eureka services
+ * <p>
+ * Containers and their services are never modified once stored, every change stores a modified copy instead. Readers
+ * get an immutable snapshot of all containers, which is replaced on each change, and containers by service and by last
+ * update time are looked up through indexes maintained together with the containers. The status of the services is
+ * calculated on a copy by {@link #calculateContainerServiceValues(APIContainer)}.
  */
 @Slf4j
 @Service
-@CacheConfig(cacheNames = {"products"})
 public class CachedProductFamilyService {
 
     @InjectApimlLogger
@@ -55,10 +58,14 @@ public class CachedProductFamilyService {
     private final Integer cacheRefreshUpdateThresholdInMillis;
 
     private final CachedServicesService cachedServicesService;
-    private final EurekaMetadataParser metadataParser = new EurekaMetadataParser();
+    private final EurekaMetadataParser metadataParser = new CachedEurekaMetadataParser();
     private final TransformService transformService;
 
-    private final Map<String, APIContainer> products = new HashMap<>();
+    private final Object productsLock = new Object();
+    private final Map<String, APIContainer> products = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> productsByServiceId = new ConcurrentHashMap<>();
+    private final NavigableSet<UpdateKey> productsByLastUpdate = new ConcurrentSkipListSet<>();
+    private volatile Collection<APIContainer> productsSnapshot = Collections.emptyList();
 
     private final AuthenticationSchemes schemes = new AuthenticationSchemes();
 
@@ -76,9 +83,8 @@ public class CachedProductFamilyService {
      *
      * @return instances
      */
-    @Cacheable
     public Collection<APIContainer> getAllContainers() {
-        return products.values();
+        return productsSnapshot;
     }
 
 
@@ -94,21 +100,22 @@ public class CachedProductFamilyService {
 
     /**
      * Retrieve any containers which have had their details updated after the threshold figure
-     * If performance is slow then possibly cache the result and evict after 'n' seconds
      *
      * @return recently updated containers
      */
     public List<APIContainer> getRecentlyUpdatedContainers() {
-        return this.products.values().stream().filter(
-            container -> {
-                boolean isRecent = container.isRecentUpdated(cacheRefreshUpdateThresholdInMillis);
-                if (isRecent) {
-                    log.debug("Container: " + container.getId() + " last updated: "
-                        + container.getLastUpdatedTimestamp().getTime() +
-                        " was updated recently");
-                }
-                return isRecent;
-            }).collect(toList());
+        long threshold = System.currentTimeMillis() - cacheRefreshUpdateThresholdInMillis;
+        List<APIContainer> containers = new ArrayList<>();
+        for (UpdateKey updateKey : productsByLastUpdate.tailSet(new UpdateKey(threshold + 1, ""), true)) {
+            APIContainer container = products.get(updateKey.getProductFamilyId());
+            if (container != null) {
+                log.debug("Container: " + container.getId() + " last updated: "
+                    + container.getLastUpdatedTimestamp().getTime() +
+                    " was updated recently");
+                containers.add(container);
+            }
+        }
+        return containers;
     }
 
     /**
@@ -117,9 +124,11 @@ public class CachedProductFamilyService {
      * @param productFamilyId the service identifier
      * @return instances for this service (might be empty instances collection)
      */
-    @Cacheable(key = "#productFamilyId+ #instanceInfo.appName")
     public APIService getContainerService(final String productFamilyId, final InstanceInfo instanceInfo) {
         APIContainer apiContainer = products.get(productFamilyId.toLowerCase());
+        if ((apiContainer == null) || (apiContainer.getServices() == null)) {
+            return null;
+        }
         Optional<APIService> result = apiContainer.getServices().stream()
             .filter(service -> instanceInfo.getAppName().equalsIgnoreCase(service.getServiceId()))
             .findFirst();
@@ -132,23 +141,29 @@ public class CachedProductFamilyService {
      * @param productFamilyId the service identifier
      * @param instanceInfo    InstanceInfo
      */
-    @CachePut(key = "#productFamilyId")
     public void addServiceToContainer(final String productFamilyId, final InstanceInfo instanceInfo) {
-        APIContainer apiContainer = products.get(productFamilyId);
-        // fix - throw error if null
-        apiContainer.addService(createAPIServiceFromInstance(instanceInfo));
-        products.put(productFamilyId, apiContainer);
+        synchronized (productsLock) {
+            // fix - throw error if null
+            APIContainer apiContainer = new APIContainer(products.get(productFamilyId));
+            apiContainer.addService(createAPIServiceFromInstance(instanceInfo));
+            replaceContainer(productFamilyId, apiContainer);
+        }
     }
 
     /**
-     * Retrieve a container from the cache
+     * Retrieve a container from the cache, the container is created from the instance if it doesn't exist yet
      *
      * @param productFamilyId the product family id
      * @return a container
      */
-    @Cacheable(key = "#productFamilyId", sync = true)
     public APIContainer getContainer(final String productFamilyId, @NonNull InstanceInfo instanceInfo) {
-        return createContainerFromInstance(productFamilyId, instanceInfo);
+        synchronized (productsLock) {
+            APIContainer container = products.get(productFamilyId);
+            if (container == null) {
+                container = createNewContainerFromService(productFamilyId, instanceInfo);
+            }
+            return container;
+        }
     }
 
     /**
@@ -168,9 +183,10 @@ public class CachedProductFamilyService {
      * @return a list of containers
      */
     public List<APIContainer> getContainersForService(final String serviceId) {
-        return this.products.values().stream().filter(
-            container -> container.getServices().stream().anyMatch(service -> serviceId.equalsIgnoreCase(service.getServiceId()))
-        ).collect(toList());
+        return productsByServiceId.getOrDefault(serviceId.toLowerCase(), Collections.emptySet()).stream()
+            .map(products::get)
+            .filter(Objects::nonNull)
+            .collect(toList());
     }
 
 
@@ -181,17 +197,19 @@ public class CachedProductFamilyService {
      * @param productFamilyId the product family id
      * @param instanceInfo    the service instance
      */
-    @CachePut(key = "#productFamilyId")
     public APIContainer createContainerFromInstance(final String productFamilyId, InstanceInfo instanceInfo) {
-        APIContainer container = products.get(productFamilyId);
-        if (container == null) {
-            container = createNewContainerFromService(productFamilyId, instanceInfo);
-        } else {
-            addServiceToContainer(productFamilyId, instanceInfo);
-            container = products.get(productFamilyId);
-            checkIfContainerShouldBeUpdatedFromInstance(instanceInfo, container);
+        synchronized (productsLock) {
+            APIContainer container = products.get(productFamilyId);
+            if (container == null) {
+                container = createNewContainerFromService(productFamilyId, instanceInfo);
+            } else {
+                container = new APIContainer(container);
+                container.addService(createAPIServiceFromInstance(instanceInfo));
+                checkIfContainerShouldBeUpdatedFromInstance(instanceInfo, container);
+                replaceContainer(productFamilyId, container);
+            }
+            return container;
         }
-        return container;
     }
 
 
@@ -206,7 +224,7 @@ public class CachedProductFamilyService {
         String instanceHomePage = instanceInfo.getHomePageUrl();
 
         if (hasHomePage(instanceInfo)) {
-            RoutedServices routes = metadataParser.parseRoutes(instanceInfo.getMetadata());
+            RoutedServices routes = metadataParser.parseRoutes(instanceInfo);
 
             try {
                 instanceHomePage = transformService.transformURL(
@@ -233,7 +251,7 @@ public class CachedProductFamilyService {
         String apiBasePath = "";
         if (hasHomePage(instanceInfo)) {
             try {
-                RoutedServices routes = metadataParser.parseRoutes(instanceInfo.getMetadata());
+                RoutedServices routes = metadataParser.parseRoutes(instanceInfo);
                 apiBasePath = transformService.retrieveApiBasePath(
                     instanceInfo.getVIPAddress(),
                     instanceInfo.getHomePageUrl(),
@@ -275,7 +293,7 @@ public class CachedProductFamilyService {
 
         // create API Service from instance and update container last changed date
         container.addService(createAPIServiceFromInstance(instanceInfo));
-        products.put(productFamilyId, container);
+        replaceContainer(productFamilyId, container);
         return container;
     }
 
@@ -326,7 +344,7 @@ public class CachedProductFamilyService {
 
         String instanceHomePage = getInstanceHomePageUrl(instanceInfo);
         String apiBasePath = getApiBasePath(instanceInfo);
-        Map<String, String> apiId = metadataParser.parseApiInfo(instanceInfo.getMetadata()).stream().filter(apiInfo -> apiInfo.getApiId() != null).collect(
+        Map<String, String> apiId = metadataParser.parseApiInfo(instanceInfo).stream().filter(apiInfo -> apiInfo.getApiId() != null).collect(
             Collectors.toMap(
                 apiInfo -> (apiInfo.getMajorVersion() < 0) ? "default" : "v" + apiInfo.getMajorVersion(),
                 ApiInfo::getApiId
@@ -350,7 +368,6 @@ public class CachedProductFamilyService {
      * @param productFamilyId the product family id of the container
      * @param instanceInfo    the service instance
      */
-    @CacheEvict(key = "#productFamilyId")
     public void updateContainerFromInstance(String productFamilyId, InstanceInfo instanceInfo) {
         createContainerFromInstance(productFamilyId, instanceInfo);
     }
@@ -361,12 +378,18 @@ public class CachedProductFamilyService {
      * @param productFamilyId the product family id of the container
      * @param instanceInfo    the service instance
      */
-    @CachePut(key = "#productFamilyId")
     public APIContainer saveContainerFromInstance(String productFamilyId, InstanceInfo instanceInfo) {
+        synchronized (productsLock) {
+            return saveContainer(productFamilyId, instanceInfo);
+        }
+    }
+
+    private APIContainer saveContainer(String productFamilyId, InstanceInfo instanceInfo) {
         APIContainer container = products.get(productFamilyId);
         if (container == null) {
             container = createNewContainerFromService(productFamilyId, instanceInfo);
         } else {
+            container = new APIContainer(container);
             Set<APIService> apiServices = container.getServices();
             APIService service = createAPIServiceFromInstance(instanceInfo);
             apiServices.remove(service);
@@ -383,12 +406,61 @@ public class CachedProductFamilyService {
             container.setDescription(description);
             container.updateLastUpdatedTimestamp();
 
-            products.put(productFamilyId, container);
+            replaceContainer(productFamilyId, container);
         }
 
         return container;
     }
 
+    /**
+     * Store the container instead of the previous one with the same id and update the indexes and the snapshot. It
+     * has to be called under the lock, the container must not be modified afterwards.
+     *
+     * @param productFamilyId the product family id of the container
+     * @param container       the new state of the container
+     */
+    private void replaceContainer(String productFamilyId, APIContainer container) {
+        APIContainer previous = products.put(productFamilyId, container);
+
+        Set<String> previousServiceIds = getServiceIds(previous);
+        Set<String> serviceIds = getServiceIds(container);
+        for (String serviceId : previousServiceIds) {
+            if (!serviceIds.contains(serviceId)) {
+                productsByServiceId.computeIfPresent(serviceId, (k, ids) -> {
+                    Set<String> updated = new HashSet<>(ids);
+                    updated.remove(productFamilyId);
+                    return updated.isEmpty() ? null : Collections.unmodifiableSet(updated);
+                });
+            }
+        }
+        for (String serviceId : serviceIds) {
+            if (!previousServiceIds.contains(serviceId)) {
+                productsByServiceId.merge(serviceId, Collections.singleton(productFamilyId), (ids, added) -> {
+                    Set<String> updated = new HashSet<>(ids);
+                    updated.addAll(added);
+                    return Collections.unmodifiableSet(updated);
+                });
+            }
+        }
+
+        if (previous != null) {
+            productsByLastUpdate.remove(new UpdateKey(previous.getLastUpdatedTimestamp().getTimeInMillis(), productFamilyId));
+        }
+        productsByLastUpdate.add(new UpdateKey(container.getLastUpdatedTimestamp().getTimeInMillis(), productFamilyId));
+
+        productsSnapshot = Collections.unmodifiableList(new ArrayList<>(products.values()));
+    }
+
+    private Set<String> getServiceIds(APIContainer container) {
+        if ((container == null) || (container.getServices() == null)) {
+            return Collections.emptySet();
+        }
+
+        return container.getServices().stream()
+            .map(apiService -> apiService.getServiceId().toLowerCase())
+            .collect(Collectors.toSet());
+    }
+
     private boolean isSso(InstanceInfo instanceInfo) {
         Map<String, String> eurekaMetadata = instanceInfo.getMetadata();
         return Authentication.builder()
@@ -427,13 +499,18 @@ public class CachedProductFamilyService {
     }
 
     /**
-     * Update the summary totals, sso and API IDs info for a container based on it's running services
+     * Calculate the summary totals, sso and API IDs info for a container based on it's running services. The values
+     * are set on a copy of the container and of its services, the stored container is not modified.
      *
-     * @param apiContainer calculate totals for this container
+     * @param container calculate totals for this container
+     * @return copy of the container with the calculated values
      */
-    public void calculateContainerServiceValues(APIContainer apiContainer) {
+    public APIContainer calculateContainerServiceValues(APIContainer container) {
+        APIContainer apiContainer = new APIContainer(container);
         if (apiContainer.getServices() == null) {
             apiContainer.setServices(new HashSet<>());
+        } else {
+            apiContainer.setServices(apiContainer.getServices().stream().map(APIService::new).collect(Collectors.toSet()));
         }
 
         int servicesCount = apiContainer.getServices().size();
@@ -448,6 +525,7 @@ public class CachedProductFamilyService {
 
         setStatus(apiContainer, servicesCount, activeServicesCount);
         apiContainer.setSso(isSso);
+        return apiContainer;
     }
 
     /**
@@ -459,4 +537,21 @@ public class CachedProductFamilyService {
         return products.size();
     }
 
+    /**
+     * Key of the index of containers by their last update
+     */
+    @lombok.Value
+    private static class UpdateKey implements Comparable<UpdateKey> {
+
+        long lastUpdated;
+        String productFamilyId;
+
+        @Override
+        public int compareTo(UpdateKey o) {
+            int result = Long.compare(lastUpdated, o.lastUpdated);
+            return (result != 0) ? result : productFamilyId.compareTo(o.productFamilyId);
+        }
+
+    }
+
 }
@@ -15,8 +15,8 @@ import lombok.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Container for eureka services
@@ -24,8 +24,9 @@ import java.util.Map;
 @Service
 public class CachedServicesService {
 
-    private Map<String, Application> services = new HashMap<>();
-    private long versionDelta;
+    // updated by the refresh thread while read by the request threads
+    private final Map<String, Application> services = new ConcurrentHashMap<>();
+    private volatile long versionDelta;
 
     /**
      * return all cached service instances
@@ -0,0 +1,37 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.apicatalog.services.cached.model;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+public class ApiDocCachedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -2958370117203524518L;
+
+    private final String serviceId;
+    private final String apiVersion;
+
+    /**
+     * Event that occurs when a new or changed API doc of a service version is transformed and cached.
+     *
+     * @param source     the object on which the event initially occurred
+     * @param serviceId  service identifier
+     * @param apiVersion the version of the API
+     */
+    public ApiDocCachedEvent(@NotNull Object source, String serviceId, String apiVersion) {
+        super(source);
+        this.serviceId = serviceId;
+        this.apiVersion = apiVersion;
+    }
+}
@@ -12,6 +12,7 @@ package org.zowe.apiml.apicatalog.services.status;
 import com.netflix.appinfo.InstanceInfo;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -23,6 +24,7 @@ import org.zowe.apiml.apicatalog.services.status.model.ApiDocNotFoundException;
 import org.zowe.apiml.apicatalog.services.status.model.ApiVersionNotFoundException;
 import org.zowe.apiml.apicatalog.swagger.SubstituteSwaggerGenerator;
 import org.zowe.apiml.config.ApiInfo;
+import org.zowe.apiml.eurekaservice.client.util.CachedEurekaMetadataParser;
 import org.zowe.apiml.eurekaservice.client.util.EurekaMetadataParser;
 import org.zowe.apiml.product.gateway.GatewayClient;
 import org.zowe.apiml.product.gateway.GatewayConfigProperties;
@@ -31,7 +33,9 @@ import org.zowe.apiml.product.routing.RoutedServices;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Retrieves the API documentation for a registered service
@@ -44,9 +48,23 @@ public class APIDocRetrievalService {
     private final InstanceRetrievalService instanceRetrievalService;
     private final GatewayClient gatewayClient;
 
-    private final EurekaMetadataParser metadataParser = new EurekaMetadataParser();
+    private final EurekaMetadataParser metadataParser = new CachedEurekaMetadataParser();
     private final SubstituteSwaggerGenerator swaggerGenerator = new SubstituteSwaggerGenerator();
 
+    static final int MAX_API_DOC_CONTENTS = 500;
+
+    // least recently used documents are dropped when the cache is full, ie. documents of removed instances
+    private final Map<String, ApiDocContent> apiDocContents = Collections.synchronizedMap(
+        new LinkedHashMap<String, ApiDocContent>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2839410578632917355L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ApiDocContent> eldest) {
+                return size() > MAX_API_DOC_CONTENTS;
+            }
+        }
+    );
+
     /**
      * Retrieves the available API versions for a registered service.
      * Takes the versions available in each 'apiml.service.apiInfo' element.
@@ -64,7 +82,7 @@ public class APIDocRetrievalService {
             throw new ApiVersionNotFoundException(e.getMessage());
         }
 
-        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo.getMetadata());
+        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo);
         List<String> apiVersions = new ArrayList<>();
         for (ApiInfo apiInfo : apiInfoList) {
             int majorVersion = getMajorVersion(apiInfo);
@@ -94,7 +112,7 @@ public class APIDocRetrievalService {
             throw new ApiVersionNotFoundException(e.getMessage());
         }
 
-        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo.getMetadata());
+        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo);
         ApiInfo defaultApiInfo = getDefaultApiInfo(apiInfoList);
 
         return "v" + getMajorVersion(defaultApiInfo);
@@ -119,14 +137,14 @@ public class APIDocRetrievalService {
     public ApiDocInfo retrieveApiDoc(@NonNull String serviceId, String apiVersion) {
         InstanceInfo instanceInfo = getInstanceInfo(serviceId);
 
-        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo.getMetadata());
+        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo);
         ApiInfo apiInfo = findApi(apiInfoList, apiVersion);
 
         return buildApiDocInfo(serviceId, apiInfo, instanceInfo);
     }
 
     private ApiDocInfo buildApiDocInfo(String serviceId, ApiInfo apiInfo, InstanceInfo instanceInfo) {
-        RoutedServices routes = metadataParser.parseRoutes(instanceInfo.getMetadata());
+        RoutedServices routes = metadataParser.parseRoutes(instanceInfo);
         String apiDocUrl = getApiDocUrl(apiInfo, instanceInfo, routes);
 
         if (apiDocUrl == null) {
@@ -166,7 +184,7 @@ public class APIDocRetrievalService {
     public ApiDocInfo retrieveDefaultApiDoc(@NonNull String serviceId) {
         InstanceInfo instanceInfo = getInstanceInfo(serviceId);
 
-        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo.getMetadata());
+        List<ApiInfo> apiInfoList = metadataParser.parseApiInfo(instanceInfo);
         ApiInfo defaultApiInfo = getDefaultApiInfo(apiInfoList);
 
         return buildApiDocInfo(serviceId, defaultApiInfo, instanceInfo);
@@ -260,6 +278,10 @@ public class APIDocRetrievalService {
 
     /**
      * Get ApiDoc content by Url
+     * <p>
+     * The request is conditional when the previous response of the same URL carried an ETag or Last-Modified
+     * header. If the service answers 304, the previously retrieved content is returned as the same instance, so
+     * the callers can cheaply recognize that the document did not change.
      *
      * @param serviceId the unique service id
      * @param apiDocUrl the url of apidoc
@@ -270,15 +292,37 @@ public class APIDocRetrievalService {
         HttpHeaders headers = new HttpHeaders();
         headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
 
+        ApiDocContent previous = apiDocContents.get(apiDocUrl);
+        if (previous != null) {
+            if (previous.getETag() != null) {
+                headers.setIfNoneMatch(previous.getETag());
+            }
+            if (previous.getLastModified() > 0) {
+                headers.setIfModifiedSince(previous.getLastModified());
+            }
+        }
+
         ResponseEntity<String> response = restTemplate.exchange(
             apiDocUrl,
             HttpMethod.GET,
             new HttpEntity<>(headers),
             String.class);
 
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && previous != null) {
+            return previous.getContent();
+        }
+
         if (response.getStatusCode().isError()) {
             throw new ApiDocNotFoundException("No API Documentation was retrieved due to " + serviceId + " server error: '" + response.getBody() + "'.");
         }
+
+        String eTag = response.getHeaders().getETag();
+        long lastModified = response.getHeaders().getLastModified();
+        if (response.getBody() != null && (eTag != null || lastModified > 0)) {
+            apiDocContents.put(apiDocUrl, new ApiDocContent(eTag, lastModified, response.getBody()));
+        } else {
+            apiDocContents.remove(apiDocUrl);
+        }
         return response.getBody();
     }
 
@@ -371,4 +415,17 @@ public class APIDocRetrievalService {
 
         return uri.toUriString();
     }
+
+    /**
+     * Last retrieved API doc of an URL with validators to revalidate it
+     */
+    @Value
+    private static class ApiDocContent {
+
+        String eTag;
+        long lastModified;
+        String content;
+
+    }
+
 }
@@ -9,13 +9,14 @@
  */
 package org.zowe.apiml.apicatalog.services.status;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.openapitools.openapidiff.core.model.ChangedOpenApi;
 import org.openapitools.openapidiff.core.output.HtmlRender;
 import org.zowe.apiml.apicatalog.model.APIContainer;
 import org.zowe.apiml.apicatalog.services.cached.CachedApiDocService;
 import org.zowe.apiml.apicatalog.services.cached.CachedProductFamilyService;
 import org.zowe.apiml.apicatalog.services.cached.CachedServicesService;
+import org.zowe.apiml.apicatalog.services.cached.model.ApiDocCachedEvent;
 import org.zowe.apiml.apicatalog.services.status.event.model.ContainerStatusChangeEvent;
 import org.zowe.apiml.apicatalog.services.status.event.model.STATUS_EVENT_TYPE;
 import org.zowe.apiml.apicatalog.services.status.model.ApiDiffNotAvailableException;
@@ -23,26 +24,56 @@ import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.shared.Applications;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class APIServiceStatusService {
 
+    private static final int MAX_API_DIFFS = 100;
+    private static final Pattern API_VERSION_PATTERN = Pattern.compile("v(\\d+)");
+
     private final CachedProductFamilyService cachedProductFamilyService;
     private final CachedServicesService cachedServicesService;
     private final CachedApiDocService cachedApiDocService;
     private final OpenApiCompareProducer openApiCompareProducer;
 
+    @Value("${apiml.catalog.apiDiff.precompute:false}")
+    private boolean precomputeApiDiffs;
+
+    // least recently used diffs are dropped when the cache is full
+    private final Map<ApiDiffKey, ApiDiff> apiDiffs = Collections.synchronizedMap(
+        new LinkedHashMap<ApiDiffKey, ApiDiff>(16, 0.75f, true) {
+            private static final long serialVersionUID = 4281397485938264117L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ApiDiffKey, ApiDiff> eldest) {
+                return size() > MAX_API_DIFFS;
+            }
+        }
+    );
+
+    private final ExecutorService apiDiffExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-api-diff");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Return a cached snapshot of services and instances as a response
      *
@@ -70,10 +101,9 @@ public class APIServiceStatusService {
         log.debug("Retrieving all containers statuses as events");
         List<ContainerStatusChangeEvent> events = new ArrayList<>();
         Iterable<APIContainer> allContainers = cachedProductFamilyService.getAllContainers();
-        allContainers.forEach(container -> {
-            cachedProductFamilyService.calculateContainerServiceValues(container);
-            addContainerEvent(events, container);
-        });
+        allContainers.forEach(container ->
+            addContainerEvent(events, cachedProductFamilyService.calculateContainerServiceValues(container))
+        );
         return events;
     }
 
@@ -96,20 +126,82 @@ public class APIServiceStatusService {
      * @return response containing HTML document detailing changes between api doc versions
      */
     public ResponseEntity<String> getApiDiffInfo(@NonNull String serviceId, String apiVersion1, String apiVersion2) {
-        String doc1 = cachedApiDocService.getApiDocForService(serviceId, apiVersion1);
-        String doc2 = cachedApiDocService.getApiDocForService(serviceId, apiVersion2);
         try {
-            ChangedOpenApi diff = openApiCompareProducer.fromContents(doc1, doc2);
-            HtmlRender render = new HtmlRender();
-            String result = render.render(diff);
-            //Remove external stylesheet
-            result = result.replace("<link rel=\"stylesheet\" href=\"http://deepoove.com/swagger-diff/stylesheets/demo.css\">", "");
-            return new ResponseEntity<>(result, createHeaders(), HttpStatus.OK);
+            return new ResponseEntity<>(getApiDiff(serviceId, apiVersion1, apiVersion2), createHeaders(), HttpStatus.OK);
         } catch (NullPointerException e) {
             throw new ApiDiffNotAvailableException(String.format("No Diff available for %s and versions %s and %s", serviceId, apiVersion1, apiVersion2));
         }
     }
 
+    /**
+     * The rendered diff is memoized together with the documents it was computed from, so it is computed again
+     * only if one of the documents changed.
+     */
+    private String getApiDiff(String serviceId, String apiVersion1, String apiVersion2) {
+        String doc1 = cachedApiDocService.getApiDocForService(serviceId, apiVersion1);
+        String doc2 = cachedApiDocService.getApiDocForService(serviceId, apiVersion2);
+
+        ApiDiffKey key = new ApiDiffKey(serviceId, apiVersion1, apiVersion2);
+        ApiDiff apiDiff = apiDiffs.get(key);
+        if ((apiDiff != null) && apiDiff.isComputedFrom(doc1, doc2)) {
+            return apiDiff.getHtml();
+        }
+
+        ChangedOpenApi diff = openApiCompareProducer.fromContents(doc1, doc2);
+        HtmlRender render = new HtmlRender();
+        String result = render.render(diff);
+        //Remove external stylesheet
+        result = result.replace("<link rel=\"stylesheet\" href=\"http://deepoove.com/swagger-diff/stylesheets/demo.css\">", "");
+        apiDiffs.put(key, new ApiDiff(doc1, doc2, result));
+        return result;
+    }
+
+    /**
+     * If enabled, compute diffs of a newly cached API doc with API docs of the adjacent versions in the background,
+     * so they are ready when requested.
+     *
+     * @param event the event about the new API doc
+     */
+    @EventListener
+    public void onApiDocCached(ApiDocCachedEvent event) {
+        if (!precomputeApiDiffs || (getMajorVersion(event.getApiVersion()) < 0)) {
+            return;
+        }
+
+        apiDiffExecutor.execute(() -> precomputeApiDiffs(event.getServiceId(), event.getApiVersion()));
+    }
+
+    private void precomputeApiDiffs(String serviceId, String apiVersion) {
+        try {
+            List<String> apiVersions = cachedApiDocService.getApiVersionsForService(serviceId).stream()
+                .filter(version -> getMajorVersion(version) >= 0)
+                .distinct()
+                .sorted(Comparator.comparingInt(this::getMajorVersion))
+                .collect(Collectors.toList());
+            int index = apiVersions.indexOf(apiVersion);
+            if (index > 0) {
+                getApiDiff(serviceId, apiVersions.get(index - 1), apiVersion);
+            }
+            if ((index >= 0) && (index < apiVersions.size() - 1)) {
+                getApiDiff(serviceId, apiVersion, apiVersions.get(index + 1));
+            }
+        } catch (Exception e) {
+            log.debug("Cannot precompute API diffs of service {} version {}: {}", serviceId, apiVersion, e.getMessage());
+        }
+    }
+
+    private int getMajorVersion(String apiVersion) {
+        if (apiVersion == null) return -1;
+
+        Matcher matcher = API_VERSION_PATTERN.matcher(apiVersion);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    @PreDestroy
+    public void stop() {
+        apiDiffExecutor.shutdownNow();
+    }
+
     /**
      * Retrieve all containers which were updated inside a given threshold value and return them as events
      *
@@ -118,10 +210,9 @@ public class APIServiceStatusService {
     public List<ContainerStatusChangeEvent> getRecentlyUpdatedContainersAsEvents() {
         List<ContainerStatusChangeEvent> recentEvents = new ArrayList<>();
         Iterable<APIContainer> allContainers = cachedProductFamilyService.getRecentlyUpdatedContainers();
-        allContainers.forEach(container -> {
-            cachedProductFamilyService.calculateContainerServiceValues(container);
-            addContainerEvent(recentEvents, container);
-        });
+        allContainers.forEach(container ->
+            addContainerEvent(recentEvents, cachedProductFamilyService.calculateContainerServiceValues(container))
+        );
         if (!recentEvents.isEmpty()) {
             log.debug("Recent events found: " + recentEvents.size());
         }
@@ -167,4 +258,28 @@ public class APIServiceStatusService {
         headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
         return headers;
     }
+
+    @lombok.Value
+    private static class ApiDiffKey {
+
+        String serviceId;
+        String apiVersion1;
+        String apiVersion2;
+
+    }
+
+    @lombok.Value
+    private static class ApiDiff {
+
+        String doc1;
+        String doc2;
+        String html;
+
+        boolean isComputedFrom(String doc1, String doc2) {
+            // cached documents come back as the same instances if they did not change
+            return Objects.equals(this.doc1, doc1) && Objects.equals(this.doc2, doc2);
+        }
+
+    }
+
 }
@@ -13,6 +13,7 @@ import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.shared.Application;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -31,6 +32,7 @@ import org.zowe.apiml.apicatalog.services.cached.CachedServicesService;
 
 import java.util.*;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +52,12 @@ class ApiCatalogControllerTests {
     @InjectMocks
     private ApiCatalogController apiCatalogController;
 
+    @BeforeEach
+    void setUp() {
+        given(cachedProductFamilyService.calculateContainerServiceValues(any(APIContainer.class)))
+            .willAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     void whenGetAllContainers_givenNothing_thenReturnContainersWithState() {
         Application service1 = new Application("service-1");
@@ -37,6 +37,8 @@ import java.util.stream.Collectors;
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.CATALOG_ID;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -188,6 +190,79 @@ class InstanceRefreshServiceTest {
             .saveContainerFromInstance("api-three", modifiedInstanceOfService3);
     }
 
+    @Test
+    void givenAlreadyAppliedDeltaVersion_whenRefresh_thenSkipIt() {
+        InstanceInfo instance = containerServiceMockUtil.createInstance("service5", "service5:9999",
+            InstanceInfo.InstanceStatus.UP, InstanceInfo.ActionType.ADDED, new HashMap<>());
+        Applications delta = new Applications("1", 2L, Collections.singletonList(
+            new Application("service5", Collections.singletonList(instance))));
+        when(instanceRetrievalService.getAllInstancesFromDiscovery(true)).thenReturn(delta);
+        when(cachedServicesService.getVersionDelta()).thenReturn(2L);
+
+        instanceRefreshService.refreshCacheFromDiscovery();
+
+        verify(cachedServicesService, never()).updateService(anyString(), any(Application.class));
+        verify(instanceRetrievalService, never()).getAllInstancesFromDiscovery(false);
+    }
+
+    @Test
+    void givenUnknownRegistry_whenRefresh_thenRefreshAllServices() {
+        HashMap<String, String> metadata = new HashMap<>();
+        metadata.put(CATALOG_ID, "api-five");
+        InstanceInfo instance = containerServiceMockUtil.createInstance("service5", "service5:9999",
+            InstanceInfo.InstanceStatus.UP, InstanceInfo.ActionType.ADDED, metadata);
+        Application service5 = new Application("service5", Collections.singletonList(instance));
+        when(instanceRetrievalService.getAllInstancesFromDiscovery(true))
+            .thenReturn(new Applications("1", 5L, Collections.singletonList(service5)));
+        when(instanceRetrievalService.getAllInstancesFromDiscovery(false))
+            .thenReturn(new Applications("1", 5L, Collections.singletonList(service5)));
+        when(cachedServicesService.getVersionDelta()).thenReturn(2L);
+        when(cachedProductFamilyService.saveContainerFromInstance("api-five", instance)).thenReturn(new APIContainer());
+
+        InstanceInfo removedInstance = containerServiceMockUtil.createInstance("service3", "service3:9999",
+            InstanceInfo.InstanceStatus.UP, InstanceInfo.ActionType.ADDED, new HashMap<>());
+        when(cachedServicesService.getAllCachedServices()).thenReturn(new Applications("1", 1L, Collections.singletonList(
+            new Application("service3", Collections.singletonList(removedInstance)))));
+
+        instanceRefreshService.refreshCacheFromDiscovery();
+
+        verify(cachedProductFamilyService, times(1)).saveContainerFromInstance("api-five", instance);
+        verify(cachedServicesService, times(1)).updateService("service5", service5);
+        verify(cachedServicesService, times(1)).updateService(eq("service3"), argThat(application ->
+            application.getInstances().stream().allMatch(i -> i.getStatus() == InstanceInfo.InstanceStatus.DOWN)));
+        verify(cachedServicesService, times(1)).setVersionDelta(5L);
+    }
+
+    @Test
+    void givenDeltaVersionGap_whenRegistryIsReconciled_thenApplyDelta() {
+        HashMap<String, String> metadata = new HashMap<>();
+        metadata.put(CATALOG_ID, "api-five");
+        InstanceInfo instance5 = containerServiceMockUtil.createInstance("service5", "service5:9999",
+            InstanceInfo.InstanceStatus.UP, InstanceInfo.ActionType.ADDED, metadata);
+        when(instanceRetrievalService.getAllInstancesFromDiscovery(false))
+            .thenReturn(new Applications("UP_1_", 5L, Collections.singletonList(
+                new Application("service5", Collections.singletonList(instance5)))));
+        when(cachedProductFamilyService.saveContainerFromInstance(eq("api-five"), any())).thenReturn(new APIContainer());
+
+        InstanceInfo instance6 = containerServiceMockUtil.createInstance("service6", "service6:9999",
+            InstanceInfo.InstanceStatus.UP, InstanceInfo.ActionType.ADDED, metadata);
+        when(instanceRetrievalService.getAllInstancesFromDiscovery(true))
+            .thenReturn(new Applications("UP_1_", 5L, Collections.singletonList(
+                new Application("service5", Collections.singletonList(instance5)))))
+            .thenReturn(new Applications("UP_2_", 9L, Collections.singletonList(
+                new Application("service6", Collections.singletonList(instance6)))));
+        when(cachedServicesService.getVersionDelta()).thenReturn(2L, 5L);
+
+        // the registry is not known yet, the whole registry is fetched
+        instanceRefreshService.refreshCacheFromDiscovery();
+        // the delta doesn't follow the previous version, but the registry after it is consistent
+        instanceRefreshService.refreshCacheFromDiscovery();
+
+        verify(instanceRetrievalService, times(1)).getAllInstancesFromDiscovery(false);
+        verify(cachedProductFamilyService, times(1)).saveContainerFromInstance("api-five", instance6);
+        verify(cachedServicesService, times(1)).setVersionDelta(9L);
+    }
+
     @Test
     void testRefreshCacheFromDiscovery_whenGatewayClientIsNotInitialized() {
         when(gatewayClient.isInitialized()).thenReturn(false);
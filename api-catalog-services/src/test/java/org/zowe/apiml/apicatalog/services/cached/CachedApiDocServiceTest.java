@@ -29,6 +29,9 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -67,6 +70,32 @@ class CachedApiDocServiceTest {
         assertEquals(expectedApiDoc, apiDoc);
     }
 
+    @Test
+    void givenUnchangedApiDoc_whenRetrievingAgain_thenDoNotTransformAgain() {
+        String serviceId = "Service";
+        String version = "v1";
+        String apiDocContent = "This is some api doc";
+        String transformedApiDoc = "This is some transformed api doc";
+
+        when(apiDocRetrievalService.retrieveApiDoc(serviceId, version))
+            .thenReturn(new ApiDocInfo(null, apiDocContent, null));
+        when(transformApiDocService.transformApiDoc(serviceId, new ApiDocInfo(null, apiDocContent, null)))
+            .thenReturn(transformedApiDoc);
+
+        assertEquals(transformedApiDoc, cachedApiDocService.getApiDocForService(serviceId, version));
+        assertEquals(transformedApiDoc, cachedApiDocService.getApiDocForService(serviceId, version));
+        verify(transformApiDocService, times(1)).transformApiDoc(any(), any());
+
+        String changedContent = "This is some changed api doc";
+        when(apiDocRetrievalService.retrieveApiDoc(serviceId, version))
+            .thenReturn(new ApiDocInfo(null, changedContent, null));
+        when(transformApiDocService.transformApiDoc(serviceId, new ApiDocInfo(null, changedContent, null)))
+            .thenReturn("changed");
+
+        assertEquals("changed", cachedApiDocService.getApiDocForService(serviceId, version));
+        verify(transformApiDocService, times(2)).transformApiDoc(any(), any());
+    }
+
     @Test
     void givenValidApiDoc_whenUpdating_thenRetrieve() {
         String serviceId = "Service";
@@ -244,7 +244,7 @@ class CachedProductFamilyServiceTest {
                 "Description 2",
                 "2.0.0",
                 InstanceInfo.InstanceStatus.UP));
-        Calendar retrievedTimestamp = updatedContainer.getLastUpdatedTimestamp();
+        Calendar retrievedTimestamp = service.retrieveContainer("demoapp").getLastUpdatedTimestamp();
 
         equals = updatedTimestamp.equals(retrievedTimestamp);
         assertFalse(equals);
@@ -262,7 +262,29 @@ class CachedProductFamilyServiceTest {
         service.updateContainerFromInstance(serviceId, createApp(serviceId, catalogId,
             "1.0.1", newTitle));
 
-        assertEquals(container.getTitle(), newTitle);
+        assertEquals(newTitle, service.retrieveContainer(serviceId).getTitle());
+        assertEquals(newTitle, service.getContainer(serviceId, createApp(serviceId, catalogId)).getTitle());
+        assertNotEquals(newTitle, container.getTitle());
+    }
+
+    @Test
+    void givenStoredContainer_whenServiceValuesAreCalculated_thenStoredContainerIsNotModified() {
+        InstanceInfo instance = createApp("service", "demoapp", InstanceInfo.InstanceStatus.DOWN);
+        Application application = new Application();
+        application.addInstance(instance);
+        when(cachedServicesService.getService("service")).thenReturn(application);
+        service.getContainer("demoapp", instance);
+        APIContainer stored = service.retrieveContainer("demoapp");
+        APIService storedService = stored.getServices().iterator().next();
+
+        APIContainer calculated = service.calculateContainerServiceValues(stored);
+
+        assertNotSame(stored, calculated);
+        assertEquals("DOWN", calculated.getStatus());
+        assertEquals("DOWN", calculated.getServices().iterator().next().getStatus());
+        assertEquals("UP", stored.getStatus());
+        assertEquals("UP", storedService.getStatus());
+        assertSame(stored, service.retrieveContainer("demoapp"));
     }
 
     @Test
@@ -286,7 +308,7 @@ class CachedProductFamilyServiceTest {
         assertEquals(1, service.getContainerCount());
 
         APIContainer container = containersForService.get(0);
-        service.calculateContainerServiceValues(container);
+        container = service.calculateContainerServiceValues(container);
         assertEquals("UP", container.getStatus());
         assertEquals(1, container.getTotalServices().intValue());
         assertEquals(1, container.getActiveServices().intValue());
@@ -314,7 +336,7 @@ class CachedProductFamilyServiceTest {
         APIContainer container = service.retrieveContainer("demoapp");
         assertNotNull(container);
 
-        service.calculateContainerServiceValues(container);
+        container = service.calculateContainerServiceValues(container);
         assertEquals("DOWN", container.getStatus());
         assertEquals(2, container.getTotalServices().intValue());
         assertEquals(0, container.getActiveServices().intValue());
@@ -342,7 +364,7 @@ class CachedProductFamilyServiceTest {
         APIContainer container = service.retrieveContainer("demoapp");
         assertNotNull(container);
 
-        service.calculateContainerServiceValues(container);
+        container = service.calculateContainerServiceValues(container);
         assertEquals("WARNING", container.getStatus());
         assertEquals(2, container.getTotalServices().intValue());
         assertEquals(1, container.getActiveServices().intValue());
@@ -423,10 +445,13 @@ class CachedProductFamilyServiceTest {
         List<APIContainer> lsContainer = service.getRecentlyUpdatedContainers();
         assertEquals(1, lsContainer.size());
 
-        assertEquals(metadata.get(CATALOG_ID), actualDemoAppContainer.getId());
-        assertEquals(metadata.get(CATALOG_TITLE), actualDemoAppContainer.getTitle());
-        assertEquals(metadata.get(CATALOG_DESCRIPTION), actualDemoAppContainer.getDescription());
-        assertEquals(metadata.get(CATALOG_VERSION), actualDemoAppContainer.getVersion());
+        assertSame(updatedContainer, lsContainer.get(0));
+        assertEquals(metadata.get(CATALOG_ID), updatedContainer.getId());
+        assertEquals(metadata.get(CATALOG_TITLE), updatedContainer.getTitle());
+        assertEquals(metadata.get(CATALOG_DESCRIPTION), updatedContainer.getDescription());
+        assertEquals(metadata.get(CATALOG_VERSION), updatedContainer.getVersion());
+        // the container returned before is not changed by the update
+        assertEquals("Title", actualDemoAppContainer.getTitle());
 
         Set<APIService> apiServices = updatedContainer.getServices();
         assertEquals(1, apiServices.size());
@@ -439,6 +464,22 @@ class CachedProductFamilyServiceTest {
         assertEquals(instance.getHomePageUrl(), actualService.getHomePageUrl());
     }
 
+    @Test
+    void givenContainersSnapshot_whenContainerIsUpdated_thenSnapshotIsNotChanged() {
+        service.getContainer("demoapp", createApp("service1", "demoapp"));
+        Collection<APIContainer> snapshot = service.getAllContainers();
+        APIContainer original = snapshot.iterator().next();
+
+        service.addServiceToContainer("demoapp", createApp("service2", "demoapp"));
+
+        assertEquals(1, snapshot.size());
+        assertEquals(1, original.getServices().size());
+        assertNotSame(original, service.retrieveContainer("demoapp"));
+        assertEquals(2, service.retrieveContainer("demoapp").getServices().size());
+        assertEquals(1, service.getContainersForService("service2").size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new APIContainer()));
+    }
+
     @Test
     void testGivenMultipleApiIds_whenCalculateContainerServiceValues_thenGroupThem() {
         Application application = createApp(
@@ -453,7 +494,7 @@ class CachedProductFamilyServiceTest {
         );
         doReturn(application).when(cachedServicesService).getService(SERVICE_ID);
         APIContainer apiContainer = service.retrieveContainer(SERVICE_ID);
-        service.calculateContainerServiceValues(apiContainer);
+        apiContainer = service.calculateContainerServiceValues(apiContainer);
 
         APIService apiService = apiContainer.getServices().iterator().next();
         assertNotNull(apiService.getApiId());
@@ -472,7 +513,7 @@ class CachedProductFamilyServiceTest {
         );
         doReturn(application).when(cachedServicesService).getService(SERVICE_ID);
         APIContainer apiContainer = service.retrieveContainer(SERVICE_ID);
-        service.calculateContainerServiceValues(apiContainer);
+        apiContainer = service.calculateContainerServiceValues(apiContainer);
 
         assertFalse(apiContainer.isSso());
         for (APIService apiService : apiContainer.getServices()) {
@@ -485,7 +526,7 @@ class CachedProductFamilyServiceTest {
         InstanceInfo instanceInfo = createApp(SERVICE_ID, "catalog1", Pair.of(AUTHENTICATION_SCHEME, "zoweJwt"));
         doReturn(createApp(SERVICE_ID, instanceInfo)).when(cachedServicesService).getService(SERVICE_ID);
         APIContainer apiContainer = service.retrieveContainer(SERVICE_ID);
-        service.calculateContainerServiceValues(apiContainer);
+        apiContainer = service.calculateContainerServiceValues(apiContainer);
 
         assertTrue(apiContainer.isSso());
         for (APIService apiService : apiContainer.getServices()) {
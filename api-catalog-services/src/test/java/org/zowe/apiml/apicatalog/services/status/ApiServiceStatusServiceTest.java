@@ -14,6 +14,7 @@ import org.zowe.apiml.apicatalog.model.APIService;
 import org.zowe.apiml.apicatalog.services.cached.CachedApiDocService;
 import org.zowe.apiml.apicatalog.services.cached.CachedProductFamilyService;
 import org.zowe.apiml.apicatalog.services.cached.CachedServicesService;
+import org.zowe.apiml.apicatalog.services.cached.model.ApiDocCachedEvent;
 import org.zowe.apiml.apicatalog.services.status.event.model.ContainerStatusChangeEvent;
 import org.zowe.apiml.apicatalog.services.status.event.model.STATUS_EVENT_TYPE;
 import com.netflix.appinfo.InstanceInfo;
@@ -27,17 +28,23 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.zowe.apiml.apicatalog.services.status.model.ApiDiffNotAvailableException;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -77,7 +84,7 @@ class ApiServiceStatusServiceTest {
     void testGetContainerStatusAsEvents() {
         List<APIContainer> containers = new ArrayList<>(createContainers());
         when(cachedProductFamilyService.getAllContainers()).thenReturn(containers);
-        doNothing().when(this.cachedProductFamilyService).calculateContainerServiceValues(any(APIContainer.class));
+        doAnswer(invocation -> invocation.getArgument(0)).when(this.cachedProductFamilyService).calculateContainerServiceValues(any(APIContainer.class));
 
         List<ContainerStatusChangeEvent> expectedEvents = new ArrayList<>();
         containers.forEach(container -> {
@@ -122,6 +129,40 @@ class ApiServiceStatusServiceTest {
         assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
     }
 
+    @Test
+    void givenUnchangedApiDocs_whenDiffIsRequestedAgain_thenReuseIt() {
+        String apiDoc = "{}";
+        when(cachedApiDocService.getApiDocForService("service", "v1")).thenReturn(apiDoc);
+        when(cachedApiDocService.getApiDocForService("service", "v2")).thenReturn(apiDoc);
+        OpenApiCompareProducer actualProducer = new OpenApiCompareProducer();
+        when(openApiCompareProducer.fromContents(anyString(), anyString())).thenReturn(actualProducer.fromContents(apiDoc, apiDoc));
+
+        String first = apiServiceStatusService.getApiDiffInfo("service", "v1", "v2").getBody();
+        String second = apiServiceStatusService.getApiDiffInfo("service", "v1", "v2").getBody();
+        assertSame(first, second);
+        verify(openApiCompareProducer, times(1)).fromContents(anyString(), anyString());
+
+        when(cachedApiDocService.getApiDocForService("service", "v2")).thenReturn("{ }");
+        apiServiceStatusService.getApiDiffInfo("service", "v1", "v2");
+        verify(openApiCompareProducer, times(2)).fromContents(anyString(), anyString());
+    }
+
+    @Test
+    void givenPrecomputeEnabled_whenApiDocIsCached_thenComputeDiffsWithAdjacentVersions() {
+        ReflectionTestUtils.setField(apiServiceStatusService, "precomputeApiDiffs", true);
+        String apiDoc = "{}";
+        when(cachedApiDocService.getApiVersionsForService("service")).thenReturn(Arrays.asList("v3", "v1", "v2"));
+        when(cachedApiDocService.getApiDocForService(eq("service"), anyString())).thenReturn(apiDoc);
+        OpenApiCompareProducer actualProducer = new OpenApiCompareProducer();
+        when(openApiCompareProducer.fromContents(anyString(), anyString())).thenReturn(actualProducer.fromContents(apiDoc, apiDoc));
+
+        apiServiceStatusService.onApiDocCached(new ApiDocCachedEvent(this, "service", "v2"));
+
+        verify(openApiCompareProducer, timeout(5000).times(2)).fromContents(anyString(), anyString());
+        verify(cachedApiDocService, timeout(5000)).getApiDocForService("service", "v1");
+        verify(cachedApiDocService, timeout(5000)).getApiDocForService("service", "v3");
+    }
+
     @Test
     void givenInvalidAPIs_whenDifferenceIsProduced_thenTheProperExceptionIsRaised() {
         when(openApiCompareProducer.fromContents(anyString(), anyString())).thenThrow(new NullPointerException());
@@ -134,7 +175,7 @@ class ApiServiceStatusServiceTest {
     void testGetRecentlyChangedEvents() {
         List<APIContainer> containers = createContainers();
         when(cachedProductFamilyService.getRecentlyUpdatedContainers()).thenReturn(containers);
-        doNothing().when(this.cachedProductFamilyService).calculateContainerServiceValues(any(APIContainer.class));
+        doAnswer(invocation -> invocation.getArgument(0)).when(this.cachedProductFamilyService).calculateContainerServiceValues(any(APIContainer.class));
         List<ContainerStatusChangeEvent> events = apiServiceStatusService.getRecentlyUpdatedContainersAsEvents();
         assertNotNull(events);
         assertEquals(2, events.size());
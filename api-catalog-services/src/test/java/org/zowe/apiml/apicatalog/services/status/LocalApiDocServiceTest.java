@@ -97,6 +97,32 @@ class LocalApiDocServiceTest {
         assertEquals("[api -> api=RoutedService(subServiceId=api-v1, gatewayUrl=api, serviceUrl=/)]", actualResponse.getRoutes().toString());
     }
 
+    @Test
+    void givenApiDocWithETag_whenNotModified_thenReturnPreviousContent() {
+        String responseBody = "api-doc body";
+        String eTag = "\"1\"";
+
+        when(instanceRetrievalService.getInstanceInfo(SERVICE_ID))
+            .thenReturn(getStandardInstance(getStandardMetadata(), true));
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag(eTag);
+        when(restTemplate.exchange(SWAGGER_URL, HttpMethod.GET, getObjectHttpEntity(), String.class))
+            .thenReturn(new ResponseEntity<>(responseBody, responseHeaders, HttpStatus.OK));
+
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        conditionalHeaders.setIfNoneMatch(eTag);
+        when(restTemplate.exchange(SWAGGER_URL, HttpMethod.GET, new HttpEntity<>(conditionalHeaders), String.class))
+            .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        ApiDocInfo first = apiDocRetrievalService.retrieveApiDoc(SERVICE_ID, SERVICE_VERSION);
+        ApiDocInfo second = apiDocRetrievalService.retrieveApiDoc(SERVICE_ID, SERVICE_VERSION);
+
+        assertSame(first.getApiDocContent(), second.getApiDocContent());
+        assertEquals(first, second);
+    }
+
     @Test
     void givenZosmfId_whenDocIsRequested_ValidDocIsProduced() {
         String responseBody = "api-doc [ null, null ] body";
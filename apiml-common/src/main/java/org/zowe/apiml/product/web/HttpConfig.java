@@ -16,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
@@ -92,6 +93,17 @@ public class HttpConfig {
     @Value("${apiml.httpclient.conn-pool.timeToLive:#{10000}}")
     private int timeToLive;
 
+    @Value("${apiml.httpclient.conn-pool.adaptive.enabled:false}")
+    private boolean adaptiveConnectionsPerRoute;
+    @Value("${apiml.httpclient.conn-pool.adaptive.minConnectionsPerRoute:${server.maxConnectionsPerRoute:#{10}}}")
+    private int minConnectionsPerRoute;
+    @Value("${apiml.httpclient.conn-pool.adaptive.maxConnectionsPerRoute:#{100}}")
+    private int maxAdaptiveConnectionsPerRoute;
+    @Value("${apiml.httpclient.conn-pool.adaptive.intervalMillis:#{10000}}")
+    private int poolSizingIntervalMillis;
+    @Value("${apiml.httpclient.conn-pool.adaptive.leaseWaitThresholdMillis:#{5}}")
+    private int leaseWaitThresholdMillis;
+
     @Value("${server.attls.enabled:false}")
     private boolean isAttlsEnabled;
 
@@ -109,6 +121,9 @@ public class HttpConfig {
     @Resource
     private AbstractDiscoveryClientOptionalArgs<?> optionalArgs;
 
+    @Autowired(required = false)
+    private ConnectionLeaseListener connectionLeaseListener;
+
 
     @PostConstruct
     public void init() {
@@ -122,7 +137,10 @@ public class HttpConfig {
                     .nonStrictVerifySslCertificatesOfServices(nonStrictVerifySslCertificatesOfServices)
                     .maxConnectionsPerRoute(maxConnectionsPerRoute).maxTotalConnections(maxTotalConnections)
                     .idleConnTimeoutSeconds(idleConnTimeoutSeconds).requestConnectionTimeout(requestConnectionTimeout)
-                    .timeToLive(timeToLive);
+                    .timeToLive(timeToLive).connectionLeaseListener(connectionLeaseListener)
+                    .adaptiveConnectionsPerRoute(adaptiveConnectionsPerRoute).minConnectionsPerRoute(minConnectionsPerRoute)
+                    .maxAdaptiveConnectionsPerRoute(maxAdaptiveConnectionsPerRoute).poolSizingIntervalMillis(poolSizingIntervalMillis)
+                    .leaseWaitThresholdMillis(leaseWaitThresholdMillis);
 
             HttpsConfig httpsConfig = httpsConfigSupplier.get()
                 .keyAlias(keyAlias).keyStore(keyStore).keyPassword(keyPassword)
@@ -36,6 +36,7 @@ public class AuthConfigurationProperties {
     private String gatewayLogoutEndpoint = "/gateway/api/v1/auth/logout";
     private String gatewayQueryEndpoint = "/gateway/api/v1/auth/query";
     private String gatewayTicketEndpoint = "/gateway/api/v1/auth/ticket";
+    private String gatewayPublicKeysEndpoint = "/gateway/auth/keys/public/current";
 
     private String gatewayLoginEndpointOldFormat = "/api/v1/gateway/auth/login";
     private String gatewayLogoutEndpointOldFormat = "/api/v1/gateway/auth/logout";
@@ -52,6 +53,8 @@ public class AuthConfigurationProperties {
 
     private AuthConfigurationProperties.PassTicket passTicket;
 
+    private AuthConfigurationProperties.TokenQuery tokenQuery = new AuthConfigurationProperties.TokenQuery();
+
     private AuthConfigurationProperties.Zosmf zosmf = new AuthConfigurationProperties.Zosmf();
     private String jwtKeyAlias;
 
@@ -86,6 +89,19 @@ public class AuthConfigurationProperties {
         private Integer timeout = 540;
     }
 
+    //Token query properties of the security client
+    //The results are cached only when cacheSize is positive. A cached result is used for at most cacheTtlInSeconds,
+    //a logout or an invalidation of the token at the Gateway is not noticed until then.
+    //With localValidation, a token signed by the Gateway is accepted without asking the Gateway until the token
+    //expires, so a logout or an invalidation of the token at the Gateway is not noticed at all.
+    @Data
+    public static class TokenQuery {
+        private boolean localValidation = false;
+        private long publicKeysRefreshIntervalInSeconds = 10 * 60L;
+        private int cacheSize = 0;
+        private long cacheTtlInSeconds = 60L;
+    }
+
     @Data
     public static class Zosmf {
         private String serviceId;
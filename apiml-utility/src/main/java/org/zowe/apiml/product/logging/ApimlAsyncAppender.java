@@ -0,0 +1,46 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.product.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+import java.util.Iterator;
+
+/**
+ * Appender which passes the events to the attached appenders on a separate thread. The events are kept in a bounded
+ * queue, the calling thread never waits for the file system. When the queue is filled over the discarding threshold,
+ * events of level INFO and lower are dropped, with neverBlock all events are dropped when the queue is full.
+ * <p>
+ * The appender is started only if any of the attached appenders was started, ie. the disabled
+ * {@link ApimlRollingFileAppender} doesn't need a worker thread.
+ */
+public class ApimlAsyncAppender extends AsyncAppender {
+
+    @Override
+    public void start() {
+        if (hasStartedAppender()) {
+            super.start();
+        } else {
+            addInfo("No attached appender was started. Asynchronous appender will be disabled.");
+        }
+    }
+
+    protected boolean hasStartedAppender() {
+        Iterator<Appender<ILoggingEvent>> appenders = iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next().isStarted()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
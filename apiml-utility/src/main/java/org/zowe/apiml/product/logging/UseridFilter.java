@@ -18,16 +18,35 @@ import org.slf4j.Marker;
 
 /**
  * Filter for logging that extracts system property 'user.name' to variable 'userid' accessible by logback
+ * <p>
+ * The filter is called for each logging call, also for the disabled ones. The level of the logger is checked first
+ * and the MDC is touched only for events which will be logged. The user name is read once.
  */
 public class UseridFilter extends TurboFilter {
 
+    private static final String USERID_KEY = "userid";
+
+    private final String userName = System.getProperty("user.name");
+
     @Override
     public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
-        if (MDC.get("userid") == null) {
-            MDC.put("userid", System.getProperty("user.name"));
+        if (!isEnabled(logger, level)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        // MDC could be cleared by other code on this thread, it cannot be set just once per thread
+        if (MDC.get(USERID_KEY) == null) {
+            MDC.put(USERID_KEY, userName);
         }
 
         return FilterReply.NEUTRAL;
     }
 
+    /**
+     * Logger.isEnabledFor calls the turbo filters, use the effective level directly.
+     */
+    private boolean isEnabled(Logger logger, Level level) {
+        return (level == null) || (logger == null) || (level.levelInt >= logger.getEffectiveLevel().levelInt);
+    }
+
 }
@@ -0,0 +1,55 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.product.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ApimlAsyncAppenderTest {
+
+    private ApimlAsyncAppender underTest;
+    private ListAppender<ILoggingEvent> attached;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = new LoggerContext();
+
+        attached = new ListAppender<>();
+        attached.setContext(context);
+        attached.setName("attached");
+
+        underTest = new ApimlAsyncAppender();
+        underTest.setContext(context);
+        underTest.setName("async");
+        underTest.addAppender(attached);
+    }
+
+    @Test
+    void givenStartedAppender_whenTheApplicationStarts_thenTheAppenderStarts() {
+        attached.start();
+
+        underTest.start();
+        assertThat(underTest.isStarted(), is(true));
+
+        underTest.stop();
+    }
+
+    @Test
+    void givenDisabledAppender_whenTheApplicationStarts_thenTheAppenderDoesntStart() {
+        underTest.start();
+        assertThat(underTest.isStarted(), is(false));
+    }
+}
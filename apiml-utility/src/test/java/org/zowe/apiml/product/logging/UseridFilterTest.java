@@ -0,0 +1,61 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.product.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UseridFilterTest {
+
+    private final UseridFilter filter = new UseridFilter();
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        MDC.remove("userid");
+        logger = new LoggerContext().getLogger("org.zowe.apiml.test");
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove("userid");
+    }
+
+    @Test
+    void givenEnabledLevel_whenDecide_thenUseridIsSet() {
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.WARN, "", null, null));
+        assertEquals(System.getProperty("user.name"), MDC.get("userid"));
+    }
+
+    @Test
+    void givenDisabledLevel_whenDecide_thenMdcIsNotTouched() {
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "", null, null));
+        assertNull(MDC.get("userid"));
+    }
+
+    @Test
+    void givenUseridInMdc_whenDecide_thenKeepIt() {
+        MDC.put("userid", "user");
+
+        filter.decide(null, logger, Level.ERROR, "", null, null);
+        assertEquals("user", MDC.get("userid"));
+    }
+}
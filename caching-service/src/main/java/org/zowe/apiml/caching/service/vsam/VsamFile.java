@@ -136,7 +136,9 @@ public class VsamFile implements Closeable {
             byte[] recBuf = new byte[vsamConfig.getRecordLength()];
             zfile.read(recBuf);
             log.trace("RecBuf: {}", recBuf); //NOSONAR
-            log.info("ConvertedStringValue: {}", new String(recBuf, vsamConfig.getEncoding()));
+            if (log.isInfoEnabled()) {
+                log.info("ConvertedStringValue: {}", new String(recBuf, vsamConfig.getEncoding()));
+            }
             VsamRecord returned = new VsamRecord(vsamConfig, recBuf);
             log.info("VsamRecord read: {}", returned);
             return Optional.of(returned);
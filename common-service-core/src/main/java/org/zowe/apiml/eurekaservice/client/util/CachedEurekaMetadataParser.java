@@ -0,0 +1,168 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.eurekaservice.client.util;
+
+import com.netflix.appinfo.InstanceInfo;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.zowe.apiml.auth.Authentication;
+import org.zowe.apiml.config.ApiInfo;
+import org.zowe.apiml.product.routing.RoutedService;
+import org.zowe.apiml.product.routing.RoutedServices;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Parser of Eureka metadata which remembers parsed values of each instance. The values are reused until the instance
+ * is updated (the instance has a different lastUpdatedTimestamp). Results are shared by all callers, the returned
+ * lists are unmodifiable and returned objects must not be changed.
+ * <p>
+ * Methods with the metadata map as argument are not cached.
+ */
+public class CachedEurekaMetadataParser extends EurekaMetadataParser {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final int maxEntries;
+    private final Map<String, ParsedMetadata> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachedEurekaMetadataParser() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries maximum count of cached instances, the whole cache is cleared when it is reached
+     */
+    public CachedEurekaMetadataParser(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public List<ApiInfo> parseApiInfo(InstanceInfo instanceInfo) {
+        return get(instanceInfo, ParsedMetadata::getApiInfo, ParsedMetadata::setApiInfo,
+            () -> Collections.unmodifiableList(parseApiInfo(instanceInfo.getMetadata())));
+    }
+
+    @Override
+    public RoutedServices parseRoutes(InstanceInfo instanceInfo) {
+        RoutedServices routes = new RoutedServices();
+        parseToListRoute(instanceInfo).forEach(routes::addRoutedService);
+        return routes;
+    }
+
+    @Override
+    public List<RoutedService> parseToListRoute(InstanceInfo instanceInfo) {
+        return get(instanceInfo, ParsedMetadata::getRoutes, ParsedMetadata::setRoutes,
+            () -> Collections.unmodifiableList(parseToListRoute(instanceInfo.getMetadata())));
+    }
+
+    @Override
+    public Authentication parseAuthentication(InstanceInfo instanceInfo) {
+        return get(instanceInfo, ParsedMetadata::getAuthentication, ParsedMetadata::setAuthentication,
+            () -> parseAuthentication(instanceInfo.getMetadata()));
+    }
+
+    private <T> T get(InstanceInfo instanceInfo, Function<ParsedMetadata, T> getter, Setter<T> setter, Supplier<T> parser) {
+        final String instanceId = instanceInfo.getInstanceId();
+        if (instanceId == null) {
+            misses.increment();
+            return parser.get();
+        }
+
+        final long lastUpdatedTimestamp = instanceInfo.getLastUpdatedTimestamp();
+        ParsedMetadata parsedMetadata = cache.get(instanceId);
+        if ((parsedMetadata == null) || (parsedMetadata.lastUpdatedTimestamp != lastUpdatedTimestamp)) {
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+            parsedMetadata = new ParsedMetadata(lastUpdatedTimestamp);
+            cache.put(instanceId, parsedMetadata);
+        }
+
+        T value = getter.apply(parsedMetadata);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = parser.get();
+        setter.set(parsedMetadata, value);
+        return value;
+    }
+
+    /**
+     * Remove parsed values of the instance
+     *
+     * @param instanceId id of the instance
+     */
+    public void evict(String instanceId) {
+        cache.remove(instanceId);
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    /**
+     * @return count of calls returning a cached value
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return count of calls which parsed the metadata
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return count of cached instances
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private interface Setter<T> {
+
+        void set(ParsedMetadata parsedMetadata, T value);
+
+    }
+
+    /**
+     * Parsed values of one version of instance. Values are parsed lazily, concurrent callers could parse the same
+     * value, but the results are equal.
+     */
+    @Getter
+    @Setter
+    @RequiredArgsConstructor
+    private static class ParsedMetadata {
+
+        private final long lastUpdatedTimestamp;
+
+        private volatile List<ApiInfo> apiInfo;
+        private volatile List<RoutedService> routes;
+        private volatile Authentication authentication;
+
+    }
+
+}
@@ -9,6 +9,7 @@
  */
 package org.zowe.apiml.eurekaservice.client.util;
 
+import com.netflix.appinfo.InstanceInfo;
 import org.apache.commons.lang3.BooleanUtils;
 import org.zowe.apiml.auth.Authentication;
 import org.zowe.apiml.auth.AuthenticationSchemes;
@@ -82,6 +83,36 @@ public class EurekaMetadataParser {
         return new ArrayList<>(apiInfo.values());
     }
 
+    /**
+     * Parse metadata of the instance and construct ApiInfo with the values found
+     *
+     * @param instanceInfo the instance
+     * @return ApiInfo list
+     */
+    public List<ApiInfo> parseApiInfo(InstanceInfo instanceInfo) {
+        return parseApiInfo(instanceInfo.getMetadata());
+    }
+
+    /**
+     * Parse metadata of the instance and add the routes found to the RoutedServices
+     *
+     * @param instanceInfo the instance
+     * @return the RoutedServices
+     */
+    public RoutedServices parseRoutes(InstanceInfo instanceInfo) {
+        return parseRoutes(instanceInfo.getMetadata());
+    }
+
+    /**
+     * Parse metadata of the instance and return list of routes
+     *
+     * @param instanceInfo the instance
+     * @return list of all routes
+     */
+    public List<RoutedService> parseToListRoute(InstanceInfo instanceInfo) {
+        return parseToListRoute(instanceInfo.getMetadata());
+    }
+
     /**
      * Parse eureka metadata and add the routes found to the RoutedServices
      *
@@ -217,6 +248,10 @@ public class EurekaMetadataParser {
         }
     }
 
+    public Authentication parseAuthentication(InstanceInfo instanceInfo) {
+        return parseAuthentication(instanceInfo.getMetadata());
+    }
+
     public Authentication parseAuthentication(Map<String, String> eurekaMetadata) {
         return Authentication.builder()
                 .applid(eurekaMetadata.get(AUTHENTICATION_APPLID))
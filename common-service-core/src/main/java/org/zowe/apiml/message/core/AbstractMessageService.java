@@ -90,19 +90,14 @@ public abstract class AbstractMessageService implements MessageService {
      * @throws DuplicateMessageException when a message key already exists
      */
     private void validateMessageTemplates(MessageTemplates messageTemplates) {
-        String existedMessageTemplates = messageTemplates.getMessages()
-            .stream()
-            .collect(
-                Collectors.groupingBy(
-                    MessageTemplate::getNumber,
-                    Collectors.counting()
-                )
-            )
-            .entrySet()
-            .stream()
-            .filter(entry -> entry.getValue() > 1)
-            .map(Map.Entry::getKey)
-            .collect(Collectors.joining(","));
+        Set<String> numbers = new HashSet<>();
+        Set<String> duplicatedNumbers = new LinkedHashSet<>();
+        for (MessageTemplate messageTemplate : messageTemplates.getMessages()) {
+            if (!numbers.add(messageTemplate.getNumber())) {
+                duplicatedNumbers.add(messageTemplate.getNumber());
+            }
+        }
+        String existedMessageTemplates = String.join(",", duplicatedNumbers);
 
         if (!existedMessageTemplates.equals("")) {
             String exceptionMessage = String.format("Message template with number [%s] already exists", existedMessageTemplates);
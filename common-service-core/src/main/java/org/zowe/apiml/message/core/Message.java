@@ -12,6 +12,7 @@ package org.zowe.apiml.message.core;
 import org.zowe.apiml.message.api.ApiMessage;
 import org.zowe.apiml.message.api.ApiMessageView;
 import org.zowe.apiml.message.template.MessageTemplate;
+import org.zowe.apiml.message.template.MessageTextFormat;
 import org.zowe.apiml.util.ObjectUtil;
 import org.apache.commons.text.StringEscapeUtils;
 
@@ -28,15 +29,16 @@ public final class Message {
 
     private final String requestedKey;
     private final MessageTemplate messageTemplate;
-    private final Object[] messageParameters;
+    private final String formattedText;
+    private String convertedText;
 
 
     private Message(String requestedKey,
                     MessageTemplate messageTemplate,
-                    Object[] messageParameters) {
+                    String formattedText) {
         this.requestedKey = requestedKey;
         this.messageTemplate = messageTemplate;
-        this.messageParameters = messageParameters;
+        this.formattedText = formattedText;
     }
 
     /**
@@ -56,9 +58,9 @@ public final class Message {
         ObjectUtil.requireNotNull(messageParameters, "messageParameters can't be null");
 
         messageParameters = validateParameters(messageTemplate.getKey(), requestedKey, messageParameters);
-        validateMessageTextFormat(messageTemplate.getText(), messageParameters);
+        String formattedText = validateMessageTextFormat(messageTemplate.getText(), messageParameters);
 
-        return new Message(requestedKey, messageTemplate, messageParameters);
+        return new Message(requestedKey, messageTemplate, formattedText);
     }
 
     /**
@@ -71,7 +73,7 @@ public final class Message {
      * @return a formatted String
      */
     private static String validateMessageTextFormat(String messageText, Object[] messageParameters) {
-        return String.format(messageText, messageParameters);
+        return MessageTextFormat.of(messageText).format(messageParameters);
     }
 
     /**
@@ -93,22 +95,24 @@ public final class Message {
     /**
      * Converts the text with {@link MessageTemplate} and Object[] message parameters.
      *
+     * The text is formatted once when the message is created, the escaped text is computed on the first use.
+     *
      * @return escaped characters in the converted text using HTML entities
      */
     public String getConvertedText() {
-        String convertedText = validateMessageTextFormat(messageTemplate.getText(), messageParameters);
-        convertedText = StringEscapeUtils.escapeHtml4(convertedText);
-        return convertedText;
+        String text = convertedText;
+        if (text == null) {
+            text = StringEscapeUtils.escapeHtml4(formattedText);
+            convertedText = text;
+        }
+        return text;
     }
 
     /**
      * @return a message in the format that can be printed to console as a single line or displayed to the user
      */
     public String mapToReadableText() {
-        return String.format("%s%s %s",
-            messageTemplate.getNumber(),
-            messageTemplate.getType().toChar(),
-            getConvertedText());
+        return messageTemplate.getNumber() + messageTemplate.getType().toChar() + " " + getConvertedText();
     }
 
     /**
@@ -0,0 +1,136 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.message.template;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingFormatArgumentException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-parsed text of a message template. Message texts use almost only the plain {@code %s} specifier, such a text is
+ * split once into its literal parts and formatted by concatenation. Other texts are formatted by
+ * {@link String#format(String, Object...)}, the result is the same in both cases.
+ */
+public final class MessageTextFormat {
+
+    static final int MAX_CACHED_FORMATS = 10000;
+
+    private static final Map<String, MessageTextFormat> FORMATS = new ConcurrentHashMap<>();
+
+    private final String text;
+
+    /**
+     * Literal parts of the text around the {@code %s} specifiers, or null if the text has to be formatted by
+     * {@link String#format(String, Object...)}
+     */
+    private final String[] literals;
+
+    private MessageTextFormat(String text, String[] literals) {
+        this.text = text;
+        this.literals = literals;
+    }
+
+    /**
+     * Returns the parsed format of the text. The texts of message templates are parsed once and reused.
+     *
+     * @param text the message text
+     * @return {@link MessageTextFormat}
+     */
+    public static MessageTextFormat of(String text) {
+        MessageTextFormat format = FORMATS.get(text);
+        if (format == null) {
+            format = new MessageTextFormat(text, parse(text));
+            if (FORMATS.size() >= MAX_CACHED_FORMATS) {
+                FORMATS.clear();
+            }
+            FORMATS.put(text, format);
+        }
+        return format;
+    }
+
+    /**
+     * Format the text with the parameters.
+     *
+     * @param parameters the message parameters
+     * @return the formatted text
+     * @throws MissingFormatArgumentException when the amount of parameters is less than required
+     * @throws java.util.IllegalFormatException when the format is not valid for the parameters
+     */
+    public String format(Object... parameters) {
+        if ((literals == null) || !isPlain(parameters)) {
+            return String.format(text, parameters);
+        }
+
+        int argumentCount = literals.length - 1;
+        if (((parameters == null) && (argumentCount > 0)) || ((parameters != null) && (parameters.length < argumentCount))) {
+            throw new MissingFormatArgumentException("%s");
+        }
+
+        StringBuilder result = new StringBuilder(text.length() + 16 * argumentCount);
+        result.append(literals[0]);
+        for (int i = 0; i < argumentCount; i++) {
+            result.append(parameters[i]).append(literals[i + 1]);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Objects implementing {@link Formattable} format themselves, leave them to {@link String#format(String, Object...)}
+     */
+    private static boolean isPlain(Object[] parameters) {
+        if (parameters != null) {
+            for (Object parameter : parameters) {
+                if (parameter instanceof Formattable) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String[] parse(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        List<String> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(text.length());
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            char specifier = (i + 1 < length) ? text.charAt(++i) : 0;
+            switch (specifier) {
+                case 's':
+                    parts.add(literal.toString());
+                    literal.setLength(0);
+                    break;
+                case '%':
+                    literal.append('%');
+                    break;
+                case 'n':
+                    literal.append(System.lineSeparator());
+                    break;
+                default:
+                    // flags, width, indexes or other conversions
+                    return null;
+            }
+        }
+        parts.add(literal.toString());
+        return parts.toArray(new String[0]);
+    }
+}
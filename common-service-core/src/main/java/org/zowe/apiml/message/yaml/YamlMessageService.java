@@ -16,6 +16,8 @@ import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of {@link MessageService} that uses messages.yml as source for messages.
@@ -24,6 +26,11 @@ public class YamlMessageService extends AbstractMessageService {
 
     private static final String COMMON_MESSAGES = "/core-log-messages.yml";
 
+    /**
+     * Message files parsed by any instance. The files are resources of the application, they don't change at runtime.
+     */
+    private static final Map<String, MessageTemplates> PARSED_MESSAGES = new ConcurrentHashMap<>();
+
     /**
      * Constructor that creates only common messages.
      */
@@ -50,10 +57,18 @@ public class YamlMessageService extends AbstractMessageService {
      */
     @Override
     public void loadMessages(String messagesFilePath) {
+        MessageTemplates messageTemplates = PARSED_MESSAGES.get(messagesFilePath);
+        if (messageTemplates == null) {
+            messageTemplates = parseMessages(messagesFilePath);
+        }
+        super.addMessageTemplates(messageTemplates);
+        PARSED_MESSAGES.putIfAbsent(messagesFilePath, messageTemplates);
+    }
+
+    private MessageTemplates parseMessages(String messagesFilePath) {
         try (InputStream in = YamlMessageService.class.getResourceAsStream(messagesFilePath)) {
             Yaml yaml = new Yaml();
-            MessageTemplates messageTemplates = yaml.loadAs(in, MessageTemplates.class);
-            super.addMessageTemplates(messageTemplates);
+            return yaml.loadAs(in, MessageTemplates.class);
         } catch (YAMLException | IOException e) {
             throw new MessageLoadException("There is problem with reading application messages file: " + messagesFilePath, e);
         }
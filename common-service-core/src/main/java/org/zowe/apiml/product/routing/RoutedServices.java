@@ -9,11 +9,13 @@
  */
 package org.zowe.apiml.product.routing;
 
+import lombok.EqualsAndHashCode;
 import org.zowe.apiml.util.UrlUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 
+@EqualsAndHashCode
 public class RoutedServices {
     private final Map<String, RoutedService> routedService = new HashMap<>();
 
@@ -10,7 +10,11 @@
 package org.zowe.apiml.security;
 
 import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
@@ -19,21 +23,45 @@ import org.apache.http.pool.PoolStats;
 import org.zowe.apiml.message.log.ApimlLogger;
 import org.zowe.apiml.message.yaml.YamlMessageServiceInstance;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Used for custom pooling http connection management.
+ * <p>
+ * The manager collects the usage of each route. With {@link #startMaintenance(long, long, ConnectionPoolSizer)} it
+ * periodically closes expired and idle connections and optionally adjusts the connection limits of the routes.
  */
+@Slf4j
 public class ApimlPoolingHttpClientConnectionManager extends PoolingHttpClientConnectionManager {
 
     private final ApimlLogger apimlLog = ApimlLogger.of(ApimlPoolingHttpClientConnectionManager.class, YamlMessageServiceInstance.getInstance());
 
+    /**
+     * Optional listener of the time spent waiting for connections
+     */
+    @Setter
+    private volatile ConnectionLeaseListener connectionLeaseListener;
+
+    private final Map<HttpRoute, RouteStatistics> routeStatistics = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService maintenanceExecutor;
+    private long idleTimeMillis;
+    private long sizingIntervalMillis;
+    private long lastSizing;
+    private ConnectionPoolSizer sizer;
+
     public ApimlPoolingHttpClientConnectionManager(@NonNull Registry<ConnectionSocketFactory> socketFactoryRegistry, int timeToLive) {
         super(socketFactoryRegistry, null, null, null, timeToLive, TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Override requestConnection to log a warning when connection limits are reached. No other behaviour is changed.
+     * Override requestConnection to log a warning when connection limits are reached and to measure the usage of
+     * the route. No other behaviour is changed.
      */
     @Override
     public ConnectionRequest requestConnection(HttpRoute route, Object state) {
@@ -53,7 +81,156 @@ public class ApimlPoolingHttpClientConnectionManager extends PoolingHttpClientCo
             apimlLog.log("org.zowe.apiml.common.gatewayRouteConnectionLimitReached", routeLimit, route.toString());
         }
 
-        return super.requestConnection(route, state);
+        RouteStatistics statistics = getRouteStatistics(route);
+        statistics.requested(routeConnections + routeStats.getPending() + 1, System.currentTimeMillis());
+
+        ConnectionRequest connectionRequest = super.requestConnection(route, state);
+        return new TimedConnectionRequest(connectionRequest, route, statistics, connectionLeaseListener);
+    }
+
+    /**
+     * The listener is notified inside of the map update, so the addition and removal of the same route cannot
+     * interleave.
+     */
+    private RouteStatistics getRouteStatistics(HttpRoute route) {
+        RouteStatistics statistics = routeStatistics.get(route);
+        if (statistics != null) {
+            return statistics;
+        }
+        return routeStatistics.computeIfAbsent(route, r -> {
+            ConnectionLeaseListener listener = connectionLeaseListener;
+            if (listener != null) {
+                listener.routeAdded(r, this);
+            }
+            return new RouteStatistics();
+        });
+    }
+
+    /**
+     * Start a background thread, which closes the expired connections and connections idle longer than
+     * idleTimeMillis. It runs with the period of the idle time. If the sizer is set, it also adjusts the connection
+     * limits of the routes once per sizingIntervalMillis. The thread stops on shutdown of the manager.
+     */
+    synchronized void startMaintenance(long idleTimeMillis, long sizingIntervalMillis, ConnectionPoolSizer sizer) {
+        if (maintenanceExecutor != null) {
+            return;
+        }
+        this.idleTimeMillis = idleTimeMillis;
+        this.sizingIntervalMillis = sizingIntervalMillis;
+        this.sizer = sizer;
+        this.lastSizing = System.currentTimeMillis();
+
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apiml-connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenanceExecutor.scheduleWithFixedDelay(this::maintain, idleTimeMillis, idleTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void maintain() {
+        try {
+            closeExpiredConnections();
+            closeIdleConnections(idleTimeMillis, TimeUnit.MILLISECONDS);
+
+            long now = System.currentTimeMillis();
+            if ((sizer != null) && (now - lastSizing >= sizingIntervalMillis)) {
+                lastSizing = now;
+                resize(now);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Maintenance of the connection pool failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adjust the limits of the routes by their usage since the previous sizing. Routes unused for the whole
+     * interval fall back to the default limit, their statistics are removed and the listener is notified.
+     */
+    void resize(long now) {
+        for (Map.Entry<HttpRoute, RouteStatistics> entry : routeStatistics.entrySet()) {
+            HttpRoute route = entry.getKey();
+            RouteStatistics.Usage usage = entry.getValue().reset();
+
+            if ((usage.peakDemand == 0) && isUnused(route, entry.getValue(), now)) {
+                removeRoute(route, entry.getValue(), now);
+                continue;
+            }
+
+            int limit = getMaxPerRoute(route);
+            int next = Math.min(sizer.nextLimit(limit, usage), getMaxTotal());
+            if (next != limit) {
+                log.debug("Connection limit of the route {} changed from {} to {}", route, limit, next);
+                setMaxPerRoute(route, next);
+            }
+        }
+    }
+
+    private boolean isUnused(HttpRoute route, RouteStatistics statistics, long now) {
+        return (now - statistics.getLastUsed() >= sizingIntervalMillis) && (getStats(route).getLeased() == 0);
+    }
+
+    /**
+     * Remove the statistics and notify the listener atomically. The route is kept if it was used in the meantime
+     * or if its statistics were replaced.
+     */
+    private void removeRoute(HttpRoute route, RouteStatistics statistics, long now) {
+        routeStatistics.computeIfPresent(route, (r, current) -> {
+            if ((current != statistics) || !isUnused(r, current, now)) {
+                return current;
+            }
+            setMaxPerRoute(r, getDefaultMaxPerRoute());
+            ConnectionLeaseListener listener = connectionLeaseListener;
+            if (listener != null) {
+                listener.routeRemoved(r, this);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (this) {
+            if (maintenanceExecutor != null) {
+                maintenanceExecutor.shutdownNow();
+            }
+        }
+        super.shutdown();
+    }
+
+    private static class TimedConnectionRequest implements ConnectionRequest {
+
+        private final ConnectionRequest connectionRequest;
+        private final HttpRoute route;
+        private final RouteStatistics statistics;
+        private final ConnectionLeaseListener listener;
+
+        TimedConnectionRequest(ConnectionRequest connectionRequest, HttpRoute route, RouteStatistics statistics, ConnectionLeaseListener listener) {
+            this.connectionRequest = connectionRequest;
+            this.route = route;
+            this.statistics = statistics;
+            this.listener = listener;
+        }
+
+        @Override
+        public HttpClientConnection get(long timeout, TimeUnit timeUnit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+            long start = System.nanoTime();
+            try {
+                return connectionRequest.get(timeout, timeUnit);
+            } finally {
+                long waitTime = System.nanoTime() - start;
+                statistics.leased(waitTime);
+                if (listener != null) {
+                    listener.connectionLeased(route, waitTime);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            return connectionRequest.cancel();
+        }
+
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.security;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+
+/**
+ * Listener of {@link ApimlPoolingHttpClientConnectionManager} which is notified about the time spent waiting for
+ * a connection from the pool. It is called on the thread which requested the connection.
+ */
+@FunctionalInterface
+public interface ConnectionLeaseListener {
+
+    /**
+     * @param route    route of the requested connection
+     * @param waitTime time in nanoseconds spent waiting for the connection, including a failed attempt
+     */
+    void connectionLeased(HttpRoute route, long waitTime);
+
+    /**
+     * Called once the pool is requested for a connection of a new route, ie. to start monitoring of the route.
+     * The notifications about the same route never overlap, a route is removed only after it was added.
+     *
+     * @param route route of the requested connection
+     * @param pool  the pool, which provides the statistics and the limit of the route
+     */
+    default void routeAdded(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+    }
+
+    /**
+     * Called once the pool stops tracking an unused route, ie. to stop monitoring of the route. The route is added
+     * again by the next request for its connection.
+     *
+     * @param route route which is no longer used
+     * @param pool  the pool, which was provided by {@link #routeAdded(HttpRoute, ConnPoolControl)}
+     */
+    default void routeRemoved(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+    }
+
+}
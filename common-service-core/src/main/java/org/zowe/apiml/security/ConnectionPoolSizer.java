@@ -0,0 +1,43 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.security;
+
+/**
+ * Decides the connection limit of a route from its usage. The limit grows when the route used all its connections
+ * and the requests waited for them longer than the threshold, and shrinks slowly when less than half of the
+ * connections were needed. The limit always stays within the bounds.
+ */
+class ConnectionPoolSizer {
+
+    private final int minPerRoute;
+    private final int maxPerRoute;
+    private final long waitThresholdNanos;
+
+    ConnectionPoolSizer(int minPerRoute, int maxPerRoute, long waitThresholdNanos) {
+        if ((minPerRoute < 1) || (maxPerRoute < minPerRoute)) {
+            throw new IllegalArgumentException("Invalid bounds of connections per route: " + minPerRoute + " - " + maxPerRoute);
+        }
+        this.minPerRoute = minPerRoute;
+        this.maxPerRoute = maxPerRoute;
+        this.waitThresholdNanos = waitThresholdNanos;
+    }
+
+    int nextLimit(int limit, RouteStatistics.Usage usage) {
+        int step = Math.max(1, limit / 4);
+        int next = limit;
+        if ((usage.peakDemand >= limit) && (usage.getAverageWait() >= waitThresholdNanos)) {
+            next = limit + step;
+        } else if (usage.peakDemand * 2 < limit) {
+            next = Math.max(limit - step, usage.peakDemand * 2);
+        }
+        return Math.max(minPerRoute, Math.min(maxPerRoute, next));
+    }
+
+}
@@ -15,7 +15,7 @@ import lombok.Value;
 
 @Builder
 @Value
-@ToString(exclude = {"trustStorePassword", "keyStorePassword", "keyPassword"})
+@ToString(exclude = {"trustStorePassword", "keyStorePassword", "keyPassword", "connectionLeaseListener"})
 public class HttpsConfig {
 
     @Builder.Default
@@ -46,4 +46,21 @@ public class HttpsConfig {
     private int requestConnectionTimeout = 10_000;
     @Builder.Default
     private int timeToLive = 10_000;
+    /**
+     * Adjust the connection limit of each route between minConnectionsPerRoute and maxAdaptiveConnectionsPerRoute,
+     * maxConnectionsPerRoute is the initial limit
+     */
+    private boolean adaptiveConnectionsPerRoute;
+    @Builder.Default
+    private int minConnectionsPerRoute = 2;
+    @Builder.Default
+    private int maxAdaptiveConnectionsPerRoute = 100;
+    @Builder.Default
+    private int poolSizingIntervalMillis = 10_000;
+    @Builder.Default
+    private int leaseWaitThresholdMillis = 5;
+    /**
+     * Optional listener of the time spent waiting for a connection from the pool
+     */
+    private ConnectionLeaseListener connectionLeaseListener;
 }
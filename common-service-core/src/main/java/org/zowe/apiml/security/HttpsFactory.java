@@ -69,8 +69,9 @@ public class HttpsFactory {
         ApimlPoolingHttpClientConnectionManager connectionManager =
             new ApimlPoolingHttpClientConnectionManager(socketFactoryRegistry, config.getTimeToLive());
         connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
-        connectionManager.closeIdleConnections(config.getIdleConnTimeoutSeconds(), TimeUnit.SECONDS);
         connectionManager.setMaxTotal(config.getMaxTotalConnections());
+        connectionManager.setConnectionLeaseListener(config.getConnectionLeaseListener());
+        connectionManager.startMaintenance(getIdleTimeMillis(), config.getPoolSizingIntervalMillis(), createConnectionPoolSizer());
 
         return HttpClientBuilder.create().setDefaultRequestConfig(requestConfig).setSSLHostnameVerifier(createHostnameVerifier())
             .setConnectionManager(connectionManager).disableCookieManagement().setUserTokenHandler(userTokenHandler)
@@ -79,6 +80,30 @@ public class HttpsFactory {
 
     }
 
+    /**
+     * Idle time of connections by the configuration. The expiration of connections without a keep-alive hint of
+     * the service is set by {@link ApimlKeepAliveStrategy} and doesn't depend on this value. Without a positive
+     * value the keep-alive timeout is used.
+     */
+    long getIdleTimeMillis() {
+        long idleTimeMillis = TimeUnit.SECONDS.toMillis(config.getIdleConnTimeoutSeconds());
+        if (idleTimeMillis <= 0) {
+            return ApimlKeepAliveStrategy.KEEPALIVE_TIMOUT_MILLIS;
+        }
+        return idleTimeMillis;
+    }
+
+    private ConnectionPoolSizer createConnectionPoolSizer() {
+        if (!config.isAdaptiveConnectionsPerRoute()) {
+            return null;
+        }
+        return new ConnectionPoolSizer(
+            config.getMinConnectionsPerRoute(),
+            config.getMaxAdaptiveConnectionsPerRoute(),
+            TimeUnit.MILLISECONDS.toNanos(config.getLeaseWaitThresholdMillis())
+        );
+    }
+
     public ConnectionSocketFactory createSslSocketFactory() {
         if (config.isVerifySslCertificatesOfServices() || config.isNonStrictVerifySslCertificatesOfServices()) {
             return createSecureSslSocketFactory();
@@ -0,0 +1,66 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Usage of the connection pool by one route since the last sizing of the pool. It counts the leases, the time spent
+ * waiting for them and the peak demand (leased and pending connections including the new request).
+ */
+class RouteStatistics {
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final AtomicInteger peakDemand = new AtomicInteger();
+    private final AtomicLong lastUsed = new AtomicLong();
+
+    void requested(int demand, long time) {
+        peakDemand.accumulateAndGet(demand, Math::max);
+        lastUsed.set(time);
+    }
+
+    void leased(long waitNanos) {
+        leases.increment();
+        waitTime.add(waitNanos);
+    }
+
+    /**
+     * @return the usage since the previous call, the counters start again from zero
+     */
+    Usage reset() {
+        return new Usage(leases.sumThenReset(), waitTime.sumThenReset(), peakDemand.getAndSet(0));
+    }
+
+    long getLastUsed() {
+        return lastUsed.get();
+    }
+
+    static class Usage {
+
+        final long leases;
+        final long waitTime;
+        final int peakDemand;
+
+        Usage(long leases, long waitTime, int peakDemand) {
+            this.leases = leases;
+            this.waitTime = waitTime;
+            this.peakDemand = peakDemand;
+        }
+
+        long getAverageWait() {
+            return (leases == 0) ? 0 : waitTime / leases;
+        }
+
+    }
+
+}
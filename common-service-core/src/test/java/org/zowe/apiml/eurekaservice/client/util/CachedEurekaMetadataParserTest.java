@@ -0,0 +1,86 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.eurekaservice.client.util;
+
+import com.netflix.appinfo.InstanceInfo;
+import org.junit.jupiter.api.Test;
+import org.zowe.apiml.config.ApiInfo;
+import org.zowe.apiml.product.routing.RoutedService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
+
+class CachedEurekaMetadataParserTest {
+
+    private final CachedEurekaMetadataParser underTest = new CachedEurekaMetadataParser(2);
+
+    private InstanceInfo instance(String instanceId, long lastUpdatedTimestamp, String gatewayUrl) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put(API_INFO + ".1." + API_INFO_GATEWAY_URL, gatewayUrl);
+        metadata.put(ROUTES + ".api-v1." + ROUTES_GATEWAY_URL, gatewayUrl);
+        metadata.put(ROUTES + ".api-v1." + ROUTES_SERVICE_URL, "/service");
+        metadata.put(AUTHENTICATION_APPLID, "applid");
+
+        InstanceInfo instanceInfo = mock(InstanceInfo.class);
+        when(instanceInfo.getInstanceId()).thenReturn(instanceId);
+        when(instanceInfo.getLastUpdatedTimestamp()).thenReturn(lastUpdatedTimestamp);
+        when(instanceInfo.getMetadata()).thenReturn(metadata);
+        return instanceInfo;
+    }
+
+    @Test
+    void givenSameInstanceVersion_whenParsedAgain_thenCachedValueIsReturned() {
+        List<ApiInfo> apiInfo = underTest.parseApiInfo(instance("instance", 1, "api/v1"));
+        List<RoutedService> routes = underTest.parseToListRoute(instance("instance", 1, "api/v1"));
+
+        assertSame(apiInfo, underTest.parseApiInfo(instance("instance", 1, "api/v2")));
+        assertSame(routes, underTest.parseToListRoute(instance("instance", 1, "api/v2")));
+        assertEquals("applid", underTest.parseAuthentication(instance("instance", 1, "api/v1")).getApplid());
+        assertEquals(2, underTest.getHits());
+        assertEquals(3, underTest.getMisses());
+    }
+
+    @Test
+    void givenUpdatedInstance_whenParsed_thenMetadataAreParsedAgain() {
+        underTest.parseApiInfo(instance("instance", 1, "api/v1"));
+        List<ApiInfo> apiInfo = underTest.parseApiInfo(instance("instance", 2, "api/v2"));
+
+        assertEquals("api/v2", apiInfo.get(0).getGatewayUrl());
+        assertEquals(0, underTest.getHits());
+        assertEquals(2, underTest.getMisses());
+    }
+
+    @Test
+    void givenCachedList_whenModified_thenExceptionIsThrown() {
+        List<RoutedService> routes = underTest.parseToListRoute(instance("instance", 1, "api/v1"));
+
+        assertThrows(UnsupportedOperationException.class, routes::clear);
+        assertEquals("/service", underTest.parseRoutes(instance("instance", 1, "api/v1")).findServiceByGatewayUrl("api/v1").getServiceUrl());
+    }
+
+    @Test
+    void givenFullCache_whenNewInstanceIsParsed_thenCacheIsCleared() {
+        underTest.parseApiInfo(instance("instance1", 1, "api/v1"));
+        underTest.parseApiInfo(instance("instance2", 1, "api/v1"));
+        assertEquals(2, underTest.size());
+
+        underTest.parseApiInfo(instance("instance3", 1, "api/v1"));
+        assertEquals(1, underTest.size());
+
+        underTest.evict("instance3");
+        assertEquals(0, underTest.size());
+    }
+
+}
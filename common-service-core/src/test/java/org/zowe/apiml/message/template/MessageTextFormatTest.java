@@ -0,0 +1,54 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.message.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.IllegalFormatConversionException;
+import java.util.MissingFormatArgumentException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageTextFormatTest {
+
+    @Test
+    void givenSameText_whenParsed_thenReuseFormat() {
+        assertSame(MessageTextFormat.of("Service %s is not available"), MessageTextFormat.of("Service %s is not available"));
+    }
+
+    @Test
+    void givenPlainSpecifiers_whenFormat_thenSameAsStringFormat() {
+        String text = "%s of %s is 100%% done%n, value: %s";
+        Object[] parameters = {"Task", 1, null};
+
+        assertEquals(String.format(text, parameters), MessageTextFormat.of(text).format(parameters));
+    }
+
+    @Test
+    void givenMoreParameters_whenFormat_thenIgnoreRest() {
+        assertEquals("Value: 1", MessageTextFormat.of("Value: %s").format("1", "2"));
+    }
+
+    @Test
+    void givenMissingParameter_whenFormat_thenThrowException() {
+        MessageTextFormat format = MessageTextFormat.of("Values: %s %s");
+        assertThrows(MissingFormatArgumentException.class, () -> format.format("1"));
+    }
+
+    @Test
+    void givenOtherSpecifiers_whenFormat_thenUseStringFormat() {
+        assertEquals("Value: 0042", MessageTextFormat.of("Value: %04d").format(42));
+
+        MessageTextFormat format = MessageTextFormat.of("Value: %d");
+        assertThrows(IllegalFormatConversionException.class, () -> format.format("42"));
+    }
+}
@@ -9,17 +9,30 @@
  */
 package org.zowe.apiml.security;
 
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpHost;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.pool.ConnPoolControl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ApimlPoolingHttpClientConnectionManagerTest {
     private HttpRoute route;
@@ -43,6 +56,131 @@ class ApimlPoolingHttpClientConnectionManagerTest {
         assertNotNull(connectionRequest);
     }
 
+    @Test
+    void givenLeaseListener_whenConnectionLeased_thenNotifyWaitTime() throws Exception {
+        AtomicReference<HttpRoute> leasedRoute = new AtomicReference<>();
+        AtomicLong waitTime = new AtomicLong(-1);
+        connectionManager.setConnectionLeaseListener((r, wait) -> {
+            leasedRoute.set(r);
+            waitTime.set(wait);
+        });
+
+        HttpClientConnection connection = connectionManager.requestConnection(route, state).get(1, TimeUnit.SECONDS);
+        assertNotNull(connection);
+        assertEquals(route, leasedRoute.get());
+        assertTrue(waitTime.get() >= 0);
+
+        connectionManager.releaseConnection(connection, state, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void givenLeaseListener_whenNewRoute_thenNotifyOnce() {
+        AtomicInteger addedRoutes = new AtomicInteger();
+        connectionManager.setConnectionLeaseListener(new ConnectionLeaseListener() {
+            @Override
+            public void connectionLeased(HttpRoute route, long waitTime) {
+                // not tested
+            }
+
+            @Override
+            public void routeAdded(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+                assertEquals(connectionManager, pool);
+                addedRoutes.incrementAndGet();
+            }
+        });
+
+        connectionManager.requestConnection(route, state);
+        connectionManager.requestConnection(route, state);
+
+        assertEquals(1, addedRoutes.get());
+    }
+
+    @Test
+    void givenSaturatedRoute_whenResize_thenIncreaseLimitAndResetWhenUnused() throws Exception {
+        connectionManager.setDefaultMaxPerRoute(2);
+        connectionManager.startMaintenance(60_000, 0, new ConnectionPoolSizer(1, 10, 0));
+        try {
+            HttpClientConnection connection1 = connectionManager.requestConnection(route, state).get(1, TimeUnit.SECONDS);
+            HttpClientConnection connection2 = connectionManager.requestConnection(route, state).get(1, TimeUnit.SECONDS);
+
+            connectionManager.resize(System.currentTimeMillis());
+            assertEquals(3, connectionManager.getMaxPerRoute(route));
+
+            connectionManager.releaseConnection(connection1, state, 0, TimeUnit.MILLISECONDS);
+            connectionManager.releaseConnection(connection2, state, 0, TimeUnit.MILLISECONDS);
+
+            connectionManager.resize(System.currentTimeMillis());
+            assertEquals(2, connectionManager.getMaxPerRoute(route));
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    void givenUnusedRoute_whenResize_thenNotifyRouteRemoved() throws Exception {
+        List<HttpRoute> removedRoutes = new ArrayList<>();
+        connectionManager.setConnectionLeaseListener(new ConnectionLeaseListener() {
+            @Override
+            public void connectionLeased(HttpRoute route, long waitTime) {
+                // not tested
+            }
+
+            @Override
+            public void routeRemoved(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+                assertEquals(connectionManager, pool);
+                removedRoutes.add(route);
+            }
+        });
+        connectionManager.startMaintenance(60_000, 0, new ConnectionPoolSizer(1, 10, 0));
+        try {
+            HttpClientConnection connection = connectionManager.requestConnection(route, state).get(1, TimeUnit.SECONDS);
+            connectionManager.releaseConnection(connection, state, 0, TimeUnit.MILLISECONDS);
+
+            // the first sizing still sees the demand of the request
+            connectionManager.resize(System.currentTimeMillis());
+            assertTrue(removedRoutes.isEmpty());
+
+            connectionManager.resize(System.currentTimeMillis());
+            assertEquals(Collections.singletonList(route), removedRoutes);
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    void givenRouteRequestedDuringRemoval_whenResize_thenNotifyInOrder() throws Exception {
+        List<String> events = new ArrayList<>();
+        connectionManager.setConnectionLeaseListener(new ConnectionLeaseListener() {
+            @Override
+            public void connectionLeased(HttpRoute route, long waitTime) {
+                // not tested
+            }
+
+            @Override
+            public void routeAdded(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+                events.add("added");
+            }
+
+            @Override
+            public void routeRemoved(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+                // the request comes before the removal is finished
+                connectionManager.requestConnection(route, state);
+                events.add("removed");
+            }
+        });
+        connectionManager.startMaintenance(60_000, 0, new ConnectionPoolSizer(1, 10, 0));
+        try {
+            connectionManager.requestConnection(route, state);
+            connectionManager.resize(System.currentTimeMillis());
+            connectionManager.resize(System.currentTimeMillis());
+
+            connectionManager.requestConnection(route, state);
+            assertEquals(Arrays.asList("added", "removed", "added"), events);
+        } finally {
+            connectionManager.shutdown();
+        }
+    }
+
     @Test
     void givenNoSocketRegistry_whenCreateConnection_thenThrowError() {
         assertThrows(IllegalArgumentException.class, () -> new ApimlPoolingHttpClientConnectionManager(null,10_000));
@@ -0,0 +1,55 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionPoolSizerTest {
+
+    private static final long THRESHOLD = 1_000_000;
+
+    private final ConnectionPoolSizer sizer = new ConnectionPoolSizer(2, 20, THRESHOLD);
+
+    private RouteStatistics.Usage usage(int peakDemand, long averageWait) {
+        return new RouteStatistics.Usage(10, 10 * averageWait, peakDemand);
+    }
+
+    @Test
+    void givenSaturatedRouteWithWaits_whenNextLimit_thenGrow() {
+        assertEquals(12, sizer.nextLimit(10, usage(10, THRESHOLD)));
+        assertEquals(20, sizer.nextLimit(19, usage(25, THRESHOLD)));
+    }
+
+    @Test
+    void givenSaturatedRouteWithoutWaits_whenNextLimit_thenKeep() {
+        assertEquals(10, sizer.nextLimit(10, usage(10, THRESHOLD - 1)));
+    }
+
+    @Test
+    void givenLowDemand_whenNextLimit_thenShrinkSlowly() {
+        assertEquals(8, sizer.nextLimit(10, usage(1, 0)));
+        assertEquals(2, sizer.nextLimit(2, usage(0, 0)));
+    }
+
+    @Test
+    void givenModerateDemand_whenNextLimit_thenKeep() {
+        assertEquals(10, sizer.nextLimit(10, usage(5, 0)));
+    }
+
+    @Test
+    void givenInvalidBounds_whenCreate_thenThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPoolSizer(0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPoolSizer(5, 4, 0));
+    }
+
+}
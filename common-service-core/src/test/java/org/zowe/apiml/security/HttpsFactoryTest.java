@@ -74,6 +74,18 @@ class HttpsFactoryTest {
         assertEquals("org.apache.http.impl.client.InternalHttpClient", httpClient.getClass().getName());
     }
 
+    @Test
+    void shouldUseConfiguredIdleTime() {
+        HttpsFactory httpsFactory = new HttpsFactory(httpsConfigBuilder.idleConnTimeoutSeconds(5).build());
+        assertEquals(5000, httpsFactory.getIdleTimeMillis());
+    }
+
+    @Test
+    void shouldUseKeepAliveTimeoutWhenIdleTimeIsNotSet() {
+        HttpsFactory httpsFactory = new HttpsFactory(httpsConfigBuilder.idleConnTimeoutSeconds(0).build());
+        assertEquals(ApimlKeepAliveStrategy.KEEPALIVE_TIMOUT_MILLIS, httpsFactory.getIdleTimeMillis());
+    }
+
     @Test
     void shouldCreateSecureSslContext() {
         HttpsConfig httpsConfig = httpsConfigBuilder.build();
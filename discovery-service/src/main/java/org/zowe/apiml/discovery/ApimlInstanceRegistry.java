@@ -27,6 +27,9 @@ import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
 
 /**
  * This implementation of instance registry is solving known problem in Eureka. Discovery service notify about change
@@ -184,6 +187,28 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
         }
     }
 
+    /**
+     * Renews leases of multiple instances in one call. It is used for instances without own heartbeat (static
+     * instances), renewal of one instance does not stop renewal of the others.
+     *
+     * @param instances instances to renew
+     * @param isReplication true if the renewal is replicated from another node
+     * @return instances whose lease was not renewed (i.e. they are not registered anymore)
+     */
+    public List<InstanceInfo> renew(Collection<InstanceInfo> instances, boolean isReplication) {
+        final List<InstanceInfo> notRenewed = new LinkedList<>();
+        for (final InstanceInfo instance : instances) {
+            try {
+                if (!renew(instance.getAppName(), instance.getId(), isReplication)) {
+                    notRenewed.add(instance);
+                }
+            } catch (RuntimeException re) {
+                notRenewed.add(instance);
+            }
+        }
+        return notRenewed;
+    }
+
     @Override
     public boolean statusUpdate(String appName, String instanceId, InstanceInfo.InstanceStatus newStatus, String lastDirtyTimestamp, boolean isReplication) {
         boolean isUpdated = super.statusUpdate(appName, instanceId, newStatus, lastDirtyTimestamp, isReplication);
@@ -11,7 +11,9 @@ package org.zowe.apiml.discovery;
 
 import com.netflix.appinfo.InstanceInfo;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import org.apache.commons.lang.StringUtils;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
 import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -19,7 +21,10 @@ import org.zowe.apiml.discovery.metadata.MetadataDefaultsService;
 import org.zowe.apiml.discovery.metadata.MetadataTranslationService;
 import org.zowe.apiml.util.EurekaUtils;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Called by Eureka when the service instance is registered
@@ -32,6 +37,12 @@ public class EurekaInstanceRegisteredListener {
     private final MetadataDefaultsService metadataDefaultsService;
     private final GatewayNotifier gatewayNotifier;
 
+    /**
+     * Translated and updated metadata of each instance, as an immutable copy. They are reused while the instance is registered again with
+     * the same version of metadata (lastDirtyTimestamp) and the additional metadata were not changed.
+     */
+    private final Map<String, ProcessedMetadata> processedMetadata = new ConcurrentHashMap<>();
+
     /**
      * Translates service instance Eureka metadata from older versions to the current version
      */
@@ -41,8 +52,7 @@ public class EurekaInstanceRegisteredListener {
         final Map<String, String> metadata = instanceInfo.getMetadata();
         final String serviceId = EurekaUtils.getServiceIdFromInstanceId(instanceInfo.getInstanceId());
 
-        metadataTranslationService.translateMetadata(serviceId, metadata);
-        metadataDefaultsService.updateMetadata(serviceId, metadata);
+        processMetadata(instanceInfo, serviceId, metadata);
 
         if (StringUtils.equalsIgnoreCase(GatewayNotifier.GATEWAY_SERVICE_ID, serviceId)) {
             /**
@@ -55,10 +65,51 @@ public class EurekaInstanceRegisteredListener {
         gatewayNotifier.serviceUpdated(serviceId, instanceInfo.getInstanceId());
     }
 
+    private void processMetadata(InstanceInfo instanceInfo, String serviceId, Map<String, String> metadata) {
+        final Long lastDirtyTimestamp = instanceInfo.getLastDirtyTimestamp();
+        final long defaultsVersion = metadataDefaultsService.getVersion();
+
+        final ProcessedMetadata processed = processedMetadata.get(instanceInfo.getInstanceId());
+        if ((processed != null) && processed.isValid(lastDirtyTimestamp, defaultsVersion)) {
+            // update in place, readers of the map never see it empty; keys removed by the translation are dropped
+            metadata.keySet().retainAll(processed.getMetadata().keySet());
+            metadata.putAll(processed.getMetadata());
+            return;
+        }
+
+        metadataTranslationService.translateMetadata(serviceId, metadata);
+        metadataDefaultsService.updateMetadata(serviceId, metadata);
+
+        if (lastDirtyTimestamp != null) {
+            processedMetadata.put(instanceInfo.getInstanceId(), new ProcessedMetadata(lastDirtyTimestamp, defaultsVersion,
+                Collections.unmodifiableMap(new HashMap<>(metadata))));
+        }
+    }
+
+    @EventListener
+    public void listen(EurekaInstanceCanceledEvent event) {
+        processedMetadata.remove(event.getServerId());
+    }
+
     @EventListener
     public void listen(EurekaStatusUpdateEvent event) {
         final String serviceId = EurekaUtils.getServiceIdFromInstanceId(event.getInstanceId());
         gatewayNotifier.serviceUpdated(serviceId, event.getInstanceId());
     }
 
+    @Value
+    private static class ProcessedMetadata {
+
+        private final long lastDirtyTimestamp;
+        private final long defaultsVersion;
+        private final Map<String, String> metadata;
+
+        boolean isValid(Long lastDirtyTimestamp, long defaultsVersion) {
+            return (lastDirtyTimestamp != null)
+                && (this.lastDirtyTimestamp == lastDirtyTimestamp)
+                && (this.defaultsVersion == defaultsVersion);
+        }
+
+    }
+
 }
@@ -9,6 +9,7 @@
  */
 package org.zowe.apiml.discovery;
 
+import org.zowe.apiml.discovery.staticdef.StaticDefinitionsWatcher;
 import org.zowe.apiml.discovery.staticdef.StaticServicesRegistrationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.netflix.eureka.server.event.EurekaRegistryAvailableEvent;
@@ -23,15 +24,18 @@ import org.springframework.stereotype.Component;
 @Component
 public class EurekaRegistryAvailableListener implements ApplicationListener<EurekaRegistryAvailableEvent> {
     private final StaticServicesRegistrationService registrationService;
+    private final StaticDefinitionsWatcher staticDefinitionsWatcher;
 
     @Autowired
-    public EurekaRegistryAvailableListener(StaticServicesRegistrationService registrationService) {
+    public EurekaRegistryAvailableListener(StaticServicesRegistrationService registrationService, StaticDefinitionsWatcher staticDefinitionsWatcher) {
         this.registrationService = registrationService;
+        this.staticDefinitionsWatcher = staticDefinitionsWatcher;
     }
 
     @SuppressWarnings("NullableProblems")
     @Override
     public void onApplicationEvent(EurekaRegistryAvailableEvent event) {
         registrationService.registerServices();
+        staticDefinitionsWatcher.start();
     }
 }
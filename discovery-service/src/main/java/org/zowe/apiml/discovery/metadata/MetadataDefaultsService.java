@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This bean will correct metadata of service. It is helpful, if service does not support all new values. In this case
@@ -27,7 +28,12 @@ public class MetadataDefaultsService {
     /**
      * collect default values for
      */
-    private Map<String, ServiceOverrideData> additionalServiceMetadata = Collections.emptyMap();
+    private volatile Map<String, ServiceOverrideData> additionalServiceMetadata = Collections.emptyMap();
+
+    /**
+     * version of additional metadata, it is changed by each update which changes the metadata
+     */
+    private final AtomicLong version = new AtomicLong();
 
     public void updateMetadata(String serviceId, Map<String, String> metadata) {
         final ServiceOverrideData sod = additionalServiceMetadata.get(serviceId);
@@ -51,8 +57,16 @@ public class MetadataDefaultsService {
         }
     }
 
-    public void setAdditionalServiceMetadata(Map<String, ServiceOverrideData> additionalServiceMetadata) {
+    public synchronized void setAdditionalServiceMetadata(Map<String, ServiceOverrideData> additionalServiceMetadata) {
+        if (this.additionalServiceMetadata.equals(additionalServiceMetadata)) {
+            return;
+        }
         this.additionalServiceMetadata = Collections.unmodifiableMap(additionalServiceMetadata);
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
     }
 
 }
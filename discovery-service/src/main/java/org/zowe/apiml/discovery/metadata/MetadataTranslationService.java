@@ -13,8 +13,7 @@ import org.apache.commons.lang.StringUtils;
 import org.springframework.stereotype.Service;
 import org.zowe.apiml.auth.AuthenticationScheme;
 
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
 
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
 
@@ -24,6 +23,39 @@ import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
 @Service
 public class MetadataTranslationService {
 
+    /**
+     * Parameters of version 1 with their name in the current version
+     */
+    private static final Map<String, String> PARAMETERS_V1_TO_V2;
+
+    /**
+     * Parameters of version 1 without any replacement
+     */
+    private static final Set<String> REMOVED_PARAMETERS_V1;
+
+    static {
+        final Map<String, String> parameters = new HashMap<>();
+        // Catalog
+        parameters.put(CATALOG_ID_V1, CATALOG_ID);
+        parameters.put(CATALOG_VERSION_V1, CATALOG_VERSION);
+        parameters.put(CATALOG_TITLE_V1, CATALOG_TITLE);
+        parameters.put(CATALOG_DESCRIPTION_V1, CATALOG_DESCRIPTION);
+        // Service
+        parameters.put(SERVICE_TITLE_V1, SERVICE_TITLE);
+        parameters.put(SERVICE_DESCRIPTION_V1, SERVICE_DESCRIPTION);
+        PARAMETERS_V1_TO_V2 = Collections.unmodifiableMap(parameters);
+
+        REMOVED_PARAMETERS_V1 = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            // Api-version
+            API_VERSION_PROPERTIES_BASE_PACKAGE_V1,
+            API_VERSION_PROPERTIES_TITLE_V1,
+            API_VERSION_PROPERTIES_VERSION_V1,
+            API_VERSION_PROPERTIES_DESCRIPTION_V1,
+            // Other
+            ENABLE_APIDOC_V1
+        )));
+    }
+
     /**
      * Translates service instance Eureka metadata from older versions to the current version
      *
@@ -40,57 +72,38 @@ public class MetadataTranslationService {
     }
 
     private void translateV1toV2(Map<String, String> metadata) {
-        // Routing
-        translateRoutes(metadata);
-
-        // Catalog
-        translateParameter(CATALOG_ID_V1, CATALOG_ID, metadata);
-        translateParameter(CATALOG_VERSION_V1, CATALOG_VERSION, metadata);
-        translateParameter(CATALOG_TITLE_V1, CATALOG_TITLE, metadata);
-        translateParameter(CATALOG_DESCRIPTION_V1, CATALOG_DESCRIPTION, metadata);
-
-        // Service
-        translateParameter(SERVICE_TITLE_V1, SERVICE_TITLE, metadata);
-        translateParameter(SERVICE_DESCRIPTION_V1, SERVICE_DESCRIPTION, metadata);
-
-        // Api-version
-        metadata.remove(API_VERSION_PROPERTIES_BASE_PACKAGE_V1);
-        metadata.remove(API_VERSION_PROPERTIES_TITLE_V1);
-        metadata.remove(API_VERSION_PROPERTIES_VERSION_V1);
-        metadata.remove(API_VERSION_PROPERTIES_DESCRIPTION_V1);
-
-        // Other
-        metadata.remove(ENABLE_APIDOC_V1);
-    }
+        final Map<String, String> translated = new HashMap<>();
+        final Iterator<Map.Entry<String, String>> iterator = metadata.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, String> entry = iterator.next();
+            final String key = entry.getKey();
+
+            if (REMOVED_PARAMETERS_V1.contains(key)) {
+                iterator.remove();
+                continue;
+            }
+
+            String newKey = PARAMETERS_V1_TO_V2.get(key);
+            if ((newKey == null) && key.contains(ROUTES_V1)) {
+                newKey = translateRouteKey(key);
+            }
+
+            if (newKey != null) {
+                iterator.remove();
+                translated.put(newKey, entry.getValue());
+            }
+        }
 
-    private void translateRoutes(Map<String, String> metadata) {
-        Map<String, String> newRoutes = metadata.entrySet().stream()
-            .filter(
-                entry -> entry.getKey().contains(ROUTES_V1)
-            )
-            .collect(
-                Collectors.toMap(this::translateRouteMapKey, Map.Entry::getValue)
-            );
-
-        metadata.putAll(newRoutes);
-        metadata.keySet().removeIf(key -> key.contains(ROUTES_V1));
+        metadata.putAll(translated);
     }
 
-    private String translateRouteMapKey(Map.Entry<String, String> map) {
-        return map.getKey()
+    private String translateRouteKey(String key) {
+        return key
             .replace(ROUTES_V1, ROUTES)
             .replace(ROUTES_GATEWAY_URL_V1, ROUTES_GATEWAY_URL)
             .replace(ROUTES_SERVICE_URL_V1, ROUTES_SERVICE_URL);
     }
 
-    private void translateParameter(String oldParameter, String newParameter, Map<String, String> metadata) {
-        String parameterValue = metadata.get(oldParameter);
-        if (parameterValue != null) {
-            metadata.remove(oldParameter);
-            metadata.put(newParameter, parameterValue);
-        }
-    }
-
     /**
      * This method support automatically mapping of z/OSMF's authentication scheme. It means, this method set the
      * right authentication scheme to z/OSMF on registration if value is missing in the static service definition.
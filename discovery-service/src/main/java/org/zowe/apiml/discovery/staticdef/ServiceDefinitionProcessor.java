@@ -15,6 +15,7 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.netflix.appinfo.DataCenterInfo;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.appinfo.LeaseInfo;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.stereotype.Component;
@@ -37,8 +38,8 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.UnknownHostException;
 import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
@@ -55,10 +56,16 @@ public class ServiceDefinitionProcessor {
     private static final String STATIC_INSTANCE_ID_PREFIX = "STATIC-";
     private static final DataCenterInfo DEFAULT_INFO = () -> DataCenterInfo.Name.MyOwn;
     private static final String DEFAULT_TILE_VERSION = "1.0.0";
-    private static final YAMLFactory YAML_FACTORY = new YAMLFactory();
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
 
     private static final String ERROR_PARSING_STATIC_DEFINITION_DATA = "org.zowe.apiml.discovery.errorParsingStaticDefinitionData";
 
+    /**
+     * Result of the last processing of each definition file (by absolute path). The file is processed again only if
+     * its content was changed.
+     */
+    private final Map<String, ProcessedFile> processedFiles = new ConcurrentHashMap<>();
+
     public ServiceDefinitionProcessor() {
     }
 
@@ -99,6 +106,7 @@ public class ServiceDefinitionProcessor {
         final StaticRegistrationResult context = new StaticRegistrationResult();
 
         final List<File> directories = getFiles(context, staticApiDefinitionsDirectories);
+        final Set<String> processedFileNames = new HashSet<>();
         for (final File directory : directories) {
             log.info("Scanning directory with static services definition: " + directory);
             final File[] files = directory.listFiles((dir, name) -> name.endsWith(".yml"));
@@ -114,36 +122,67 @@ public class ServiceDefinitionProcessor {
             }
 
             for (final File file : files) {
-                final Definition definition = loadDefinition(context, file);
-                if (definition == null) continue;
-
-                process(context, file.getAbsolutePath(), definition);
+                final String fileName = file.getAbsolutePath();
+                processedFileNames.add(fileName);
+                merge(context, fileName, processFile(file));
             }
         }
 
+        processedFiles.keySet().retainAll(processedFileNames);
         return context;
     }
 
-    protected Definition loadDefinition(StaticRegistrationResult context, File file) {
+    /**
+     * Forget results of all processed files. The next call of {@link #findStaticServicesData(String)} will process
+     * all files again.
+     */
+    public void clearCache() {
+        processedFiles.clear();
+    }
+
+    private StaticRegistrationResult processFile(File file) {
         final String fileName = file.getAbsolutePath();
-        log.info("Static API definition file: {}", fileName);
 
         final String content;
         try {
-            content = new String(Files.readAllBytes(Paths.get(fileName)));
-            return loadDefinition(context, fileName, content);
+            content = new String(Files.readAllBytes(file.toPath()));
         } catch (IOException e) {
+            processedFiles.remove(fileName);
+            final StaticRegistrationResult fileContext = new StaticRegistrationResult();
             final Message msg = apimlLog.log("org.zowe.apiml.discovery.errorParsingStaticDefinitionFile", fileName);
-            context.getErrors().add(msg);
-            return null;
+            fileContext.getErrors().add(msg);
+            return fileContext;
+        }
+
+        final ProcessedFile processedFile = processedFiles.get(fileName);
+        if ((processedFile != null) && processedFile.getContent().equals(content)) {
+            log.debug("Static API definition file {} was not changed", fileName);
+            return processedFile.getResult();
+        }
+
+        log.info("Static API definition file: {}", fileName);
+        final StaticRegistrationResult fileContext = new StaticRegistrationResult();
+        process(fileContext, fileName, loadDefinition(fileContext, fileName, content));
+        processedFiles.put(fileName, new ProcessedFile(content, fileContext));
+        return fileContext;
+    }
+
+    private void merge(StaticRegistrationResult context, String ymlFileName, StaticRegistrationResult fileContext) {
+        context.getErrors().addAll(fileContext.getErrors());
+        context.getInstances().addAll(fileContext.getInstances());
+
+        for (final Map.Entry<String, ServiceOverrideData> entry : fileContext.getAdditionalServiceMetadata().entrySet()) {
+            if (context.getAdditionalServiceMetadata().put(entry.getKey(), entry.getValue()) != null) {
+                final Message msg = apimlLog.log(ERROR_PARSING_STATIC_DEFINITION_DATA, ymlFileName,
+                    String.format("Additional service metadata of %s in processing file %s were replaced for duplicities", entry.getKey(), ymlFileName));
+                context.getErrors().add(msg);
+            }
         }
     }
 
     protected Definition loadDefinition(StaticRegistrationResult context, String ymlFileName, String ymlData) {
-        final ObjectMapper mapper = new ObjectMapper(YAML_FACTORY);
-
         try {
-            return mapper.readValue(ymlData, Definition.class);
+            return YAML_MAPPER.readValue(ymlData, Definition.class);
         } catch (UnrecognizedPropertyException e) {
             final Message msg = apimlLog.log(ERROR_PARSING_STATIC_DEFINITION_DATA, ymlFileName, e.getOriginalMessage());
             context.getErrors().add(msg);
@@ -398,4 +437,13 @@ public class ServiceDefinitionProcessor {
 
         return metadata;
     }
+
+    @Value
+    private static class ProcessedFile {
+
+        private final String content;
+        private final StaticRegistrationResult result;
+
+    }
+
 }
@@ -0,0 +1,160 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.discovery.staticdef;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches directories with static definitions and reloads the definitions after a file was created, modified or
+ * deleted. Events are collected until no other event comes within the configured delay, so a bulk update of files
+ * leads to one reload.
+ */
+@Slf4j
+@Component
+public class StaticDefinitionsWatcher {
+
+    @Value("${apiml.discovery.staticApiDefinitionsDirectories:#{null}}")
+    private String staticApiDefinitionsDirectories;
+
+    @Value("${apiml.discovery.staticApiDefinitionsWatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${apiml.discovery.staticApiDefinitionsWatch.delayMillis:1000}")
+    private long delayMillis;
+
+    private final StaticServicesRegistrationService registrationService;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    @Autowired
+    public StaticDefinitionsWatcher(StaticServicesRegistrationService registrationService) {
+        this.registrationService = registrationService;
+    }
+
+    /**
+     * Starts to watch the directories. It does nothing if watching is disabled, there is no directory or the
+     * watcher is already running.
+     */
+    public synchronized void start() {
+        if (!enabled || (thread != null) || StringUtils.isEmpty(staticApiDefinitionsDirectories)) {
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            int registered = 0;
+            for (String directory : staticApiDefinitionsDirectories.split(";")) {
+                if (register(directory)) registered++;
+            }
+            if (registered == 0) {
+                stop();
+                return;
+            }
+        } catch (IOException e) {
+            log.warn("Changes of static API definitions cannot be watched: {}", e.getMessage());
+            stop();
+            return;
+        }
+
+        thread = new Thread(this::watch, "StaticDefinitionsWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private boolean register(String directory) {
+        if (directory.isEmpty()) return false;
+
+        Path path = Paths.get(directory);
+        if (!Files.isDirectory(path)) return false;
+
+        try {
+            path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            log.debug("Watching directory with static services definition: {}", path);
+            return true;
+        } catch (IOException e) {
+            log.warn("Changes in directory {} cannot be watched: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Cannot close watch service", e);
+            }
+            watchService = null;
+        }
+    }
+
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean changed = handle(service.take());
+
+                WatchKey key;
+                while ((key = service.poll(delayMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= handle(key);
+                }
+
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Watching of static API definitions was stopped");
+        }
+    }
+
+    private boolean handle(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                changed = true;
+            } else if (String.valueOf(event.context()).endsWith(".yml")) {
+                log.debug("Static API definition {} was changed: {}", event.context(), event.kind().name());
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    void reload() {
+        try {
+            StaticRegistrationResult result = registrationService.reloadServices();
+            log.info("Static API definitions were reloaded, {} instances are defined", result.getInstances().size());
+        } catch (RuntimeException e) {
+            log.warn("Reload of static API definitions failed", e);
+        }
+    }
+
+}
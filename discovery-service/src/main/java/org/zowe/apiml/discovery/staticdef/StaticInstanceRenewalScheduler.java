@@ -0,0 +1,230 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.discovery.staticdef;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.eureka.EurekaServerContextHolder;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.zowe.apiml.discovery.ApimlInstanceRegistry;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renews leases of static instances. Instances are split into shards by their instanceId, renewals of the shards are
+ * spread across the renewal interval and run on a bounded pool of threads. A slow or failing renewal delays only
+ * its shard.
+ * <p>
+ * For each instance it is recorded when its lease was renewed last time. The renewal lag is the time elapsed since
+ * the renewal was due.
+ * <p>
+ * An instance whose lease was lost is registered again only if it is still one of the instances set by
+ * {@link #setInstances(Collection)}. Both are done under the lock of the scheduler, so an instance removed by
+ * a reload is not registered back by a renewal running on a previous set of instances.
+ */
+@Slf4j
+@Component
+public class StaticInstanceRenewalScheduler {
+
+    private static final long DEFAULT_INTERVAL_MILLIS = LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL * 1000L;
+
+    private final int shardCount;
+    private final int threads;
+    private final long intervalMillis;
+
+    private final Map<String, Long> lastRenewals = new ConcurrentHashMap<>();
+    private volatile List<List<InstanceInfo>> shards = Collections.emptyList();
+    private Map<String, InstanceInfo> currentInstances = Collections.emptyMap();
+
+    private ScheduledExecutorService executor;
+
+    public StaticInstanceRenewalScheduler() {
+        this(10, 2);
+    }
+
+    @Autowired
+    public StaticInstanceRenewalScheduler(
+        @Value("${apiml.discovery.staticInstancesRenewal.shards:10}") int shardCount,
+        @Value("${apiml.discovery.staticInstancesRenewal.threads:2}") int threads
+    ) {
+        this(shardCount, threads, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    StaticInstanceRenewalScheduler(int shardCount, int threads, long intervalMillis) {
+        this.shardCount = Math.max(1, shardCount);
+        this.threads = Math.max(1, threads);
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Set instances to be renewed. It replaces previously set instances. The instances, which are not in the new set,
+     * have to be cancelled after this call, otherwise a running renewal could register them again.
+     *
+     * @param instances all static instances
+     */
+    public synchronized void setInstances(Collection<InstanceInfo> instances) {
+        final List<List<InstanceInfo>> newShards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            newShards.add(new ArrayList<>());
+        }
+
+        final long now = System.currentTimeMillis();
+        final Map<String, InstanceInfo> newInstances = new HashMap<>();
+        for (final InstanceInfo instance : instances) {
+            newInstances.put(instance.getId(), instance);
+            lastRenewals.putIfAbsent(instance.getId(), now);
+            newShards.get(getShard(instance)).add(instance);
+        }
+        lastRenewals.keySet().retainAll(newInstances.keySet());
+
+        currentInstances = newInstances;
+        shards = newShards;
+    }
+
+    private int getShard(InstanceInfo instance) {
+        return Math.floorMod(Objects.hashCode(instance.getId()), shardCount);
+    }
+
+    /**
+     * Start periodical renewal. Each shard has its own task, the first renewal of the shard is delayed by its part
+     * of the interval.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        final AtomicInteger threadCounter = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "StaticInstanceRenewal-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < shardCount; i++) {
+            final int shard = i;
+            final long initialDelay = intervalMillis + intervalMillis * shard / shardCount;
+            executor.scheduleAtFixedRate(() -> renewShard(shard), initialDelay, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    void renewShard(int shard) {
+        final List<List<InstanceInfo>> currentShards = shards;
+        if (shard >= currentShards.size()) {
+            return;
+        }
+
+        try {
+            renew(currentShards.get(shard));
+        } catch (RuntimeException e) {
+            // an exception would cancel next runs of the task
+            log.warn("Renewal of static instances failed", e);
+        }
+    }
+
+    /**
+     * Renew leases of the instances. If an instance lease is not in the registry anymore (i.e. it was evicted),
+     * the instance is registered again, unless it was replaced or removed in the meantime.
+     *
+     * @param instances instances to renew
+     */
+    public void renew(Collection<InstanceInfo> instances) {
+        if (instances.isEmpty()) {
+            return;
+        }
+
+        log.debug("Renewing {} static instances", instances.size());
+        final PeerAwareInstanceRegistry registry = getRegistry();
+        final Collection<InstanceInfo> notRenewed;
+        if (registry instanceof ApimlInstanceRegistry) {
+            notRenewed = ((ApimlInstanceRegistry) registry).renew(instances, false);
+        } else {
+            notRenewed = new ArrayList<>();
+            for (final InstanceInfo instance : instances) {
+                if (!registry.renew(instance.getAppName(), instance.getId(), false)) {
+                    notRenewed.add(instance);
+                }
+            }
+        }
+
+        final Set<String> notRenewedIds = new HashSet<>();
+        for (final InstanceInfo instance : notRenewed) {
+            notRenewedIds.add(instance.getId());
+        }
+
+        final long now = System.currentTimeMillis();
+        for (final InstanceInfo instance : instances) {
+            if (!notRenewedIds.contains(instance.getId())) {
+                lastRenewals.computeIfPresent(instance.getId(), (id, lastRenewal) -> now);
+            }
+        }
+
+        if (!notRenewed.isEmpty()) {
+            registerAgain(registry, notRenewed);
+        }
+    }
+
+    private synchronized void registerAgain(PeerAwareInstanceRegistry registry, Collection<InstanceInfo> notRenewed) {
+        for (final InstanceInfo instance : notRenewed) {
+            if (currentInstances.get(instance.getId()) != instance) {
+                log.debug("Static instance {} was removed or replaced, it will not be registered again", instance.getId());
+                continue;
+            }
+            log.debug("Lease of static instance {} was not renewed, it will be registered again", instance.getId());
+            registry.register(instance, false);
+        }
+    }
+
+    /**
+     * @param instanceId id of static instance
+     * @return time in milliseconds elapsed since the renewal of the instance was due, 0 if it is not late
+     */
+    public long getRenewalLag(String instanceId) {
+        final Long lastRenewal = lastRenewals.get(instanceId);
+        if (lastRenewal == null) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - lastRenewal - intervalMillis);
+    }
+
+    /**
+     * @return the highest renewal lag of all static instances in milliseconds
+     */
+    public long getMaxRenewalLag() {
+        long max = 0;
+        for (final String instanceId : lastRenewals.keySet()) {
+            max = Math.max(max, getRenewalLag(instanceId));
+        }
+        return max;
+    }
+
+    private PeerAwareInstanceRegistry getRegistry() {
+        return EurekaServerContextHolder.getInstance().getServerContext().getRegistry();
+    }
+
+}
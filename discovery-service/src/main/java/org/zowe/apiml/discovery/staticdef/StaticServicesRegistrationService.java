@@ -12,7 +12,6 @@ package org.zowe.apiml.discovery.staticdef;
 import org.zowe.apiml.discovery.EurekaRegistryAvailableListener;
 import org.zowe.apiml.discovery.metadata.MetadataDefaultsService;
 import com.netflix.appinfo.InstanceInfo;
-import com.netflix.appinfo.LeaseInfo;
 import com.netflix.eureka.EurekaServerContext;
 import com.netflix.eureka.EurekaServerContextHolder;
 import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
@@ -22,7 +21,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Responsible for registration of statically defined APIs into Eureka and updating their status.
@@ -37,15 +35,28 @@ public class StaticServicesRegistrationService {
 
     private final ServiceDefinitionProcessor serviceDefinitionProcessor;
     private final MetadataDefaultsService metadataDefaultsService;
+    private final StaticInstanceRenewalScheduler renewalScheduler;
 
-    private final List<InstanceInfo> staticInstances = new CopyOnWriteArrayList<>();
+    /**
+     * Registered static instances, the list is never modified, a change replaces it
+     */
+    private volatile List<InstanceInfo> staticInstances = Collections.emptyList();
 
-    private final Timer renewalTimer = new Timer();
+    private Map<String, ServiceOverrideData> additionalServiceMetadata = Collections.emptyMap();
 
-    @Autowired
     public StaticServicesRegistrationService(ServiceDefinitionProcessor serviceDefinitionProcessor, MetadataDefaultsService metadataDefaultsService) {
+        this(serviceDefinitionProcessor, metadataDefaultsService, new StaticInstanceRenewalScheduler());
+    }
+
+    @Autowired
+    public StaticServicesRegistrationService(
+        ServiceDefinitionProcessor serviceDefinitionProcessor,
+        MetadataDefaultsService metadataDefaultsService,
+        StaticInstanceRenewalScheduler renewalScheduler
+    ) {
         this.serviceDefinitionProcessor = serviceDefinitionProcessor;
         this.metadataDefaultsService = metadataDefaultsService;
+        this.renewalScheduler = renewalScheduler;
     }
 
     /**
@@ -60,38 +71,58 @@ public class StaticServicesRegistrationService {
      */
     public void registerServices() {
         registerServices(staticApiDefinitionsDirectories);
-        startRenewalTimer();
+        renewalScheduler.start();
     }
 
-    private void startRenewalTimer() {
-        renewalTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                renewInstances();
-            }
-        }, LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL * 1000L, LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL * 1000L);
-    }
-
-    synchronized void renewInstances() {
-        log.debug("Renewing static instances");
-        PeerAwareInstanceRegistry registry = getRegistry();
-        for (InstanceInfo instance : getStaticInstances()) {
-            registry.renew(instance.getAppName(), instance.getId(), false);
-        }
+    /**
+     * Renews leases of all static instances at once. The periodical renewal is done by
+     * {@link StaticInstanceRenewalScheduler} per shard.
+     */
+    void renewInstances() {
+        renewalScheduler.renew(getStaticInstances());
     }
 
     /**
      * Reloads all statically defined APIs in locations specified by configuration
-     * by reading the definitions again.
+     * by reading the definitions again. Only changed files are processed again, only new or changed instances
+     * are registered and only instances which are not defined anymore are cancelled.
      */
     public synchronized StaticRegistrationResult reloadServices() {
-        List<InstanceInfo> oldStaticInstances = new ArrayList<>(staticInstances);
+        StaticRegistrationResult result = serviceDefinitionProcessor.findStaticServicesData(staticApiDefinitionsDirectories);
 
-        staticInstances.clear();
-        StaticRegistrationResult result = registerServices(staticApiDefinitionsDirectories);
+        boolean additionalMetadataChanged = !additionalServiceMetadata.equals(result.getAdditionalServiceMetadata());
+        if (additionalMetadataChanged) {
+            // registered instances contain metadata updated by previous definitions, they have to be created again
+            log.debug("Additional service metadata were changed, all static instances will be registered again");
+            serviceDefinitionProcessor.clearCache();
+            result = serviceDefinitionProcessor.findStaticServicesData(staticApiDefinitionsDirectories);
+        }
+
+        setAdditionalServiceMetadata(result);
+
+        Map<String, InstanceInfo> oldStaticInstances = new LinkedHashMap<>();
+        for (InstanceInfo info : staticInstances) {
+            oldStaticInstances.put(info.getInstanceId(), info);
+        }
 
         PeerAwareInstanceRegistry registry = getRegistry();
-        for (InstanceInfo info: oldStaticInstances) {
+        List<InstanceInfo> newStaticInstances = new ArrayList<>(result.getInstances().size());
+        for (InstanceInfo instanceInfo : result.getInstances()) {
+            result.getRegisteredServices().add(instanceInfo.getInstanceId());
+            newStaticInstances.add(instanceInfo);
+
+            // unchanged definition returns the same (already registered) instance
+            InstanceInfo oldInstanceInfo = oldStaticInstances.remove(instanceInfo.getInstanceId());
+            if (additionalMetadataChanged || (oldInstanceInfo != instanceInfo)) {
+                registry.register(instanceInfo, false);
+            }
+        }
+
+        // the renewal must not register the removed instances again, so they are cancelled after they are replaced
+        staticInstances = Collections.unmodifiableList(newStaticInstances);
+        renewalScheduler.setInstances(staticInstances);
+
+        for (InstanceInfo info : oldStaticInstances.values()) {
             if (!result.getRegisteredServices().contains(info.getInstanceId())) {
                 log.info("Instance {} is not defined in the new static API definitions. It will be removed", info.getInstanceId());
                 registry.cancel(info.getAppName(), info.getId(), false);
@@ -104,24 +135,31 @@ public class StaticServicesRegistrationService {
     /**
      * Registers all statically defined APIs in a directory.
      */
-    StaticRegistrationResult registerServices(String staticApiDefinitionsDirectories) {
+    synchronized StaticRegistrationResult registerServices(String staticApiDefinitionsDirectories) {
         PeerAwareInstanceRegistry registry = getRegistry();
         StaticRegistrationResult result = serviceDefinitionProcessor.findStaticServicesData(staticApiDefinitionsDirectories);
 
         // at first register service additional data, becase static could be also updated
-        final Map<String, ServiceOverrideData> additionalServiceMetadata = result.getAdditionalServiceMetadata();
-        metadataDefaultsService.setAdditionalServiceMetadata(additionalServiceMetadata);
+        setAdditionalServiceMetadata(result);
 
         // register static services
+        List<InstanceInfo> newStaticInstances = new ArrayList<>(staticInstances);
         for (InstanceInfo instanceInfo : result.getInstances()) {
             result.getRegisteredServices().add(instanceInfo.getInstanceId());
-            staticInstances.add(instanceInfo);
+            newStaticInstances.add(instanceInfo);
             registry.register(instanceInfo, false);
         }
+        staticInstances = Collections.unmodifiableList(newStaticInstances);
+        renewalScheduler.setInstances(staticInstances);
 
         return result;
     }
 
+    private void setAdditionalServiceMetadata(StaticRegistrationResult result) {
+        additionalServiceMetadata = new HashMap<>(result.getAdditionalServiceMetadata());
+        metadataDefaultsService.setAdditionalServiceMetadata(additionalServiceMetadata);
+    }
+
     private PeerAwareInstanceRegistry getRegistry() {
         return getServerContext().getRegistry();
     }
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -55,6 +56,64 @@ class EurekaInstanceRegisteredListenerTest {
         verify(gatewayNotifier, times(1)).serviceUpdated("serviceName", "1:serviceName:2");
     }
 
+    @Test
+    void givenSameMetadataVersion_whenRegisteredAgain_thenProcessedMetadataAreReused() {
+        MetadataTranslationService metadataTranslationService = Mockito.mock(MetadataTranslationService.class);
+        MetadataDefaultsService metadataDefaultsService = Mockito.mock(MetadataDefaultsService.class);
+        EurekaInstanceRegisteredListener listener = new EurekaInstanceRegisteredListener(metadataTranslationService, metadataDefaultsService, mock(GatewayNotifier.class));
+        doAnswer(x -> {
+            Map<String, String> metadata = x.getArgument(1);
+            metadata.put("translated", "true");
+            return null;
+        }).when(metadataTranslationService).translateMetadata(anyString(), any());
+
+        Map<String, String> metadata1 = new HashMap<>();
+        listener.listen(createEvent("host:service:instance", 1L, metadata1));
+        Map<String, String> metadata2 = new HashMap<>();
+        listener.listen(createEvent("host:service:instance", 1L, metadata2));
+
+        verify(metadataTranslationService, times(1)).translateMetadata(anyString(), any());
+        assertEquals("true", metadata2.get("translated"));
+
+        listener.listen(createEvent("host:service:instance", 2L, new HashMap<>()));
+        verify(metadataTranslationService, times(2)).translateMetadata(anyString(), any());
+
+        when(metadataDefaultsService.getVersion()).thenReturn(1L);
+        listener.listen(createEvent("host:service:instance", 2L, new HashMap<>()));
+        verify(metadataTranslationService, times(3)).translateMetadata(anyString(), any());
+    }
+
+    @Test
+    void givenReusedMetadata_whenPreviousMapIsChanged_thenCachedMetadataAreNotAffected() {
+        MetadataTranslationService metadataTranslationService = Mockito.mock(MetadataTranslationService.class);
+        EurekaInstanceRegisteredListener listener = new EurekaInstanceRegisteredListener(metadataTranslationService, Mockito.mock(MetadataDefaultsService.class), mock(GatewayNotifier.class));
+        doAnswer(x -> {
+            Map<String, String> metadata = x.getArgument(1);
+            metadata.remove("old");
+            metadata.put("translated", "true");
+            return null;
+        }).when(metadataTranslationService).translateMetadata(anyString(), any());
+
+        Map<String, String> metadata1 = new HashMap<>();
+        metadata1.put("old", "value");
+        listener.listen(createEvent("host:service:instance", 1L, metadata1));
+        metadata1.put("translated", "changed");
+
+        Map<String, String> metadata2 = new HashMap<>();
+        metadata2.put("old", "value");
+        listener.listen(createEvent("host:service:instance", 1L, metadata2));
+
+        assertEquals("true", metadata2.get("translated"));
+        assertFalse(metadata2.containsKey("old"));
+    }
+
+    private EurekaInstanceRegisteredEvent createEvent(String instanceId, long lastDirtyTimestamp, Map<String, String> metadata) {
+        EurekaInstanceRegisteredEvent out = createEvent(instanceId);
+        when(out.getInstanceInfo().getLastDirtyTimestamp()).thenReturn(lastDirtyTimestamp);
+        when(out.getInstanceInfo().getMetadata()).thenReturn(metadata);
+        return out;
+    }
+
     private EurekaInstanceRegisteredEvent createEvent(String instanceId) {
         InstanceInfo instanceInfo = mock(InstanceInfo.class);
         when(instanceInfo.getInstanceId()).thenReturn(instanceId);
@@ -24,6 +24,8 @@ import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegis
 import org.zowe.apiml.discovery.EurekaInstanceRegisteredListener;
 import org.zowe.apiml.discovery.GatewayNotifier;
 import org.zowe.apiml.discovery.staticdef.ServiceDefinitionProcessor;
+import org.zowe.apiml.discovery.staticdef.ServiceOverride;
+import org.zowe.apiml.discovery.staticdef.ServiceOverrideData;
 import org.zowe.apiml.discovery.staticdef.StaticRegistrationResult;
 import org.zowe.apiml.discovery.staticdef.StaticServicesRegistrationService;
 
@@ -102,6 +104,22 @@ class MetadataDefaultsServiceTest {
         );
     }
 
+    @Test
+    void givenEqualAdditionalMetadata_whenSet_thenVersionIsNotChanged() {
+        MetadataDefaultsService underTest = new MetadataDefaultsService();
+        underTest.setAdditionalServiceMetadata(Collections.singletonMap("service",
+            new ServiceOverrideData(ServiceOverride.Mode.UPDATE, Collections.singletonMap("key", "a"))));
+        long version = underTest.getVersion();
+
+        underTest.setAdditionalServiceMetadata(Collections.singletonMap("service",
+            new ServiceOverrideData(ServiceOverride.Mode.UPDATE, Collections.singletonMap("key", "a"))));
+        assertEquals(version, underTest.getVersion());
+
+        underTest.setAdditionalServiceMetadata(Collections.singletonMap("service",
+            new ServiceOverrideData(ServiceOverride.Mode.UPDATE, Collections.singletonMap("key", "b"))));
+        assertEquals(version + 1, underTest.getVersion());
+    }
+
     class ServiceDefinitionProcessorMock extends ServiceDefinitionProcessor {
 
         private String location;
@@ -12,6 +12,7 @@ package org.zowe.apiml.discovery.staticdef;
 import com.netflix.appinfo.InstanceInfo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.zowe.apiml.message.core.Message;
@@ -19,7 +20,10 @@ import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.message.log.ApimlLogger;
 import org.zowe.apiml.message.yaml.YamlMessageService;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -554,6 +558,50 @@ class ServiceDefinitionProcessorTest {
         assertThat(result.getInstances().size(), is(4));
     }
 
+    @Test
+    void givenUnchangedFile_whenFindAgain_thenCachedInstancesAreReturned(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("service.yml");
+        Files.write(file, definition("service1").getBytes());
+
+        StaticRegistrationResult first = serviceDefinitionProcessor.findStaticServicesData(directory.toString());
+        StaticRegistrationResult second = serviceDefinitionProcessor.findStaticServicesData(directory.toString());
+
+        assertThat(second.getInstances().size(), is(1));
+        assertSame(first.getInstances().get(0), second.getInstances().get(0));
+    }
+
+    @Test
+    void givenChangedFile_whenFindAgain_thenFileIsProcessed(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("service.yml");
+        Files.write(file, definition("service1").getBytes());
+        StaticRegistrationResult first = serviceDefinitionProcessor.findStaticServicesData(directory.toString());
+
+        Files.write(file, definition("service2").getBytes());
+        StaticRegistrationResult second = serviceDefinitionProcessor.findStaticServicesData(directory.toString());
+
+        assertThat(first.getInstances().get(0).getAppName(), is("SERVICE1"));
+        assertThat(second.getInstances().size(), is(1));
+        assertThat(second.getInstances().get(0).getAppName(), is("SERVICE2"));
+    }
+
+    @Test
+    void givenClearedCache_whenFindAgain_thenNewInstancesAreCreated(@TempDir Path directory) throws IOException {
+        Files.write(directory.resolve("service.yml"), definition("service1").getBytes());
+        StaticRegistrationResult first = serviceDefinitionProcessor.findStaticServicesData(directory.toString());
+
+        serviceDefinitionProcessor.clearCache();
+        StaticRegistrationResult second = serviceDefinitionProcessor.findStaticServicesData(directory.toString());
+
+        assertNotSame(first.getInstances().get(0), second.getInstances().get(0));
+    }
+
+    private String definition(String serviceId) {
+        return "services:\n" +
+            "    - serviceId: " + serviceId + "\n" +
+            "      instanceBaseUrls:\n" +
+            "        - https://localhost:10012/" + serviceId + "\n";
+    }
+
     @Test
     void testProcessServicesDataWithAuthenticationMetadata() {
         String routedServiceYaml = "services:\n" +
@@ -0,0 +1,131 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.discovery.staticdef;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.EurekaServerContext;
+import com.netflix.eureka.EurekaServerContextHolder;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zowe.apiml.discovery.ApimlInstanceRegistry;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+class StaticInstanceRenewalSchedulerTest {
+
+    private PeerAwareInstanceRegistry mockRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mockRegistry = mock(PeerAwareInstanceRegistry.class);
+        EurekaServerContext mockEurekaServerContext = mock(EurekaServerContext.class);
+        when(mockEurekaServerContext.getRegistry()).thenReturn(mockRegistry);
+        EurekaServerContextHolder.initialize(mockEurekaServerContext);
+    }
+
+    private InstanceInfo instance(String instanceId) {
+        return InstanceInfo.Builder.newBuilder().setInstanceId(instanceId).setAppName("service").build();
+    }
+
+    @Test
+    void givenInstancesInShards_whenShardIsRenewed_thenOnlyItsInstancesAreRenewed() {
+        InstanceInfo instance1 = instance("instance1");
+        InstanceInfo instance2 = instance("instance2");
+        when(mockRegistry.renew(any(), any(), anyBoolean())).thenReturn(true);
+
+        StaticInstanceRenewalScheduler scheduler = new StaticInstanceRenewalScheduler(2, 1, 30000);
+        scheduler.setInstances(Arrays.asList(instance1, instance2));
+        int shard1 = Math.floorMod(instance1.getId().hashCode(), 2);
+        scheduler.renewShard(shard1);
+
+        verify(mockRegistry, times(1)).renew(instance1.getAppName(), instance1.getId(), false);
+        if (Math.floorMod(instance2.getId().hashCode(), 2) != shard1) {
+            verify(mockRegistry, never()).renew(instance2.getAppName(), instance2.getId(), false);
+        }
+        verify(mockRegistry, never()).register(any(), anyBoolean());
+    }
+
+    @Test
+    void givenEvictedInstance_whenRenewed_thenInstanceIsRegisteredAgain() {
+        InstanceInfo instance = instance("instance");
+        when(mockRegistry.renew(instance.getAppName(), instance.getId(), false)).thenReturn(false);
+
+        StaticInstanceRenewalScheduler scheduler = new StaticInstanceRenewalScheduler(1, 1, 30000);
+        scheduler.setInstances(Collections.singletonList(instance));
+        scheduler.renew(Collections.singletonList(instance));
+
+        verify(mockRegistry, times(1)).register(instance, false);
+    }
+
+    @Test
+    void givenRemovedInstance_whenRenewalFails_thenInstanceIsNotRegisteredAgain() {
+        InstanceInfo instance = instance("instance");
+        when(mockRegistry.renew(instance.getAppName(), instance.getId(), false)).thenReturn(false);
+
+        StaticInstanceRenewalScheduler scheduler = new StaticInstanceRenewalScheduler(1, 1, 30000);
+        scheduler.setInstances(Collections.singletonList(instance));
+        scheduler.setInstances(Collections.emptyList());
+        scheduler.renew(Collections.singletonList(instance));
+
+        verify(mockRegistry, never()).register(any(), anyBoolean());
+    }
+
+    @Test
+    void givenReplacedInstance_whenRenewalOfOldOneFails_thenOldInstanceIsNotRegisteredAgain() {
+        InstanceInfo oldInstance = instance("instance");
+        InstanceInfo newInstance = instance("instance");
+        when(mockRegistry.renew(oldInstance.getAppName(), oldInstance.getId(), false)).thenReturn(false);
+
+        StaticInstanceRenewalScheduler scheduler = new StaticInstanceRenewalScheduler(1, 1, 30000);
+        scheduler.setInstances(Collections.singletonList(newInstance));
+        scheduler.renew(Collections.singletonList(oldInstance));
+
+        verify(mockRegistry, never()).register(any(), anyBoolean());
+    }
+
+    @Test
+    void givenApimlRegistry_whenRenewed_thenBulkRenewalIsUsed() {
+        ApimlInstanceRegistry apimlRegistry = mock(ApimlInstanceRegistry.class);
+        EurekaServerContext mockEurekaServerContext = mock(EurekaServerContext.class);
+        when(mockEurekaServerContext.getRegistry()).thenReturn(apimlRegistry);
+        EurekaServerContextHolder.initialize(mockEurekaServerContext);
+        InstanceInfo instance = instance("instance");
+        when(apimlRegistry.renew(Collections.singletonList(instance), false)).thenReturn(Collections.emptyList());
+
+        StaticInstanceRenewalScheduler scheduler = new StaticInstanceRenewalScheduler(1, 1, 30000);
+        scheduler.renew(Collections.singletonList(instance));
+
+        verify(apimlRegistry, times(1)).renew(Collections.singletonList(instance), false);
+        verify(apimlRegistry, never()).register(any(), anyBoolean());
+    }
+
+    @Test
+    void givenLateRenewal_whenLagIsRequested_thenTimeAfterDueIsReturned() throws InterruptedException {
+        InstanceInfo instance = instance("instance");
+        when(mockRegistry.renew(any(), any(), anyBoolean())).thenReturn(true);
+
+        StaticInstanceRenewalScheduler scheduler = new StaticInstanceRenewalScheduler(1, 1, 0);
+        scheduler.setInstances(Collections.singletonList(instance));
+        Thread.sleep(20);
+
+        assertTrue(scheduler.getRenewalLag(instance.getId()) >= 20);
+        assertTrue(scheduler.getMaxRenewalLag() >= 20);
+        assertEquals(0, scheduler.getRenewalLag("unknown"));
+    }
+
+}
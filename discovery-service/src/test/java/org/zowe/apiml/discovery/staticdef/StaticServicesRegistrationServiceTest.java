@@ -20,13 +20,16 @@ import org.junit.jupiter.api.Test;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.*;
 
 class StaticServicesRegistrationServiceTest {
@@ -138,6 +141,45 @@ class StaticServicesRegistrationServiceTest {
         verify(mockRegistry, times(0)).cancel(any(String.class), any(String.class), eq(false));
     }
 
+    @Test
+    void givenUnchangedInstance_whenReload_thenInstanceIsNotRegisteredAgain() {
+        ServiceDefinitionProcessor serviceDefinitionProcessor = mock(ServiceDefinitionProcessor.class);
+        InstanceInfo instanceA = InstanceInfo.Builder.newBuilder().setInstanceId("serviceA").setAppName("serviceA").build();
+        InstanceInfo instanceB = InstanceInfo.Builder.newBuilder().setInstanceId("serviceB").setAppName("serviceB").build();
+        InstanceInfo changedInstanceB = InstanceInfo.Builder.newBuilder().setInstanceId("serviceB").setAppName("serviceB").build();
+        when(serviceDefinitionProcessor.findStaticServicesData(null))
+            .thenReturn(createResult(instanceA, instanceB))
+            .thenReturn(createResult(instanceA, changedInstanceB));
+
+        StaticServicesRegistrationService registrationService = new StaticServicesRegistrationService(serviceDefinitionProcessor, new MetadataDefaultsService());
+        registrationService.reloadServices();
+        registrationService.reloadServices();
+
+        verify(mockRegistry, times(1)).register(same(instanceA), eq(false));
+        verify(mockRegistry, times(1)).register(same(instanceB), eq(false));
+        verify(mockRegistry, times(1)).register(same(changedInstanceB), eq(false));
+        verify(mockRegistry, never()).cancel(any(String.class), any(String.class), eq(false));
+        assertSame(changedInstanceB, registrationService.getStaticInstances().get(1));
+    }
+
+    @Test
+    void givenChangedAdditionalMetadata_whenReload_thenAllInstancesAreRegisteredAgain() {
+        ServiceDefinitionProcessor serviceDefinitionProcessor = mock(ServiceDefinitionProcessor.class);
+        InstanceInfo instance = InstanceInfo.Builder.newBuilder().setInstanceId("service").setAppName("service").build();
+        StaticRegistrationResult changedResult = createResult(instance);
+        changedResult.getAdditionalServiceMetadata().put("service", new ServiceOverrideData(ServiceOverride.Mode.UPDATE, Collections.emptyMap()));
+        when(serviceDefinitionProcessor.findStaticServicesData(null))
+            .thenReturn(createResult(instance))
+            .thenReturn(changedResult);
+
+        StaticServicesRegistrationService registrationService = new StaticServicesRegistrationService(serviceDefinitionProcessor, new MetadataDefaultsService());
+        registrationService.reloadServices();
+        registrationService.reloadServices();
+
+        verify(serviceDefinitionProcessor, times(1)).clearCache();
+        verify(mockRegistry, times(2)).register(same(instance), eq(false));
+    }
+
     @Test
     void testRenewInstances() {
         String directory = "directory";
@@ -13,16 +13,21 @@ import com.netflix.util.Pair;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.http.HttpStatus;
+import org.zowe.apiml.gateway.metadata.service.ServiceAddressIndex;
 import org.zowe.apiml.product.routing.RoutedServices;
 import org.zowe.apiml.product.routing.RoutedServicesUser;
 import org.zowe.apiml.product.routing.ServiceType;
 import org.zowe.apiml.product.routing.transform.TransformService;
 import org.zowe.apiml.product.routing.transform.URLTransformationException;
 
-import java.util.*;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.http.HttpHeaders.LOCATION;
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.*;
@@ -34,25 +39,19 @@ import static org.springframework.cloud.netflix.zuul.filters.support.FilterConst
  * <li>Hostname and port of the url are registered in Discovery Service</li>
  * <li>The url can be matched to gateway url</li>
  * </ul>
+ * Registered hostnames and ports are taken from {@link ServiceAddressIndex}, so the filter does not iterate over
+ * the registry while handling the response.
  */
 @RequiredArgsConstructor
 public class PageRedirectionFilter extends ZuulFilter implements RoutedServicesUser {
 
-    private static final int MAX_ENTRIES = 1000;
+    private static final int DEFAULT_HTTP_PORT = 80;
+    private static final int DEFAULT_HTTPS_PORT = 443;
 
-    private final DiscoveryClient discovery;
+    private final ServiceAddressIndex serviceAddressIndex;
     private final TransformService transformService;
 
-    private final Map<String, RoutedServices> routedServicesMap = new HashMap<>();
-
-    private final Map<String, String> routeTable = Collections.synchronizedMap(
-            new LinkedHashMap<String, String>(MAX_ENTRIES * 4 / 3 + 1, .75F, true) {
-                @Override
-                public boolean removeEldestEntry(Map.Entry eldest) {
-                    return size() > MAX_ENTRIES;
-                }
-            }
-    );
+    private final Map<String, RoutedServices> routedServicesMap = new ConcurrentHashMap<>();
 
     /**
      * @return true if status code is 3XX
@@ -75,9 +74,9 @@ public class PageRedirectionFilter extends ZuulFilter implements RoutedServicesU
     }
 
     /**
-     * When the filter runs, it first finds the Location url in cache. If matched url can be found in cache, it then replaces Location with the matched url.
-     * If not, the filter will find the matched url in Discovery Service. If matched url can be found in Discovery Service, the filter will put the matched
-     * url to cache, and replace Location with the matched url
+     * When the filter runs, it looks up the services registered on the hostname and port of the Location url. If the url
+     * can be matched to a route of one of them (the current service is checked first), the filter replaces Location
+     * with the matched url.
      *
      * @return null
      */
@@ -91,93 +90,78 @@ public class PageRedirectionFilter extends ZuulFilter implements RoutedServicesU
 
         if (locationHeader.isPresent()) {
             String location = locationHeader.get().second();
-            //find matched url in cache
-            String transformedUrl = foundUrlInTable(location);
-            if (transformedUrl != null) {
-                transformLocation(locationHeader.get(), transformedUrl);
-            } else {
-                //find matched url in Discovery Service
-                Optional<String> transformedUrlOp = getMatchedUrlFromDS(location);
-                if (transformedUrlOp.isPresent()) {
-                    transformedUrl = transformedUrlOp.get();
-                    //Put matched url to cache
-                    routeTable.put(location, transformedUrl);
-                    transformLocation(locationHeader.get(), transformedUrl);
-                }
-            }
+            getMatchedUrl(location, (String) context.get(SERVICE_ID_KEY))
+                .ifPresent(transformedUrl -> transformLocation(locationHeader.get(), transformedUrl));
         }
 
         return null;
     }
 
     /**
-     * Find matched url in cache by location
+     * Find matched url in services registered on the hostname and port of the location.
+     * First check the current service. If matched url can not be found in current service, the method then checks
+     * the other services on the same address.
      *
-     * @param location url in Location header
-     * @return matched url
-     */
-    private String foundUrlInTable(String location) {
-        return routeTable.get(location);
-    }
-
-    /**
-     * Find matched url Discovery Service.
-     * First check the current service. If matched url can not be found in current service, the method then iterates
-     * through all services registered in Discovery Service to find the matched url
-     *
-     * @param location url in Location header
+     * @param location         url in Location header
+     * @param currentServiceId serviceId of the routed request
      * @return return matched url if it can be found
      * return empty if matched url can not be found
      */
-    private Optional<String> getMatchedUrlFromDS(String location) {
-        RequestContext context = RequestContext.getCurrentContext();
-        String currentServiceId = (String) context.get(SERVICE_ID_KEY);
+    private Optional<String> getMatchedUrl(String location, String currentServiceId) {
+        Set<String> serviceIds = getServiceIds(location);
+        if (serviceIds.isEmpty()) {
+            return Optional.empty();
+        }
 
-        //check current service instance
-        Optional<String> transformedUrl = foundMatchedUrlInService(location, currentServiceId);
-        if (transformedUrl.isPresent()) {
-            return transformedUrl;
+        if (currentServiceId != null && serviceIds.contains(currentServiceId)) {
+            Optional<String> transformedUrl = transformUrl(location, currentServiceId);
+            if (transformedUrl.isPresent()) {
+                return transformedUrl;
+            }
         }
 
-        //iterate through all instances registered in discovery client, check if there is matched url
-        List<String> serviceIds = discovery.getServices();
         for (String serviceId : serviceIds) {
-            if (!currentServiceId.equals(serviceId)) {
-                transformedUrl = foundMatchedUrlInService(location, serviceId);
+            if (!serviceId.equals(currentServiceId)) {
+                Optional<String> transformedUrl = transformUrl(location, serviceId);
                 if (transformedUrl.isPresent()) {
                     return transformedUrl;
                 }
             }
         }
+
         return Optional.empty();
     }
 
     /**
-     * Find matched url in specified service. For each service instance, the method first checks if the hostname and port
-     * of the service instance are the same as the hostname and port in Location url. If they are the same, then try to
-     * find the matched url.
-     *
-     * @param location  url in Location header
-     * @param serviceId specified serviceId
-     * @return return matched url if it can be found
-     * return empty if matched url can not be found
+     * @param location url in Location header
+     * @return serviceIds of services registered on the hostname and port of the location
      */
-    private Optional<String> foundMatchedUrlInService(String location, String serviceId) {
-        List<ServiceInstance> serviceInstances = discovery.getInstances(serviceId);
-        for (ServiceInstance instance : serviceInstances) {
-            //Check if the host and port in location is registered in DS
-            String host = instance.getHost() + ":" + instance.getPort();
-            if (location.contains(host)) {
-                try {
-                    String transformedUrl = transformService.transformURL(ServiceType.ALL, serviceId, location, routedServicesMap.get(serviceId));
-                    return Optional.of(transformedUrl);
-                } catch (URLTransformationException e) {
-                    //do nothing if no matched url is found
-                }
-            }
+    private Set<String> getServiceIds(String location) {
+        URI uri;
+        try {
+            uri = new URI(location);
+        } catch (URISyntaxException e) {
+            return Collections.emptySet();
         }
 
-        return Optional.empty();
+        if (uri.getHost() == null) {
+            return Collections.emptySet();
+        }
+
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "http".equalsIgnoreCase(uri.getScheme()) ? DEFAULT_HTTP_PORT : DEFAULT_HTTPS_PORT;
+        }
+        return serviceAddressIndex.getServiceIds(uri.getHost(), port);
+    }
+
+    private Optional<String> transformUrl(String location, String serviceId) {
+        try {
+            return Optional.of(transformService.transformURL(ServiceType.ALL, serviceId, location, routedServicesMap.get(serviceId)));
+        } catch (URLTransformationException e) {
+            //do nothing if no matched url is found
+            return Optional.empty();
+        }
     }
 
     /**
@@ -0,0 +1,58 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.filters.post;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import org.zowe.apiml.gateway.ribbon.RequestContextUtils;
+import org.zowe.apiml.gateway.timing.RequestStage;
+import org.zowe.apiml.gateway.timing.RequestTimings;
+
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.POST_TYPE;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SERVICE_ID_KEY;
+
+/**
+ * The first post filter, it starts the {@link RequestStage#POST_FILTERS} stage of the request and stores the routing
+ * information for the access log. The Zuul context is not available anymore once the access log is written.
+ */
+public class RequestTimingPostFilter extends ZuulFilter {
+
+    static final int FILTER_ORDER = -1000;
+
+    @Override
+    public String filterType() {
+        return POST_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return FILTER_ORDER;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return RequestTimings.current() != null;
+    }
+
+    @Override
+    public Object run() {
+        RequestTimings timings = RequestTimings.current();
+
+        Object serviceId = RequestContext.getCurrentContext().get(SERVICE_ID_KEY);
+        if (serviceId instanceof String) {
+            timings.setServiceId((String) serviceId);
+        }
+        RequestContextUtils.getInstanceInfo().ifPresent(instanceInfo -> timings.setInstanceId(instanceInfo.getInstanceId()));
+
+        RequestTimings.begin(RequestStage.POST_FILTERS);
+        return null;
+    }
+
+}
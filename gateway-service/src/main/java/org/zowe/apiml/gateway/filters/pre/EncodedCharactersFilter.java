@@ -12,19 +12,18 @@ package org.zowe.apiml.gateway.filters.pre;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicy;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicyRegistry;
 import org.zowe.apiml.message.core.Message;
 import org.zowe.apiml.message.core.MessageService;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.netflix.zuul.filters.support.FilterConstants;
 import org.springframework.http.HttpStatus;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.*;
 
@@ -33,16 +32,17 @@ import static org.springframework.cloud.netflix.zuul.filters.support.FilterConst
  * <p>
  * Special characters encoding is enabled on Tomcat and Spring Firewall so this filter takes over responsibility
  * for filtering them.
- * Encoded characters in URL are allowed by default.
+ * Encoded characters in URL are allowed by default. The flag is resolved for the service once by
+ * {@link RoutePolicyRegistry}.
  */
 
 @RequiredArgsConstructor
 @Slf4j
 public class EncodedCharactersFilter extends ZuulFilter {
 
-    private final DiscoveryClient discoveryClient;
+    private final RoutePolicyRegistry routePolicyRegistry;
     private final MessageService messageService;
-    public static final String METADATA_KEY = "apiml.enableUrlEncodedCharacters";
+    public static final String METADATA_KEY = RoutePolicy.ENCODED_CHARACTERS_METADATA_KEY;
     private static final List<String> PROHIBITED_CHARACTERS =
         Arrays.asList("%2e", "%2E", ";", "%3b", "%3B", "%2f", "%2F", "\\", "%5c", "%5C", "%25", "%");
 
@@ -58,24 +58,8 @@ public class EncodedCharactersFilter extends ZuulFilter {
 
     @Override
     public boolean shouldFilter() {
-        boolean shouldFilter = true;
-
         RequestContext context = RequestContext.getCurrentContext();
-        final String serviceId = (String) context.get(SERVICE_ID_KEY);
-
-        List<ServiceInstance> instanceList = discoveryClient.getInstances(serviceId);
-
-        List<Map<String, String>> enabledList = instanceList.stream()
-            .map(ServiceInstance::getMetadata)
-            .filter(metadata -> metadata.get(METADATA_KEY) == null
-                || String.valueOf(true).equalsIgnoreCase(metadata.get(METADATA_KEY)))
-            .collect(Collectors.toList());
-
-        if (enabledList.size() == instanceList.size()) {
-            shouldFilter = false;
-        }
-
-        return shouldFilter;
+        return !routePolicyRegistry.getRoutePolicy(context).isEncodedCharactersAllowed();
     }
 
     @Override
@@ -0,0 +1,100 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.filters.pre;
+
+import com.netflix.zuul.context.RequestContext;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.*;
+
+/**
+ * Clears values of the configured request headers. Header names are compared ignoring case. The set of names is built
+ * once and never modified, so one instance can be shared by all requests and filters. To clear more headers, create
+ * a new sanitizer by {@link #with(String...)} and keep the single pass over the request headers.
+ */
+public final class HeaderSanitizer {
+
+    private static final HeaderSanitizer EMPTY = new HeaderSanitizer(Collections.emptySet());
+
+    private final Set<String> headers;
+
+    private HeaderSanitizer(Set<String> headers) {
+        this.headers = headers;
+    }
+
+    public static HeaderSanitizer of(String... headers) {
+        return EMPTY.with(headers);
+    }
+
+    /**
+     * @param headers names of additional headers to be cleared
+     * @return new sanitizer clearing headers of this one and the given headers
+     */
+    public HeaderSanitizer with(String... headers) {
+        Set<String> output = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        output.addAll(this.headers);
+        if (headers != null) {
+            for (String header : headers) {
+                if (header != null && !header.trim().isEmpty()) {
+                    output.add(header.trim());
+                }
+            }
+        }
+        return new HeaderSanitizer(Collections.unmodifiableSet(output));
+    }
+
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    public boolean isSanitized(String header) {
+        return header != null && headers.contains(header);
+    }
+
+    /**
+     * Set to null all matching headers in Zuul request headers and in the original request. The headers are
+     * visited once, the names of matching headers are kept as they were found.
+     *
+     * @param context context of the routed request
+     */
+    public void sanitize(RequestContext context) {
+        if (isEmpty()) {
+            return;
+        }
+
+        Set<String> toBeCleared = null;
+        for (String header : context.getZuulRequestHeaders().keySet()) {
+            toBeCleared = collect(toBeCleared, header);
+        }
+
+        HttpServletRequest request = context.getRequest();
+        if (request != null) {
+            Enumeration<String> headerNames = request.getHeaderNames();
+            while (headerNames != null && headerNames.hasMoreElements()) {
+                toBeCleared = collect(toBeCleared, headerNames.nextElement());
+            }
+        }
+
+        if (toBeCleared != null) {
+            toBeCleared.forEach(header -> context.addZuulRequestHeader(header, null));
+        }
+    }
+
+    private Set<String> collect(Set<String> toBeCleared, String header) {
+        if (!isSanitized(header)) {
+            return toBeCleared;
+        }
+
+        Set<String> output = toBeCleared == null ? new LinkedHashSet<>() : toBeCleared;
+        output.add(header);
+        return output;
+    }
+
+}
@@ -11,26 +11,36 @@ package org.zowe.apiml.gateway.filters.pre;
 
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
-import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
-
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_DECORATION_FILTER_ORDER;
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_TYPE;
 
 /**
  * Filter is used to clear values in request headers. Provide list of such headers in property source and they will
  * be set to null. Proper header values can then be set in next filter.
+ * <p>
+ * Header names are normalized once into {@link HeaderSanitizer}, the request headers are then visited only once.
  */
 @Component
-@NoArgsConstructor
-@AllArgsConstructor
 public class HeaderSanitizerFilter extends ZuulFilter {
-    @Value(value = "${apiml.security.headersToBeCleared:}")
-    private String[] headersToBeCleared;
+
+    private final HeaderSanitizer headerSanitizer;
+
+    @Autowired
+    public HeaderSanitizerFilter(@Value(value = "${apiml.security.headersToBeCleared:}") String[] headersToBeCleared) {
+        this(HeaderSanitizer.of(headersToBeCleared));
+    }
+
+    public HeaderSanitizerFilter(HeaderSanitizer headerSanitizer) {
+        this.headerSanitizer = headerSanitizer;
+    }
+
+    public HeaderSanitizer getHeaderSanitizer() {
+        return headerSanitizer;
+    }
 
     @Override
     public String filterType() {
@@ -44,41 +54,13 @@ public class HeaderSanitizerFilter extends ZuulFilter {
 
     @Override
     public boolean shouldFilter() {
-        return true;
+        return !headerSanitizer.isEmpty();
     }
 
     @Override
     public Object run() {
-        RequestContext context = RequestContext.getCurrentContext();
-
-        Map<String, String> requestHeaders = new HashMap<>();
-
-        includeHeadersFromZuul(context, requestHeaders);
-        includeHeadersFromRequest(context, requestHeaders);
-
-        nullHeadersOfInterestIntoZuulRequestHeaders(context, requestHeaders);
-
+        headerSanitizer.sanitize(RequestContext.getCurrentContext());
         return null;
     }
 
-    private void nullHeadersOfInterestIntoZuulRequestHeaders(RequestContext context, Map<String, String> requestHeaders) {
-        Arrays.stream(headersToBeCleared).forEach( toBeCleared -> //for each header to be cleared
-            requestHeaders.entrySet().stream() //in all requestHeaders
-                .filter(entry -> entry.getKey().equalsIgnoreCase(toBeCleared)) // find headers that match ignoring case
-                .forEach(entry -> context.addZuulRequestHeader(entry.getKey(), null)) // and null it
-        );
-    }
-
-    private void includeHeadersFromZuul(RequestContext context, Map<String, String> requestHeaders) {
-        requestHeaders.putAll(context.getZuulRequestHeaders());
-    }
-
-    private void includeHeadersFromRequest(RequestContext context, Map<String, String> requestHeaders) {
-        Enumeration<String> headerNames = context.getRequest().getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String headerName = headerNames.nextElement();
-            requestHeaders.put(headerName, "");
-        }
-    }
-
 }
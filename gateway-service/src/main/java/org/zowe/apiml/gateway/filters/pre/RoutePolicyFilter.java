@@ -0,0 +1,52 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.filters.pre;
+
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicy;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicyRegistry;
+
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.*;
+
+/**
+ * Attaches the {@link RoutePolicy} of the target service to the RequestContext. It runs right after the service is
+ * resolved by PreDecorationFilter, so the following filters can read the flags of the service from the context.
+ * It shares the order with {@link ServiceNotFoundFilter}, which runs only if there is no service.
+ */
+@RequiredArgsConstructor
+public class RoutePolicyFilter extends ZuulFilter {
+
+    private final RoutePolicyRegistry routePolicyRegistry;
+
+    @Override
+    public String filterType() {
+        return PRE_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return PRE_DECORATION_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return StringUtils.isNotEmpty((String) RequestContext.getCurrentContext().get(SERVICE_ID_KEY));
+    }
+
+    @Override
+    public Object run() {
+        routePolicyRegistry.getRoutePolicy(RequestContext.getCurrentContext());
+        return null;
+    }
+
+}
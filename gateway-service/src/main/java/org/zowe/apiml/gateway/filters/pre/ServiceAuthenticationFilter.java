@@ -16,9 +16,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.netflix.zuul.util.ZuulRuntimeException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicy;
 import org.zowe.apiml.gateway.security.service.AuthenticationService;
 import org.zowe.apiml.gateway.security.service.ServiceAuthenticationServiceImpl;
 import org.zowe.apiml.gateway.security.service.schema.AuthenticationCommand;
+import org.zowe.apiml.gateway.timing.RequestStage;
+import org.zowe.apiml.gateway.timing.RequestTimings;
 import org.zowe.apiml.security.common.token.TokenExpireException;
 
 import static org.apache.http.HttpStatus.SC_UNAUTHORIZED;
@@ -29,6 +32,9 @@ import static org.springframework.cloud.netflix.zuul.filters.support.FilterConst
  * fetched AuthenticationCommand which support target security. In case it is possible decide now (all instances
  * use the same authentication) it will modify immediately. Otherwise in request params will be set a command to
  * load balancer. The request will be modified after specific instance will be selected.
+ *
+ * If the {@link RoutePolicy} of the service is available in the context, the authentication resolved in the policy
+ * is used instead of the lookup by serviceId.
  */
 public class ServiceAuthenticationFilter extends ZuulFilter {
 
@@ -55,6 +61,16 @@ public class ServiceAuthenticationFilter extends ZuulFilter {
 
     @Override
     public Object run() {
+        RequestTimings.begin(RequestStage.SERVICE_AUTHENTICATION);
+        try {
+            authenticate();
+        } finally {
+            RequestTimings.end(RequestStage.SERVICE_AUTHENTICATION);
+        }
+        return null;
+    }
+
+    private void authenticate() {
         final RequestContext context = RequestContext.getCurrentContext();
 
         boolean rejected = false;
@@ -63,7 +79,7 @@ public class ServiceAuthenticationFilter extends ZuulFilter {
         final String serviceId = (String) context.get(SERVICE_ID_KEY);
         try {
             String jwtToken = authenticationService.getJwtTokenFromRequest(context.getRequest()).orElse(null);
-            cmd = serviceAuthenticationService.getAuthenticationCommand(serviceId, jwtToken);
+            cmd = getAuthenticationCommand(context, serviceId, jwtToken);
 
             // Verify JWT validity if it is required for the schema
             if (
@@ -95,8 +111,24 @@ public class ServiceAuthenticationFilter extends ZuulFilter {
                 );
             }
         }
+    }
 
-        return null;
+    private AuthenticationCommand getAuthenticationCommand(RequestContext context, String serviceId, String jwtToken) {
+        Object routePolicy = context.get(RoutePolicy.CONTEXT_KEY);
+        if ((routePolicy instanceof RoutePolicy) && ((RoutePolicy) routePolicy).isAuthenticationUniform()) {
+            RoutePolicy policy = (RoutePolicy) routePolicy;
+            if (!policy.hasAuthentication()) {
+                return AuthenticationCommand.EMPTY;
+            }
+            AuthenticationCommand cmd = serviceAuthenticationService.getAuthenticationCommand(policy.getAuthentication(), jwtToken);
+            if (cmd.isExpired()) {
+                // the expired command was evicted from the cache, the next call creates a new one
+                cmd = serviceAuthenticationService.getAuthenticationCommand(policy.getAuthentication(), jwtToken);
+            }
+            return cmd;
+        }
+
+        return serviceAuthenticationService.getAuthenticationCommand(serviceId, jwtToken);
     }
 
 }
@@ -20,7 +20,8 @@ import java.util.stream.Collectors;
 
 /**
  * Class that extracts the instances metadata from the registered applications and set the ones related to the ribbon timeout
- * (connectionTimeout, readTimeout and connectionManagerTimeout) as system properties
+ * (connectionTimeout, readTimeout and connectionManagerTimeout) and retries (maxAutoRetries, maxAutoRetriesNextServer,
+ * retryableStatusCodes and okToRetryOnAllOperations) as system properties
  */
 
 public abstract class MetadataProcessor extends RefreshEventListener {
@@ -19,12 +19,15 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Order(20)
 public class RibbonMetadataProcessor extends MetadataProcessor {
 
+    private static final Pattern STATUS_CODES = Pattern.compile("\\d{3}(\\s*,\\s*\\d{3})*");
+
     private final EurekaApplications applications;
 
     @Override
@@ -44,6 +47,12 @@ public class RibbonMetadataProcessor extends MetadataProcessor {
                 metadata.get("apiml.connectionManagerTimeout"));
             setIfExists(serviceId + ".ribbon.OkToRetryOnAllOperations",
                 metadata.get("apiml.okToRetryOnAllOperations"));
+            setIfExistsAndIsNumeric(serviceId + ".ribbon.MaxAutoRetries",
+                metadata.get("apiml.maxAutoRetries"));
+            setIfExistsAndIsNumeric(serviceId + ".ribbon.MaxAutoRetriesNextServer",
+                metadata.get("apiml.maxAutoRetriesNextServer"));
+            setIfExistsAndAreStatusCodes(serviceId + ".ribbon.retryableStatusCodes",
+                metadata.get("apiml.retryableStatusCodes"));
         }
     }
 
@@ -53,6 +62,12 @@ public class RibbonMetadataProcessor extends MetadataProcessor {
         }
     }
 
+    void setIfExistsAndAreStatusCodes(String key, String value) {
+        if (!Strings.isEmpty(value) && STATUS_CODES.matcher(value.trim()).matches()) {
+            System.setProperty(key, value.trim());
+        }
+    }
+
     void setIfExists(String key, String value) {
         if (!Strings.isEmpty(value)) {
             System.setProperty(key, value);
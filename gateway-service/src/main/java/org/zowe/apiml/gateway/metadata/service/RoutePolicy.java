@@ -0,0 +1,51 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.metadata.service;
+
+import lombok.Builder;
+import lombok.Value;
+import org.zowe.apiml.auth.Authentication;
+
+/**
+ * Flags of the service resolved from the metadata of all its instances. The policy is created once per registry change
+ * by {@link RoutePolicyRegistry} and it is stored in the Zuul RequestContext under {@link #CONTEXT_KEY} for
+ * the routed request, so the filters don't need to go through the instances metadata on each request.
+ */
+@Value
+@Builder
+public class RoutePolicy {
+
+    public static final String CONTEXT_KEY = "apimlRoutePolicy";
+
+    public static final String ENCODED_CHARACTERS_METADATA_KEY = "apiml.enableUrlEncodedCharacters";
+
+    String serviceId;
+
+    /**
+     * True if all instances allow encoded characters in the URL (it is allowed by default)
+     */
+    boolean encodedCharactersAllowed;
+
+    /**
+     * True if all instances use the same authentication. Otherwise the authentication has to be decided after
+     * the load balancer selects the instance.
+     */
+    boolean authenticationUniform;
+
+    /**
+     * Authentication of all instances, null if it is not uniform
+     */
+    Authentication authentication;
+
+    public boolean hasAuthentication() {
+        return authenticationUniform && (authentication != null) && !authentication.isEmpty();
+    }
+
+}
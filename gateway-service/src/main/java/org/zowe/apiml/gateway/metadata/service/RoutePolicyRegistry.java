@@ -0,0 +1,110 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.metadata.service;
+
+import com.netflix.zuul.context.RequestContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.zowe.apiml.auth.Authentication;
+import org.zowe.apiml.eurekaservice.client.util.EurekaMetadataParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SERVICE_ID_KEY;
+
+/**
+ * Keeps the {@link RoutePolicy} of each service. The policy is resolved on the first request to the service after
+ * the registry was fetched and then it is shared by all requests until the next fetch.
+ */
+@Slf4j
+@Service
+@Order(5)
+@RequiredArgsConstructor
+public class RoutePolicyRegistry extends RefreshEventListener {
+
+    private final DiscoveryClient discoveryClient;
+    private final EurekaMetadataParser eurekaMetadataParser;
+
+    private final Map<String, RoutePolicy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * Get the policy of the service the current request is routed to. The policy is stored in the context and
+     * the next calls for the same request return it without a lookup.
+     *
+     * @param context context of the routed request
+     * @return policy of the service
+     */
+    public RoutePolicy getRoutePolicy(RequestContext context) {
+        Object policy = context.get(RoutePolicy.CONTEXT_KEY);
+        if (policy instanceof RoutePolicy) {
+            return (RoutePolicy) policy;
+        }
+
+        RoutePolicy routePolicy = getRoutePolicy((String) context.get(SERVICE_ID_KEY));
+        context.set(RoutePolicy.CONTEXT_KEY, routePolicy);
+        return routePolicy;
+    }
+
+    public RoutePolicy getRoutePolicy(String serviceId) {
+        if (serviceId == null) {
+            return resolve(null);
+        }
+        return policies.computeIfAbsent(serviceId.toLowerCase(), this::resolve);
+    }
+
+    RoutePolicy resolve(String serviceId) {
+        List<ServiceInstance> instances = serviceId == null ? null : discoveryClient.getInstances(serviceId);
+        RoutePolicy.RoutePolicyBuilder builder = RoutePolicy.builder()
+            .serviceId(serviceId)
+            .encodedCharactersAllowed(true)
+            .authenticationUniform(true);
+        if (instances == null || instances.isEmpty()) {
+            return builder.build();
+        }
+
+        boolean encodedCharactersAllowed = true;
+        boolean authenticationUniform = true;
+        Authentication authentication = null;
+        for (int i = 0; i < instances.size(); i++) {
+            Map<String, String> metadata = instances.get(i).getMetadata();
+
+            String encodedCharacters = metadata.get(RoutePolicy.ENCODED_CHARACTERS_METADATA_KEY);
+            encodedCharactersAllowed &= (encodedCharacters == null) || Boolean.TRUE.toString().equalsIgnoreCase(encodedCharacters);
+
+            Authentication instanceAuthentication = eurekaMetadataParser.parseAuthentication(metadata);
+            if (i == 0) {
+                authentication = instanceAuthentication;
+            } else if (!Objects.equals(authentication, instanceAuthentication)) {
+                authenticationUniform = false;
+            }
+        }
+
+        RoutePolicy routePolicy = builder
+            .encodedCharactersAllowed(encodedCharactersAllowed)
+            .authenticationUniform(authenticationUniform)
+            .authentication(authenticationUniform ? authentication : null)
+            .build();
+        log.debug("Resolved route policy {}", routePolicy);
+        return routePolicy;
+    }
+
+    @Override
+    public void refresh() {
+        policies.clear();
+    }
+
+}
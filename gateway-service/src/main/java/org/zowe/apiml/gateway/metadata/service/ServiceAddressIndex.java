@@ -0,0 +1,120 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.metadata.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the addresses (host and port) of all registered instances. Each address points to the services having an
+ * instance on it. The index is updated on each registry refresh only for services whose instances changed, lookups
+ * are lock-free.
+ */
+@Service
+@Order(5)
+@RequiredArgsConstructor
+public class ServiceAddressIndex extends RefreshEventListener {
+
+    private final DiscoveryClient discoveryClient;
+
+    private final Map<String, Set<String>> addressesByService = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> servicesByAddress = new ConcurrentHashMap<>();
+
+    /**
+     * Get services with an instance running on the given host and port.
+     *
+     * @param host hostname of the instance
+     * @param port port of the instance
+     * @return serviceIds of the matching services, empty set if the address is not known
+     */
+    public Set<String> getServiceIds(String host, int port) {
+        return servicesByAddress.getOrDefault(toAddress(host, port), Collections.emptySet());
+    }
+
+    @Override
+    public synchronized void refresh() {
+        List<String> services = discoveryClient.getServices();
+        Set<String> registered = services == null ? Collections.emptySet() : new HashSet<>(services);
+
+        for (String serviceId : new ArrayList<>(addressesByService.keySet())) {
+            if (!registered.contains(serviceId)) {
+                update(serviceId, Collections.emptySet());
+            }
+        }
+
+        for (String serviceId : registered) {
+            update(serviceId, getAddresses(serviceId));
+        }
+    }
+
+    private Set<String> getAddresses(String serviceId) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+        if (instances == null || instances.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<String> addresses = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            addresses.add(toAddress(instance.getHost(), instance.getPort()));
+        }
+        return addresses;
+    }
+
+    private void update(String serviceId, Set<String> addresses) {
+        Set<String> previous = addressesByService.getOrDefault(serviceId, Collections.emptySet());
+        if (previous.equals(addresses)) {
+            return;
+        }
+
+        for (String address : previous) {
+            if (!addresses.contains(address)) {
+                servicesByAddress.computeIfPresent(address, (key, serviceIds) -> without(serviceIds, serviceId));
+            }
+        }
+        for (String address : addresses) {
+            if (!previous.contains(address)) {
+                servicesByAddress.compute(address, (key, serviceIds) -> with(serviceIds, serviceId));
+            }
+        }
+
+        if (addresses.isEmpty()) {
+            addressesByService.remove(serviceId);
+        } else {
+            addressesByService.put(serviceId, addresses);
+        }
+    }
+
+    /**
+     * The sets of serviceIds are never modified, they are replaced by a new copy. A reader can so iterate over a set
+     * while the index is updated.
+     */
+    private static Set<String> with(Set<String> serviceIds, String serviceId) {
+        Set<String> output = serviceIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(serviceIds);
+        output.add(serviceId);
+        return Collections.unmodifiableSet(output);
+    }
+
+    private static Set<String> without(Set<String> serviceIds, String serviceId) {
+        Set<String> output = new LinkedHashSet<>(serviceIds);
+        output.remove(serviceId);
+        return output.isEmpty() ? null : Collections.unmodifiableSet(output);
+    }
+
+    private static String toAddress(String host, int port) {
+        return String.valueOf(host).toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+}
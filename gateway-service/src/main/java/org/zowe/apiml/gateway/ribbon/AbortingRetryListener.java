@@ -31,13 +31,20 @@ public class AbortingRetryListener implements RetryListener {
 
     @Override
     public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (isAborting(throwable)) {
+            context.setExhaustedOnly();
+        }
+    }
+
+    /**
+     * @return true if the exception ends the retrying
+     */
+    static boolean isAborting(Throwable throwable) {
         // Exception from retry logic
         if (throwable instanceof RequestAbortException) {
-            context.setExhaustedOnly();
+            return true;
         }
         // Exception from load balancer having no servers
-        if (throwable instanceof ClientException && StringUtils.startsWith(throwable.getMessage(), "Load balancer does not have available server for client")) {
-            context.setExhaustedOnly();
-        }
+        return throwable instanceof ClientException && StringUtils.startsWith(throwable.getMessage(), "Load balancer does not have available server for client");
     }
 }
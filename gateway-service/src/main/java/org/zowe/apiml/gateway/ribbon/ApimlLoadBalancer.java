@@ -14,6 +14,8 @@ import com.netflix.loadbalancer.*;
 import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
 import lombok.extern.slf4j.Slf4j;
 import org.zowe.apiml.gateway.metadata.service.LoadBalancerRegistry;
+import org.zowe.apiml.gateway.timing.RequestStage;
+import org.zowe.apiml.gateway.timing.RequestTimings;
 
 /**
  * Custom implementation of load balancer. This implementation register on creating into ServiceCacheEvictor. It allows
@@ -49,7 +51,13 @@ public class ApimlLoadBalancer<T extends Server> extends ZoneAwareLoadBalancer<T
      */
     @Override
     public Server chooseServer(Object key) {
-        Server server = super.chooseServer(key);
+        Server server;
+        RequestTimings.begin(RequestStage.LOAD_BALANCER);
+        try {
+            server = super.chooseServer(key);
+        } finally {
+            RequestTimings.end(RequestStage.LOAD_BALANCER);
+        }
 
         if (server == null) {
             return null;
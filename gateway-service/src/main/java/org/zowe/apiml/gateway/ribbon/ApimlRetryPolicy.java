@@ -0,0 +1,93 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ribbon;
+
+import com.netflix.client.config.IClientConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.cloud.client.loadbalancer.LoadBalancedRetryContext;
+import org.springframework.cloud.client.loadbalancer.ServiceInstanceChooser;
+import org.springframework.cloud.netflix.ribbon.RibbonLoadBalancedRetryPolicy;
+import org.springframework.cloud.netflix.ribbon.RibbonLoadBalancerContext;
+import org.springframework.http.HttpMethod;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Retry policy of a service. In addition to the Ribbon policy (GET requests or all with OkToRetryOnAllOperations) it
+ * retries the safe methods and any request which was not sent to the service, because the connection failed. Other
+ * idempotent methods (PUT and DELETE) are retried after a read timeout only if the service allows it by the metadata
+ * apiml.okToRetryOnAllOperations.
+ * Each retry has to be allowed by the {@link RetryBudget} of the service, otherwise the retrying ends.
+ */
+@Slf4j
+public class ApimlRetryPolicy extends RibbonLoadBalancedRetryPolicy {
+
+    static final Set<HttpMethod> SAFE_METHODS = EnumSet.of(
+        HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE
+    );
+
+    private static final int MAX_CAUSE_DEPTH = 10;
+
+    private final String serviceId;
+    private final RetryBudget retryBudget;
+
+    public ApimlRetryPolicy(String serviceId, RibbonLoadBalancerContext context, ServiceInstanceChooser loadBalanceChooser,
+                            IClientConfig clientConfig, RetryBudget retryBudget) {
+        super(serviceId, context, loadBalanceChooser, clientConfig);
+        this.serviceId = serviceId;
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public boolean canRetry(LoadBalancedRetryContext context) {
+        if (super.canRetry(context)) {
+            return true;
+        }
+        return SAFE_METHODS.contains(context.getRequest().getMethod()) || isNotSent(context.getLastThrowable());
+    }
+
+    @Override
+    public void registerThrowable(LoadBalancedRetryContext context, Throwable throwable) {
+        super.registerThrowable(context, throwable);
+        // the listeners are notified after the policy, don't charge the budget for a retry which they abort
+        if ((retryBudget == null) || context.isExhaustedOnly() || AbortingRetryListener.isAborting(throwable)) {
+            return;
+        }
+        if ((canRetrySameServer(context) || canRetryNextServer(context)) && !retryBudget.tryWithdraw()) {
+            log.debug("Retry budget of service {} is exhausted, the request will not be retried", serviceId);
+            context.setExhaustedOnly();
+        }
+    }
+
+    /**
+     * @return true if the exception means that the request didn't reach the service (including a timeout of the
+     * connection pool, which is a {@link ConnectTimeoutException})
+     */
+    static boolean isNotSent(Throwable throwable) {
+        Throwable cause = throwable;
+        for (int depth = 0; (cause != null) && (depth < MAX_CAUSE_DEPTH); depth++) {
+            if ((cause instanceof ConnectException)
+                || (cause instanceof ConnectTimeoutException)
+                || (cause instanceof NoRouteToHostException)
+                || (cause instanceof UnknownHostException)
+            ) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+}
@@ -10,22 +10,62 @@
 
 package org.zowe.apiml.gateway.ribbon;
 
+import org.springframework.cloud.client.loadbalancer.LoadBalancedRetryPolicy;
+import org.springframework.cloud.client.loadbalancer.ServiceInstanceChooser;
 import org.springframework.cloud.netflix.ribbon.RibbonLoadBalancedRetryFactory;
 import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
 import org.springframework.retry.RetryListener;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 /**
- * Allows adding RetryListeners to Ribbon Retry
+ * Allows adding RetryListeners to Ribbon Retry and creates {@link ApimlRetryPolicy} with a {@link RetryBudget} of
+ * the service
  */
 public class ApimlRibbonRetryFactory extends RibbonLoadBalancedRetryFactory {
 
+    private final SpringClientFactory clientFactory;
+    private final Supplier<RetryBudget> retryBudgetSupplier;
     private final RetryListener[] listeners;
 
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+
     public ApimlRibbonRetryFactory(SpringClientFactory clientFactory, RetryListener... listeners) {
+        this(clientFactory, null, listeners);
+    }
+
+    /**
+     * @param retryBudgetSupplier creates the budget of a service, null means retries are not limited by a budget
+     */
+    public ApimlRibbonRetryFactory(SpringClientFactory clientFactory, Supplier<RetryBudget> retryBudgetSupplier, RetryListener... listeners) {
         super(clientFactory);
+        this.clientFactory = clientFactory;
+        this.retryBudgetSupplier = retryBudgetSupplier;
         this.listeners = listeners;
     }
 
+    /**
+     * The policy is created for each request, the request is counted into the budget of the service here.
+     */
+    @Override
+    public LoadBalancedRetryPolicy createRetryPolicy(String service, ServiceInstanceChooser serviceInstanceChooser) {
+        RetryBudget retryBudget = getRetryBudget(service);
+        if (retryBudget != null) {
+            retryBudget.deposit();
+        }
+        return new ApimlRetryPolicy(service, clientFactory.getLoadBalancerContext(service), serviceInstanceChooser,
+            clientFactory.getClientConfig(service), retryBudget);
+    }
+
+    RetryBudget getRetryBudget(String service) {
+        if (retryBudgetSupplier == null) {
+            return null;
+        }
+        return retryBudgets.computeIfAbsent(service, key -> retryBudgetSupplier.get());
+    }
+
     @Override
     public RetryListener[] createRetryListeners(String service) {
         return listeners;
@@ -16,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.netflix.ribbon.*;
 import org.springframework.cloud.netflix.ribbon.apache.RibbonLoadBalancingHttpClient;
@@ -39,10 +40,24 @@ public class GatewayRibbonConfig {
     @RibbonClientName
     private String ribbonClientName = "client";
 
+    /**
+     * Retry factory of the service. Retries are limited by a {@link RetryBudget} of the service, unless it is disabled
+     * by apiml.gateway.retryBudget.enabled.
+     */
     @Bean
-    public ApimlRibbonRetryFactory apimlRibbonRetryFactory(SpringClientFactory springClientFactory) {
+    public ApimlRibbonRetryFactory apimlRibbonRetryFactory(
+        SpringClientFactory springClientFactory,
+        @Value("${apiml.gateway.retryBudget.enabled:true}") boolean retryBudgetEnabled,
+        @Value("${apiml.gateway.retryBudget.percent:20}") int percentCanRetry,
+        @Value("${apiml.gateway.retryBudget.minRetriesPerSecond:10}") int minRetriesPerSecond,
+        @Value("${apiml.gateway.retryBudget.ttlSeconds:10}") int ttlSeconds
+    ) {
         AbortingRetryListener retryListener = new AbortingRetryListener();
-        return new ApimlRibbonRetryFactory(springClientFactory, retryListener);
+        if (!retryBudgetEnabled) {
+            return new ApimlRibbonRetryFactory(springClientFactory, retryListener);
+        }
+        return new ApimlRibbonRetryFactory(springClientFactory,
+            () -> new RetryBudget(percentCanRetry, minRetriesPerSecond, ttlSeconds), retryListener);
     }
 
     @Bean
@@ -0,0 +1,94 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ribbon;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Limit of retries of one service. Each request deposits into the budget, each retry withdraws from it. The retries
+ * are allowed up to the percentage of the requests in the last ttlSeconds plus a reserve of minRetriesPerSecond for
+ * services with low traffic. When a service fails, the retries can't multiply the load on it beyond this limit.
+ * <p>
+ * The window is split into buckets, the old buckets are dropped as the time goes.
+ */
+public class RetryBudget {
+
+    static final int BUCKETS = 10;
+
+    private final double ratio;
+    private final long reserve;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+
+    private final long[] requests = new long[BUCKETS];
+    private final long[] retries = new long[BUCKETS];
+    private int current;
+    private long currentBucket;
+
+    public RetryBudget(int percentCanRetry, int minRetriesPerSecond, int ttlSeconds) {
+        this(percentCanRetry, minRetriesPerSecond, ttlSeconds, System::currentTimeMillis);
+    }
+
+    RetryBudget(int percentCanRetry, int minRetriesPerSecond, int ttlSeconds, LongSupplier clock) {
+        if ((percentCanRetry < 0) || (minRetriesPerSecond < 0) || (ttlSeconds <= 0)) {
+            throw new IllegalArgumentException("Invalid retry budget: percent " + percentCanRetry
+                + ", minRetriesPerSecond " + minRetriesPerSecond + ", ttlSeconds " + ttlSeconds);
+        }
+        this.ratio = percentCanRetry / 100.0;
+        this.reserve = (long) minRetriesPerSecond * ttlSeconds;
+        this.bucketMillis = Math.max(1, ttlSeconds * 1000L / BUCKETS);
+        this.clock = clock;
+        this.currentBucket = clock.getAsLong() / bucketMillis;
+    }
+
+    /**
+     * Count a new request of the service.
+     */
+    public synchronized void deposit() {
+        rotate();
+        requests[current]++;
+    }
+
+    /**
+     * Count a retry if the budget allows it.
+     *
+     * @return true if the request can be retried, otherwise false
+     */
+    public synchronized boolean tryWithdraw() {
+        rotate();
+        if (sum(retries) >= reserve + (long) (sum(requests) * ratio)) {
+            return false;
+        }
+        retries[current]++;
+        return true;
+    }
+
+    private void rotate() {
+        long bucket = clock.getAsLong() / bucketMillis;
+        long elapsed = Math.min(bucket - currentBucket, BUCKETS);
+        for (long i = 0; i < elapsed; i++) {
+            current = (current + 1) % BUCKETS;
+            requests[current] = 0;
+            retries[current] = 0;
+        }
+        if (elapsed > 0) {
+            currentBucket = bucket;
+        }
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+}
@@ -17,6 +17,10 @@ import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.zowe.apiml.gateway.timing.RequestStage;
+import org.zowe.apiml.gateway.timing.RequestTimings;
+
+import java.lang.reflect.Method;
 
 /**
  * Configuration class creates proxy bean for ClosableHttpClient that interceps method calls
@@ -24,6 +28,7 @@ import org.springframework.context.annotation.Configuration;
  * Actions on intercept are:
  *   Decide which client to use for call (with/without) certificate
  *   Decorate HttpRequest object with security
+ *   Measure the time of the decoration and of the call to the service (without waiting for a connection)
  */
 @RequiredArgsConstructor
 @Configuration
@@ -39,11 +44,28 @@ public class HttpClientProxyConfig {
         e.setCallback((MethodInterceptor) (o, method, objects, methodProxy) ->
             {
                 if (method.getName().equals("execute") && objects.length > 0 && objects[0] instanceof HttpRequest) {
-                    serviceAuthenticationDecorator.process((HttpRequest) objects[0]);
+                    RequestTimings.begin(RequestStage.SERVICE_AUTHENTICATION);
+                    try {
+                        serviceAuthenticationDecorator.process((HttpRequest) objects[0]);
+                    } finally {
+                        RequestTimings.end(RequestStage.SERVICE_AUTHENTICATION);
+                    }
+                    return executeTimed(method, objects);
                 }
                 return method.invoke(clientChooser.chooseClient(), objects);
             }
         );
         return (CloseableHttpClient) e.create();
     }
+
+    private Object executeTimed(Method method, Object[] objects) throws Exception {
+        long connectionBefore = RequestTimings.spent(RequestStage.CONNECTION);
+        long start = System.nanoTime();
+        try {
+            return method.invoke(clientChooser.chooseClient(), objects);
+        } finally {
+            long connection = RequestTimings.spent(RequestStage.CONNECTION) - connectionBefore;
+            RequestTimings.add(RequestStage.UPSTREAM, System.nanoTime() - start - connection);
+        }
+    }
 }
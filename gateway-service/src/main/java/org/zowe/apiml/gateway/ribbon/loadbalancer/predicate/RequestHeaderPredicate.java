@@ -24,6 +24,10 @@ public class RequestHeaderPredicate extends RequestAwarePredicate {
 
     @Override
     public boolean apply(LoadBalancingContext context, DiscoveryEnabledServer server) {
+        // WebSocket sessions are balanced outside of a Zuul request, there is no header to match on
+        if (context.getRequestContext().getRequest() == null) {
+            return true;
+        }
         String targetServer = context.getRequestContext().getRequest().getHeader(REQUEST_HEADER_NAME);
         if (StringUtils.isEmpty(targetServer)) {
             return true;
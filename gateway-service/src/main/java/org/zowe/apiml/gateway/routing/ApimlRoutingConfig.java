@@ -19,6 +19,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.zowe.apiml.gateway.filters.post.*;
 import org.zowe.apiml.gateway.filters.pre.*;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicyRegistry;
+import org.zowe.apiml.gateway.metadata.service.ServiceAddressIndex;
 import org.zowe.apiml.gateway.ws.WebSocketProxyServerHandler;
 import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.product.routing.RoutedServicesUser;
@@ -31,15 +33,30 @@ import java.util.List;
 @Configuration
 public class ApimlRoutingConfig {
 
+    @Bean
+    public RequestTimingPreFilter requestTimingPreFilter() {
+        return new RequestTimingPreFilter();
+    }
+
+    @Bean
+    public RequestTimingPostFilter requestTimingPostFilter() {
+        return new RequestTimingPostFilter();
+    }
+
     @Bean
     public LocationFilter locationFilter() {
         return new LocationFilter();
     }
 
     @Bean
-    public EncodedCharactersFilter encodedCharactersFilter(DiscoveryClient discovery,
-                                                                 MessageService messageService) {
-        return new EncodedCharactersFilter(discovery, messageService);
+    public RoutePolicyFilter routePolicyFilter(RoutePolicyRegistry routePolicyRegistry) {
+        return new RoutePolicyFilter(routePolicyRegistry);
+    }
+
+    @Bean
+    public EncodedCharactersFilter encodedCharactersFilter(RoutePolicyRegistry routePolicyRegistry,
+                                                           MessageService messageService) {
+        return new EncodedCharactersFilter(routePolicyRegistry, messageService);
     }
 
     @Bean
@@ -60,9 +77,9 @@ public class ApimlRoutingConfig {
     }
 
     @Bean
-    public PageRedirectionFilter pageRedirectionFilter(DiscoveryClient discovery,
+    public PageRedirectionFilter pageRedirectionFilter(ServiceAddressIndex serviceAddressIndex,
                                                        TransformService transformService) {
-        return new PageRedirectionFilter(discovery, transformService);
+        return new PageRedirectionFilter(serviceAddressIndex, transformService);
     }
 
     @Bean
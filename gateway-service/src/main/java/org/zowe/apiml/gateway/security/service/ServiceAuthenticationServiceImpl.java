@@ -74,7 +74,7 @@ public class ServiceAuthenticationServiceImpl implements ServiceAuthenticationSe
     private final CacheUtils cacheUtils;
 
     public Authentication getAuthentication(InstanceInfo instanceInfo) {
-        return eurekaMetadataParser.parseAuthentication(instanceInfo.getMetadata());
+        return eurekaMetadataParser.parseAuthentication(instanceInfo);
     }
 
     /**
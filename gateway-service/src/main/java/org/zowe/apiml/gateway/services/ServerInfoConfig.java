@@ -11,6 +11,7 @@ package org.zowe.apiml.gateway.services;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.zowe.apiml.eurekaservice.client.util.CachedEurekaMetadataParser;
 import org.zowe.apiml.eurekaservice.client.util.EurekaMetadataParser;
 
 @Configuration
@@ -18,7 +19,7 @@ public class ServerInfoConfig {
 
     @Bean
     public EurekaMetadataParser getEurekaMetadataParser() {
-        return new EurekaMetadataParser();
+        return new CachedEurekaMetadataParser();
     }
 
 }
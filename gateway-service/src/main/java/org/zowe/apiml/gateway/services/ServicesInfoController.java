@@ -16,6 +16,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.zowe.apiml.gateway.services.ServicesInfoSnapshot.Representation;
 
 import java.util.List;
 
@@ -32,27 +33,45 @@ public class ServicesInfoController {
 
     private final ServicesInfoService servicesInfoService;
 
+    /**
+     * Responses are served from the pre-serialized snapshot. The ETag is set on successful responses only, a request
+     * with a matching If-None-Match header is answered by Spring with 304 without a body.
+     */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ServiceInfo>> getServices(@RequestParam(required = false) String apiId) {
-        List<ServiceInfo> services = servicesInfoService.getServicesInfo(apiId);
-        HttpStatus status = (services.isEmpty()) ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+    public ResponseEntity<byte[]> getServices(@RequestParam(required = false) String apiId) {
+        Representation<List<ServiceInfo>> services = servicesInfoService.getSnapshot().getServicesRepresentation(apiId);
+        if (services.getModel().isEmpty()) {
+            return response(HttpStatus.NOT_FOUND, services.getBody());
+        }
 
+        return response(HttpStatus.OK, services.getBody(), services.getETag());
+    }
+
+    @GetMapping(value = "/{serviceId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getService(@PathVariable String serviceId) {
+        Representation<ServiceInfo> serviceInfo = servicesInfoService.getSnapshot().getServiceRepresentation(serviceId);
+        if (serviceInfo.getModel().getStatus() == InstanceInfo.InstanceStatus.UNKNOWN) {
+            return response(HttpStatus.NOT_FOUND, serviceInfo.getBody());
+        }
+
+        return response(HttpStatus.OK, serviceInfo.getBody(), serviceInfo.getETag());
+    }
+
+    private ResponseEntity<byte[]> response(HttpStatus status, byte[] body) {
         return ResponseEntity
                 .status(status)
+                .contentType(MediaType.APPLICATION_JSON)
                 .header(VERSION_HEADER, CURRENT_VERSION)
-                .body(services);
+                .body(body);
     }
 
-    @GetMapping(value = "/{serviceId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ServiceInfo> getService(@PathVariable String serviceId) {
-        ServiceInfo serviceInfo = servicesInfoService.getServiceInfo(serviceId);
-        HttpStatus status = (serviceInfo.getStatus() == InstanceInfo.InstanceStatus.UNKNOWN) ?
-                HttpStatus.NOT_FOUND : HttpStatus.OK;
-
+    private ResponseEntity<byte[]> response(HttpStatus status, byte[] body, String eTag) {
         return ResponseEntity
                 .status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
                 .header(VERSION_HEADER, CURRENT_VERSION)
-                .body(serviceInfo);
+                .body(body);
     }
 
 }
@@ -15,12 +15,12 @@ import com.netflix.discovery.EurekaClient;
 import com.netflix.discovery.shared.Application;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 import org.zowe.apiml.auth.Authentication;
 import org.zowe.apiml.config.ApiInfo;
 import org.zowe.apiml.eurekaservice.client.util.EurekaMetadataParser;
+import org.zowe.apiml.gateway.metadata.service.RefreshEventListener;
 import org.zowe.apiml.product.gateway.GatewayConfigProperties;
 import org.zowe.apiml.product.routing.RoutedServices;
 import org.zowe.apiml.product.routing.ServiceType;
@@ -28,6 +28,7 @@ import org.zowe.apiml.product.routing.transform.TransformService;
 import org.zowe.apiml.product.routing.transform.URLTransformationException;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -35,10 +36,15 @@ import static java.util.stream.Collectors.minBy;
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.SERVICE_DESCRIPTION;
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.SERVICE_TITLE;
 
+/**
+ * Builds the information about services registered in Discovery Service. The list of all services is kept as an
+ * immutable {@link ServicesInfoSnapshot}, which is dropped on each registry change event and rebuilt on the first
+ * request after it.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ServicesInfoService {
+public class ServicesInfoService extends RefreshEventListener {
 
     public static final String VERSION_HEADER = "Content-Version";
     public static final String CURRENT_VERSION = "1";
@@ -48,27 +54,49 @@ public class ServicesInfoService {
     private final EurekaMetadataParser eurekaMetadataParser;
     private final TransformService transformService;
 
-    public List<ServiceInfo> getServicesInfo() {
-        List<ServiceInfo> servicesInfo = new LinkedList<>();
+    private final Object snapshotLock = new Object();
+    private final AtomicLong registryVersion = new AtomicLong();
+    private volatile ServicesInfoSnapshot snapshot;
+
+    @Override
+    public void refresh() {
+        registryVersion.incrementAndGet();
+        snapshot = null;
+    }
+
+    public ServicesInfoSnapshot getSnapshot() {
+        ServicesInfoSnapshot current = snapshot;
+        if (current != null) return current;
+
+        synchronized (snapshotLock) {
+            current = snapshot;
+            if (current != null) return current;
+
+            // a refresh during the build means the registry could change meanwhile, do not keep the result
+            long version = registryVersion.get();
+            current = createSnapshot();
+            if (version == registryVersion.get()) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private ServicesInfoSnapshot createSnapshot() {
+        List<ServiceInfo> servicesInfo = new ArrayList<>();
         for (Application application : eurekaClient.getApplications().getRegisteredApplications()) {
             servicesInfo.add(getServiceInfo(application));
         }
 
-        return servicesInfo;
+        return ServicesInfoSnapshot.of(servicesInfo);
     }
 
-    public List<ServiceInfo> getServicesInfo(String apiId) {
-        List<ServiceInfo> servicesInfo = getServicesInfo();
-
-        if (apiId == null) return servicesInfo;
+    public List<ServiceInfo> getServicesInfo() {
+        return getSnapshot().getServices();
+    }
 
-        return servicesInfo.stream()
-                .filter(serviceInfo -> {
-                    if (serviceInfo.getApiml() == null || serviceInfo.getApiml().getApiInfo() == null) return false;
-                    return serviceInfo.getApiml().getApiInfo().stream().anyMatch(apiInfo ->
-                            StringUtils.equals(apiInfo.getApiId(), apiId));
-                })
-                .collect(Collectors.toList());
+    public List<ServiceInfo> getServicesInfo(String apiId) {
+        return getSnapshot().getServices(apiId);
     }
 
     public ServiceInfo getServiceInfo(String serviceId) {
@@ -115,7 +143,7 @@ public class ServicesInfoService {
         List<ServiceInfo.ApiInfoExtended> completeList = new ArrayList<>();
 
         for (InstanceInfo instanceInfo : appInstances) {
-            List<ApiInfo> apiInfoList = eurekaMetadataParser.parseApiInfo(instanceInfo.getMetadata());
+            List<ApiInfo> apiInfoList = eurekaMetadataParser.parseApiInfo(instanceInfo);
             completeList.addAll(apiInfoList.stream()
                     .map(apiInfo -> ServiceInfo.ApiInfoExtended.builder()
                             .apiId(apiInfo.getApiId())
@@ -126,7 +154,7 @@ public class ServicesInfoService {
                                     apiInfo.getSwaggerUrl(),
                                     instanceInfo.getAppName().toLowerCase(),
                                     ServiceType.API,
-                                    eurekaMetadataParser.parseRoutes(instanceInfo.getMetadata())
+                                    eurekaMetadataParser.parseRoutes(instanceInfo)
                             ))
                             .documentationUrl(apiInfo.getDocumentationUrl())
                             .version(apiInfo.getVersion())
@@ -148,7 +176,7 @@ public class ServicesInfoService {
 
     private ServiceInfo.Service getService(List<InstanceInfo> appInstances) {
         InstanceInfo instanceInfo = getInstanceWithHighestVersion(appInstances);
-        RoutedServices routes = eurekaMetadataParser.parseRoutes(getInstanceWithHighestVersion(appInstances).getMetadata());
+        RoutedServices routes = eurekaMetadataParser.parseRoutes(instanceInfo);
 
         return ServiceInfo.Service.builder()
                 .title(instanceInfo.getMetadata().get(SERVICE_TITLE))
@@ -160,7 +188,7 @@ public class ServicesInfoService {
     private List<Authentication> getAuthentication(List<InstanceInfo> appInstances) {
         return appInstances.stream()
                 .map(instanceInfo -> {
-                    Authentication authentication = eurekaMetadataParser.parseAuthentication(instanceInfo.getMetadata());
+                    Authentication authentication = eurekaMetadataParser.parseAuthentication(instanceInfo);
                     return authentication.isEmpty() ? null : authentication;
                 })
                 .filter(Objects::nonNull)
@@ -265,7 +293,7 @@ public class ServicesInfoService {
         Version highestVersion = Version.unknownVersion();
 
         for (InstanceInfo currentInfo : appInstances) {
-            List<ApiInfo> apiInfoList = eurekaMetadataParser.parseApiInfo(currentInfo.getMetadata());
+            List<ApiInfo> apiInfoList = eurekaMetadataParser.parseApiInfo(currentInfo);
             for (ApiInfo apiInfo : apiInfoList) {
                 Version version = getVersion(apiInfo.getVersion());
                 if (version.compareTo(highestVersion) > 0) {
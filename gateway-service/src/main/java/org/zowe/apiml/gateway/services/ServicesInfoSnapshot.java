@@ -0,0 +1,133 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.InstanceInfo;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.util.DigestUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of the services known to the Gateway at the time of the last registry change. Beside the model
+ * it holds the serialized JSON of the responses together with their strong ETags, so the same registry state is
+ * never serialized twice and unchanged content always produces the same ETag.
+ *
+ * The {@link ServiceInfo} objects are shared by all readers of the snapshot and must not be modified.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ServicesInfoSnapshot {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Getter
+    private final List<ServiceInfo> services;
+    private final Map<String, ServiceInfo> servicesById;
+
+    private final Representation<List<ServiceInfo>> allServices;
+    private final Map<String, Representation<List<ServiceInfo>>> servicesByApiId = new ConcurrentHashMap<>();
+    private final Map<String, Representation<ServiceInfo>> serviceById = new ConcurrentHashMap<>();
+
+    public static ServicesInfoSnapshot of(Collection<ServiceInfo> services) {
+        List<ServiceInfo> list = Collections.unmodifiableList(new ArrayList<>(services));
+        Map<String, ServiceInfo> byId = new HashMap<>();
+        for (ServiceInfo serviceInfo : list) {
+            byId.put(serviceInfo.getServiceId().toLowerCase(), serviceInfo);
+        }
+        return new ServicesInfoSnapshot(list, Collections.unmodifiableMap(byId), Representation.of(list));
+    }
+
+    /**
+     * @param apiId apiId to filter by, or null for all services
+     * @return services providing the given apiId, or all services if apiId is null
+     */
+    public List<ServiceInfo> getServices(String apiId) {
+        if (apiId == null) return services;
+
+        return services.stream()
+            .filter(serviceInfo -> {
+                if (serviceInfo.getApiml() == null || serviceInfo.getApiml().getApiInfo() == null) return false;
+                return serviceInfo.getApiml().getApiInfo().stream().anyMatch(apiInfo ->
+                    StringUtils.equals(apiInfo.getApiId(), apiId));
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @param serviceId id of service (case insensitive)
+     * @return the service, or a service with status UNKNOWN if it is not registered
+     */
+    public ServiceInfo getService(String serviceId) {
+        ServiceInfo serviceInfo = servicesById.get(serviceId.toLowerCase());
+        if (serviceInfo != null) return serviceInfo;
+
+        return ServiceInfo.builder()
+            .serviceId(serviceId)
+            .status(InstanceInfo.InstanceStatus.UNKNOWN)
+            .build();
+    }
+
+    /**
+     * Serialized list of services. Only non-empty results are memoized, so the memo is bounded by the apiIds
+     * present in the registry regardless of what clients ask for.
+     */
+    public Representation<List<ServiceInfo>> getServicesRepresentation(String apiId) {
+        if (apiId == null) return allServices;
+
+        Representation<List<ServiceInfo>> representation = servicesByApiId.get(apiId);
+        if (representation != null) return representation;
+
+        List<ServiceInfo> filtered = getServices(apiId);
+        representation = Representation.of(filtered);
+        if (!filtered.isEmpty()) {
+            servicesByApiId.putIfAbsent(apiId, representation);
+        }
+        return representation;
+    }
+
+    /**
+     * Serialized service. Unknown services are not memoized for the same reason as in
+     * {@link #getServicesRepresentation(String)}.
+     */
+    public Representation<ServiceInfo> getServiceRepresentation(String serviceId) {
+        String key = serviceId.toLowerCase();
+        if (!servicesById.containsKey(key)) {
+            return Representation.of(getService(serviceId));
+        }
+        return serviceById.computeIfAbsent(key, k -> Representation.of(servicesById.get(k)));
+    }
+
+    @Value
+    public static class Representation<T> {
+
+        T model;
+        byte[] body;
+        String eTag;
+
+        static <T> Representation<T> of(T model) {
+            try {
+                byte[] body = MAPPER.writeValueAsBytes(model);
+                return new Representation<>(model, body, '"' + DigestUtils.md5DigestAsHex(body) + '"');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize services information", e);
+            }
+        }
+
+    }
+
+}
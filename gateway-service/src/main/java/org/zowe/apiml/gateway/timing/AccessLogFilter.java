@@ -0,0 +1,167 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost servlet filter of the Gateway. It binds a {@link RequestTimings} collector to the request, records the
+ * stage timings into histograms and optionally writes one access log line per request.
+ * <p>
+ * The access log is written by the logger {@value #ACCESS_LOG_NAME} as key=value pairs, times are in milliseconds.
+ * The histograms are available through the metrics actuator endpoint as {@value #REQUEST_METRIC} (whole request) and
+ * {@value #STAGE_METRIC} (tagged by the stage), both tagged by the serviceId. The whole request publishes also the
+ * percentiles {@link #PERCENTILES} and the count of server errors {@value #ERROR_METRIC} for the metrics service.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String ACCESS_LOG_NAME = "apiml.gateway.accesslog";
+    public static final String REQUEST_METRIC = "apiml.gateway.request";
+    public static final String STAGE_METRIC = "apiml.gateway.request.stage";
+    public static final String ERROR_METRIC = "apiml.gateway.request.errors";
+    public static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    static final String NO_SERVICE = "none";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(ACCESS_LOG_NAME);
+    private static final RequestStage[] STAGES = RequestStage.values();
+
+    private final MeterRegistry meterRegistry;
+    private final boolean accessLogEnabled;
+    private final Duration maximumExpectedTime;
+
+    /**
+     * Timers of a service, the first one is for the whole request, the others for the stages by their ordinal
+     */
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public AccessLogFilter(MeterRegistry meterRegistry, boolean accessLogEnabled, long timeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.accessLogEnabled = accessLogEnabled;
+        this.maximumExpectedTime = Duration.ofMillis(Math.max(1000, timeoutMillis));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        timings.start(RequestStage.AUTHENTICATION, timings.getStartTime());
+        RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long endTime = System.nanoTime();
+            timings.stop(RequestStage.POST_FILTERS, endTime);
+            RequestTimings.unbind();
+
+            long total = endTime - timings.getStartTime();
+            record(timings, total, response.getStatus());
+            if (accessLogEnabled && ACCESS_LOG.isInfoEnabled()) {
+                ACCESS_LOG.info(toAccessLog(request, response, timings, total));
+            }
+        }
+    }
+
+    private void record(RequestTimings timings, long total, int status) {
+        String serviceId = (timings.getServiceId() == null) ? NO_SERVICE : timings.getServiceId();
+        Timer[] serviceTimers = timers.computeIfAbsent(serviceId, this::createTimers);
+        Counter errorCounter = errorCounters.computeIfAbsent(serviceId, this::createErrorCounter);
+        if (status >= 500) {
+            errorCounter.increment();
+        }
+
+        serviceTimers[0].record(total, TimeUnit.NANOSECONDS);
+        for (RequestStage stage : STAGES) {
+            if (timings.isRecorded(stage)) {
+                serviceTimers[stage.ordinal() + 1].record(timings.getDuration(stage), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Timer[] createTimers(String serviceId) {
+        Timer[] serviceTimers = new Timer[STAGES.length + 1];
+        serviceTimers[0] = Timer.builder(REQUEST_METRIC)
+            .description("Processing time of requests in the Gateway")
+            .tag("serviceId", serviceId)
+            .publishPercentileHistogram()
+            .publishPercentiles(PERCENTILES)
+            .maximumExpectedValue(maximumExpectedTime)
+            .register(meterRegistry);
+        for (RequestStage stage : STAGES) {
+            serviceTimers[stage.ordinal() + 1] = Timer.builder(STAGE_METRIC)
+                .description("Time spent by requests in the stages of the Gateway processing")
+                .tag("serviceId", serviceId)
+                .tag("stage", stage.getLabel())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(maximumExpectedTime)
+                .register(meterRegistry);
+        }
+        return serviceTimers;
+    }
+
+    private Counter createErrorCounter(String serviceId) {
+        return Counter.builder(ERROR_METRIC)
+            .description("Requests in the Gateway which ended with a server error")
+            .tag("serviceId", serviceId)
+            .register(meterRegistry);
+    }
+
+    String toAccessLog(HttpServletRequest request, HttpServletResponse response, RequestTimings timings, long total) {
+        StringBuilder sb = new StringBuilder(256)
+            .append("method=").append(request.getMethod())
+            .append(" uri=").append(request.getRequestURI())
+            .append(" status=").append(response.getStatus());
+        if (timings.getServiceId() != null) {
+            sb.append(" serviceId=").append(timings.getServiceId());
+        }
+        if (timings.getInstanceId() != null) {
+            sb.append(" instanceId=").append(timings.getInstanceId());
+        }
+        appendMillis(sb.append(" total="), total);
+        for (RequestStage stage : STAGES) {
+            if (timings.isRecorded(stage)) {
+                appendMillis(sb.append(' ').append(stage.getLabel()).append('='), timings.getDuration(stage));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Append the time in milliseconds with three decimal places, without any formatter
+     */
+    static void appendMillis(StringBuilder sb, long nanos) {
+        long micros = nanos / 1000;
+        long fraction = micros % 1000;
+        sb.append(micros / 1000).append('.');
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+}
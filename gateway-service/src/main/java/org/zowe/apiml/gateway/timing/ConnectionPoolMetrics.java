@@ -0,0 +1,127 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.zowe.apiml.security.ConnectionLeaseListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Listener of the connection pools of the HTTP clients. It adds the time spent waiting for a connection to the
+ * current request and publishes the pools per route:
+ * <ul>
+ *     <li>{@value #LEASE_METRIC} - time spent waiting for a connection</li>
+ *     <li>{@value #POOL_METRIC} - connections by the state: leased, available, pending (requests waiting for
+ *     a connection) and max (current limit of the route)</li>
+ * </ul>
+ * The Gateway has more HTTP clients (with and without the client certificate), the values of a route are summed up.
+ * The meters of a route are removed once none of the pools uses the route.
+ */
+@RequiredArgsConstructor
+public class ConnectionPoolMetrics implements ConnectionLeaseListener {
+
+    public static final String LEASE_METRIC = "apiml.gateway.connection.lease";
+    public static final String POOL_METRIC = "apiml.gateway.connection.pool";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<HttpRoute, RoutePools> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public void connectionLeased(HttpRoute route, long waitTime) {
+        RequestTimings.add(RequestStage.CONNECTION, waitTime);
+
+        RoutePools routePools = routes.get(route);
+        if (routePools != null) {
+            routePools.leaseTimer.record(waitTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void routeAdded(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+        routes.compute(route, (key, routePools) -> {
+            RoutePools result = (routePools == null) ? register(key) : routePools;
+            result.pools.addIfAbsent(pool);
+            return result;
+        });
+    }
+
+    @Override
+    public void routeRemoved(HttpRoute route, ConnPoolControl<HttpRoute> pool) {
+        routes.computeIfPresent(route, (key, routePools) -> {
+            routePools.pools.remove(pool);
+            if (!routePools.pools.isEmpty()) {
+                return routePools;
+            }
+            routePools.meters.forEach(meterRegistry::remove);
+            return null;
+        });
+    }
+
+    private RoutePools register(HttpRoute route) {
+        String name = route.getTargetHost().toHostString();
+        RoutePools routePools = new RoutePools(route, Timer.builder(LEASE_METRIC)
+            .description("Time spent waiting for a connection from the pool")
+            .tag("route", name)
+            .register(meterRegistry));
+
+        routePools.meters.add(routePools.leaseTimer);
+        registerGauge(routePools, name, "leased", PoolStats::getLeased);
+        registerGauge(routePools, name, "available", PoolStats::getAvailable);
+        registerGauge(routePools, name, "pending", PoolStats::getPending);
+        registerGauge(routePools, name, "max", PoolStats::getMax);
+        return routePools;
+    }
+
+    private void registerGauge(RoutePools routePools, String name, String state, ToIntFunction<PoolStats> value) {
+        routePools.meters.add(Gauge.builder(POOL_METRIC, routePools, pools -> pools.sum(value))
+            .description("Connections in the pool of the route")
+            .tag("route", name)
+            .tag("state", state)
+            .register(meterRegistry));
+    }
+
+    static class RoutePools {
+
+        private final HttpRoute route;
+        private final Timer leaseTimer;
+        private final CopyOnWriteArrayList<ConnPoolControl<HttpRoute>> pools = new CopyOnWriteArrayList<>();
+        private final List<Meter> meters = new ArrayList<>();
+
+        RoutePools(HttpRoute route, Timer leaseTimer) {
+            this.route = route;
+            this.leaseTimer = leaseTimer;
+        }
+
+        double sum(ToIntFunction<PoolStats> value) {
+            int sum = 0;
+            for (ConnPoolControl<HttpRoute> pool : pools) {
+                sum += value.applyAsInt(pool.getStats(route));
+            }
+            return sum;
+        }
+
+    }
+
+}
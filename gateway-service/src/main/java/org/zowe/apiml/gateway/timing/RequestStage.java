@@ -0,0 +1,54 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stages of the request processing in the Gateway which are measured by {@link RequestTimings}
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RequestStage {
+
+    /**
+     * Servlet filters (mainly security) before the request enters the Zuul filters
+     */
+    AUTHENTICATION("authentication"),
+
+    /**
+     * Preparation and application of the authentication scheme of the service
+     */
+    SERVICE_AUTHENTICATION("serviceAuthentication"),
+
+    /**
+     * Selection of the instance by the load balancer
+     */
+    LOAD_BALANCER("loadBalancer"),
+
+    /**
+     * Waiting for a connection from the pool
+     */
+    CONNECTION("connection"),
+
+    /**
+     * Sending the request to the service and waiting for the response headers, without waiting for the connection
+     */
+    UPSTREAM("upstream"),
+
+    /**
+     * Zuul post filters, including sending of the response body
+     */
+    POST_FILTERS("postFilters");
+
+    private final String label;
+
+}
@@ -0,0 +1,48 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.zowe.apiml.security.ConnectionLeaseListener;
+
+/**
+ * Configuration of the request stage timings, the access log, the latency histograms and the connection pool metrics
+ */
+@Configuration
+public class RequestTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+        MeterRegistry meterRegistry,
+        @Value("${apiml.gateway.accessLog.enabled:false}") boolean accessLogEnabled,
+        @Value("${apiml.gateway.timeoutMillis:30000}") long timeoutMillis
+    ) {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(
+            new AccessLogFilter(meterRegistry, accessLogEnabled, timeoutMillis)
+        );
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * The pools of the HTTP clients report the time spent waiting for a connection to the current request and
+     * publish their state per route
+     */
+    @Bean
+    public ConnectionLeaseListener connectionLeaseListener(MeterRegistry meterRegistry) {
+        return new ConnectionPoolMetrics(meterRegistry);
+    }
+
+}
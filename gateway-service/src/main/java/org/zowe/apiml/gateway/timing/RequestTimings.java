@@ -0,0 +1,136 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Collector of the time spent in the stages of one request. The collector is bound to the thread processing the
+ * request by {@link AccessLogFilter}, the Gateway components record the stages through the static methods. Those
+ * methods do nothing if the thread doesn't process any request (ie. background tasks).
+ * <p>
+ * A stage could run more times for one request (ie. retries), the durations are summed up. All times are in
+ * nanoseconds.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private static final RequestStage[] STAGES = RequestStage.values();
+
+    private final long startTime;
+    private final long[] durations = new long[STAGES.length];
+    private final long[] starts = new long[STAGES.length];
+    private final boolean[] recorded = new boolean[STAGES.length];
+
+    @Getter
+    @Setter
+    private String serviceId;
+
+    @Getter
+    @Setter
+    private String instanceId;
+
+    RequestTimings(long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * @return collector of the request processed by the current thread, or null
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Start the stage of the current request.
+     */
+    public static void begin(RequestStage stage) {
+        RequestTimings timings = current();
+        if (timings != null) {
+            timings.start(stage, System.nanoTime());
+        }
+    }
+
+    /**
+     * End the stage of the current request, if it was started.
+     */
+    public static void end(RequestStage stage) {
+        RequestTimings timings = current();
+        if (timings != null) {
+            timings.stop(stage, System.nanoTime());
+        }
+    }
+
+    /**
+     * Add the duration to the stage of the current request.
+     */
+    public static void add(RequestStage stage, long duration) {
+        RequestTimings timings = current();
+        if (timings != null) {
+            timings.record(stage, duration);
+        }
+    }
+
+    /**
+     * @return the time already spent in the stage by the current request
+     */
+    public static long spent(RequestStage stage) {
+        RequestTimings timings = current();
+        return (timings == null) ? 0 : timings.getDuration(stage);
+    }
+
+    void start(RequestStage stage, long time) {
+        starts[stage.ordinal()] = time;
+    }
+
+    void stop(RequestStage stage, long time) {
+        int index = stage.ordinal();
+        if (starts[index] != 0) {
+            record(stage, time - starts[index]);
+            starts[index] = 0;
+        }
+    }
+
+    void record(RequestStage stage, long duration) {
+        int index = stage.ordinal();
+        durations[index] += Math.max(0, duration);
+        recorded[index] = true;
+    }
+
+    boolean isRunning(RequestStage stage) {
+        return starts[stage.ordinal()] != 0;
+    }
+
+    /**
+     * @return true if the stage was passed by the request
+     */
+    public boolean isRecorded(RequestStage stage) {
+        return recorded[stage.ordinal()];
+    }
+
+    public long getDuration(RequestStage stage) {
+        return durations[stage.ordinal()];
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+}
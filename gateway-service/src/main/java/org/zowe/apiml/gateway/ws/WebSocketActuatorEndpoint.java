@@ -12,6 +12,7 @@ package org.zowe.apiml.gateway.ws;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -19,25 +20,42 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 
+/**
+ * The endpoint provides aggregated counters of routed WebSocket sessions per service. The sessions of one service
+ * can be listed by `/websockets/{serviceId}`.
+ */
 @Component
 @Endpoint(id = "websockets")
 public class WebSocketActuatorEndpoint {
     private WebSocketProxyServerHandler webSocketProxyServerHandler;
+    private WebSocketSessionManager webSocketSessionManager;
 
     @Autowired
-    public WebSocketActuatorEndpoint(WebSocketProxyServerHandler webSocketProxyServerHandler) {
+    public WebSocketActuatorEndpoint(WebSocketProxyServerHandler webSocketProxyServerHandler, WebSocketSessionManager webSocketSessionManager) {
         this.webSocketProxyServerHandler = webSocketProxyServerHandler;
+        this.webSocketSessionManager = webSocketSessionManager;
+    }
+
+    @ReadOperation
+    public Map<String, WebSocketServiceMetrics> getAll() {
+        return new TreeMap<>(webSocketSessionManager.getServiceMetrics());
     }
 
     @ReadOperation
-    public List<Map<String, String>> getAll() {
-        List<Map<String, String>> result = new ArrayList<>();
+    public List<Map<String, Object>> getSessions(@Selector String serviceId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        long now = System.currentTimeMillis();
 
         for (Entry<String, WebSocketRoutedSession> entry : webSocketProxyServerHandler.getRoutedSessions().entrySet()) {
+            if (!serviceId.equalsIgnoreCase(webSocketProxyServerHandler.getRoutedServiceId(entry.getKey()))) {
+                continue;
+            }
+
             WebSocketRoutedSession currentSession = entry.getValue();
 
-            Map<String, String> map = new LinkedHashMap<>();
+            Map<String, Object> map = new LinkedHashMap<>();
 
             map.put("sessionId", entry.getKey());
             map.put("clientAddress", currentSession.getServerRemoteAddress());
@@ -46,6 +64,17 @@ public class WebSocketActuatorEndpoint {
             map.put("serviceUrl", currentSession.getClientUri());
             map.put("serviceSessionId", currentSession.getClientId());
 
+            WebSocketSessionMetrics metrics = currentSession.getMetrics();
+            if (metrics != null) {
+                map.put("ageMillis", metrics.getAge(now));
+                map.put("idleMillis", metrics.getIdleTime(now));
+                map.put("messageRate", metrics.getMessageRate(now));
+                map.put("messagesToService", metrics.getMessagesToService());
+                map.put("messagesToClient", metrics.getMessagesToClient());
+                map.put("bytesToService", metrics.getBytesToService());
+                map.put("bytesToClient", metrics.getBytesToClient());
+            }
+
             result.add(map);
         }
 
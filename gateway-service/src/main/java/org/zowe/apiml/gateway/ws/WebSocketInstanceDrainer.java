@@ -0,0 +1,34 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ws;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.zowe.apiml.gateway.metadata.service.RefreshEventListener;
+
+/**
+ * After each update of the registry, it closes the routed WebSocket sessions to instances which were deregistered.
+ * It runs after the load balancers are updated, so the reconnecting clients are not routed to the removed instance
+ * again.
+ */
+@Component
+@Order(20)
+@RequiredArgsConstructor
+public class WebSocketInstanceDrainer extends RefreshEventListener {
+
+    private final WebSocketProxyServerHandler webSocketProxyServerHandler;
+
+    @Override
+    public void refresh() {
+        webSocketProxyServerHandler.drainDeregisteredInstances();
+    }
+
+}
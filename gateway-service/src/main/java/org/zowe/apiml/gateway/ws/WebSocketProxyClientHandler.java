@@ -11,6 +11,7 @@ package org.zowe.apiml.gateway.ws;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
@@ -21,15 +22,22 @@ import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 @Slf4j
 public class WebSocketProxyClientHandler extends AbstractWebSocketHandler {
     private final WebSocketSession webSocketServerSession;
+    private final WebSocketSessionMetrics metrics;
 
-    public WebSocketProxyClientHandler(WebSocketSession webSocketServerSession) {
+    public WebSocketProxyClientHandler(WebSocketSession webSocketServerSession, WebSocketSessionMetrics metrics) {
         this.webSocketServerSession = webSocketServerSession;
+        this.metrics = metrics;
     }
 
     @Override
     public void handleMessage(WebSocketSession session, WebSocketMessage<?> webSocketMessage) throws Exception {
         log.debug("handleMessage(session={},message={})", session, webSocketMessage);
+        if ((webSocketMessage instanceof PongMessage) && metrics.pongReceived()) {
+            // answer to the liveness ping of the gateway, the client did not ask for it
+            return;
+        }
         webSocketServerSession.sendMessage(webSocketMessage);
+        metrics.messageToClient(webSocketMessage);
     }
 
     @Override
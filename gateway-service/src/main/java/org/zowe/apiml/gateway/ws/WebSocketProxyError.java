@@ -15,13 +15,27 @@ public class WebSocketProxyError extends RuntimeException {
     private static final long serialVersionUID = 6522624579669891882L;
 
     private final transient WebSocketSession session;
+    private final boolean retryable;
 
     public WebSocketProxyError(String message, Throwable cause, WebSocketSession session) {
+        this(message, cause, session, true);
+    }
+
+    /**
+     * @param retryable false if the target instance answered and rejected the session, so there is no reason
+     *                  to try another instance of the same service (i.e. invalid credentials)
+     */
+    public WebSocketProxyError(String message, Throwable cause, WebSocketSession session, boolean retryable) {
         super(message, cause);
         this.session = session;
+        this.retryable = retryable;
     }
 
     public WebSocketSession getSession() {
         return this.session;
     }
+
+    public boolean isRetryable() {
+        return this.retryable;
+    }
 }
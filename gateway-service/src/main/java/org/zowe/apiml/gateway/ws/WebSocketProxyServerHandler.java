@@ -9,6 +9,11 @@
  */
 package org.zowe.apiml.gateway.ws;
 
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
+import com.netflix.zuul.context.RequestContext;
+import lombok.Value;
 import org.zowe.apiml.product.routing.RoutedService;
 import org.zowe.apiml.product.routing.RoutedServices;
 import org.zowe.apiml.product.routing.RoutedServicesUser;
@@ -17,6 +22,8 @@ import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.netflix.eureka.EurekaDiscoveryClient;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketMessage;
@@ -26,14 +33,23 @@ import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.net.URI;
-import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Handle initialization and management of routed WebSocket sessions. Copies
  * data from the current session (from client to the gateway) to the server that
  * provides the real WebSocket service.
+ *
+ * The instance of the target service is selected by the same Ribbon load balancer (rule and predicates) as is used
+ * for the HTTP routing. If the handshake with the selected instance fails, other instances are tried. Sessions routed
+ * to an instance, which was deregistered, are closed by {@link #drainDeregisteredInstances()} to let the client
+ * reconnect to another instance. Sessions which are idle, too old or whose service doesn't answer the ping are closed
+ * by {@link #reapSessions()}, see {@link WebSocketSessionManager}.
  */
 @Component
 @Singleton
@@ -42,23 +58,32 @@ public class WebSocketProxyServerHandler extends AbstractWebSocketHandler implem
 
     private final Map<String, WebSocketRoutedSession> routedSessions;
     private final Map<String, RoutedServices> routedServicesMap = new ConcurrentHashMap<>();
+    private final Map<String, RoutedInstance> routedInstances = new ConcurrentHashMap<>();
     private final DiscoveryClient discovery;
+    private final SpringClientFactory springClientFactory;
     private final SslContextFactory.Server jettySslContextFactory;
     private final WebSocketRoutedSessionFactory webSocketRoutedSessionFactory;
+    private final WebSocketSessionManager sessionManager;
     private static final String SEPARATOR = "/";
 
     @Autowired
-    public WebSocketProxyServerHandler(DiscoveryClient discovery, SslContextFactoryProvider jettySslContextFactoryProvider) {
+    public WebSocketProxyServerHandler(DiscoveryClient discovery, SpringClientFactory springClientFactory,
+                                       SslContextFactoryProvider jettySslContextFactoryProvider, WebSocketSessionManager sessionManager) {
         this.discovery = discovery;
+        this.springClientFactory = springClientFactory;
+        this.sessionManager = sessionManager;
         this.jettySslContextFactory = jettySslContextFactoryProvider.getSslFactory();
         this.routedSessions = new ConcurrentHashMap<>();  // Default
         this.webSocketRoutedSessionFactory = new WebSocketRoutedSessionFactoryImpl();
         log.debug("Creating WebSocketProxyServerHandler {} jettySslContextFactory={}", this, jettySslContextFactory);
     }
 
-    public WebSocketProxyServerHandler(DiscoveryClient discovery, SslContextFactoryProvider sslContextFactoryProvider,
-                                       Map<String, WebSocketRoutedSession> routedSessions, WebSocketRoutedSessionFactory webSocketRoutedSessionFactory) {
+    public WebSocketProxyServerHandler(DiscoveryClient discovery, SpringClientFactory springClientFactory, SslContextFactoryProvider sslContextFactoryProvider,
+                                       Map<String, WebSocketRoutedSession> routedSessions, WebSocketRoutedSessionFactory webSocketRoutedSessionFactory,
+                                       WebSocketSessionManager sessionManager) {
         this.discovery = discovery;
+        this.springClientFactory = springClientFactory;
+        this.sessionManager = sessionManager;
         this.jettySslContextFactory = sslContextFactoryProvider.getSslFactory();
         this.routedSessions = routedSessions;
         this.webSocketRoutedSessionFactory = webSocketRoutedSessionFactory;
@@ -79,6 +104,14 @@ public class WebSocketProxyServerHandler extends AbstractWebSocketHandler implem
         return routedSessions;
     }
 
+    /**
+     * @return serviceId of the service the session is routed to, null if the session is not routed
+     */
+    public String getRoutedServiceId(String sessionId) {
+        RoutedInstance routedInstance = routedInstances.get(sessionId);
+        return routedInstance == null ? null : routedInstance.getServiceId();
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession webSocketSession) throws Exception {
         String[] uriParts = getUriParts(webSocketSession);
@@ -97,13 +130,7 @@ public class WebSocketProxyServerHandler extends AbstractWebSocketHandler implem
                     return;
                 }
 
-                ServiceInstance serviceInstance = findServiceInstance(serviceId);
-                if (serviceInstance != null) {
-                    openWebSocketConnection(service, serviceInstance, serviceInstance, path, webSocketSession);
-                } else {
-                    closeWebSocket(webSocketSession, CloseStatus.SERVICE_RESTARTED,
-                        String.format("Requested service %s does not have available instance", serviceId));
-                }
+                openWebSocketConnection(serviceId, service, path, webSocketSession);
             } else {
                 closeWebSocket(webSocketSession, CloseStatus.NOT_ACCEPTABLE,
                     String.format("Requested service %s is not known by the gateway", serviceId));
@@ -128,29 +155,148 @@ public class WebSocketProxyServerHandler extends AbstractWebSocketHandler implem
         return uriParts;
     }
 
-    private void openWebSocketConnection(RoutedService service, ServiceInstance serviceInstance, Object uri,
-            String path, WebSocketSession webSocketSession) throws IOException {
+    /**
+     * Open the routed session to one of the instances of the service. Instances are selected by the load balancer of
+     * the service, each of them is tried at most once. The session is closed if no instance accepts the handshake.
+     */
+    private void openWebSocketConnection(String serviceId, RoutedService service, String path,
+            WebSocketSession webSocketSession) throws IOException {
+        ILoadBalancer loadBalancer = getLoadBalancer(serviceId);
+        int maxAttempts = loadBalancer == null ? 0 : loadBalancer.getReachableServers().size();
+        Set<String> triedInstances = new HashSet<>();
+        WebSocketProxyError lastError = null;
+
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            ServiceInstance serviceInstance = chooseServiceInstance(loadBalancer);
+            if (serviceInstance == null) {
+                break;
+            }
+            if (!triedInstances.add(serviceInstance.getInstanceId())) {
+                continue;
+            }
+
+            WebSocketSessionMetrics metrics = sessionManager.createSessionMetrics(serviceId);
+            try {
+                openWebSocketConnection(service, serviceInstance, path, webSocketSession, metrics);
+                metrics.opened();
+                routedInstances.put(webSocketSession.getId(), new RoutedInstance(serviceId, serviceInstance.getInstanceId()));
+                return;
+            } catch (WebSocketProxyError e) {
+                metrics.handshakeFailed();
+                lastError = e;
+                if (!e.isRetryable()) {
+                    break;
+                }
+            }
+        }
+
+        if (lastError != null) {
+            webSocketSession.close(CloseStatus.NOT_ACCEPTABLE.withReason(lastError.getMessage()));
+        } else {
+            closeWebSocket(webSocketSession, CloseStatus.SERVICE_RESTARTED,
+                String.format("Requested service %s does not have available instance", serviceId));
+        }
+    }
+
+    private void openWebSocketConnection(RoutedService service, ServiceInstance serviceInstance,
+            String path, WebSocketSession webSocketSession, WebSocketSessionMetrics metrics) {
         String serviceUrl = service.getServiceUrl();
         String targetUrl = getTargetUrl(serviceUrl, serviceInstance, path);
 
-        log.debug(String.format("Opening routed WebSocket session from %s to %s with %s by %s", uri.toString(), targetUrl, jettySslContextFactory, this));
+        log.debug(String.format("Opening routed WebSocket session from %s to %s with %s by %s", webSocketSession.getUri(), targetUrl, jettySslContextFactory, this));
         try {
-            WebSocketRoutedSession session = webSocketRoutedSessionFactory.session(webSocketSession, targetUrl, jettySslContextFactory);
+            WebSocketRoutedSession session = webSocketRoutedSessionFactory.session(webSocketSession, targetUrl, jettySslContextFactory, metrics);
             routedSessions.put(webSocketSession.getId(), session);
         } catch (WebSocketProxyError e) {
             log.debug("Error opening WebSocket connection to {}: {}", targetUrl, e.getMessage());
-            webSocketSession.close(CloseStatus.NOT_ACCEPTABLE.withReason(e.getMessage()));
+            throw e;
         }
     }
 
-    private ServiceInstance findServiceInstance(String serviceId) {
-        List<ServiceInstance> serviceInstances = this.discovery.getInstances(serviceId);
-        if (!serviceInstances.isEmpty()) {
-            // TODO: This just a simple implementation that will be replaced by more sophisticated mechanism in future
-            return serviceInstances.get(0);
+    private ILoadBalancer getLoadBalancer(String serviceId) {
+        try {
+            return springClientFactory.getLoadBalancer(serviceId);
+        } catch (RuntimeException e) {
+            // the load balancer cannot be constructed without any instance of the service
+            log.debug("Load balancer for service {} is not available: {}", serviceId, e.getMessage());
+            return null;
         }
-        else {
+    }
+
+    private ServiceInstance chooseServiceInstance(ILoadBalancer loadBalancer) {
+        try {
+            Server server = loadBalancer.chooseServer(null);
+            if (server instanceof DiscoveryEnabledServer) {
+                return new EurekaDiscoveryClient.EurekaServiceInstance(((DiscoveryEnabledServer) server).getInstanceInfo());
+            }
             return null;
+        } finally {
+            // the load balancer and its predicates store data into the context of the Zuul request, there is no such
+            // request for WebSocket and the thread serves other sessions afterwards
+            RequestContext.getCurrentContext().unset();
+        }
+    }
+
+    /**
+     * Close all routed sessions, which are connected to an instance that is no longer registered in the discovery
+     * service. The client receives {@link CloseStatus#SERVICE_RESTARTED} and is expected to reconnect, the new session
+     * is routed to one of the remaining instances.
+     */
+    public void drainDeregisteredInstances() {
+        Map<String, Set<String>> activeInstances = new HashMap<>();
+        routedInstances.forEach((sessionId, routedInstance) -> {
+            Set<String> instanceIds = activeInstances.computeIfAbsent(routedInstance.getServiceId(),
+                serviceId -> discovery.getInstances(serviceId).stream()
+                    .map(ServiceInstance::getInstanceId)
+                    .collect(Collectors.toSet())
+            );
+            if (!instanceIds.contains(routedInstance.getInstanceId())) {
+                drainSession(sessionId, routedInstance);
+            }
+        });
+    }
+
+    private void drainSession(String sessionId, RoutedInstance routedInstance) {
+        log.debug("Draining WebSocket session {} routed to deregistered instance {}", sessionId, routedInstance.getInstanceId());
+        closeRoutedSession(sessionId, CloseStatus.SERVICE_RESTARTED, String.format("Instance %s of service %s is no longer available",
+            routedInstance.getInstanceId(), routedInstance.getServiceId()), false);
+    }
+
+    /**
+     * Close routed sessions which are idle, exceeded the maximum lifetime or whose service side did not answer
+     * the liveness ping. The half-open sessions are otherwise never closed.
+     */
+    public void reapSessions() {
+        long now = System.currentTimeMillis();
+        routedSessions.forEach((sessionId, session) -> {
+            String reason = sessionManager.checkSession(session, now);
+            if (reason != null) {
+                log.debug("Reaping WebSocket session {}: {}", sessionId, reason);
+                closeRoutedSession(sessionId, CloseStatus.GOING_AWAY, reason, true);
+            }
+        });
+    }
+
+    private void closeRoutedSession(String sessionId, CloseStatus closeStatus, String reason, boolean reaped) {
+        routedInstances.remove(sessionId);
+        WebSocketRoutedSession session = routedSessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+
+        sessionClosed(session, reaped);
+        try {
+            session.close(CloseStatus.GOING_AWAY);
+            closeWebSocket(session.getWebSocketServerSession(), closeStatus, reason);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Error closing WebSocket session {}: {}", sessionId, e.getMessage(), e);
+        }
+    }
+
+    private void sessionClosed(WebSocketRoutedSession session, boolean reaped) {
+        WebSocketSessionMetrics metrics = session.getMetrics();
+        if (metrics != null) {
+            metrics.closed(reaped);
         }
     }
 
@@ -162,10 +308,12 @@ public class WebSocketProxyServerHandler extends AbstractWebSocketHandler implem
 
             WebSocketRoutedSession webSocketRoutedSession = getRoutedSession(session);
             if (webSocketRoutedSession != null) {
+                sessionClosed(webSocketRoutedSession, false);
                 webSocketRoutedSession.close(status);
             }
 
             routedSessions.remove(session.getId());
+            routedInstances.remove(session.getId());
         }
         catch (NullPointerException | IOException e) {
             log.debug("Error closing WebSocket connection: {}", e.getMessage(), e);
@@ -185,4 +333,13 @@ public class WebSocketProxyServerHandler extends AbstractWebSocketHandler implem
     private WebSocketRoutedSession getRoutedSession(WebSocketSession webSocketSession) {
         return routedSessions.get(webSocketSession.getId());
     }
+
+    @Value
+    private static class RoutedInstance {
+
+        String serviceId;
+        String instanceId;
+
+    }
+
 }
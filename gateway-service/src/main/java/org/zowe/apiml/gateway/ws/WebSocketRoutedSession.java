@@ -18,6 +18,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
 import org.springframework.web.socket.WebSocketHttpHeaders;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
@@ -41,17 +42,22 @@ public class WebSocketRoutedSession {
 
     private final WebSocketSession webSocketClientSession;
     private final WebSocketSession webSocketServerSession;
+    private final WebSocketSessionMetrics metrics;
 
-    public WebSocketRoutedSession(WebSocketSession webSocketServerSession, String targetUrl, SslContextFactory.Server jettySslContextFactory) {
+    public WebSocketRoutedSession(WebSocketSession webSocketServerSession, String targetUrl, SslContextFactory.Server jettySslContextFactory,
+                                  WebSocketSessionMetrics metrics) {
         log.debug("Creating WebSocketRoutedSession jettySslContextFactory={}", jettySslContextFactory);
         this.webSocketServerSession = webSocketServerSession;
+        this.metrics = metrics;
         this.webSocketClientSession = createWebSocketClientSession(webSocketServerSession, targetUrl, jettySslContextFactory);
     }
 
-    public WebSocketRoutedSession(WebSocketSession webSocketServerSession, WebSocketSession webSocketClientSession) {
+    public WebSocketRoutedSession(WebSocketSession webSocketServerSession, WebSocketSession webSocketClientSession,
+                                  WebSocketSessionMetrics metrics) {
         log.debug("Creating WebSocketRoutedSession with provided server and client session.");
         this.webSocketClientSession = webSocketClientSession;
         this.webSocketServerSession = webSocketServerSession;
+        this.metrics = metrics;
     }
 
     private WebSocketHttpHeaders getWebSocketHttpHeaders(WebSocketSession webSocketServerSession) {
@@ -73,6 +79,10 @@ public class WebSocketRoutedSession {
         return webSocketServerSession;
     }
 
+    public WebSocketSessionMetrics getMetrics() {
+        return metrics;
+    }
+
     private WebSocketSession createWebSocketClientSession(WebSocketSession webSocketServerSession, String targetUrl, SslContextFactory.Server sslContextFactory) {
         try {
             log.debug("createWebSocketClientSession(session={},targetUrl={},jettySslContextFactory={})",
@@ -82,7 +92,7 @@ public class WebSocketRoutedSession {
             URI targetURI = new URI(targetUrl);
             WebSocketHttpHeaders headers = getWebSocketHttpHeaders(webSocketServerSession);
             ListenableFuture<WebSocketSession> futureSession = client
-                .doHandshake(new WebSocketProxyClientHandler(webSocketServerSession), headers, targetURI);
+                .doHandshake(new WebSocketProxyClientHandler(webSocketServerSession, metrics), headers, targetURI);
             return futureSession.get(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
         } catch (IllegalStateException e) {
             throw webSocketProxyException(targetUrl, e, webSocketServerSession, true);
@@ -104,7 +114,7 @@ public class WebSocketRoutedSession {
                 if (logError) {
                     log.debug(message);
                 }
-                return new WebSocketProxyError(message, cause, webSocketServerSession);
+                return new WebSocketProxyError(message, cause, webSocketServerSession, false);
             } else {
                 return webSocketProxyException(targetUrl, cause, webSocketServerSession, logError);
             }
@@ -123,7 +133,23 @@ public class WebSocketRoutedSession {
 
     public void sendMessageToServer(WebSocketMessage<?> webSocketMessage) throws IOException {
         log.debug("sendMessageToServer(session={},message={})", webSocketClientSession, webSocketMessage);
-        webSocketClientSession.sendMessage(webSocketMessage);
+        // the session does not support concurrent sending, the message could collide with a ping
+        synchronized (webSocketClientSession) {
+            webSocketClientSession.sendMessage(webSocketMessage);
+        }
+        metrics.messageToService(webSocketMessage);
+    }
+
+    /**
+     * Send the ping to the service to verify the session is still alive. The pong is recorded in the metrics by
+     * {@link WebSocketProxyClientHandler}.
+     */
+    public void ping(long timestamp) throws IOException {
+        log.debug("ping(session={})", webSocketClientSession);
+        synchronized (webSocketClientSession) {
+            webSocketClientSession.sendMessage(new PingMessage());
+        }
+        metrics.pingSent(timestamp);
     }
 
     public void close(CloseStatus status) throws IOException {
@@ -18,7 +18,9 @@ public interface WebSocketRoutedSessionFactory {
      * @param webSocketSession Valid Server side WebSocket Session.
      * @param targetUrl Full websocket URL towards the server
      * @param sslContextFactory Factory producing the current SSL Context.
+     * @param metrics Metrics to record the traffic and liveness of the session
      * @return Valid routed session handling the client session
      */
-    WebSocketRoutedSession session(WebSocketSession webSocketSession, String targetUrl, SslContextFactory.Server sslContextFactory);
+    WebSocketRoutedSession session(WebSocketSession webSocketSession, String targetUrl, SslContextFactory.Server sslContextFactory,
+                                   WebSocketSessionMetrics metrics);
 }
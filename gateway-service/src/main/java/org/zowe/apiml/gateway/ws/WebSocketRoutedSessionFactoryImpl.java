@@ -17,7 +17,8 @@ import org.springframework.web.socket.WebSocketSession;
  */
 public class WebSocketRoutedSessionFactoryImpl implements WebSocketRoutedSessionFactory {
     @Override
-    public WebSocketRoutedSession session(WebSocketSession webSocketSession, String targetUrl, SslContextFactory.Server sslContextFactory) {
-        return new WebSocketRoutedSession(webSocketSession, targetUrl, sslContextFactory);
+    public WebSocketRoutedSession session(WebSocketSession webSocketSession, String targetUrl, SslContextFactory.Server sslContextFactory,
+                                          WebSocketSessionMetrics metrics) {
+        return new WebSocketRoutedSession(webSocketSession, targetUrl, sslContextFactory, metrics);
     }
 }
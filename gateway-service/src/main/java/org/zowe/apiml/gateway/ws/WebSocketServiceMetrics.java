@@ -0,0 +1,94 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ws;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated counters of all routed WebSocket sessions of one service. The counters are updated with each event of a
+ * session, so the statistics are available without enumerating the sessions.
+ */
+public class WebSocketServiceMetrics {
+
+    private final AtomicLong activeSessions = new AtomicLong();
+    private final LongAdder openedSessions = new LongAdder();
+    private final LongAdder closedSessions = new LongAdder();
+    private final LongAdder reapedSessions = new LongAdder();
+    private final LongAdder failedHandshakes = new LongAdder();
+    private final LongAdder messagesToService = new LongAdder();
+    private final LongAdder messagesToClient = new LongAdder();
+    private final LongAdder bytesToService = new LongAdder();
+    private final LongAdder bytesToClient = new LongAdder();
+
+    void sessionOpened() {
+        activeSessions.incrementAndGet();
+        openedSessions.increment();
+    }
+
+    void sessionClosed(boolean reaped) {
+        activeSessions.decrementAndGet();
+        closedSessions.increment();
+        if (reaped) {
+            reapedSessions.increment();
+        }
+    }
+
+    void handshakeFailed() {
+        failedHandshakes.increment();
+    }
+
+    void messageToService(int bytes) {
+        messagesToService.increment();
+        bytesToService.add(bytes);
+    }
+
+    void messageToClient(int bytes) {
+        messagesToClient.increment();
+        bytesToClient.add(bytes);
+    }
+
+    public long getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public long getOpenedSessions() {
+        return openedSessions.sum();
+    }
+
+    public long getClosedSessions() {
+        return closedSessions.sum();
+    }
+
+    public long getReapedSessions() {
+        return reapedSessions.sum();
+    }
+
+    public long getFailedHandshakes() {
+        return failedHandshakes.sum();
+    }
+
+    public long getMessagesToService() {
+        return messagesToService.sum();
+    }
+
+    public long getMessagesToClient() {
+        return messagesToClient.sum();
+    }
+
+    public long getBytesToService() {
+        return bytesToService.sum();
+    }
+
+    public long getBytesToClient() {
+        return bytesToClient.sum();
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ws;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the metrics of routed WebSocket sessions per service and decides about the liveness of the sessions.
+ *
+ * A session is reaped when it exceeds the maximum lifetime, when there was no message in any direction for the idle
+ * timeout or when the service did not answer the ping in time. The pings are sent to the service side of the session
+ * to detect sessions whose service died without sending the close frame. Any of the checks is disabled by a value 0.
+ */
+@Slf4j
+@Component
+public class WebSocketSessionManager {
+
+    @Getter
+    private final long checkIntervalMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long pingIntervalMillis;
+    private final long pongTimeoutMillis;
+
+    private final Map<String, WebSocketServiceMetrics> serviceMetrics = new ConcurrentHashMap<>();
+
+    public WebSocketSessionManager(
+        @Value("${apiml.gateway.websocket.checkIntervalMillis:10000}") long checkIntervalMillis,
+        @Value("${apiml.gateway.websocket.idleTimeoutMillis:0}") long idleTimeoutMillis,
+        @Value("${apiml.gateway.websocket.maxLifetimeMillis:0}") long maxLifetimeMillis,
+        @Value("${apiml.gateway.websocket.pingIntervalMillis:30000}") long pingIntervalMillis,
+        @Value("${apiml.gateway.websocket.pongTimeoutMillis:10000}") long pongTimeoutMillis
+    ) {
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.pingIntervalMillis = pingIntervalMillis;
+        this.pongTimeoutMillis = pongTimeoutMillis;
+    }
+
+    /**
+     * Create metrics for a new session routed to the service
+     * @param serviceId service the session is routed to
+     * @return metrics of the session bound to the aggregated metrics of the service
+     */
+    public WebSocketSessionMetrics createSessionMetrics(String serviceId) {
+        return new WebSocketSessionMetrics(serviceMetrics.computeIfAbsent(serviceId, id -> new WebSocketServiceMetrics()));
+    }
+
+    public Map<String, WebSocketServiceMetrics> getServiceMetrics() {
+        return Collections.unmodifiableMap(serviceMetrics);
+    }
+
+    /**
+     * Verify the session is still alive. If the ping is due, it is sent to the service side of the session.
+     *
+     * @param session routed session to verify
+     * @param now current time in milliseconds
+     * @return reason why the session should be closed, null if the session is alive
+     */
+    public String checkSession(WebSocketRoutedSession session, long now) {
+        WebSocketSessionMetrics metrics = session.getMetrics();
+        if (metrics == null) {
+            return null;
+        }
+
+        if ((maxLifetimeMillis > 0) && (metrics.getAge(now) > maxLifetimeMillis)) {
+            return "Session exceeded the maximum lifetime";
+        }
+
+        if ((idleTimeoutMillis > 0) && (metrics.getIdleTime(now) > idleTimeoutMillis)) {
+            return "Session was idle for too long";
+        }
+
+        if (pingIntervalMillis > 0) {
+            long pendingPing = metrics.getPendingPingTimestamp();
+            if (pendingPing > 0) {
+                if (now - pendingPing > pongTimeoutMillis) {
+                    return "Service did not respond to the ping";
+                }
+            } else if (now - metrics.getLastServiceResponseTimestamp() >= pingIntervalMillis) {
+                return ping(session, now);
+            }
+        }
+
+        return null;
+    }
+
+    private String ping(WebSocketRoutedSession session, long now) {
+        try {
+            session.ping(now);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Cannot send ping to the WebSocket service: {}", e.getMessage());
+            return "Service is not reachable";
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ws;
+
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics and liveness state of one routed WebSocket session. Each event is also counted in the
+ * {@link WebSocketServiceMetrics} of the service the session is routed to.
+ */
+public class WebSocketSessionMetrics {
+
+    private final WebSocketServiceMetrics serviceMetrics;
+    private final long createdTimestamp;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean pingOutstanding = new AtomicBoolean();
+
+    private final AtomicLong messagesToService = new AtomicLong();
+    private final AtomicLong messagesToClient = new AtomicLong();
+    private final AtomicLong bytesToService = new AtomicLong();
+    private final AtomicLong bytesToClient = new AtomicLong();
+
+    private volatile long lastActivityTimestamp;
+    private volatile long lastServiceResponseTimestamp;
+    private volatile long pendingPingTimestamp;
+
+    public WebSocketSessionMetrics(WebSocketServiceMetrics serviceMetrics) {
+        this.serviceMetrics = serviceMetrics;
+        this.createdTimestamp = System.currentTimeMillis();
+        this.lastActivityTimestamp = createdTimestamp;
+        this.lastServiceResponseTimestamp = createdTimestamp;
+    }
+
+    public void messageToService(WebSocketMessage<?> message) {
+        int length = message.getPayloadLength();
+        messagesToService.incrementAndGet();
+        bytesToService.addAndGet(length);
+        serviceMetrics.messageToService(length);
+        lastActivityTimestamp = System.currentTimeMillis();
+    }
+
+    public void messageToClient(WebSocketMessage<?> message) {
+        int length = message.getPayloadLength();
+        messagesToClient.incrementAndGet();
+        bytesToClient.addAndGet(length);
+        serviceMetrics.messageToClient(length);
+        lastActivityTimestamp = System.currentTimeMillis();
+        lastServiceResponseTimestamp = lastActivityTimestamp;
+        pendingPingTimestamp = 0;
+    }
+
+    public void pingSent(long timestamp) {
+        pendingPingTimestamp = timestamp;
+        pingOutstanding.set(true);
+    }
+
+    /**
+     * The pong proves the service side of the session is alive, but it is not a user activity and doesn't
+     * prolong the idle time.
+     *
+     * @return true if the pong answers the ping of the gateway, otherwise it belongs to the client
+     */
+    public boolean pongReceived() {
+        lastServiceResponseTimestamp = System.currentTimeMillis();
+        pendingPingTimestamp = 0;
+        return pingOutstanding.compareAndSet(true, false);
+    }
+
+    public void opened() {
+        serviceMetrics.sessionOpened();
+    }
+
+    public void handshakeFailed() {
+        serviceMetrics.handshakeFailed();
+    }
+
+    /**
+     * Mark the session as closed. Only the first call is counted, the session can be closed by both sides and also
+     * by the gateway.
+     *
+     * @param reaped true if the gateway closed the session because of a timeout or failed liveness check
+     */
+    public void closed(boolean reaped) {
+        if (closed.compareAndSet(false, true)) {
+            serviceMetrics.sessionClosed(reaped);
+        }
+    }
+
+    public long getCreatedTimestamp() {
+        return createdTimestamp;
+    }
+
+    public long getLastActivityTimestamp() {
+        return lastActivityTimestamp;
+    }
+
+    /**
+     * @return time of the last message or pong received from the service
+     */
+    public long getLastServiceResponseTimestamp() {
+        return lastServiceResponseTimestamp;
+    }
+
+    /**
+     * @return time when the unanswered ping was sent, 0 if there is no such ping
+     */
+    public long getPendingPingTimestamp() {
+        return pendingPingTimestamp;
+    }
+
+    public long getAge(long now) {
+        return now - createdTimestamp;
+    }
+
+    public long getIdleTime(long now) {
+        return now - lastActivityTimestamp;
+    }
+
+    /**
+     * @return average count of messages in both directions per second during the whole life of the session
+     */
+    public double getMessageRate(long now) {
+        long age = Math.max(getAge(now), 1);
+        return (messagesToService.get() + messagesToClient.get()) * 1000.0 / age;
+    }
+
+    public long getMessagesToService() {
+        return messagesToService.get();
+    }
+
+    public long getMessagesToClient() {
+        return messagesToClient.get();
+    }
+
+    public long getBytesToService() {
+        return bytesToService.get();
+    }
+
+    public long getBytesToClient() {
+        return bytesToClient.get();
+    }
+
+}
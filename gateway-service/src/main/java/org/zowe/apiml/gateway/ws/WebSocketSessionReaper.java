@@ -0,0 +1,65 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ws;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically verifies the liveness of routed WebSocket sessions, see {@link WebSocketSessionManager}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketSessionReaper {
+
+    private final WebSocketProxyServerHandler webSocketProxyServerHandler;
+    private final WebSocketSessionManager webSocketSessionManager;
+
+    private final ScheduledExecutorService executorService =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "WebSocketSessionReaper-Thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    @PostConstruct
+    public void start() {
+        long interval = webSocketSessionManager.getCheckIntervalMillis();
+        if (interval <= 0) {
+            log.debug("Checking of WebSocket sessions is disabled");
+            return;
+        }
+
+        executorService.scheduleWithFixedDelay(this::reap, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void reap() {
+        try {
+            webSocketProxyServerHandler.reapSessions();
+        } catch (RuntimeException e) {
+            // the exception would cancel all following executions
+            log.debug("Error checking WebSocket sessions: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executorService.shutdownNow();
+    }
+
+}
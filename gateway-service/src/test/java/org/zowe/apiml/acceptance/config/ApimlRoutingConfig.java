@@ -22,6 +22,8 @@ import org.zowe.apiml.gateway.filters.post.ConvertAuthTokenInUriToCookieFilter;
 import org.zowe.apiml.gateway.filters.post.PageRedirectionFilter;
 import org.zowe.apiml.gateway.filters.post.RoutedInstanceIdFilter;
 import org.zowe.apiml.gateway.filters.pre.*;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicyRegistry;
+import org.zowe.apiml.gateway.metadata.service.ServiceAddressIndex;
 import org.zowe.apiml.gateway.ws.WebSocketProxyServerHandler;
 import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.product.routing.RoutedServicesUser;
@@ -40,9 +42,14 @@ public class ApimlRoutingConfig {
     }
 
     @Bean
-    public EncodedCharactersFilter encodedCharactersFilter(DiscoveryClient discovery,
+    public RoutePolicyFilter routePolicyFilter(RoutePolicyRegistry routePolicyRegistry) {
+        return new RoutePolicyFilter(routePolicyRegistry);
+    }
+
+    @Bean
+    public EncodedCharactersFilter encodedCharactersFilter(RoutePolicyRegistry routePolicyRegistry,
                                                            MessageService messageService) {
-        return new EncodedCharactersFilter(discovery, messageService);
+        return new EncodedCharactersFilter(routePolicyRegistry, messageService);
     }
 
     @Bean
@@ -64,9 +71,9 @@ public class ApimlRoutingConfig {
 
     @Bean
     @Autowired
-    public PageRedirectionFilter pageRedirectionFilter(DiscoveryClient discovery,
+    public PageRedirectionFilter pageRedirectionFilter(ServiceAddressIndex serviceAddressIndex,
                                                        TransformService transformService) {
-        return new PageRedirectionFilter(discovery, transformService);
+        return new PageRedirectionFilter(serviceAddressIndex, transformService);
     }
 
     @Bean
@@ -9,6 +9,7 @@
  */
 package org.zowe.apiml.gateway.filters.post;
 
+import org.zowe.apiml.gateway.metadata.service.ServiceAddressIndex;
 import org.zowe.apiml.product.gateway.GatewayClient;
 import org.zowe.apiml.product.gateway.GatewayConfigProperties;
 import org.zowe.apiml.product.routing.RoutedService;
@@ -48,6 +49,7 @@ class PageRedirectionFilterTest {
 
     private PageRedirectionFilter filter = null;
     private DiscoveryClient discoveryClient = null;
+    private ServiceAddressIndex serviceAddressIndex = null;
     private MockHttpServletResponse response = null;
 
     @BeforeEach
@@ -65,7 +67,8 @@ class PageRedirectionFilterTest {
         GatewayConfigProperties gatewayConfigProperties = getGatewayConfigProperties(ctx);
         TransformService transformService = new TransformService(new GatewayClient(gatewayConfigProperties));
 
-        this.filter = new PageRedirectionFilter(this.discoveryClient, transformService);
+        serviceAddressIndex = new ServiceAddressIndex(discoveryClient);
+        this.filter = new PageRedirectionFilter(serviceAddressIndex, transformService);
     }
 
     @Test
@@ -87,6 +90,9 @@ class PageRedirectionFilterTest {
                 new DefaultServiceInstance(SERVICE_ID, TARGET_SERVER_HOST, TARGET_SERVER_PORT, true)
         ));
 
+        when(discoveryClient.getServices()).thenReturn(Collections.singletonList(SERVICE_ID));
+        serviceAddressIndex.refresh();
+
         response.setStatus(302);
         String relativePath = "/some/path/login.html";
         String location = mockLocationSameServer(relativePath);
@@ -116,6 +122,9 @@ class PageRedirectionFilterTest {
                 new DefaultServiceInstance(SERVICE_ID, TARGET_SERVER_HOST, TARGET_SERVER_PORT, true)
         ));
 
+        when(discoveryClient.getServices()).thenReturn(Collections.singletonList(SERVICE_ID));
+        serviceAddressIndex.refresh();
+
         response.setStatus(304);
         String relativePath = "/some/path/login.html";
         String location = mockLocationSameServer(relativePath);
@@ -154,6 +163,7 @@ class PageRedirectionFilterTest {
                 new DefaultServiceInstance(OTHER_SERVICE_ID, OTHER_SERVICE_SERVER_HOST, OTHER_SERVICE_SERVER_PORT, true)
         ));
         when(discoveryClient.getServices()).thenReturn(Arrays.asList(SERVICE_ID, OTHER_SERVICE_ID));
+        serviceAddressIndex.refresh();
 
         response.setStatus(307);
         String relativePath = "/some/path/login.html";
@@ -194,6 +204,7 @@ class PageRedirectionFilterTest {
                 new DefaultServiceInstance(OTHER_SERVICE_ID, OTHER_SERVICE_SERVER_HOST, OTHER_SERVICE_SERVER_PORT, true)
         ));
         when(discoveryClient.getServices()).thenReturn(Arrays.asList(SERVICE_ID, OTHER_SERVICE_ID));
+        serviceAddressIndex.refresh();
 
         response.setStatus(307);
         String relativePath = "/some/path/login.html";
@@ -224,6 +235,9 @@ class PageRedirectionFilterTest {
                 new DefaultServiceInstance(SERVICE_ID, TARGET_SERVER_HOST, TARGET_SERVER_PORT, true)
         ));
 
+        when(discoveryClient.getServices()).thenReturn(Collections.singletonList(SERVICE_ID));
+        serviceAddressIndex.refresh();
+
         response.setStatus(302);
         String relativePath = "/some/path/login.html";
         String location = mockLocationSameServer(serviceUrl + relativePath);
@@ -254,6 +268,9 @@ class PageRedirectionFilterTest {
                 new DefaultServiceInstance(SERVICE_ID, TARGET_SERVER_HOST, TARGET_SERVER_PORT, true)
         ));
 
+        when(discoveryClient.getServices()).thenReturn(Collections.singletonList(SERVICE_ID));
+        serviceAddressIndex.refresh();
+
         response.setStatus(302);
         String relativePath = "/some/path/login.html";
         String location = mockLocationSameServer(serviceUrl + relativePath);
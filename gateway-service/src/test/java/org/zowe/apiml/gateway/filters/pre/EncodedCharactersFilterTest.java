@@ -20,6 +20,8 @@ import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.zowe.apiml.eurekaservice.client.util.EurekaMetadataParser;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicyRegistry;
 import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.message.yaml.YamlMessageService;
 
@@ -60,7 +62,7 @@ class EncodedCharactersFilterTest {
 
     @BeforeEach
     void setup() {
-        filter = new EncodedCharactersFilter(discoveryClient, messageService);
+        filter = new EncodedCharactersFilter(new RoutePolicyRegistry(discoveryClient, new EurekaMetadataParser()), messageService);
         serviceInstanceWithTrueConfiguration.getMetadata().put(METADATA_KEY, "true");
         serviceInstanceWithFalseConfiguration.getMetadata().put(METADATA_KEY, "false");
         RequestContext ctx = RequestContext.getCurrentContext();
@@ -99,4 +99,21 @@ class HeaderSanitizerFilterTest {
         assertTrue(context.getZuulRequestHeaders().containsKey(DISTINGUISHED_NAME.toLowerCase()));
         assertNull(context.getZuulRequestHeaders().get(DISTINGUISHED_NAME.toLowerCase()));
     }
+
+    @Test
+    void whenConfiguredHeaderHasDifferentCase_thenNullsHeader() {
+        headerSanitizerFilter = new HeaderSanitizerFilter(new String[] {PUBLIC_KEY.toUpperCase()});
+        request.addHeader(PUBLIC_KEY, "value");
+
+        headerSanitizerFilter.run();
+
+        verify(context, times(1)).addZuulRequestHeader(PUBLIC_KEY, null);
+        assertNull(context.getZuulRequestHeaders().get(PUBLIC_KEY.toLowerCase()));
+    }
+
+    @Test
+    void whenNoHeadersConfigured_thenDoesntFilter() {
+        assertTrue(headerSanitizerFilter.shouldFilter());
+        assertFalse(new HeaderSanitizerFilter(new String[] {""}).shouldFilter());
+    }
 }
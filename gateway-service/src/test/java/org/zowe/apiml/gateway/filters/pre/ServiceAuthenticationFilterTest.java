@@ -21,6 +21,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.netflix.zuul.util.ZuulRuntimeException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
+import org.zowe.apiml.auth.Authentication;
+import org.zowe.apiml.auth.AuthenticationScheme;
+import org.zowe.apiml.gateway.metadata.service.RoutePolicy;
 import org.zowe.apiml.gateway.security.service.AuthenticationService;
 import org.zowe.apiml.gateway.security.service.ServiceAuthenticationServiceImpl;
 import org.zowe.apiml.gateway.security.service.schema.AuthenticationCommand;
@@ -101,6 +104,37 @@ class ServiceAuthenticationFilterTest extends CleanCurrentRequestContextTest {
         }
     }
 
+    @Test
+    void givenRoutePolicyWithAuthentication_whenRun_thenCommandByAuthenticationIsApplied() {
+        Authentication authentication = new Authentication(AuthenticationScheme.HTTP_BASIC_PASSTICKET, "applid");
+        RequestContext requestContext = new RequestContext();
+        requestContext.set(SERVICE_ID_KEY, "service");
+        requestContext.set(RoutePolicy.CONTEXT_KEY, RoutePolicy.builder()
+            .serviceId("service").authenticationUniform(true).authentication(authentication).build());
+        RequestContext.testSetCurrentContext(requestContext);
+        when(authenticationService.getJwtTokenFromRequest(any())).thenReturn(Optional.of("token"));
+        when(serviceAuthenticationService.getAuthenticationCommand(authentication, "token")).thenReturn(command);
+
+        serviceAuthenticationFilter.run();
+
+        verify(command, times(1)).apply(null);
+        verify(serviceAuthenticationService, never()).getAuthenticationCommand(anyString(), any());
+    }
+
+    @Test
+    void givenRoutePolicyWithoutAuthentication_whenRun_thenNoCommandIsLookedUp() {
+        RequestContext requestContext = new RequestContext();
+        requestContext.set(SERVICE_ID_KEY, "service");
+        requestContext.set(RoutePolicy.CONTEXT_KEY, RoutePolicy.builder().serviceId("service").authenticationUniform(true).build());
+        RequestContext.testSetCurrentContext(requestContext);
+
+        serviceAuthenticationFilter.run();
+
+        verify(serviceAuthenticationService, never()).getAuthenticationCommand(anyString(), any());
+        verify(serviceAuthenticationService, never()).getAuthenticationCommand(any(Authentication.class), any());
+        assertTrue(requestContext.sendZuulResponse());
+    }
+
     private AuthenticationCommand createJwtValidationCommand(String jwtToken) {
         RequestContext requestContext = mock(RequestContext.class);
         when(requestContext.get(SERVICE_ID_KEY)).thenReturn("service");
@@ -58,6 +58,36 @@ class RibbonMetadataProcessorTest {
         assertThatValuesAreSet(null, "5000", "5000");
     }
 
+    @Test
+    void givenRetryMetadata_whenProcess_thenSetSystemProperties() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("apiml.maxAutoRetries", "1");
+        metadata.put("apiml.maxAutoRetriesNextServer", "2");
+        metadata.put("apiml.retryableStatusCodes", "502, 503");
+        metadata.put("apiml.okToRetryOnAllOperations", "true");
+
+        metadataProcessor.process(prepareApplications(metadata, "retryservice"));
+
+        assertThat(System.getProperty("retryservice.ribbon.MaxAutoRetries"), is("1"));
+        assertThat(System.getProperty("retryservice.ribbon.MaxAutoRetriesNextServer"), is("2"));
+        assertThat(System.getProperty("retryservice.ribbon.retryableStatusCodes"), is("502, 503"));
+        assertThat(System.getProperty("retryservice.ribbon.OkToRetryOnAllOperations"), is("true"));
+    }
+
+    @Test
+    void givenInvalidRetryMetadata_whenProcess_thenDoNotSetSystemProperties() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("apiml.maxAutoRetries", "-1");
+        metadata.put("apiml.maxAutoRetriesNextServer", "many");
+        metadata.put("apiml.retryableStatusCodes", "503,timeout");
+
+        metadataProcessor.process(prepareApplications(metadata, "invalidretryservice"));
+
+        assertThat(System.getProperty("invalidretryservice.ribbon.MaxAutoRetries"), is((String) null));
+        assertThat(System.getProperty("invalidretryservice.ribbon.MaxAutoRetriesNextServer"), is((String) null));
+        assertThat(System.getProperty("invalidretryservice.ribbon.retryableStatusCodes"), is((String) null));
+    }
+
     @Test
     void givenMockedEvent_whenOnEvent_thenCallProcess() {
         MetadataProcessor metadataProcessor = new RibbonMetadataProcessor(mock(EurekaApplications.class));
@@ -74,18 +104,22 @@ class RibbonMetadataProcessorTest {
     }
 
     private List<Application> prepareApplications(Map<String, String> metadata) {
+        return prepareApplications(metadata, "service");
+    }
+
+    private List<Application> prepareApplications(Map<String, String> metadata, String serviceId) {
         List<Application> applications = new ArrayList<>();
         Application application = mock(Application.class);
         applications.add(application);
-        Mockito.when(application.getInstances()).thenReturn(Collections.singletonList(getStandardInstance(metadata)));
+        Mockito.when(application.getInstances()).thenReturn(Collections.singletonList(getStandardInstance(metadata, serviceId)));
         return applications;
     }
 
-    private InstanceInfo getStandardInstance(Map<String, String> metadata) {
+    private InstanceInfo getStandardInstance(Map<String, String> metadata, String serviceId) {
         return InstanceInfo.Builder.newBuilder()
-            .setAppName("service")
+            .setAppName(serviceId)
             .setHostName("localhost")
-            .setVIPAddress("service")
+            .setVIPAddress(serviceId)
             .setMetadata(metadata)
             .build();
     }
@@ -0,0 +1,120 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.metadata.service;
+
+import com.netflix.zuul.context.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.zowe.apiml.auth.AuthenticationScheme;
+import org.zowe.apiml.eurekaservice.client.util.EurekaMetadataParser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SERVICE_ID_KEY;
+
+@ExtendWith(MockitoExtension.class)
+class RoutePolicyRegistryTest {
+
+    private static final String SERVICE_ID = "service";
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    private RoutePolicyRegistry underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RoutePolicyRegistry(discoveryClient, new EurekaMetadataParser());
+    }
+
+    private ServiceInstance instance(String instanceId, String... metadata) {
+        Map<String, String> metadataMap = new HashMap<>();
+        for (int i = 0; i < metadata.length; i += 2) {
+            metadataMap.put(metadata[i], metadata[i + 1]);
+        }
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "host", 10010, true, metadataMap);
+    }
+
+    @Test
+    void givenUnknownService_whenPolicyIsRequested_thenDefaultsAreReturned() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Collections.emptyList());
+
+        RoutePolicy policy = underTest.getRoutePolicy(SERVICE_ID);
+
+        assertTrue(policy.isEncodedCharactersAllowed());
+        assertFalse(policy.hasAuthentication());
+    }
+
+    @Test
+    void givenInstances_whenPolicyIsRequested_thenFlagsAreResolved() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Arrays.asList(
+            instance("i1", "apiml.enableUrlEncodedCharacters", "true", "apiml.authentication.scheme", "bypass"),
+            instance("i2", "apiml.enableUrlEncodedCharacters", "false", "apiml.authentication.scheme", "bypass")
+        ));
+
+        RoutePolicy policy = underTest.getRoutePolicy(SERVICE_ID);
+
+        assertFalse(policy.isEncodedCharactersAllowed());
+        assertTrue(policy.hasAuthentication());
+        assertEquals(AuthenticationScheme.BYPASS, policy.getAuthentication().getScheme());
+    }
+
+    @Test
+    void givenDifferentAuthentication_whenPolicyIsRequested_thenAuthenticationIsNotUniform() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Arrays.asList(
+            instance("i1", "apiml.authentication.scheme", "bypass"),
+            instance("i2", "apiml.authentication.scheme", "zoweJwt")
+        ));
+
+        RoutePolicy policy = underTest.getRoutePolicy(SERVICE_ID);
+
+        assertFalse(policy.isAuthenticationUniform());
+        assertNull(policy.getAuthentication());
+        assertFalse(policy.hasAuthentication());
+    }
+
+    @Test
+    void givenResolvedPolicy_whenRequestedAgain_thenItIsCachedUntilRefresh() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Collections.singletonList(instance("i1")));
+
+        RoutePolicy policy = underTest.getRoutePolicy(SERVICE_ID);
+        assertSame(policy, underTest.getRoutePolicy("SERVICE"));
+        verify(discoveryClient, times(1)).getInstances(SERVICE_ID);
+
+        underTest.refresh();
+        assertNotSame(policy, underTest.getRoutePolicy(SERVICE_ID));
+        verify(discoveryClient, times(2)).getInstances(SERVICE_ID);
+    }
+
+    @Test
+    void givenRequestContext_whenPolicyIsRequested_thenItIsStoredInContext() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Collections.singletonList(instance("i1")));
+        RequestContext context = new RequestContext();
+        context.set(SERVICE_ID_KEY, SERVICE_ID);
+
+        RoutePolicy policy = underTest.getRoutePolicy(context);
+
+        assertSame(policy, context.get(RoutePolicy.CONTEXT_KEY));
+        assertSame(policy, underTest.getRoutePolicy(context));
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.metadata.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceAddressIndexTest {
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    private ServiceAddressIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ServiceAddressIndex(discoveryClient);
+    }
+
+    @Test
+    void givenRegisteredInstances_whenRefreshed_thenAddressesAreIndexed() {
+        when(discoveryClient.getServices()).thenReturn(Arrays.asList("service1", "service2"));
+        when(discoveryClient.getInstances("service1")).thenReturn(Arrays.asList(
+            new DefaultServiceInstance("service1", "hostA", 10010, true),
+            new DefaultServiceInstance("service1", "hostB", 10010, true)
+        ));
+        when(discoveryClient.getInstances("service2")).thenReturn(Collections.singletonList(
+            new DefaultServiceInstance("service2", "HostA", 10010, true)
+        ));
+
+        underTest.refresh();
+
+        assertEquals(new HashSet<>(Arrays.asList("service1", "service2")), underTest.getServiceIds("hosta", 10010));
+        assertEquals(Collections.singleton("service1"), underTest.getServiceIds("hostB", 10010));
+        assertTrue(underTest.getServiceIds("hostA", 10011).isEmpty());
+    }
+
+    @Test
+    void givenChangedInstances_whenRefreshed_thenIndexIsUpdated() {
+        when(discoveryClient.getServices()).thenReturn(Arrays.asList("service1", "service2"));
+        when(discoveryClient.getInstances("service1")).thenReturn(Collections.singletonList(
+            new DefaultServiceInstance("service1", "hostA", 10010, true)
+        ));
+        when(discoveryClient.getInstances("service2")).thenReturn(Collections.singletonList(
+            new DefaultServiceInstance("service2", "hostB", 10010, true)
+        ));
+        underTest.refresh();
+
+        when(discoveryClient.getServices()).thenReturn(Collections.singletonList("service1"));
+        when(discoveryClient.getInstances("service1")).thenReturn(Collections.singletonList(
+            new DefaultServiceInstance("service1", "hostC", 10010, true)
+        ));
+        underTest.refresh();
+
+        assertTrue(underTest.getServiceIds("hostA", 10010).isEmpty());
+        assertTrue(underTest.getServiceIds("hostB", 10010).isEmpty());
+        assertEquals(Collections.singleton("service1"), underTest.getServiceIds("hostC", 10010));
+    }
+
+}
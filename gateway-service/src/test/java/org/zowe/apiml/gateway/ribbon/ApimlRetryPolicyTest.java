@@ -0,0 +1,162 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ribbon;
+
+import com.netflix.client.ClientException;
+import com.netflix.client.DefaultLoadBalancerRetryHandler;
+import com.netflix.client.config.DefaultClientConfigImpl;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpHostConnectException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.loadbalancer.LoadBalancedRetryContext;
+import org.springframework.cloud.client.loadbalancer.ServiceInstanceChooser;
+import org.springframework.cloud.netflix.ribbon.RibbonLoadBalancerContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ApimlRetryPolicyTest {
+
+    private RibbonLoadBalancerContext lbContext;
+
+    @BeforeEach
+    void setUp() {
+        lbContext = mock(RibbonLoadBalancerContext.class);
+        doReturn(new DefaultLoadBalancerRetryHandler(0, 1, true)).when(lbContext).getRetryHandler();
+    }
+
+    @Test
+    void givenSafeMethod_whenCanRetry_thenTrue() {
+        ApimlRetryPolicy policy = createPolicy(null);
+
+        assertTrue(policy.canRetry(createContext(HttpMethod.GET)));
+        assertTrue(policy.canRetry(createContext(HttpMethod.HEAD)));
+        assertFalse(policy.canRetry(createContext(HttpMethod.PUT)));
+        assertFalse(policy.canRetry(createContext(HttpMethod.DELETE)));
+        assertFalse(policy.canRetry(createContext(HttpMethod.POST)));
+        assertFalse(policy.canRetry(createContext(HttpMethod.PATCH)));
+    }
+
+    @Test
+    void givenPutNotSent_whenCanRetry_thenTrue() {
+        ApimlRetryPolicy policy = createPolicy(null);
+        LoadBalancedRetryContext context = createContext(HttpMethod.PUT);
+        context.registerThrowable(new IOException(new ConnectException("Connection refused")));
+
+        assertTrue(policy.canRetry(context));
+    }
+
+    @Test
+    void givenDeleteWithReadTimeout_whenCanRetry_thenFalse() {
+        ApimlRetryPolicy policy = createPolicy(null);
+        LoadBalancedRetryContext context = createContext(HttpMethod.DELETE);
+        context.registerThrowable(new SocketTimeoutException("Read timed out"));
+
+        assertFalse(policy.canRetry(context));
+    }
+
+    @Test
+    void givenOkToRetryOnAllOperations_whenCanRetryPut_thenTrue() {
+        doReturn(true).when(lbContext).isOkToRetryOnAllOperations();
+        ApimlRetryPolicy policy = createPolicy(null);
+
+        assertTrue(policy.canRetry(createContext(HttpMethod.PUT)));
+    }
+
+    @Test
+    void givenPostNotSent_whenCanRetry_thenTrue() {
+        ApimlRetryPolicy policy = createPolicy(null);
+        LoadBalancedRetryContext context = createContext(HttpMethod.POST);
+        context.registerThrowable(new IOException(new ConnectException("Connection refused")));
+
+        assertTrue(policy.canRetry(context));
+    }
+
+    @Test
+    void givenPostWithReadTimeout_whenRegisterThrowable_thenDoNotRetry() {
+        RetryBudget budget = mock(RetryBudget.class);
+        ApimlRetryPolicy policy = createPolicy(budget);
+        LoadBalancedRetryContext context = createContext(HttpMethod.POST);
+        SocketTimeoutException exception = new SocketTimeoutException("Read timed out");
+        context.registerThrowable(exception);
+
+        policy.registerThrowable(context, exception);
+
+        assertFalse(policy.canRetryNextServer(context));
+        verify(budget, never()).tryWithdraw();
+    }
+
+    @Test
+    void givenBudgetAllowsRetry_whenRegisterThrowable_thenRetryNextServer() {
+        RetryBudget budget = mock(RetryBudget.class);
+        doReturn(true).when(budget).tryWithdraw();
+        ApimlRetryPolicy policy = createPolicy(budget);
+        LoadBalancedRetryContext context = createContext(HttpMethod.GET);
+        SocketTimeoutException exception = new SocketTimeoutException("Read timed out");
+        context.registerThrowable(exception);
+
+        policy.registerThrowable(context, exception);
+
+        assertFalse(context.isExhaustedOnly());
+        assertTrue(policy.canRetryNextServer(context));
+        verify(budget).tryWithdraw();
+    }
+
+    @Test
+    void givenAbortingException_whenRegisterThrowable_thenDoNotChargeBudget() {
+        RetryBudget budget = mock(RetryBudget.class);
+        ApimlRetryPolicy policy = createPolicy(budget);
+        LoadBalancedRetryContext context = createContext(HttpMethod.GET);
+        ClientException exception = new ClientException("Load balancer does not have available server for client: service");
+        context.registerThrowable(exception);
+
+        policy.registerThrowable(context, exception);
+
+        verify(budget, never()).tryWithdraw();
+    }
+
+    @Test
+    void givenExhaustedBudget_whenRegisterThrowable_thenStopRetrying() {
+        ApimlRetryPolicy policy = createPolicy(new RetryBudget(0, 0, 10));
+        LoadBalancedRetryContext context = createContext(HttpMethod.GET);
+        SocketTimeoutException exception = new SocketTimeoutException("Read timed out");
+        context.registerThrowable(exception);
+
+        policy.registerThrowable(context, exception);
+
+        assertTrue(context.isExhaustedOnly());
+    }
+
+    @Test
+    void givenExceptions_whenIsNotSent_thenRecognizeConnectionFailures() {
+        assertTrue(ApimlRetryPolicy.isNotSent(new HttpHostConnectException(new ConnectException(), null)));
+        assertTrue(ApimlRetryPolicy.isNotSent(new RuntimeException(new ConnectionPoolTimeoutException("Timeout waiting for connection"))));
+        assertFalse(ApimlRetryPolicy.isNotSent(new SocketTimeoutException("Read timed out")));
+        assertFalse(ApimlRetryPolicy.isNotSent(null));
+    }
+
+    private ApimlRetryPolicy createPolicy(RetryBudget budget) {
+        return new ApimlRetryPolicy("service", lbContext, mock(ServiceInstanceChooser.class), new DefaultClientConfigImpl(), budget);
+    }
+
+    private LoadBalancedRetryContext createContext(HttpMethod method) {
+        HttpRequest request = mock(HttpRequest.class);
+        doReturn(method).when(request).getMethod();
+        return new LoadBalancedRetryContext(null, request);
+    }
+
+}
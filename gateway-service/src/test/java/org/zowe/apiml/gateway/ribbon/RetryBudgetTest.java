@@ -0,0 +1,82 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ribbon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong time = new AtomicLong(1_000_000);
+
+    @Test
+    void givenNoRequests_whenRetry_thenAllowReserveOnly() {
+        RetryBudget budget = new RetryBudget(20, 1, 10, time::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryWithdraw());
+        }
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void givenRequests_whenRetry_thenAllowPercentOfRequests() {
+        RetryBudget budget = new RetryBudget(20, 0, 10, time::get);
+        for (int i = 0; i < 50; i++) {
+            budget.deposit();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryWithdraw());
+        }
+        assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        budget.deposit();
+        budget.deposit();
+        budget.deposit();
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void givenExhaustedBudget_whenTimeToLivePassed_thenAllowRetriesAgain() {
+        RetryBudget budget = new RetryBudget(0, 1, 10, time::get);
+        for (int i = 0; i < 10; i++) {
+            budget.tryWithdraw();
+        }
+        assertFalse(budget.tryWithdraw());
+
+        time.addAndGet(5_000);
+        assertFalse(budget.tryWithdraw());
+
+        time.addAndGet(5_000);
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void givenOldRequests_whenTimeToLivePassed_thenTheyAreNotCounted() {
+        RetryBudget budget = new RetryBudget(100, 0, 10, time::get);
+        budget.deposit();
+
+        time.addAndGet(60_000);
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void givenInvalidSettings_whenCreate_thenThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-1, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(20, 10, 0));
+    }
+
+}
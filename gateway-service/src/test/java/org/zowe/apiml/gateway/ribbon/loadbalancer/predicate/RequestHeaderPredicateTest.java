@@ -45,6 +45,15 @@ class RequestHeaderPredicateTest {
             RequestHeaderPredicate predicate = new RequestHeaderPredicate();
             assertTrue(predicate.apply(lbctx, server));
         }
+
+        @Test
+        void givenNoRequest_thenDoesNotFilter() {
+            InstanceInfo info = mock(InstanceInfo.class);
+            DiscoveryEnabledServer server = mock(DiscoveryEnabledServer.class);
+            LoadBalancingContext lbctx = new LoadBalancingContext("key", info);
+            RequestHeaderPredicate predicate = new RequestHeaderPredicate();
+            assertTrue(predicate.apply(lbctx, server));
+        }
     }
 
 
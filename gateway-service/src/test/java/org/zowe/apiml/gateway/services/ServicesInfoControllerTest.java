@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import java.util.Arrays;
@@ -30,10 +31,19 @@ import static org.zowe.apiml.gateway.services.ServicesInfoService.VERSION_HEADER
 class ServicesInfoControllerTest {
 
     private static final String SERVICE_ID = "service";
+    private static final String API_ID = "apiId";
 
     private final ServiceInfo serviceInfo = ServiceInfo.builder()
             .serviceId(SERVICE_ID)
             .status(InstanceInfo.InstanceStatus.UP)
+            .apiml(ServiceInfo.Apiml.builder()
+                    .apiInfo(Collections.singletonList(ServiceInfo.ApiInfoExtended.builder().apiId(API_ID).build()))
+                    .build())
+            .build();
+
+    private final ServiceInfo otherServiceInfo = ServiceInfo.builder()
+            .serviceId("other")
+            .status(InstanceInfo.InstanceStatus.UP)
             .build();
 
     @Mock
@@ -41,8 +51,8 @@ class ServicesInfoControllerTest {
 
     @Test
     void whenGetAllServices_thenReturnList() {
-        when(servicesInfoService.getServicesInfo(null)).thenReturn(
-                Arrays.asList(serviceInfo, serviceInfo)
+        when(servicesInfoService.getSnapshot()).thenReturn(
+                ServicesInfoSnapshot.of(Arrays.asList(serviceInfo, otherServiceInfo))
         );
 
         //@formatter:off
@@ -59,27 +69,27 @@ class ServicesInfoControllerTest {
 
     @Test
     void whenFilterByApiId_thenReturnList() {
-        String apiId = "apiId";
-        when(servicesInfoService.getServicesInfo(apiId)).thenReturn(
-                Arrays.asList(serviceInfo, serviceInfo)
+        when(servicesInfoService.getSnapshot()).thenReturn(
+                ServicesInfoSnapshot.of(Arrays.asList(serviceInfo, otherServiceInfo))
         );
 
         //@formatter:off
         given()
                 .standaloneSetup(new ServicesInfoController(servicesInfoService))
         .when()
-                .get(String.format("%s?apiId=%s",SERVICES_URL, apiId))
+                .get(String.format("%s?apiId=%s",SERVICES_URL, API_ID))
         .then()
                 .statusCode(HttpStatus.OK.value())
                 .header(VERSION_HEADER, CURRENT_VERSION)
-                .body("size()", is(2));
+                .body("size()", is(1))
+                .body("[0].serviceId", is(SERVICE_ID));
         //@formatter:on
     }
 
     @Test
     void whenApiIdDoesNotExists_thenReturn404() {
-        String apiId = "apiId";
-        when(servicesInfoService.getServicesInfo(apiId)).thenReturn(Collections.emptyList());
+        String apiId = "unknownApiId";
+        when(servicesInfoService.getSnapshot()).thenReturn(ServicesInfoSnapshot.of(Collections.singletonList(serviceInfo)));
 
         //@formatter:off
         given()
@@ -93,7 +103,7 @@ class ServicesInfoControllerTest {
 
     @Test
     void whenServiceIsUp_thenReturnOK() {
-        when(servicesInfoService.getServiceInfo(SERVICE_ID)).thenReturn(serviceInfo);
+        when(servicesInfoService.getSnapshot()).thenReturn(ServicesInfoSnapshot.of(Collections.singletonList(serviceInfo)));
 
         //@formatter:off
         given()
@@ -110,8 +120,7 @@ class ServicesInfoControllerTest {
 
     @Test
     void whenServiceDoesNotExist_thenReturnNotFound() {
-        serviceInfo.setStatus(InstanceInfo.InstanceStatus.UNKNOWN);
-        when(servicesInfoService.getServiceInfo(SERVICE_ID)).thenReturn(serviceInfo);
+        when(servicesInfoService.getSnapshot()).thenReturn(ServicesInfoSnapshot.of(Collections.singletonList(otherServiceInfo)));
 
         //@formatter:off
         given()
@@ -125,4 +134,41 @@ class ServicesInfoControllerTest {
         //@formatter:on
     }
 
+    @Test
+    void whenETagMatches_thenReturnNotModified() {
+        ServicesInfoSnapshot snapshot = ServicesInfoSnapshot.of(Arrays.asList(serviceInfo, otherServiceInfo));
+        when(servicesInfoService.getSnapshot()).thenReturn(snapshot);
+        String eTag = snapshot.getServicesRepresentation(null).getETag();
+
+        //@formatter:off
+        given()
+                .standaloneSetup(new ServicesInfoController(servicesInfoService))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        .when()
+                .get(SERVICES_URL)
+        .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, eTag);
+        //@formatter:on
+    }
+
+    @Test
+    void whenETagDoesNotMatch_thenReturnBodyWithETag() {
+        ServicesInfoSnapshot snapshot = ServicesInfoSnapshot.of(Collections.singletonList(serviceInfo));
+        when(servicesInfoService.getSnapshot()).thenReturn(snapshot);
+        String eTag = snapshot.getServiceRepresentation(SERVICE_ID).getETag();
+
+        //@formatter:off
+        given()
+                .standaloneSetup(new ServicesInfoController(servicesInfoService))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"outdated\"")
+        .when()
+                .get(SERVICES_URL + "/" + SERVICE_ID)
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, eTag)
+                .body("serviceId", is(SERVICE_ID));
+        //@formatter:on
+    }
+
 }
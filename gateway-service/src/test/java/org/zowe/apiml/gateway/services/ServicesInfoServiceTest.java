@@ -36,6 +36,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
 
@@ -301,6 +303,42 @@ class ServicesInfoServiceTest {
         )));
     }
 
+    @Test
+    void givenUnchangedRegistry_whenSnapshotRequested_thenReuseIt() {
+        when(eurekaClient.getApplications()).thenReturn(new Applications(null, 1L, Collections.singletonList(
+                new Application(CLIENT_SERVICE_ID, Collections.singletonList(createFullTestInstance()))
+        )));
+
+        ServicesInfoSnapshot snapshot = servicesInfoService.getSnapshot();
+
+        assertSame(snapshot, servicesInfoService.getSnapshot());
+        assertSame(snapshot.getServices(), servicesInfoService.getServicesInfo());
+        assertSame(snapshot.getServicesRepresentation(null), servicesInfoService.getSnapshot().getServicesRepresentation(null));
+        verify(eurekaClient, times(1)).getApplications();
+    }
+
+    @Test
+    void givenRegistryChange_whenSnapshotRequested_thenRebuildItWithNewETag() {
+        Applications applications = new Applications(null, 1L, Collections.singletonList(
+                new Application(CLIENT_SERVICE_ID, Collections.singletonList(createFullTestInstance()))
+        ));
+        when(eurekaClient.getApplications()).thenReturn(applications);
+
+        ServicesInfoSnapshot snapshot = servicesInfoService.getSnapshot();
+        String eTag = snapshot.getServicesRepresentation(null).getETag();
+
+        servicesInfoService.refresh();
+        ServicesInfoSnapshot unchanged = servicesInfoService.getSnapshot();
+        assertNotSame(snapshot, unchanged);
+        assertEquals(eTag, unchanged.getServicesRepresentation(null).getETag());
+
+        applications.addApplication(new Application("testclient2"));
+        servicesInfoService.refresh();
+        ServicesInfoSnapshot changed = servicesInfoService.getSnapshot();
+        assertEquals(2, changed.getServices().size());
+        assertNotEquals(eTag, changed.getServicesRepresentation(null).getETag());
+    }
+
     private InstanceInfo createMultipleApisInstance(int clientNumber, List<Pair<String, String>> versions) {
         Map<String, String> metadata = new HashMap<>();
         ApiInfo apiInfo;
@@ -0,0 +1,133 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccessLogFilter accessLogFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accessLogFilter = new AccessLogFilter(meterRegistry, true, 30000);
+    }
+
+    @Nested
+    class WhenRequestIsProcessed {
+
+        @Test
+        void thenTimingsAreBoundOnlyDuringRequest() throws Exception {
+            FilterChain chain = (request, response) -> {
+                assertNotNull(RequestTimings.current());
+                RequestTimings.end(RequestStage.AUTHENTICATION);
+                RequestTimings.current().setServiceId("service");
+                RequestTimings.add(RequestStage.CONNECTION, TimeUnit.MILLISECONDS.toNanos(2));
+                RequestTimings.begin(RequestStage.POST_FILTERS);
+            };
+
+            accessLogFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/service"), new MockHttpServletResponse(), chain);
+
+            assertNull(RequestTimings.current());
+        }
+
+        @Test
+        void thenHistogramsAreRecorded() throws Exception {
+            FilterChain chain = (request, response) -> {
+                RequestTimings.end(RequestStage.AUTHENTICATION);
+                RequestTimings.current().setServiceId("service");
+                RequestTimings.add(RequestStage.CONNECTION, TimeUnit.MILLISECONDS.toNanos(2));
+            };
+
+            accessLogFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/service"), new MockHttpServletResponse(), chain);
+
+            Timer total = meterRegistry.get(AccessLogFilter.REQUEST_METRIC).tag("serviceId", "service").timer();
+            assertEquals(1, total.count());
+
+            Timer connection = meterRegistry.get(AccessLogFilter.STAGE_METRIC)
+                .tag("serviceId", "service").tag("stage", "connection").timer();
+            assertEquals(1, connection.count());
+            assertEquals(2, connection.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+            Timer upstream = meterRegistry.get(AccessLogFilter.STAGE_METRIC)
+                .tag("serviceId", "service").tag("stage", "upstream").timer();
+            assertEquals(0, upstream.count());
+        }
+
+        @Test
+        void givenServerError_thenErrorIsCounted() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = (req, res) -> {
+                RequestTimings.current().setServiceId("service");
+                ((MockHttpServletResponse) res).setStatus(503);
+            };
+
+            accessLogFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/service"), response, chain);
+            accessLogFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/service"), new MockHttpServletResponse(),
+                (req, res) -> RequestTimings.current().setServiceId("service"));
+
+            assertEquals(1, meterRegistry.get(AccessLogFilter.ERROR_METRIC).tag("serviceId", "service").counter().count(), 0);
+            assertEquals(2, meterRegistry.get(AccessLogFilter.REQUEST_METRIC).tag("serviceId", "service").timer().count());
+        }
+
+        @Test
+        void givenNoService_thenRecordedWithoutService() throws Exception {
+            accessLogFilter.doFilter(new MockHttpServletRequest("GET", "/login"), new MockHttpServletResponse(), (request, response) -> { });
+
+            assertEquals(1, meterRegistry.get(AccessLogFilter.REQUEST_METRIC).tag("serviceId", AccessLogFilter.NO_SERVICE).timer().count());
+        }
+
+    }
+
+    @Test
+    void givenTimings_whenCreateAccessLog_thenContainsRecordedStages() {
+        RequestTimings timings = new RequestTimings(1);
+        timings.setServiceId("service");
+        timings.setInstanceId("host:service:10010");
+        timings.record(RequestStage.AUTHENTICATION, 1_500_000);
+        timings.record(RequestStage.UPSTREAM, 12_345_678);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/service/resource");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(201);
+
+        assertEquals(
+            "method=POST uri=/api/v1/service/resource status=201 serviceId=service instanceId=host:service:10010 " +
+                "total=20.000 authentication=1.500 upstream=12.345",
+            accessLogFilter.toAccessLog(request, response, timings, 20_000_000)
+        );
+    }
+
+    @Test
+    void givenNanos_whenAppendMillis_thenFormattedWithThreeDecimals() {
+        StringBuilder sb = new StringBuilder();
+        AccessLogFilter.appendMillis(sb, 5_007_000);
+        sb.append(' ');
+        AccessLogFilter.appendMillis(sb, 42_000);
+        sb.append(' ');
+        AccessLogFilter.appendMillis(sb, 0);
+
+        assertEquals("5.007 0.042 0.000", sb.toString());
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConnectionPoolMetricsTest {
+
+    private final HttpRoute route = new HttpRoute(new HttpHost("service", 10012, "https"));
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionPoolMetrics underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new ConnectionPoolMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.unbind();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConnPoolControl<HttpRoute> pool(int leased, int pending, int available, int max) {
+        ConnPoolControl<HttpRoute> pool = mock(ConnPoolControl.class);
+        when(pool.getStats(route)).thenReturn(new PoolStats(leased, pending, available, max));
+        return pool;
+    }
+
+    private double gauge(String state) {
+        return meterRegistry.get(ConnectionPoolMetrics.POOL_METRIC).tag("route", "service:10012").tag("state", state).gauge().value();
+    }
+
+    @Test
+    void givenMorePools_whenRouteAdded_thenPublishSumOfPools() {
+        underTest.routeAdded(route, pool(1, 0, 2, 10));
+        underTest.routeAdded(route, pool(3, 4, 0, 10));
+
+        assertEquals(4, gauge("leased"));
+        assertEquals(4, gauge("pending"));
+        assertEquals(2, gauge("available"));
+        assertEquals(20, gauge("max"));
+    }
+
+    @Test
+    void givenSamePoolAddedAgain_whenRouteAdded_thenCountOnce() {
+        ConnPoolControl<HttpRoute> pool = pool(1, 0, 2, 10);
+        underTest.routeAdded(route, pool);
+        underTest.routeAdded(route, pool);
+
+        assertEquals(1, gauge("leased"));
+    }
+
+    @Test
+    void givenMorePools_whenRouteRemovedFromAll_thenRemoveMeters() {
+        ConnPoolControl<HttpRoute> pool1 = pool(1, 0, 2, 10);
+        ConnPoolControl<HttpRoute> pool2 = pool(3, 0, 0, 10);
+        underTest.routeAdded(route, pool1);
+        underTest.routeAdded(route, pool2);
+
+        underTest.routeRemoved(route, pool1);
+        assertEquals(3, gauge("leased"));
+
+        underTest.routeRemoved(route, pool2);
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void givenRemovedRoute_whenRouteAddedAgain_thenPublishAgain() {
+        ConnPoolControl<HttpRoute> pool = pool(1, 0, 2, 10);
+        underTest.routeAdded(route, pool);
+        underTest.routeRemoved(route, pool);
+
+        underTest.routeAdded(route, pool);
+
+        assertEquals(1, gauge("leased"));
+        assertEquals(5, meterRegistry.getMeters().size());
+    }
+
+    @Test
+    void givenRequest_whenConnectionLeased_thenRecordLeaseAndRequestStage() {
+        underTest.routeAdded(route, pool(0, 0, 0, 10));
+        RequestTimings timings = new RequestTimings(1);
+        RequestTimings.bind(timings);
+
+        underTest.connectionLeased(route, TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(3), timings.getDuration(RequestStage.CONNECTION));
+        assertEquals(1, meterRegistry.get(ConnectionPoolMetrics.LEASE_METRIC).tag("route", "service:10012").timer().count());
+    }
+
+}
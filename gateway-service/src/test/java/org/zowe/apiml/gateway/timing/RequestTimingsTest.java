@@ -0,0 +1,62 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.unbind();
+    }
+
+    @Test
+    void givenNoRequest_whenRecord_thenIgnore() {
+        RequestTimings.begin(RequestStage.UPSTREAM);
+        RequestTimings.end(RequestStage.UPSTREAM);
+        RequestTimings.add(RequestStage.CONNECTION, 10);
+
+        assertNull(RequestTimings.current());
+        assertEquals(0, RequestTimings.spent(RequestStage.CONNECTION));
+    }
+
+    @Test
+    void givenStageRunMoreTimes_whenRecorded_thenDurationsAreSummed() {
+        RequestTimings timings = new RequestTimings(1);
+        RequestTimings.bind(timings);
+
+        timings.start(RequestStage.LOAD_BALANCER, 100);
+        timings.stop(RequestStage.LOAD_BALANCER, 150);
+        timings.start(RequestStage.LOAD_BALANCER, 200);
+        assertTrue(timings.isRunning(RequestStage.LOAD_BALANCER));
+        timings.stop(RequestStage.LOAD_BALANCER, 230);
+        RequestTimings.add(RequestStage.CONNECTION, 40);
+
+        assertFalse(timings.isRunning(RequestStage.LOAD_BALANCER));
+        assertEquals(80, timings.getDuration(RequestStage.LOAD_BALANCER));
+        assertEquals(40, RequestTimings.spent(RequestStage.CONNECTION));
+        assertTrue(timings.isRecorded(RequestStage.CONNECTION));
+    }
+
+    @Test
+    void givenStageNotStarted_whenStop_thenNotRecorded() {
+        RequestTimings timings = new RequestTimings(1);
+
+        timings.stop(RequestStage.POST_FILTERS, 100);
+
+        assertFalse(timings.isRecorded(RequestStage.POST_FILTERS));
+        assertEquals(0, timings.getDuration(RequestStage.POST_FILTERS));
+    }
+
+}
@@ -13,6 +13,7 @@ package org.zowe.apiml.gateway.ws;
 import org.json.JSONArray;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,15 +27,17 @@ class WebSocketActuatorEndpointTest {
 
     private WebSocketActuatorEndpoint underTest;
     private WebSocketProxyServerHandler webSocketProxyServerHandler;
+    private WebSocketSessionManager webSocketSessionManager;
 
     @BeforeEach
     public void setup() {
         webSocketProxyServerHandler = mock(WebSocketProxyServerHandler.class);
-        underTest = new WebSocketActuatorEndpoint(webSocketProxyServerHandler);
+        webSocketSessionManager = new WebSocketSessionManager(10000, 0, 0, 30000, 10000);
+        underTest = new WebSocketActuatorEndpoint(webSocketProxyServerHandler, webSocketSessionManager);
     }
 
     @Test
-    void givenExistingRoute_whenTheStatusOfRoutesIsRequested_thenTheListIsReturned() {
+    void givenExistingRoute_whenTheSessionsOfServiceAreRequested_thenTheListIsReturned() {
         Map<String, WebSocketRoutedSession> routedSessions = new HashMap<>();
         WebSocketRoutedSession validSession = mock(WebSocketRoutedSession.class);
         when(validSession.getClientId()).thenReturn("12");
@@ -43,8 +46,38 @@ class WebSocketActuatorEndpointTest {
         when(validSession.getServerRemoteAddress()).thenReturn("ws://gateway:10010");
         routedSessions.put("webSocketSessionId", validSession);
         when(webSocketProxyServerHandler.getRoutedSessions()).thenReturn(routedSessions);
+        when(webSocketProxyServerHandler.getRoutedServiceId("webSocketSessionId")).thenReturn("service");
 
-        String clientResponse = new JSONArray(underTest.getAll()).toString();
+        String clientResponse = new JSONArray(underTest.getSessions("service")).toString();
         assertThat(clientResponse, is("[{\"gatewayPath\":\"ws:\\/\\/gateway:10010\\/api\\/v2\\/\",\"serviceUrl\":\"ws:\\/\\/localhost:8080\\/v2\",\"serviceSessionId\":\"12\",\"sessionId\":\"webSocketSessionId\",\"clientAddress\":\"ws:\\/\\/gateway:10010\"}]"));
     }
+
+    @Test
+    void givenSessionOfAnotherService_whenTheSessionsOfServiceAreRequested_thenTheListIsEmpty() {
+        Map<String, WebSocketRoutedSession> routedSessions = new HashMap<>();
+        routedSessions.put("webSocketSessionId", mock(WebSocketRoutedSession.class));
+        when(webSocketProxyServerHandler.getRoutedSessions()).thenReturn(routedSessions);
+        when(webSocketProxyServerHandler.getRoutedServiceId("webSocketSessionId")).thenReturn("another");
+
+        assertThat(underTest.getSessions("service").size(), is(0));
+    }
+
+    @Test
+    void givenOpenedSessions_whenTheStatusIsRequested_thenCountersPerServiceAreReturned() {
+        WebSocketSessionMetrics first = webSocketSessionManager.createSessionMetrics("service");
+        WebSocketSessionMetrics second = webSocketSessionManager.createSessionMetrics("service");
+        first.opened();
+        second.opened();
+        second.messageToService(new TextMessage("message"));
+        second.closed(false);
+
+        Map<String, WebSocketServiceMetrics> status = underTest.getAll();
+
+        WebSocketServiceMetrics serviceMetrics = status.get("service");
+        assertThat(serviceMetrics.getActiveSessions(), is(1L));
+        assertThat(serviceMetrics.getOpenedSessions(), is(2L));
+        assertThat(serviceMetrics.getClosedSessions(), is(1L));
+        assertThat(serviceMetrics.getMessagesToService(), is(1L));
+        assertThat(serviceMetrics.getBytesToService(), is(7L));
+    }
 }
@@ -10,10 +10,16 @@
 
 package org.zowe.apiml.gateway.ws;
 
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
+import com.netflix.zuul.context.RequestContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
@@ -21,6 +27,7 @@ import org.zowe.apiml.product.routing.RoutedService;
 import org.zowe.apiml.product.routing.RoutedServices;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -30,27 +37,36 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class WebSocketProxyServerHandlerTest {
     private WebSocketProxyServerHandler underTest;
     private DiscoveryClient discoveryClient;
+    private SpringClientFactory springClientFactory;
     private SslContextFactoryProvider sslContextFactoryProvider;
     private WebSocketRoutedSessionFactory webSocketRoutedSessionFactory;
     private Map<String, WebSocketRoutedSession> routedSessions;
+    private WebSocketSessionManager sessionManager;
 
     @BeforeEach
     public void setup() {
         discoveryClient = mock(DiscoveryClient.class);
+        springClientFactory = mock(SpringClientFactory.class);
         sslContextFactoryProvider = mock(SslContextFactoryProvider.class);
         routedSessions = new HashMap<>();
         webSocketRoutedSessionFactory = mock(WebSocketRoutedSessionFactory.class);
+        sessionManager = mock(WebSocketSessionManager.class);
+        when(sessionManager.createSessionMetrics(any())).thenAnswer(invocation -> new WebSocketSessionMetrics(new WebSocketServiceMetrics()));
 
         underTest = new WebSocketProxyServerHandler(
             discoveryClient,
+            springClientFactory,
             sslContextFactoryProvider,
             routedSessions,
-            webSocketRoutedSessionFactory
+            webSocketRoutedSessionFactory,
+            sessionManager
         );
     }
 
@@ -69,10 +85,10 @@ class WebSocketProxyServerHandlerTest {
         RoutedServices routesForSpecificValidService = mock(RoutedServices.class);
         when(routesForSpecificValidService.findServiceByGatewayUrl("ws/1"))
             .thenReturn(new RoutedService("api-v1", "api/v1", "/api-v1/api/v1"));
-        ServiceInstance foundService = validServiceInstance();
-        when(discoveryClient.getInstances("api-v1")).thenReturn(Collections.singletonList(foundService));
+        Server server = server("host1");
+        loadBalancer("api-v1", server);
         underTest.addRoutedServices("api-v1", routesForSpecificValidService);
-        when(webSocketRoutedSessionFactory.session(any(), any(), any())).thenReturn(mock(WebSocketRoutedSession.class));
+        when(webSocketRoutedSessionFactory.session(any(), any(), any(), any())).thenReturn(mock(WebSocketRoutedSession.class));
 
         WebSocketSession establishedSession = mock(WebSocketSession.class);
         String establishedSessionId = "validAndUniqueId";
@@ -80,18 +96,148 @@ class WebSocketProxyServerHandlerTest {
         when(establishedSession.getUri()).thenReturn(new URI("wss://gatewayHost:1443/gateway/1/api-v1/api/v1"));
         underTest.afterConnectionEstablished(establishedSession);
 
-        verify(webSocketRoutedSessionFactory).session(any(), any(), any());
+        verify(webSocketRoutedSessionFactory).session(any(), any(), any(), any());
         WebSocketRoutedSession preparedSession = routedSessions.get(establishedSessionId);
         assertThat(preparedSession, is(notNullValue()));
     }
 
-    private ServiceInstance validServiceInstance() {
-        ServiceInstance validService = mock(ServiceInstance.class);
-        when(validService.getHost()).thenReturn("gatewayHost");
-        when(validService.isSecure()).thenReturn(true);
-        when(validService.getPort()).thenReturn(1443);
+    private DiscoveryEnabledServer server(String host) {
+        InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
+            .setAppName("api-v1")
+            .setInstanceId(host + ":api-v1:1443")
+            .setHostName(host)
+            .setSecurePort(1443)
+            .enablePort(InstanceInfo.PortType.SECURE, true)
+            .build();
+        DiscoveryEnabledServer server = mock(DiscoveryEnabledServer.class);
+        when(server.getInstanceInfo()).thenReturn(instanceInfo);
+        return server;
+    }
+
+    private ILoadBalancer loadBalancer(String serviceId, Server first, Server... others) {
+        ILoadBalancer loadBalancer = mock(ILoadBalancer.class);
+        when(loadBalancer.getReachableServers()).thenReturn(Arrays.asList(first, others.length > 0 ? others[0] : first));
+        when(loadBalancer.chooseServer(any())).thenReturn(first, others);
+        when(springClientFactory.getLoadBalancer(serviceId)).thenReturn(loadBalancer);
+        return loadBalancer;
+    }
+
+    private WebSocketSession establishedSession(String sessionId) throws Exception {
+        RoutedServices routesForSpecificValidService = mock(RoutedServices.class);
+        when(routesForSpecificValidService.findServiceByGatewayUrl("ws/1"))
+            .thenReturn(new RoutedService("api-v1", "api/v1", "/api-v1/api/v1"));
+        underTest.addRoutedServices("api-v1", routesForSpecificValidService);
+
+        WebSocketSession establishedSession = mock(WebSocketSession.class);
+        when(establishedSession.getId()).thenReturn(sessionId);
+        when(establishedSession.isOpen()).thenReturn(true);
+        when(establishedSession.getUri()).thenReturn(new URI("wss://gatewayHost:1443/gateway/1/api-v1/api/v1"));
+        return establishedSession;
+    }
+
+    /**
+     * Failover
+     *
+     * The first instance chosen by the load balancer refuses the handshake
+     * The second instance is used for the routed session
+     */
+    @Test
+    void givenFirstInstanceFails_whenTheConnectionIsEstablished_thenAnotherInstanceIsUsed() throws Exception {
+        loadBalancer("api-v1", server("host1"), server("host2"));
+        WebSocketRoutedSession routedSession = mock(WebSocketRoutedSession.class);
+        when(webSocketRoutedSessionFactory.session(any(), eq("wss://host1:1443/api-v1/api/v1/api/v1"), any(), any()))
+            .thenThrow(new WebSocketProxyError("Connection refused", null, null));
+        when(webSocketRoutedSessionFactory.session(any(), eq("wss://host2:1443/api-v1/api/v1/api/v1"), any(), any()))
+            .thenReturn(routedSession);
+
+        WebSocketSession establishedSession = establishedSession("failover");
+        underTest.afterConnectionEstablished(establishedSession);
+
+        verify(webSocketRoutedSessionFactory, times(2)).session(any(), any(), any(), any());
+        assertThat(routedSessions.get("failover"), is(routedSession));
+        verify(establishedSession, never()).close(any());
+    }
+
+    /**
+     * Thread reuse
+     *
+     * The load balancer stores data into the Zuul context of the thread
+     * Nothing is left in the context after the session is established
+     */
+    @Test
+    void givenLoadBalancerUsesRequestContext_whenTheConnectionIsEstablished_thenTheContextIsCleared() throws Exception {
+        ILoadBalancer loadBalancer = loadBalancer("api-v1", server("host1"));
+        Server server = server("host1");
+        when(loadBalancer.chooseServer(any())).thenAnswer(invocation -> {
+            RequestContext.getCurrentContext().set("predicateData", "value");
+            return server;
+        });
+        when(webSocketRoutedSessionFactory.session(any(), any(), any(), any())).thenReturn(mock(WebSocketRoutedSession.class));
+
+        underTest.afterConnectionEstablished(establishedSession("context"));
+
+        assertThat(RequestContext.getCurrentContext().containsKey("predicateData"), is(false));
+    }
+
+    /**
+     * Error Path
+     *
+     * The instance rejects the session (invalid credentials)
+     * Other instances are not tried and the WebSocketSession is closed
+     */
+    @Test
+    void givenNotRetryableError_whenTheConnectionIsEstablished_thenOtherInstancesAreNotTried() throws Exception {
+        loadBalancer("api-v1", server("host1"), server("host2"));
+        when(webSocketRoutedSessionFactory.session(any(), any(), any(), any()))
+            .thenThrow(new WebSocketProxyError("Invalid login credentials", null, null, false));
+
+        WebSocketSession establishedSession = establishedSession("unauthorized");
+        underTest.afterConnectionEstablished(establishedSession);
+
+        verify(webSocketRoutedSessionFactory, times(1)).session(any(), any(), any(), any());
+        verify(establishedSession).close(new CloseStatus(CloseStatus.NOT_ACCEPTABLE.getCode(), "Invalid login credentials"));
+    }
+
+    /**
+     * Draining
+     *
+     * The session is routed to an instance, which is later deregistered
+     * Both sessions are closed and the client is asked to reconnect
+     */
+    @Test
+    void givenInstanceIsDeregistered_whenDraining_thenTheSessionIsClosed() throws Exception {
+        loadBalancer("api-v1", server("host1"));
+        WebSocketRoutedSession routedSession = mock(WebSocketRoutedSession.class);
+        when(webSocketRoutedSessionFactory.session(any(), any(), any(), any())).thenReturn(routedSession);
+        WebSocketSession establishedSession = establishedSession("drained");
+        when(routedSession.getWebSocketServerSession()).thenReturn(establishedSession);
+        underTest.afterConnectionEstablished(establishedSession);
+
+        ServiceInstance remainingInstance = mock(ServiceInstance.class);
+        when(remainingInstance.getInstanceId()).thenReturn("host2:api-v1:1443");
+        when(discoveryClient.getInstances("api-v1")).thenReturn(Collections.singletonList(remainingInstance));
+        underTest.drainDeregisteredInstances();
+
+        verify(routedSession).close(CloseStatus.GOING_AWAY);
+        verify(establishedSession).close(new CloseStatus(CloseStatus.SERVICE_RESTARTED.getCode(),
+            "Instance host1:api-v1:1443 of service api-v1 is no longer available"));
+        assertThat(routedSessions.entrySet(), hasSize(0));
+    }
+
+    @Test
+    void givenInstanceIsRegistered_whenDraining_thenTheSessionIsKept() throws Exception {
+        loadBalancer("api-v1", server("host1"));
+        WebSocketRoutedSession routedSession = mock(WebSocketRoutedSession.class);
+        when(webSocketRoutedSessionFactory.session(any(), any(), any(), any())).thenReturn(routedSession);
+        underTest.afterConnectionEstablished(establishedSession("kept"));
+
+        ServiceInstance instance = mock(ServiceInstance.class);
+        when(instance.getInstanceId()).thenReturn("host1:api-v1:1443");
+        when(discoveryClient.getInstances("api-v1")).thenReturn(Collections.singletonList(instance));
+        underTest.drainDeregisteredInstances();
 
-        return validService;
+        verify(routedSession, never()).close(any());
+        assertThat(routedSessions.entrySet(), hasSize(1));
     }
 
     /**
@@ -185,4 +331,31 @@ class WebSocketProxyServerHandlerTest {
 
         verify(internallyStoredSession).sendMessageToServer(passedMessage);
     }
+
+    @Test
+    void givenSessionIsNotAlive_whenReaping_thenTheSessionIsClosed() throws Exception {
+        WebSocketSession establishedSession = mock(WebSocketSession.class);
+        when(establishedSession.isOpen()).thenReturn(true);
+        WebSocketRoutedSession internallyStoredSession = mock(WebSocketRoutedSession.class);
+        when(internallyStoredSession.getWebSocketServerSession()).thenReturn(establishedSession);
+        routedSessions.put("123", internallyStoredSession);
+        when(sessionManager.checkSession(eq(internallyStoredSession), anyLong())).thenReturn("Session was idle for too long");
+
+        underTest.reapSessions();
+
+        verify(internallyStoredSession).close(CloseStatus.GOING_AWAY);
+        verify(establishedSession).close(new CloseStatus(CloseStatus.GOING_AWAY.getCode(), "Session was idle for too long"));
+        assertThat(routedSessions.entrySet(), hasSize(0));
+    }
+
+    @Test
+    void givenSessionIsAlive_whenReaping_thenTheSessionIsKept() throws Exception {
+        WebSocketRoutedSession internallyStoredSession = mock(WebSocketRoutedSession.class);
+        routedSessions.put("123", internallyStoredSession);
+
+        underTest.reapSessions();
+
+        verify(internallyStoredSession, never()).close(any());
+        assertThat(routedSessions.entrySet(), hasSize(1));
+    }
 }
@@ -11,6 +11,9 @@ package org.zowe.apiml.gateway.ws;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.net.InetSocketAddress;
@@ -19,13 +22,17 @@ import java.net.URI;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class WebSocketRoutedSessionTest {
     private WebSocketSession clientSession;
     private WebSocketSession serverSession;
 
+    private WebSocketSessionMetrics metrics;
+
     private WebSocketRoutedSession underTest;
 
     @BeforeEach
@@ -33,7 +40,9 @@ class WebSocketRoutedSessionTest {
         clientSession = mock(WebSocketSession.class);
         serverSession = mock(WebSocketSession.class);
 
-        underTest = new WebSocketRoutedSession(serverSession, clientSession);
+        metrics = new WebSocketSessionMetrics(new WebSocketServiceMetrics());
+
+        underTest = new WebSocketRoutedSession(serverSession, clientSession, metrics);
     }
 
     @Test
@@ -65,4 +74,23 @@ class WebSocketRoutedSessionTest {
         when(clientSession.getUri()).thenReturn(null);
         assertThat(underTest.getClientUri(), is(nullValue()));
     }
+
+    @Test
+    void givenMessage_whenSentToServer_thenItIsCounted() throws Exception {
+        WebSocketMessage<String> message = new TextMessage("hello");
+
+        underTest.sendMessageToServer(message);
+
+        verify(clientSession).sendMessage(message);
+        assertThat(metrics.getMessagesToService(), is(1L));
+        assertThat(metrics.getBytesToService(), is(5L));
+    }
+
+    @Test
+    void givenSession_whenPinged_thenThePingIsPending() throws Exception {
+        underTest.ping(1000L);
+
+        verify(clientSession).sendMessage(any(PingMessage.class));
+        assertThat(metrics.getPendingPingTimestamp(), is(1000L));
+    }
 }
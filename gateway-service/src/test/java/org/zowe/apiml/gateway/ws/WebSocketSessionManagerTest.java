@@ -0,0 +1,125 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.gateway.ws;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WebSocketSessionManagerTest {
+
+    private WebSocketSession clientSession;
+    private WebSocketSessionMetrics metrics;
+    private WebSocketRoutedSession routedSession;
+
+    @BeforeEach
+    void setUp() {
+        clientSession = mock(WebSocketSession.class);
+        metrics = new WebSocketSessionMetrics(new WebSocketServiceMetrics());
+        routedSession = new WebSocketRoutedSession(mock(WebSocketSession.class), clientSession, metrics);
+    }
+
+    @Test
+    void givenNewSession_whenChecked_thenItIsAlive() {
+        WebSocketSessionManager underTest = new WebSocketSessionManager(10000, 60000, 60000, 30000, 10000);
+
+        assertThat(underTest.checkSession(routedSession, System.currentTimeMillis()), is(nullValue()));
+    }
+
+    @Test
+    void givenOldSession_whenChecked_thenMaxLifetimeIsExceeded() {
+        WebSocketSessionManager underTest = new WebSocketSessionManager(10000, 0, 60000, 0, 0);
+
+        long now = metrics.getCreatedTimestamp() + 60001;
+        assertThat(underTest.checkSession(routedSession, now), is("Session exceeded the maximum lifetime"));
+    }
+
+    @Test
+    void givenIdleSession_whenChecked_thenIdleTimeoutIsExceeded() {
+        WebSocketSessionManager underTest = new WebSocketSessionManager(10000, 60000, 0, 0, 0);
+
+        long now = metrics.getLastActivityTimestamp() + 60001;
+        assertThat(underTest.checkSession(routedSession, now), is("Session was idle for too long"));
+    }
+
+    @Test
+    void givenNoResponseFromService_whenChecked_thenPingIsSent() throws IOException {
+        WebSocketSessionManager underTest = new WebSocketSessionManager(10000, 0, 0, 30000, 10000);
+
+        long now = metrics.getLastServiceResponseTimestamp() + 30000;
+        assertThat(underTest.checkSession(routedSession, now), is(nullValue()));
+        verify(clientSession).sendMessage(any(PingMessage.class));
+        assertThat(metrics.getPendingPingTimestamp(), is(now));
+    }
+
+    @Test
+    void givenUnansweredPing_whenChecked_thenSessionIsNotAlive() {
+        WebSocketSessionManager underTest = new WebSocketSessionManager(10000, 0, 0, 30000, 10000);
+
+        metrics.pingSent(1000);
+        assertThat(underTest.checkSession(routedSession, 11001), is("Service did not respond to the ping"));
+    }
+
+    @Test
+    void givenAnsweredPing_whenChecked_thenSessionIsAlive() throws Exception {
+        WebSocketSessionManager underTest = new WebSocketSessionManager(10000, 0, 0, 30000, 10000);
+
+        metrics.pingSent(1000);
+        new WebSocketProxyClientHandler(mock(WebSocketSession.class), metrics).handleMessage(clientSession, new PongMessage());
+        assertThat(underTest.checkSession(routedSession, System.currentTimeMillis()), is(nullValue()));
+    }
+
+    @Test
+    void givenFailingPing_whenChecked_thenSessionIsNotAlive() throws IOException {
+        WebSocketSessionManager underTest = new WebSocketSessionManager(10000, 0, 0, 30000, 10000);
+        doThrow(new IOException("broken pipe")).when(clientSession).sendMessage(any());
+
+        long now = metrics.getLastServiceResponseTimestamp() + 30000;
+        assertThat(underTest.checkSession(routedSession, now), is("Service is not reachable"));
+    }
+
+    @Test
+    void givenPingOfGateway_whenPongForwarded_thenPongIsNotForwarded() throws Exception {
+        WebSocketSession serverSession = mock(WebSocketSession.class);
+        WebSocketProxyClientHandler handler = new WebSocketProxyClientHandler(serverSession, metrics);
+
+        metrics.pingSent(1000);
+        handler.handleMessage(clientSession, new TextMessage("abc"));
+        handler.handleMessage(clientSession, new PongMessage());
+
+        verify(serverSession, times(1)).sendMessage(any());
+        assertThat(metrics.getMessagesToClient(), is(1L));
+        assertThat(metrics.getBytesToClient(), is(3L));
+    }
+
+    @Test
+    void givenAnsweredPing_whenAnotherPong_thenPongReachesClient() throws Exception {
+        WebSocketSession serverSession = mock(WebSocketSession.class);
+        WebSocketProxyClientHandler handler = new WebSocketProxyClientHandler(serverSession, metrics);
+
+        metrics.pingSent(1000);
+        handler.handleMessage(clientSession, new PongMessage());
+        handler.handleMessage(clientSession, new PongMessage());
+
+        verify(serverSession, times(1)).sendMessage(any(PongMessage.class));
+    }
+
+}
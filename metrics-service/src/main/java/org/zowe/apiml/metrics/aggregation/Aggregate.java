@@ -0,0 +1,82 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sum of the samples of one or more {@link RollingWindow}s. The percentiles of the Gateway instances cannot be merged
+ * exactly, the aggregate uses their average weighted by the count of requests.
+ */
+class Aggregate {
+
+    private long requests;
+    private long errors;
+    private double totalTime;
+    private double max;
+    private double requestRate;
+    private int instances;
+
+    private final double[] weightedPercentiles;
+    private final long[] percentileWeights;
+
+    Aggregate(int percentileCount) {
+        weightedPercentiles = new double[percentileCount];
+        percentileWeights = new long[percentileCount];
+    }
+
+    void add(long count, long errorCount, double time, double maxTime, double[] percentiles) {
+        requests += count;
+        errors += errorCount;
+        totalTime += time;
+        max = Math.max(max, maxTime);
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < weightedPercentiles.length; i++) {
+            if (!Double.isNaN(percentiles[i])) {
+                weightedPercentiles[i] += percentiles[i] * count;
+                percentileWeights[i] += count;
+            }
+        }
+    }
+
+    void addRate(double rate) {
+        requestRate += rate;
+        instances++;
+    }
+
+    ServiceMetrics toServiceMetrics(String serviceId, String instanceId, long windowSeconds, String[] percentileNames) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (int i = 0; i < percentileNames.length; i++) {
+            percentiles.put(percentileNames[i], (percentileWeights[i] == 0) ? 0 : toMillis(weightedPercentiles[i] / percentileWeights[i]));
+        }
+
+        return ServiceMetrics.builder()
+            .serviceId(serviceId)
+            .instanceId(instanceId)
+            .windowSeconds(windowSeconds)
+            .instances(instances)
+            .requests(requests)
+            .errors(errors)
+            .requestRate(requestRate)
+            .errorRate((requests == 0) ? 0 : (double) errors / requests)
+            .meanLatency((requests == 0) ? 0 : toMillis(totalTime / requests))
+            .maxLatency(toMillis(max))
+            .percentiles(percentiles)
+            .build();
+    }
+
+    private static double toMillis(double seconds) {
+        return seconds * 1000;
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Configuration of the aggregation of the metrics from the Gateway instances
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(value = "apiml.metrics.aggregation.enabled", havingValue = "true", matchIfMissing = true)
+public class AggregationConfig {
+
+    @Bean
+    public MetricsStore metricsStore(
+        @Value("${apiml.metrics.retentionSeconds:900}") long retentionSeconds,
+        @Value("${apiml.metrics.pollIntervalMillis:15000}") long pollIntervalMillis,
+        @Value("${apiml.metrics.maxServices:200}") int maxServices
+    ) {
+        return new MetricsStore(retentionSeconds * 1000, pollIntervalMillis, maxServices);
+    }
+
+    @Bean
+    public MetricsCollector metricsCollector(
+        DiscoveryClient discoveryClient,
+        RestTemplate restTemplate,
+        MetricsStore metricsStore,
+        @Value("${apiml.metrics.gatewayServiceId:gateway}") String gatewayServiceId
+    ) {
+        return new MetricsCollector(discoveryClient, restTemplate, metricsStore, gatewayServiceId);
+    }
+
+}
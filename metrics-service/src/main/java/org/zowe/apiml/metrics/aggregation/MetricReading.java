@@ -0,0 +1,28 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import lombok.Value;
+
+/**
+ * Cumulative values of a service read from one Gateway instance. Counters grow since the start of the Gateway, times
+ * are in seconds. The percentiles are in the order of {@link MetricsStore#PERCENTILES}.
+ */
+@Value
+public class MetricReading {
+
+    private long timestamp;
+    private long count;
+    private long errors;
+    private double totalTime;
+    private double max;
+    private double[] percentiles;
+
+}
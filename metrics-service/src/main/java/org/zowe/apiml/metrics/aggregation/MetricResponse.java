@@ -0,0 +1,83 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Response of the metrics actuator endpoint ({@code /application/metrics/{name}}) of the Gateway
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MetricResponse {
+
+    private String name;
+    private List<Measurement> measurements;
+    private List<AvailableTag> availableTags;
+
+    /**
+     * @return value of the statistic (ie. COUNT, TOTAL_TIME, MAX, VALUE) or zero if it is missing
+     */
+    public double getMeasurement(String statistic) {
+        if (measurements != null) {
+            for (Measurement measurement : measurements) {
+                if (statistic.equals(measurement.getStatistic())) {
+                    return measurement.getValue();
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return values of the tag available for a drill down, or an empty list
+     */
+    public List<String> getTagValues(String tag) {
+        if (availableTags != null) {
+            for (AvailableTag availableTag : availableTags) {
+                if (tag.equals(availableTag.getTag()) && (availableTag.getValues() != null)) {
+                    return availableTag.getValues();
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Measurement {
+
+        private String statistic;
+        private double value;
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class AvailableTag {
+
+        private String tag;
+        private List<String> values;
+
+    }
+
+}
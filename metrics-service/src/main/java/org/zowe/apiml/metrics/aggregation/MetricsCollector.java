@@ -0,0 +1,138 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Periodically reads the request metrics of all Gateway instances registered in the Discovery Service and stores
+ * them into the {@link MetricsStore}. The Gateway measures each routed request, so its metrics endpoint provides
+ * the count, the errors, the latency and its percentiles of every service. The instances are called one by one with
+ * the client certificate of the service.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MetricsCollector {
+
+    static final String METRICS_PATH = "/application/metrics/{name}";
+    static final String REQUEST_METRIC = "apiml.gateway.request";
+    static final String PERCENTILE_METRIC = "apiml.gateway.request.percentile";
+    static final String ERROR_METRIC = "apiml.gateway.request.errors";
+    static final String SERVICE_ID_TAG = "serviceId";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestTemplate restTemplate;
+    private final MetricsStore metricsStore;
+    private final String gatewayServiceId;
+
+    @Scheduled(
+        initialDelayString = "${apiml.metrics.pollIntervalMillis:15000}",
+        fixedDelayString = "${apiml.metrics.pollIntervalMillis:15000}")
+    public void collect() {
+        List<ServiceInstance> gateways = discoveryClient.getInstances(gatewayServiceId);
+        Set<String> instanceIds = new HashSet<>();
+        for (ServiceInstance gateway : gateways) {
+            String instanceId = getInstanceId(gateway);
+            instanceIds.add(instanceId);
+            try {
+                collect(gateway.getUri(), instanceId);
+            } catch (RestClientException e) {
+                log.debug("Metrics of the Gateway instance {} are not available: {}", instanceId, e.getMessage());
+            }
+        }
+
+        metricsStore.retainInstances(instanceIds);
+        metricsStore.evictStale(System.currentTimeMillis());
+    }
+
+    void collect(URI gatewayUri, String instanceId) {
+        MetricResponse requests = fetch(gatewayUri, REQUEST_METRIC);
+        if (requests == null) {
+            log.debug("The Gateway instance {} has not processed any request yet", instanceId);
+            return;
+        }
+
+        for (String serviceId : requests.getTagValues(SERVICE_ID_TAG)) {
+            String serviceTag = SERVICE_ID_TAG + ":" + serviceId;
+            MetricResponse timer = fetch(gatewayUri, REQUEST_METRIC, serviceTag);
+            if (timer == null) {
+                continue;
+            }
+            MetricResponse errors = fetch(gatewayUri, ERROR_METRIC, serviceTag);
+
+            double[] percentiles = new double[MetricsStore.PERCENTILES.length];
+            for (int i = 0; i < percentiles.length; i++) {
+                MetricResponse percentile = fetch(gatewayUri, PERCENTILE_METRIC, serviceTag, "phi:" + toTag(MetricsStore.PERCENTILES[i]));
+                percentiles[i] = (percentile == null) ? Double.NaN : percentile.getMeasurement("VALUE");
+            }
+
+            metricsStore.record(serviceId, instanceId, new MetricReading(
+                System.currentTimeMillis(),
+                (long) timer.getMeasurement("COUNT"),
+                (errors == null) ? 0 : (long) errors.getMeasurement("COUNT"),
+                timer.getMeasurement("TOTAL_TIME"),
+                timer.getMeasurement("MAX"),
+                percentiles
+            ));
+        }
+    }
+
+    /**
+     * @return the metric, or null if the Gateway instance doesn't have it (yet)
+     */
+    private MetricResponse fetch(URI gatewayUri, String name, String... tags) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(gatewayUri).path(METRICS_PATH);
+        if (tags.length > 0) {
+            builder.queryParam("tag", (Object[]) tags);
+        }
+        URI uri = builder
+            .buildAndExpand(name)
+            .encode()
+            .toUri();
+        try {
+            return restTemplate.getForObject(uri, MetricResponse.class);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private String getInstanceId(ServiceInstance instance) {
+        if (instance.getInstanceId() != null) {
+            return instance.getInstanceId();
+        }
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * Format the percentile as the tag phi of the Gateway metrics (ie. 0.95)
+     */
+    static String toTag(double percentile) {
+        return BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+    }
+
+}
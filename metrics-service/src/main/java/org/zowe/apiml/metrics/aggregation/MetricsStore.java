@@ -0,0 +1,149 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of the metrics of services, per service and per Gateway instance. Each pair has its own
+ * {@link RollingWindow} of a fixed size given by the retention time and the poll interval. The amount of services is
+ * limited, the windows of Gateway instances which disappeared or stopped reporting are removed.
+ */
+@Slf4j
+public class MetricsStore {
+
+    public static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private static final String[] PERCENTILE_NAMES = new String[PERCENTILES.length];
+
+    static {
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            PERCENTILE_NAMES[i] = "p" + BigDecimal.valueOf(PERCENTILES[i]).movePointRight(2).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    private final long retentionMillis;
+    private final int capacity;
+    private final int maxServices;
+
+    private final Map<String, Map<String, RollingWindow>> windows = new ConcurrentHashMap<>();
+
+    public MetricsStore(long retentionMillis, long pollIntervalMillis, int maxServices) {
+        if ((retentionMillis <= 0) || (pollIntervalMillis <= 0)) {
+            throw new IllegalArgumentException("The retention time and the poll interval have to be positive");
+        }
+        this.retentionMillis = retentionMillis;
+        this.capacity = (int) ((retentionMillis + pollIntervalMillis - 1) / pollIntervalMillis) + 1;
+        this.maxServices = maxServices;
+    }
+
+    /**
+     * Store the reading of a service from a Gateway instance. Readings of new services are ignored when the limit of
+     * services is reached.
+     */
+    public void record(String serviceId, String instanceId, MetricReading reading) {
+        Map<String, RollingWindow> instances = windows.get(serviceId);
+        if (instances == null) {
+            if (windows.size() >= maxServices) {
+                log.debug("The limit of {} services is reached, metrics of the service {} are ignored", maxServices, serviceId);
+                return;
+            }
+            instances = windows.computeIfAbsent(serviceId, k -> new ConcurrentHashMap<>());
+        }
+        instances.computeIfAbsent(instanceId, k -> new RollingWindow(capacity, PERCENTILES.length)).add(reading);
+    }
+
+    /**
+     * @return sorted list of services with any metrics
+     */
+    public List<String> getServiceIds() {
+        List<String> serviceIds = new ArrayList<>(windows.keySet());
+        Collections.sort(serviceIds);
+        return serviceIds;
+    }
+
+    /**
+     * Aggregate the metrics of the service from all Gateway instances.
+     *
+     * @param serviceId    the service
+     * @param now          current time in milliseconds
+     * @param windowMillis length of the window, at most the retention time
+     * @return metrics of the service, or empty if there is no sample in the window
+     */
+    public Optional<ServiceMetrics> getServiceMetrics(String serviceId, long now, long windowMillis) {
+        Map<String, RollingWindow> instances = windows.get(serviceId);
+        if (instances == null) {
+            return Optional.empty();
+        }
+
+        long window = toWindow(windowMillis);
+        Aggregate aggregate = new Aggregate(PERCENTILES.length);
+        boolean found = false;
+        for (RollingWindow rollingWindow : instances.values()) {
+            found |= rollingWindow.aggregate(now - window, aggregate);
+        }
+        return found ? Optional.of(aggregate.toServiceMetrics(serviceId, null, window / 1000, PERCENTILE_NAMES)) : Optional.empty();
+    }
+
+    /**
+     * Aggregate the metrics of the service for each Gateway instance separately.
+     *
+     * @param serviceId    the service
+     * @param now          current time in milliseconds
+     * @param windowMillis length of the window, at most the retention time
+     * @return metrics of the service per Gateway instance with any sample in the window, sorted by the instanceId
+     */
+    public List<ServiceMetrics> getInstanceMetrics(String serviceId, long now, long windowMillis) {
+        Map<String, RollingWindow> instances = windows.get(serviceId);
+        if (instances == null) {
+            return Collections.emptyList();
+        }
+
+        long window = toWindow(windowMillis);
+        List<ServiceMetrics> output = new ArrayList<>();
+        for (Map.Entry<String, RollingWindow> entry : new TreeMap<>(instances).entrySet()) {
+            Aggregate aggregate = new Aggregate(PERCENTILES.length);
+            if (entry.getValue().aggregate(now - window, aggregate)) {
+                output.add(aggregate.toServiceMetrics(serviceId, entry.getKey(), window / 1000, PERCENTILE_NAMES));
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Remove the windows of Gateway instances which are not registered anymore
+     */
+    public void retainInstances(Collection<String> instanceIds) {
+        for (Map<String, RollingWindow> instances : windows.values()) {
+            instances.keySet().retainAll(instanceIds);
+        }
+        windows.values().removeIf(Map::isEmpty);
+    }
+
+    /**
+     * Remove the windows without any reading within the retention time
+     */
+    public void evictStale(long now) {
+        long limit = now - retentionMillis;
+        for (Map<String, RollingWindow> instances : windows.values()) {
+            instances.values().removeIf(rollingWindow -> rollingWindow.getLastTimestamp() < limit);
+        }
+        windows.values().removeIf(Map::isEmpty);
+    }
+
+    private long toWindow(long windowMillis) {
+        return Math.max(1000, Math.min(windowMillis, retentionMillis));
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+/**
+ * Ring buffer of the samples of a service from one Gateway instance. Each sample holds the difference of the counters
+ * against the previous reading, the buffer keeps only as many samples as fit into the retention time. The first
+ * reading only sets the base for the differences, a drop of the counters means a restart of the Gateway.
+ */
+class RollingWindow {
+
+    private final int capacity;
+    private final long[] timestamps;
+    private final long[] intervals;
+    private final long[] counts;
+    private final long[] errors;
+    private final double[] totalTimes;
+    private final double[] maxes;
+    private final double[][] percentiles;
+
+    private int next;
+    private int size;
+    private MetricReading last;
+
+    RollingWindow(int capacity, int percentileCount) {
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.intervals = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.totalTimes = new double[capacity];
+        this.maxes = new double[capacity];
+        this.percentiles = new double[capacity][percentileCount];
+    }
+
+    synchronized void add(MetricReading reading) {
+        MetricReading previous = last;
+        if ((previous != null) && (reading.getTimestamp() <= previous.getTimestamp())) {
+            return;
+        }
+        last = reading;
+        if (previous == null) {
+            return;
+        }
+
+        boolean restarted = reading.getCount() < previous.getCount();
+        int index = next;
+        timestamps[index] = reading.getTimestamp();
+        intervals[index] = reading.getTimestamp() - previous.getTimestamp();
+        counts[index] = restarted ? reading.getCount() : reading.getCount() - previous.getCount();
+        errors[index] = restarted ? reading.getErrors() : Math.max(0, reading.getErrors() - previous.getErrors());
+        totalTimes[index] = restarted ? reading.getTotalTime() : Math.max(0, reading.getTotalTime() - previous.getTotalTime());
+        maxes[index] = reading.getMax();
+
+        double[] row = percentiles[index];
+        double[] values = reading.getPercentiles();
+        for (int i = 0; i < row.length; i++) {
+            row[i] = ((values != null) && (i < values.length)) ? values[i] : Double.NaN;
+        }
+
+        next = (index + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+    }
+
+    /**
+     * Add the samples newer than the given time into the aggregate.
+     *
+     * @return true if any sample was added
+     */
+    synchronized boolean aggregate(long since, Aggregate aggregate) {
+        long interval = 0;
+        long requests = 0;
+        for (int i = 0; i < size; i++) {
+            int index = (next - 1 - i + capacity) % capacity;
+            if (timestamps[index] <= since) {
+                break;
+            }
+            interval += intervals[index];
+            requests += counts[index];
+            aggregate.add(counts[index], errors[index], totalTimes[index], maxes[index], percentiles[index]);
+        }
+        if (interval == 0) {
+            return false;
+        }
+        aggregate.addRate(requests * 1000.0 / interval);
+        return true;
+    }
+
+    synchronized long getLastTimestamp() {
+        return (last == null) ? 0 : last.getTimestamp();
+    }
+
+}
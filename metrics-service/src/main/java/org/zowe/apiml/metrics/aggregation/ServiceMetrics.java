@@ -0,0 +1,38 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Aggregated metrics of a service over a time window. It covers all Gateway instances, or only one of them if the
+ * instanceId is set. Times are in milliseconds, the request rate is per second and the error rate is a ratio of the
+ * requests.
+ */
+@Value
+@Builder
+public class ServiceMetrics {
+
+    private String serviceId;
+    private String instanceId;
+    private long windowSeconds;
+    private int instances;
+    private long requests;
+    private long errors;
+    private double requestRate;
+    private double errorRate;
+    private double meanLatency;
+    private double maxLatency;
+    private Map<String, Double> percentiles;
+
+}
@@ -0,0 +1,92 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.controllers;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.Authorization;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.zowe.apiml.metrics.aggregation.MetricsStore;
+import org.zowe.apiml.metrics.aggregation.ServiceMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queries of the request rates, error rates and latency percentiles of services aggregated from all Gateway instances
+ */
+@RestController
+@RequestMapping("/api/v1/services")
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "apiml.metrics.aggregation.enabled", havingValue = "true", matchIfMissing = true)
+@Api(tags = {"Metrics"})
+public class ServiceMetricsController {
+
+    private static final String DEFAULT_WINDOW_SECONDS = "300";
+
+    private final MetricsStore metricsStore;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Lists metrics of all services",
+        notes = "Returns request rates, error rates and latency percentiles of each service routed by the Gateway",
+        authorizations = {
+            @Authorization("LoginBasicAuth"), @Authorization("CookieAuth")
+        }
+    )
+    public List<ServiceMetrics> getAllServiceMetrics(
+        @ApiParam(value = "Length of the time window in seconds")
+        @RequestParam(value = "window", defaultValue = DEFAULT_WINDOW_SECONDS) long window
+    ) {
+        long now = System.currentTimeMillis();
+        List<ServiceMetrics> output = new ArrayList<>();
+        for (String serviceId : metricsStore.getServiceIds()) {
+            metricsStore.getServiceMetrics(serviceId, now, window * 1000).ifPresent(output::add);
+        }
+        return output;
+    }
+
+    @GetMapping(value = "/{serviceId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Retrieves metrics of the service",
+        notes = "Returns request rate, error rate and latency percentiles of the service aggregated from all Gateway instances",
+        authorizations = {
+            @Authorization("LoginBasicAuth"), @Authorization("CookieAuth")
+        }
+    )
+    public ResponseEntity<ServiceMetrics> getServiceMetrics(
+        @PathVariable("serviceId") String serviceId,
+        @ApiParam(value = "Length of the time window in seconds")
+        @RequestParam(value = "window", defaultValue = DEFAULT_WINDOW_SECONDS) long window
+    ) {
+        return metricsStore.getServiceMetrics(serviceId, System.currentTimeMillis(), window * 1000)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{serviceId}/instances", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Retrieves metrics of the service per Gateway instance",
+        notes = "Returns request rate, error rate and latency percentiles of the service from each Gateway instance",
+        authorizations = {
+            @Authorization("LoginBasicAuth"), @Authorization("CookieAuth")
+        }
+    )
+    public List<ServiceMetrics> getInstanceMetrics(
+        @PathVariable("serviceId") String serviceId,
+        @ApiParam(value = "Length of the time window in seconds")
+        @RequestParam(value = "window", defaultValue = DEFAULT_WINDOW_SECONDS) long window
+    ) {
+        return metricsStore.getInstanceMetrics(serviceId, System.currentTimeMillis(), window * 1000);
+    }
+
+}
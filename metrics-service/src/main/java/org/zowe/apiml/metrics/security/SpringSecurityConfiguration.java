@@ -110,7 +110,8 @@ public class SpringSecurityConfiguration extends WebSecurityConfigurerAdapter {
             .addFilterBefore(basicFilter(), UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(cookieFilter(), UsernamePasswordAuthenticationFilter.class)
             .authorizeRequests()
-            .antMatchers("/application/health", "/application/info").permitAll();
+            .antMatchers("/application/health", "/application/info").permitAll()
+            .antMatchers("/api/v1/services/**").authenticated();
     }
 
     private LoginFilter loginFilter(String loginEndpoint) throws Exception {
@@ -0,0 +1,109 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MetricsCollectorTest {
+
+    private static final String GATEWAY_URL = "https://gateway:10010";
+
+    private DiscoveryClient discoveryClient;
+    private RestTemplate restTemplate;
+    private MetricsStore metricsStore;
+    private MetricsCollector underTest;
+
+    @BeforeEach
+    void setUp() {
+        discoveryClient = mock(DiscoveryClient.class);
+        restTemplate = mock(RestTemplate.class);
+        metricsStore = spy(new MetricsStore(60_000, 10_000, 10));
+        underTest = new MetricsCollector(discoveryClient, restTemplate, metricsStore, "gateway");
+
+        when(discoveryClient.getInstances("gateway")).thenReturn(Collections.singletonList(
+            new DefaultServiceInstance("gateway1", "gateway", "gateway", 10010, true)
+        ));
+    }
+
+    private void mockMetric(String query, MetricResponse response) {
+        doReturn(response).when(restTemplate)
+            .getForObject(argThat((URI uri) -> (uri != null) && uri.toString().equals(GATEWAY_URL + query)), eq(MetricResponse.class));
+    }
+
+    private MetricResponse measurements(MetricResponse.Measurement... measurements) {
+        return new MetricResponse("metric", Arrays.asList(measurements), Collections.emptyList());
+    }
+
+    @Test
+    void givenGatewayWithServices_whenCollect_thenRecordReadings() {
+        doThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND)).when(restTemplate)
+            .getForObject(any(URI.class), eq(MetricResponse.class));
+        mockMetric("/application/metrics/apiml.gateway.request", new MetricResponse("apiml.gateway.request",
+            Collections.emptyList(),
+            Collections.singletonList(new MetricResponse.AvailableTag("serviceId", Collections.singletonList("service")))
+        ));
+        mockMetric("/application/metrics/apiml.gateway.request?tag=serviceId:service", measurements(
+            new MetricResponse.Measurement("COUNT", 10),
+            new MetricResponse.Measurement("TOTAL_TIME", 2.5),
+            new MetricResponse.Measurement("MAX", 0.7)
+        ));
+        mockMetric("/application/metrics/apiml.gateway.request.errors?tag=serviceId:service", measurements(
+            new MetricResponse.Measurement("COUNT", 3)
+        ));
+        mockMetric("/application/metrics/apiml.gateway.request.percentile?tag=serviceId:service&tag=phi:0.95", measurements(
+            new MetricResponse.Measurement("VALUE", 0.4)
+        ));
+
+        underTest.collect();
+
+        verify(metricsStore).record(eq("service"), eq("gateway1"), argThat(reading ->
+            (reading.getCount() == 10) && (reading.getErrors() == 3) && (reading.getTotalTime() == 2.5) &&
+            (reading.getMax() == 0.7) && Double.isNaN(reading.getPercentiles()[0]) && (reading.getPercentiles()[1] == 0.4)
+        ));
+        assertEquals(Collections.singletonList("service"), metricsStore.getServiceIds());
+    }
+
+    @Test
+    void givenUnavailableGateway_whenCollect_thenRemoveItsMetrics() {
+        metricsStore.record("service", "gateway2", new MetricReading(System.currentTimeMillis(), 0, 0, 0, 0, null));
+        doThrow(new ResourceAccessException("Connection refused")).when(restTemplate)
+            .getForObject(any(URI.class), eq(MetricResponse.class));
+
+        underTest.collect();
+
+        verify(metricsStore, never()).record(any(), eq("gateway1"), any());
+        assertTrue(metricsStore.getServiceIds().isEmpty());
+    }
+
+    @Test
+    void givenPercentile_whenFormatTag_thenSameAsGateway() {
+        assertEquals("0.5", MetricsCollector.toTag(0.5));
+        assertEquals("0.95", MetricsCollector.toTag(0.95));
+        assertEquals("0.99", MetricsCollector.toTag(0.99));
+    }
+
+}
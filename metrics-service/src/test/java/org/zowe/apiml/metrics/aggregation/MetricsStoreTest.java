@@ -0,0 +1,133 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.metrics.aggregation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsStoreTest {
+
+    private static final long POLL_INTERVAL = 10_000;
+
+    private MetricsStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MetricsStore(60_000, POLL_INTERVAL, 2);
+    }
+
+    private MetricReading reading(long time, long count, long errors, double totalTime, double... percentiles) {
+        return new MetricReading(time, count, errors, totalTime, 0.5, percentiles);
+    }
+
+    @Test
+    void givenFirstReading_whenQuery_thenNoMetrics() {
+        store.record("service", "gateway1", reading(10_000, 100, 0, 10));
+
+        assertFalse(store.getServiceMetrics("service", 10_000, 60_000).isPresent());
+        assertEquals(Collections.singletonList("service"), store.getServiceIds());
+    }
+
+    @Test
+    void givenReadings_whenQuery_thenComputeDifferences() {
+        store.record("service", "gateway1", reading(10_000, 100, 1, 10, 0.1, 0.2, 0.3));
+        store.record("service", "gateway1", reading(20_000, 300, 3, 30, 0.1, 0.2, 0.3));
+        store.record("service", "gateway1", reading(30_000, 400, 3, 40, 0.3, 0.4, 0.5));
+
+        ServiceMetrics metrics = store.getServiceMetrics("service", 30_000, 60_000).orElseThrow(AssertionError::new);
+        assertEquals(300, metrics.getRequests());
+        assertEquals(2, metrics.getErrors());
+        assertEquals(15.0, metrics.getRequestRate(), 0.0001);
+        assertEquals(2.0 / 300, metrics.getErrorRate(), 0.0001);
+        assertEquals(100.0, metrics.getMeanLatency(), 0.0001);
+        assertEquals(500.0, metrics.getMaxLatency(), 0.0001);
+        assertEquals(60, metrics.getWindowSeconds());
+        assertEquals(1, metrics.getInstances());
+        // weighted by the count of requests: (0.1 * 200 + 0.3 * 100) / 300
+        assertEquals(166.6667, metrics.getPercentiles().get("p50"), 0.001);
+        assertEquals(266.6667, metrics.getPercentiles().get("p95"), 0.001);
+        assertEquals(366.6667, metrics.getPercentiles().get("p99"), 0.001);
+
+        ServiceMetrics lastWindow = store.getServiceMetrics("service", 30_000, 10_000).orElseThrow(AssertionError::new);
+        assertEquals(100, lastWindow.getRequests());
+        assertEquals(10.0, lastWindow.getRequestRate(), 0.0001);
+    }
+
+    @Test
+    void givenRestartOfGateway_whenQuery_thenUseNewCounters() {
+        store.record("service", "gateway1", reading(10_000, 1000, 0, 100));
+        store.record("service", "gateway1", reading(20_000, 50, 0, 5));
+
+        assertEquals(50, store.getServiceMetrics("service", 20_000, 60_000).orElseThrow(AssertionError::new).getRequests());
+    }
+
+    @Test
+    void givenMoreGateways_whenQuery_thenMergeAndSplitByInstance() {
+        store.record("service", "gateway1", reading(10_000, 0, 0, 0));
+        store.record("service", "gateway1", reading(20_000, 100, 0, 10));
+        store.record("service", "gateway2", reading(10_000, 0, 0, 0));
+        store.record("service", "gateway2", reading(20_000, 300, 30, 30));
+
+        ServiceMetrics metrics = store.getServiceMetrics("service", 20_000, 60_000).orElseThrow(AssertionError::new);
+        assertEquals(400, metrics.getRequests());
+        assertEquals(40.0, metrics.getRequestRate(), 0.0001);
+        assertEquals(2, metrics.getInstances());
+
+        List<ServiceMetrics> instances = store.getInstanceMetrics("service", 20_000, 60_000);
+        assertEquals(2, instances.size());
+        assertEquals("gateway1", instances.get(0).getInstanceId());
+        assertEquals(100, instances.get(0).getRequests());
+        assertEquals("gateway2", instances.get(1).getInstanceId());
+        assertEquals(0.1, instances.get(1).getErrorRate(), 0.0001);
+    }
+
+    @Test
+    void givenManyReadings_whenQuery_thenOnlyRetentionIsKept() {
+        for (int i = 0; i <= 100; i++) {
+            store.record("service", "gateway1", reading(i * POLL_INTERVAL, i * 10L, 0, i));
+        }
+
+        ServiceMetrics metrics = store.getServiceMetrics("service", 100 * POLL_INTERVAL, Long.MAX_VALUE).orElseThrow(AssertionError::new);
+        assertEquals(60, metrics.getWindowSeconds());
+        assertEquals(60, metrics.getRequests());
+    }
+
+    @Test
+    void givenLimitOfServices_whenRecordNewService_thenIgnore() {
+        store.record("service1", "gateway1", reading(10_000, 0, 0, 0));
+        store.record("service2", "gateway1", reading(10_000, 0, 0, 0));
+        store.record("service3", "gateway1", reading(10_000, 0, 0, 0));
+
+        assertEquals(2, store.getServiceIds().size());
+        assertFalse(store.getServiceIds().contains("service3"));
+    }
+
+    @Test
+    void givenRemovedOrStaleGateway_whenEvicted_thenRemoveMetrics() {
+        store.record("service1", "gateway1", reading(10_000, 0, 0, 0));
+        store.record("service2", "gateway2", reading(100_000, 0, 0, 0));
+        store.record("service2", "gateway3", reading(100_000, 0, 0, 0));
+
+        store.evictStale(100_000);
+        assertEquals(Collections.singletonList("service2"), store.getServiceIds());
+
+        store.retainInstances(Collections.singleton("gateway3"));
+        assertEquals(Collections.singletonList("service2"), store.getServiceIds());
+
+        store.retainInstances(Collections.emptySet());
+        assertTrue(store.getServiceIds().isEmpty());
+    }
+
+}
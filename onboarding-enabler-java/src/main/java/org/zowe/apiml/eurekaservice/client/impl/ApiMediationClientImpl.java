@@ -23,12 +23,12 @@ import org.zowe.apiml.eurekaservice.client.EurekaClientConfigProvider;
 import org.zowe.apiml.eurekaservice.client.EurekaClientProvider;
 import org.zowe.apiml.eurekaservice.client.config.ApiMediationServiceConfig;
 import org.zowe.apiml.eurekaservice.client.config.Ssl;
+import org.zowe.apiml.eurekaservice.client.util.ApiMediationServiceConfigReader;
 import org.zowe.apiml.eurekaservice.client.util.EurekaInstanceConfigCreator;
 import org.zowe.apiml.exception.ServiceDefinitionException;
 import org.zowe.apiml.security.HttpsConfig;
 import org.zowe.apiml.security.HttpsFactory;
 
-
 /**
  * Implements {@link ApiMediationClient} interface methods for registering and unregistering REST service with
  * API Mediation Layer Discovery service. Registration method creates an instance of {@link com.netflix.discovery.EurekaClient}, which is
@@ -49,6 +49,13 @@ public class ApiMediationClientImpl implements ApiMediationClient {
 
     private EurekaClient eurekaClient;
 
+    /**
+     * Configuration of the last registration and the instance configuration created from it. A repeated registration
+     * with an equal configuration, e.g. after unregister or after a failed attempt, skips the validation.
+     */
+    private ApiMediationServiceConfig validatedConfig;
+    private EurekaInstanceConfig validatedInstanceConfig;
+
     public ApiMediationClientImpl() {
         this(new DiscoveryClientProvider());
     }
@@ -99,7 +106,9 @@ public class ApiMediationClientImpl implements ApiMediationClient {
         }
 
         EurekaClientConfig clientConfiguration = eurekaClientConfigProvider.config(config);
-        ApplicationInfoManager infoManager = initializeApplicationInfoManager(config);
+        EurekaInstanceConfig eurekaInstanceConfig = getEurekaInstanceConfig(config);
+        rememberValidatedConfig(config, eurekaInstanceConfig);
+        ApplicationInfoManager infoManager = initializeApplicationInfoManager(eurekaInstanceConfig);
         defaultCustomMetadataHelper.update(config);
         eurekaClient = initializeEurekaClient(infoManager, clientConfiguration, config);
     }
@@ -160,8 +169,23 @@ public class ApiMediationClientImpl implements ApiMediationClient {
         return this.eurekaClientProvider.client(applicationInfoManager, clientConfig, args);
     }
 
-    private ApplicationInfoManager initializeApplicationInfoManager(ApiMediationServiceConfig config) throws ServiceDefinitionException {
-        EurekaInstanceConfig eurekaInstanceConfig = eurekaInstanceConfigCreator.createEurekaInstanceConfig(config);
+    private EurekaInstanceConfig getEurekaInstanceConfig(ApiMediationServiceConfig config) throws ServiceDefinitionException {
+        if ((validatedConfig != null) && validatedConfig.equals(config)) {
+            return validatedInstanceConfig;
+        }
+        return eurekaInstanceConfigCreator.createEurekaInstanceConfig(config);
+    }
+
+    /**
+     * Remember a copy of the configuration as provided by the caller, the registration updates it afterwards
+     * (ie. custom metadata).
+     */
+    private void rememberValidatedConfig(ApiMediationServiceConfig config, EurekaInstanceConfig eurekaInstanceConfig) {
+        validatedConfig = ApiMediationServiceConfigReader.copyOf(config);
+        validatedInstanceConfig = eurekaInstanceConfig;
+    }
+
+    private ApplicationInfoManager initializeApplicationInfoManager(EurekaInstanceConfig eurekaInstanceConfig) {
         InstanceInfo instanceInformation = new EurekaConfigBasedInstanceInfoProvider(eurekaInstanceConfig).get();
         return new ApplicationInfoManager(eurekaInstanceConfig, instanceInformation);
     }
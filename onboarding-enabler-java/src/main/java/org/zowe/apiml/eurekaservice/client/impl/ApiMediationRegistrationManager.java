@@ -0,0 +1,255 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.eurekaservice.client.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.zowe.apiml.eurekaservice.client.ApiMediationClient;
+import org.zowe.apiml.eurekaservice.client.config.ApiMediationServiceConfig;
+import org.zowe.apiml.exception.MetadataValidationException;
+import org.zowe.apiml.exception.ServiceDefinitionException;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Registers services to the API Mediation Layer without blocking the caller. Each registration is identified by
+ * the service id and uses its own {@link ApiMediationClient}, so several service identities of one application are
+ * registered in parallel.
+ * <p>
+ * The registration runs on the threads of the manager. The Eureka client registers the instance in the background,
+ * so an attempt succeeds once the Discovery Service knows the instance ({@link ApiMediationClient#isRegistered()}),
+ * which is checked until the registration timeout. A failed or timed out attempt is repeated with an exponential
+ * backoff with jitter, up to the configured number of attempts. Invalid configuration
+ * ({@link ServiceDefinitionException} or {@link MetadataValidationException}) is not repeated. The returned future
+ * is completed with the registered client once the registration succeeds. A registration which finally failed is
+ * resumed by the next call of {@link #register(ApiMediationServiceConfig)} with the same service id.
+ */
+@Slf4j
+public class ApiMediationRegistrationManager implements Closeable {
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final long DEFAULT_INITIAL_BACKOFF = 1000;
+    public static final long DEFAULT_MAX_BACKOFF = 30 * 1000L;
+    public static final long DEFAULT_REGISTRATION_TIMEOUT = 3 * 60 * 1000L;
+    public static final long DEFAULT_REGISTRATION_CHECK_INTERVAL = 1000;
+
+    private final Supplier<ApiMediationClient> clientFactory;
+    private final ScheduledExecutorService executor;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final long registrationTimeout;
+    private final long registrationCheckInterval;
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    public ApiMediationRegistrationManager() {
+        this(ApiMediationClientImpl::new, Math.min(4, Runtime.getRuntime().availableProcessors()),
+            DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    public ApiMediationRegistrationManager(
+        Supplier<ApiMediationClient> clientFactory,
+        int threads,
+        int maxAttempts,
+        long initialBackoff,
+        long maxBackoff
+    ) {
+        this(clientFactory, threads, maxAttempts, initialBackoff, maxBackoff,
+            DEFAULT_REGISTRATION_TIMEOUT, DEFAULT_REGISTRATION_CHECK_INTERVAL);
+    }
+
+    public ApiMediationRegistrationManager(
+        Supplier<ApiMediationClient> clientFactory,
+        int threads,
+        int maxAttempts,
+        long initialBackoff,
+        long maxBackoff,
+        long registrationTimeout,
+        long registrationCheckInterval
+    ) {
+        this.clientFactory = clientFactory;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.registrationTimeout = registrationTimeout;
+        this.registrationCheckInterval = Math.max(1, registrationCheckInterval);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "apiml-registration-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the registration of the service. If the service is already registered or the registration is running,
+     * the future of the existing registration is returned.
+     *
+     * @param config configuration of the service
+     * @return future completed with the client once the Discovery Service knows the instance, or exceptionally if
+     * the registration failed
+     */
+    public CompletableFuture<ApiMediationClient> register(ApiMediationServiceConfig config) {
+        Registration registration = registrations.computeIfAbsent(config.getServiceId(), serviceId -> new Registration(clientFactory.get()));
+        return registration.start(config);
+    }
+
+    /**
+     * Stop the registration of the service, pending attempts are cancelled.
+     *
+     * @param serviceId id of the service
+     * @return future completed once the service is unregistered
+     */
+    public CompletableFuture<Void> unregister(String serviceId) {
+        Registration registration = registrations.remove(serviceId);
+        if (registration == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(registration::stop, executor);
+    }
+
+    /**
+     * @param serviceId id of the service
+     * @return the future of the registration of the service, or null if the service wasn't registered
+     */
+    public CompletableFuture<ApiMediationClient> getRegistration(String serviceId) {
+        Registration registration = registrations.get(serviceId);
+        return (registration == null) ? null : registration.getResult();
+    }
+
+    /**
+     * Unregister all services and stop the threads of the manager.
+     */
+    @Override
+    public void close() {
+        List<Registration> active = new ArrayList<>(registrations.values());
+        registrations.clear();
+        active.forEach(Registration::stop);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Delay before the given attempt, a random value up to the exponentially growing backoff ("full jitter")
+     */
+    long backoff(int attempt) {
+        long limit = initialBackoff << Math.min(attempt - 1, 30);
+        if ((limit <= 0) || (limit > maxBackoff)) {
+            limit = maxBackoff;
+        }
+        return ThreadLocalRandom.current().nextLong(limit + 1);
+    }
+
+    private class Registration {
+        private final ApiMediationClient client;
+        private CompletableFuture<ApiMediationClient> result;
+        private boolean stopped;
+
+        Registration(ApiMediationClient client) {
+            this.client = client;
+        }
+
+        synchronized CompletableFuture<ApiMediationClient> start(ApiMediationServiceConfig config) {
+            if ((result != null) && !result.isCompletedExceptionally()) {
+                return result;
+            }
+
+            stopped = false;
+            CompletableFuture<ApiMediationClient> future = new CompletableFuture<>();
+            result = future;
+            executor.execute(() -> attempt(config, future, 1));
+            return future;
+        }
+
+        synchronized CompletableFuture<ApiMediationClient> getResult() {
+            return result;
+        }
+
+        void stop() {
+            synchronized (this) {
+                stopped = true;
+                if (result != null) {
+                    result.cancel(false);
+                }
+            }
+            client.unregister();
+        }
+
+        private void attempt(ApiMediationServiceConfig config, CompletableFuture<ApiMediationClient> future, int attempt) {
+            synchronized (this) {
+                if (stopped || future.isDone()) {
+                    return;
+                }
+            }
+
+            try {
+                client.register(config);
+            } catch (ServiceDefinitionException | MetadataValidationException e) {
+                log.error("Registration of service {} failed, the configuration is not valid", config.getServiceId(), e);
+                future.completeExceptionally(e);
+                return;
+            } catch (RuntimeException e) {
+                retry(config, future, attempt, e);
+                return;
+            }
+
+            long deadline = System.currentTimeMillis() + registrationTimeout;
+            awaitRegistration(config, future, attempt, deadline);
+        }
+
+        /**
+         * The Eureka client was started, wait until the instance is known to the Discovery Service
+         */
+        private void awaitRegistration(ApiMediationServiceConfig config, CompletableFuture<ApiMediationClient> future, int attempt, long deadline) {
+            synchronized (this) {
+                if (stopped || future.isDone()) {
+                    return;
+                }
+            }
+
+            if (!client.isRegistered()) {
+                if (System.currentTimeMillis() >= deadline) {
+                    retry(config, future, attempt, new IllegalStateException(
+                        "The instance was not registered by the Discovery Service within " + registrationTimeout + " ms"));
+                } else {
+                    executor.schedule(() -> awaitRegistration(config, future, attempt, deadline),
+                        registrationCheckInterval, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+
+            boolean registered;
+            synchronized (this) {
+                registered = !stopped && future.complete(client);
+            }
+            if (!registered) {
+                // the registration was stopped in the meantime
+                client.unregister();
+            }
+        }
+
+        private void retry(ApiMediationServiceConfig config, CompletableFuture<ApiMediationClient> future, int attempt, RuntimeException e) {
+            client.unregister();
+            if (attempt >= maxAttempts) {
+                log.error("Registration of service {} failed after {} attempts", config.getServiceId(), attempt, e);
+                future.completeExceptionally(e);
+            } else {
+                long delay = backoff(attempt);
+                log.warn("Registration of service {} failed, next attempt in {} ms: {}", config.getServiceId(), delay, e.getMessage());
+                executor.schedule(() -> attempt(config, future, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
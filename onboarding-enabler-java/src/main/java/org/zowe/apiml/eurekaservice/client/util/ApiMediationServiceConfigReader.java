@@ -9,7 +9,12 @@
  */
 package org.zowe.apiml.eurekaservice.client.util;
 
+import org.zowe.apiml.config.ApiInfo;
 import org.zowe.apiml.eurekaservice.client.config.ApiMediationServiceConfig;
+import org.zowe.apiml.eurekaservice.client.config.Authentication;
+import org.zowe.apiml.eurekaservice.client.config.Catalog;
+import org.zowe.apiml.eurekaservice.client.config.Route;
+import org.zowe.apiml.eurekaservice.client.config.Ssl;
 import org.zowe.apiml.exception.ServiceDefinitionException;
 import org.zowe.apiml.util.FileUtils;
 import org.zowe.apiml.util.ObjectUtil;
@@ -24,7 +29,12 @@ import javax.servlet.ServletContext;
 import java.io.*;
 import java.net.MalformedURLException;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_ABSENT;
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
@@ -77,6 +87,12 @@ import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
  *  , or in the corresponding Java System property.
  *  </p>
  *
+ *  <p>
+ *  Loaded configurations are compiled only once. The merged configuration is cached under the hashes of the configuration
+ *  files with resolved properties, so loading of the same configuration again (ie. by another enabler instance) skips
+ *  the parsing and merging. Each load returns a new copy of the cached configuration, the cached one is never modified.
+ *  </p>
+ *
  */
 public class ApiMediationServiceConfigReader {
 
@@ -86,6 +102,13 @@ public class ApiMediationServiceConfigReader {
 
     private static final String DEFAULT_CONFIGURATION_FILE_NAME = "/service-configuration.yml";
 
+    static final int MAX_COMPILED_CONFIGURATIONS = 100;
+
+    /**
+     * Compiled (parsed and merged) configurations shared by all readers, the key is created from the hashes of the sources.
+     */
+    private static final Map<String, ApiMediationServiceConfig> COMPILED_CONFIGURATIONS = new ConcurrentHashMap<>();
+
     /**
      * Instance object mapper. Initialized in constructor.
      */
@@ -176,26 +199,162 @@ public class ApiMediationServiceConfigReader {
             internalConfigFileName = DEFAULT_CONFIGURATION_FILE_NAME;
         }
 
-        ApiMediationServiceConfig serviceConfig = buildConfiguration(internalConfigFileName);
-
+        Map<String, String> properties = threadConfigurationContext.get();
+        String internalConfigData = readConfigurationData(internalConfigFileName, properties);
+        String externalizedConfigData = null;
         if (externalizedConfigFileName != null) {
-            ApiMediationServiceConfig externalizedConfig = buildConfiguration(externalizedConfigFileName);
-
-            ApiMediationServiceConfig mergedConfig = null;
-            if (externalizedConfig != null) {
-                mergedConfig = mergeConfigurations(serviceConfig, externalizedConfig);
-            }
+            externalizedConfigData = readConfigurationData(externalizedConfigFileName, properties);
+        }
 
-            if (mergedConfig != null) {
-                serviceConfig = mergedConfig;
+        String key = hash(internalConfigData) + ":" + ((externalizedConfigFileName == null) ? "" : hash(externalizedConfigData));
+        ApiMediationServiceConfig compiledConfig = COMPILED_CONFIGURATIONS.get(key);
+        if (compiledConfig == null) {
+            compiledConfig = compileConfiguration(internalConfigData, externalizedConfigData, externalizedConfigFileName != null);
+            if (COMPILED_CONFIGURATIONS.size() >= MAX_COMPILED_CONFIGURATIONS) {
+                COMPILED_CONFIGURATIONS.clear();
             }
+            COMPILED_CONFIGURATIONS.put(key, compiledConfig);
         }
 
+        ApiMediationServiceConfig serviceConfig = copyOf(compiledConfig);
+
         setServiceIpAddress(serviceConfig);
 
         return serviceConfig;
     }
 
+    private ApiMediationServiceConfig compileConfiguration(String internalConfigData, String externalizedConfigData, boolean externalized)
+        throws ServiceDefinitionException {
+
+        ApiMediationServiceConfig serviceConfig = parseConfiguration(internalConfigData);
+
+        if (externalized) {
+            ApiMediationServiceConfig externalizedConfig = parseConfiguration(externalizedConfigData);
+
+            if (externalizedConfig != null) {
+                serviceConfig = mergeConfigurations(serviceConfig, externalizedConfig);
+            }
+        }
+
+        return serviceConfig;
+    }
+
+    /**
+     * The configuration object is mutable (ie. custom metadata are updated during registration), copy it to keep
+     * the cached one unchanged. The nested objects are copied too, the copy doesn't share any mutable object with
+     * the original.
+     *
+     * @param config configuration to copy
+     * @return deep copy of the configuration, or null if the configuration is null
+     */
+    public static ApiMediationServiceConfig copyOf(ApiMediationServiceConfig config) {
+        if (config == null) {
+            return null;
+        }
+
+        ApiMediationServiceConfig copy = config.toBuilder().build();
+        copy.setDiscoveryServiceUrls(copyList(config.getDiscoveryServiceUrls(), url -> url));
+        copy.setRoutes(copyList(config.getRoutes(), route -> new Route(route.getGatewayUrl(), route.getServiceUrl())));
+        copy.setApiInfo(copyList(config.getApiInfo(), ApiMediationServiceConfigReader::copyOf));
+        copy.setAuthentication(copyOf(config.getAuthentication()));
+        copy.setCatalog(copyOf(config.getCatalog()));
+        copy.setSsl(copyOf(config.getSsl()));
+        copy.setCustomMetadata(copyMap(config.getCustomMetadata()));
+        return copy;
+    }
+
+    private static ApiInfo copyOf(ApiInfo apiInfo) {
+        if (apiInfo == null) {
+            return null;
+        }
+        return new ApiInfo(apiInfo.getApiId(), apiInfo.getGatewayUrl(), apiInfo.getVersion(), apiInfo.getSwaggerUrl(),
+            apiInfo.getDocumentationUrl(), apiInfo.isDefaultApi());
+    }
+
+    private static Authentication copyOf(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        return new Authentication(authentication.getScheme(), authentication.getApplid(), authentication.getHeaders());
+    }
+
+    private static Catalog copyOf(Catalog catalog) {
+        if (catalog == null) {
+            return null;
+        }
+        Catalog.Tile tile = catalog.getTile();
+        return new Catalog((tile == null) ? null :
+            new Catalog.Tile(tile.getId(), tile.getTitle(), tile.getDescription(), tile.getVersion()));
+    }
+
+    private static Ssl copyOf(Ssl ssl) {
+        if (ssl == null) {
+            return null;
+        }
+        return new Ssl(ssl.getEnabled(), ssl.getVerifySslCertificatesOfServices(), ssl.getNonStrictVerifySslCertificatesOfServices(),
+            ssl.getProtocol(), ssl.getKeyAlias(), copyOf(ssl.getKeyPassword()), ssl.getKeyStore(),
+            copyOf(ssl.getKeyStorePassword()), ssl.getKeyStoreType(), ssl.getTrustStore(),
+            copyOf(ssl.getTrustStorePassword()), ssl.getTrustStoreType());
+    }
+
+    private static char[] copyOf(char[] value) {
+        return (value == null) ? null : value.clone();
+    }
+
+    private static <T> List<T> copyList(List<T> list, UnaryOperator<T> copyItem) {
+        if (list == null) {
+            return null;
+        }
+        List<T> copy = new ArrayList<>(list.size());
+        for (T item : list) {
+            copy.add(copyItem.apply(item));
+        }
+        return copy;
+    }
+
+    /**
+     * Custom metadata could contain nested maps and lists (ie. from YAML)
+     */
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            return copyMap((Map<String, Object>) value);
+        }
+        if (value instanceof List) {
+            return copyList((List<Object>) value, ApiMediationServiceConfigReader::copyValue);
+        }
+        return value;
+    }
+
+    private static Map<String, Object> copyMap(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        Map<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((key, value) -> copy.put(key, copyValue(value)));
+        return copy;
+    }
+
+    private static String hash(String configData) {
+        if (configData == null) {
+            return "";
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(configData.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Remove all compiled configurations, the next load of any configuration parses its sources again.
+     */
+    public static void clearCompiledConfigurations() {
+        COMPILED_CONFIGURATIONS.clear();
+    }
+
     public static void setServiceIpAddress(ApiMediationServiceConfig serviceConfig) throws ServiceDefinitionException {
         // Set instance ipAddress if required by Eureka and not set in the configuration files
         if ((serviceConfig != null) && (serviceConfig.getServiceIpAddress() == null)) {
@@ -235,14 +394,23 @@ public class ApiMediationServiceConfigReader {
             return null;
         }
 
-        String configData = null;
+        return parseConfiguration(readConfigurationData(fileName, properties));
+    }
+
+    /**
+     * Read the configuration file and resolve all property expressions in it.
+     */
+    private String readConfigurationData(String fileName, Map<String, String> properties) throws ServiceDefinitionException {
+        String configData;
         try {
             configData = FileUtils.readFile(fileName);
         } catch (IOException e) {
             throw new ServiceDefinitionException(String.format("Configuration data can't be read from file %s.", fileName), e);
         }
-        configData = StringUtils.resolveExpressions(configData, properties);
+        return StringUtils.resolveExpressions(configData, properties);
+    }
 
+    private ApiMediationServiceConfig parseConfiguration(String configData) throws ServiceDefinitionException {
         try {
             return objectMapper.readValue(configData, ApiMediationServiceConfig.class);
         } catch (IOException e) {
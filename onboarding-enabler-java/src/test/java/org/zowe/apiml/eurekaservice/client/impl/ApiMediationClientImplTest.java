@@ -188,6 +188,44 @@ class ApiMediationClientImplTest {
         assertEquals("OSX", config.getCustomMetadata().get("os.name"));
     }
 
+    @Test
+    void testGivenEqualConfiguration_whenRegisterAgain_thenInstanceConfigIsReused() throws ServiceDefinitionException {
+        EurekaInstanceConfigCreator instanceConfigCreator = spy(new EurekaInstanceConfigCreator());
+        ApiMediationClient client = new ApiMediationClientImpl(
+            new DiscoveryClientProvider(),
+            new ApiMlEurekaClientConfigProvider(),
+            instanceConfigCreator,
+            new DefaultCustomMetadataHelper()
+        );
+
+        client.register(getValidConfiguration());
+        client.unregister();
+        client.register(getValidConfiguration());
+        client.unregister();
+
+        verify(instanceConfigCreator, times(1)).createEurekaInstanceConfig(any());
+    }
+
+    @Test
+    void testGivenChangedRoute_whenRegisterAgain_thenConfigurationIsValidatedAgain() throws ServiceDefinitionException {
+        EurekaInstanceConfigCreator instanceConfigCreator = spy(new EurekaInstanceConfigCreator());
+        ApiMediationClient client = new ApiMediationClientImpl(
+            new DiscoveryClientProvider(),
+            new ApiMlEurekaClientConfigProvider(),
+            instanceConfigCreator,
+            new DefaultCustomMetadataHelper()
+        );
+
+        ApiMediationServiceConfig config = getValidConfiguration();
+        client.register(config);
+        client.unregister();
+        config.getRoutes().get(0).setServiceUrl("/hellospring/api/v2");
+        client.register(config);
+        client.unregister();
+
+        verify(instanceConfigCreator, times(2)).createEurekaInstanceConfig(any());
+    }
+
     private ZUtil getZUtilZosValue() {
         ZUtilDummy zutil = mock(ZUtilDummy.class);
         doReturn("jobId").when(zutil).getCurrentJobId();
@@ -0,0 +1,156 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.eurekaservice.client.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.zowe.apiml.eurekaservice.client.ApiMediationClient;
+import org.zowe.apiml.eurekaservice.client.config.ApiMediationServiceConfig;
+import org.zowe.apiml.exception.ServiceDefinitionException;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ApiMediationRegistrationManagerTest {
+
+    private static final long TIMEOUT = 5;
+
+    private ApiMediationRegistrationManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    @Test
+    void givenValidConfiguration_whenRegister_thenCompleteWithClient() throws Exception {
+        ApiMediationClient client = registeredClient();
+        manager = new ApiMediationRegistrationManager(() -> client, 1, 3, 1, 10);
+
+        ApiMediationServiceConfig config = config("service");
+        assertSame(client, manager.register(config).get(TIMEOUT, TimeUnit.SECONDS));
+        verify(client, times(1)).register(config);
+    }
+
+    @Test
+    void givenTemporaryFailure_whenRegister_thenRetry() throws Exception {
+        ApiMediationClient client = registeredClient();
+        doThrow(new IllegalStateException("Discovery service is not available"))
+            .doNothing()
+            .when(client).register(any());
+        manager = new ApiMediationRegistrationManager(() -> client, 1, 3, 1, 10);
+
+        assertSame(client, manager.register(config("service")).get(TIMEOUT, TimeUnit.SECONDS));
+        verify(client, times(2)).register(any());
+        verify(client, times(1)).unregister();
+    }
+
+    @Test
+    void givenClientNotRegisteredYet_whenRegister_thenCompleteOnceRegistered() throws Exception {
+        ApiMediationClient client = mock(ApiMediationClient.class);
+        when(client.isRegistered()).thenReturn(false, false, true);
+        manager = new ApiMediationRegistrationManager(() -> client, 1, 3, 1, 10, 5000, 1);
+
+        assertSame(client, manager.register(config("service")).get(TIMEOUT, TimeUnit.SECONDS));
+        verify(client, times(1)).register(any());
+        verify(client, times(3)).isRegistered();
+        verify(client, never()).unregister();
+    }
+
+    @Test
+    void givenClientNeverRegistered_whenRegister_thenRetryAndFailAfterMaxAttempts() throws Exception {
+        ApiMediationClient client = mock(ApiMediationClient.class);
+        manager = new ApiMediationRegistrationManager(() -> client, 1, 2, 1, 10, 20, 1);
+
+        CompletableFuture<ApiMediationClient> registration = manager.register(config("service"));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> registration.get(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        verify(client, times(2)).register(any());
+        verify(client, times(2)).unregister();
+    }
+
+    @Test
+    void givenPermanentFailure_whenRegister_thenFailAfterMaxAttempts() throws Exception {
+        ApiMediationClient client = registeredClient();
+        doThrow(new IllegalStateException("Discovery service is not available")).when(client).register(any());
+        manager = new ApiMediationRegistrationManager(() -> client, 1, 3, 1, 10);
+
+        CompletableFuture<ApiMediationClient> registration = manager.register(config("service"));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> registration.get(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        verify(client, times(3)).register(any());
+    }
+
+    @Test
+    void givenInvalidConfiguration_whenRegister_thenFailWithoutRetry() throws Exception {
+        ApiMediationClient client = registeredClient();
+        doThrow(new ServiceDefinitionException("invalid")).when(client).register(any());
+        manager = new ApiMediationRegistrationManager(() -> client, 1, 3, 1, 10);
+
+        CompletableFuture<ApiMediationClient> registration = manager.register(config("service"));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> registration.get(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof ServiceDefinitionException);
+        verify(client, times(1)).register(any());
+    }
+
+    @Test
+    void givenMoreServices_whenRegister_thenEachUsesOwnClient() throws Exception {
+        ApiMediationClient client1 = registeredClient();
+        ApiMediationClient client2 = registeredClient();
+        BlockingQueue<ApiMediationClient> clients = new LinkedBlockingQueue<>();
+        clients.add(client1);
+        clients.add(client2);
+        manager = new ApiMediationRegistrationManager(clients::poll, 2, 3, 1, 10);
+
+        CompletableFuture<ApiMediationClient> registration1 = manager.register(config("service1"));
+        CompletableFuture<ApiMediationClient> registration2 = manager.register(config("service2"));
+
+        assertNotSame(registration1.get(TIMEOUT, TimeUnit.SECONDS), registration2.get(TIMEOUT, TimeUnit.SECONDS));
+        assertSame(registration1, manager.register(config("service1")));
+    }
+
+    @Test
+    void givenRegisteredService_whenUnregister_thenClientIsUnregistered() throws Exception {
+        ApiMediationClient client = registeredClient();
+        manager = new ApiMediationRegistrationManager(() -> client, 1, 3, 1, 10);
+
+        manager.register(config("service")).get(TIMEOUT, TimeUnit.SECONDS);
+        manager.unregister("service").get(TIMEOUT, TimeUnit.SECONDS);
+
+        verify(client, times(1)).unregister();
+        assertNull(manager.getRegistration("service"));
+    }
+
+    @Test
+    void givenAttempt_whenBackoff_thenDelayIsLimited() {
+        manager = new ApiMediationRegistrationManager(() -> mock(ApiMediationClient.class), 1, 3, 100, 1000);
+
+        for (int attempt = 1; attempt < 100; attempt++) {
+            long delay = manager.backoff(attempt);
+            assertTrue(delay >= 0);
+            assertTrue(delay <= Math.min(1000, 100L << Math.min(attempt - 1, 30)));
+        }
+    }
+
+    private ApiMediationClient registeredClient() {
+        ApiMediationClient client = mock(ApiMediationClient.class);
+        when(client.isRegistered()).thenReturn(true);
+        return client;
+    }
+
+    private ApiMediationServiceConfig config(String serviceId) {
+        return ApiMediationServiceConfig.builder().serviceId(serviceId).build();
+    }
+}
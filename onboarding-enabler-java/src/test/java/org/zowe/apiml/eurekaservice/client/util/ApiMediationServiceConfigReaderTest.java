@@ -25,6 +25,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -52,6 +53,39 @@ class ApiMediationServiceConfigReaderTest {
         assertEquals("hellopje", result.getServiceId());
     }
 
+    @Test
+    void givenSameConfiguration_whenLoadedTwice_thenReturnIndependentCopies() throws ServiceDefinitionException {
+        String internalFileName = "/service-configuration.yml";
+        String additionalFileName = "/additional-service-configuration.yml";
+
+        ApiMediationServiceConfig first = new ApiMediationServiceConfigReader().loadConfiguration(internalFileName, additionalFileName);
+        String customMetadata = first.getCustomMetadata().toString();
+        first.setServiceId("changed");
+        first.getCustomMetadata().put("added", "value");
+
+        ApiMediationServiceConfig second = new ApiMediationServiceConfigReader().loadConfiguration(internalFileName, additionalFileName);
+        assertNotSame(first, second);
+        assertEquals("hellopje", second.getServiceId());
+        assertEquals(customMetadata, second.getCustomMetadata().toString());
+    }
+
+    @Test
+    void givenSameConfiguration_whenNestedObjectsOfCopyChanged_thenCachedConfigurationIsNotChanged() throws ServiceDefinitionException {
+        String internalFileName = "/service-configuration.yml";
+        String additionalFileName = "/additional-service-configuration.yml";
+
+        ApiMediationServiceConfig expected = new ApiMediationServiceConfigReader().loadConfiguration(internalFileName, additionalFileName);
+        ApiMediationServiceConfig first = new ApiMediationServiceConfigReader().loadConfiguration(internalFileName, additionalFileName);
+        first.getRoutes().get(0).setServiceUrl("/changed");
+        first.getApiInfo().get(0).setVersion("9.9.9");
+        first.getCatalog().getTile().setTitle("changed");
+        first.getSsl().setKeyAlias("changed");
+        first.getSsl().getKeyPassword()[0] = 'x';
+
+        ApiMediationServiceConfig second = new ApiMediationServiceConfigReader().loadConfiguration(internalFileName, additionalFileName);
+        assertEquals(expected, second);
+    }
+
     @Test
     void readConfigurationWithWrongFormat() throws ServiceDefinitionException {
         String file = "/bad-format-of-service-configuration.yml";
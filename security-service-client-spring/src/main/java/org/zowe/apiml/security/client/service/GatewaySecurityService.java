@@ -12,6 +12,7 @@ package org.zowe.apiml.security.client.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -25,7 +26,16 @@ import org.zowe.apiml.security.common.config.AuthConfigurationProperties;
 import org.zowe.apiml.security.common.error.ErrorType;
 import org.zowe.apiml.security.common.token.QueryResponse;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Core class of security client
@@ -34,11 +44,20 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 public class GatewaySecurityService {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private final GatewayClient gatewayClient;
     private final AuthConfigurationProperties authConfigurationProperties;
     private final RestTemplate restTemplate;
     private final RestResponseHandler responseHandler;
 
+    /**
+     * Results of the token queries by the digest of the token. The entry is stored before the query starts, so
+     * concurrent requests with the same token wait for the same query.
+     */
+    private final Map<String, CachedQuery> queryResponses = new ConcurrentHashMap<>();
+    private final AtomicReference<JwtSignatureVerifier> signatureVerifier = new AtomicReference<>();
+
     /**
      * Logs into the gateway with username and password, and retrieves valid JWT token
      *
@@ -51,8 +70,7 @@ public class GatewaySecurityService {
         String uri = String.format("%s://%s%s", gatewayConfigProperties.getScheme(),
             gatewayConfigProperties.getHostname(), authConfigurationProperties.getGatewayLoginEndpoint());
 
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode loginRequest = mapper.createObjectNode();
+        ObjectNode loginRequest = MAPPER.createObjectNode();
         loginRequest.put("username", username);
         loginRequest.put("password", password);
 
@@ -75,12 +93,112 @@ public class GatewaySecurityService {
     }
 
     /**
-     * Verifies JWT token validity and returns JWT token data
+     * Verifies JWT token validity and returns JWT token data. If the cache is enabled (tokenQuery.cacheSize), the data
+     * are cached until the token expires, but at most for tokenQuery.cacheTtlInSeconds. A token invalidated at the
+     * Gateway (i.e. by logout) is accepted from the cache until then. If the local validation is enabled, the signature
+     * of the token is verified with the public keys of the Gateway and the Gateway is asked only about the tokens
+     * signed by an unknown key. Such a token is accepted until it expires, even if it was invalidated at the Gateway.
      *
      * @param token JWT token to be validated
      * @return JWT token data as {@link QueryResponse}
      */
     public QueryResponse query(String token) {
+        if (token == null) {
+            return queryGateway(null);
+        }
+
+        String key = digest(token);
+        while (true) {
+            CachedQuery loading = new CachedQuery();
+            CachedQuery existing = queryResponses.putIfAbsent(key, loading);
+            if (existing == null) {
+                return load(key, token, loading);
+            }
+
+            boolean inFlight = !existing.future.isDone();
+            QueryResponse queryResponse = await(existing.future);
+            if (inFlight || isCacheable(existing)) {
+                return queryResponse;
+            }
+            queryResponses.remove(key, existing);
+        }
+    }
+
+    private QueryResponse load(String key, String token, CachedQuery loading) {
+        try {
+            QueryResponse queryResponse = verifyLocally(token).orElseGet(() -> queryGateway(token));
+            AuthConfigurationProperties.TokenQuery tokenQuery = authConfigurationProperties.getTokenQuery();
+            loading.cachedUntil = System.currentTimeMillis() + tokenQuery.getCacheTtlInSeconds() * 1000;
+            loading.future.complete(queryResponse);
+            if ((tokenQuery.getCacheSize() > 0) && isCacheable(loading)) {
+                evictIfFull();
+            } else {
+                queryResponses.remove(key, loading);
+            }
+            return queryResponse;
+        } catch (RuntimeException | Error e) {
+            queryResponses.remove(key, loading);
+            loading.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private QueryResponse await(CompletableFuture<QueryResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return ExceptionUtils.rethrow(e.getCause());
+        }
+    }
+
+    private boolean isCacheable(CachedQuery cachedQuery) {
+        if (!cachedQuery.future.isDone() || cachedQuery.future.isCompletedExceptionally()
+            || (System.currentTimeMillis() >= cachedQuery.cachedUntil)) {
+            return false;
+        }
+        QueryResponse queryResponse = cachedQuery.future.getNow(null);
+        return (queryResponse != null) && (queryResponse.getExpiration() != null) && !queryResponse.isExpired();
+    }
+
+    private void evictIfFull() {
+        if (queryResponses.size() <= authConfigurationProperties.getTokenQuery().getCacheSize()) {
+            return;
+        }
+
+        queryResponses.values().removeIf(cachedQuery -> cachedQuery.future.isDone() && !isCacheable(cachedQuery));
+        if (queryResponses.size() > authConfigurationProperties.getTokenQuery().getCacheSize()) {
+            queryResponses.values().removeIf(cachedQuery -> cachedQuery.future.isDone());
+        }
+    }
+
+    private Optional<QueryResponse> verifyLocally(String token) {
+        AuthConfigurationProperties.TokenQuery tokenQuery = authConfigurationProperties.getTokenQuery();
+        if (!tokenQuery.isLocalValidation()) {
+            return Optional.empty();
+        }
+
+        JwtSignatureVerifier verifier = signatureVerifier.updateAndGet(current -> (current != null) ? current :
+            new JwtSignatureVerifier(this::loadPublicKeys, tokenQuery.getPublicKeysRefreshIntervalInSeconds() * 1000));
+        return verifier.verify(token);
+    }
+
+    private String loadPublicKeys() {
+        GatewayConfigProperties gatewayConfigProperties = gatewayClient.getGatewayConfigProperties();
+        String uri = String.format("%s://%s%s", gatewayConfigProperties.getScheme(),
+            gatewayConfigProperties.getHostname(), authConfigurationProperties.getGatewayPublicKeysEndpoint());
+        return restTemplate.getForObject(uri, String.class);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private QueryResponse queryGateway(String token) {
         GatewayConfigProperties gatewayConfigProperties = gatewayClient.getGatewayConfigProperties();
         String uri = String.format("%s://%s%s", gatewayConfigProperties.getScheme(),
             gatewayConfigProperties.getHostname(), authConfigurationProperties.getGatewayQueryEndpoint());
@@ -115,4 +233,9 @@ public class GatewaySecurityService {
             return Optional.of(cookie.replace(cookieName + "=", ""));
         }
     }
+
+    private static class CachedQuery {
+        private final CompletableFuture<QueryResponse> future = new CompletableFuture<>();
+        private volatile long cachedUntil;
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.security.client.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.zowe.apiml.security.common.error.ErrorType;
+import org.zowe.apiml.security.common.token.QueryResponse;
+import org.zowe.apiml.security.common.token.TokenNotValidException;
+
+import java.text.ParseException;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the signature of JWT tokens with the public keys of the Gateway. The keys are loaded lazily from the JWK
+ * set provided by the loader and reloaded after the refresh interval, or sooner if a token refers to an unknown key id.
+ * <p>
+ * Tokens which cannot be verified with any of the known keys are not decided here, the result is empty and the
+ * Gateway has to be asked.
+ */
+@Slf4j
+class JwtSignatureVerifier {
+    static final long MIN_REFRESH_INTERVAL = 30 * 1000L;
+
+    private static final String DOMAIN_CLAIM_NAME = "dom";
+
+    private final Supplier<String> publicKeysLoader;
+    private final long refreshInterval;
+
+    private final Object refreshLock = new Object();
+    private volatile List<RSAKey> keys = Collections.emptyList();
+    private volatile long lastRefresh;
+
+    /**
+     * @param publicKeysLoader provides the JWK set of the Gateway
+     * @param refreshInterval  interval of the regular reload of keys in milliseconds, shorter values are replaced by
+     *                         {@link #MIN_REFRESH_INTERVAL} to not load the keys on each verification
+     */
+    JwtSignatureVerifier(Supplier<String> publicKeysLoader, long refreshInterval) {
+        this.publicKeysLoader = publicKeysLoader;
+        if (refreshInterval < MIN_REFRESH_INTERVAL) {
+            log.warn("The refresh interval of the Gateway public keys {} ms is too short, {} ms is used instead",
+                refreshInterval, MIN_REFRESH_INTERVAL);
+        }
+        this.refreshInterval = Math.max(refreshInterval, MIN_REFRESH_INTERVAL);
+    }
+
+    /**
+     * Verify the signature of the token and read its claims.
+     *
+     * @param token JWT token to verify
+     * @return JWT token data or empty if the token was not signed by any of the known keys
+     * @throws TokenNotValidException if the token was signed by a known key, but the signature doesn't match
+     */
+    Optional<QueryResponse> verify(String token) {
+        SignedJWT jwt;
+        try {
+            jwt = SignedJWT.parse(token);
+        } catch (ParseException e) {
+            return Optional.empty();
+        }
+        if (!JWSAlgorithm.RS256.equals(jwt.getHeader().getAlgorithm())) {
+            return Optional.empty();
+        }
+        String keyId = jwt.getHeader().getKeyID();
+
+        List<RSAKey> candidates = getKeys(keyId);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        for (RSAKey key : candidates) {
+            if (isSignedBy(jwt, key)) {
+                return Optional.ofNullable(toQueryResponse(jwt));
+            }
+        }
+
+        if (keyId != null) {
+            throw new TokenNotValidException(ErrorType.TOKEN_NOT_VALID.getDefaultMessage());
+        }
+        return Optional.empty();
+    }
+
+    private List<RSAKey> getKeys(String keyId) {
+        long now = System.currentTimeMillis();
+        if (now - lastRefresh >= refreshInterval) {
+            refresh(now);
+        }
+
+        List<RSAKey> candidates = selectKeys(keyId);
+        if (candidates.isEmpty() && (now - lastRefresh >= MIN_REFRESH_INTERVAL)) {
+            // an unknown key id could mean the Gateway rotated its keys, don't wait for the regular refresh
+            refresh(now);
+            candidates = selectKeys(keyId);
+        }
+        return candidates;
+    }
+
+    private List<RSAKey> selectKeys(String keyId) {
+        if (keyId == null) {
+            return keys;
+        }
+        return keys.stream()
+            .filter(key -> keyId.equals(key.getKeyID()))
+            .collect(Collectors.toList());
+    }
+
+    private void refresh(long now) {
+        synchronized (refreshLock) {
+            if (lastRefresh >= now) {
+                return;
+            }
+            lastRefresh = System.currentTimeMillis();
+            try {
+                keys = parseKeys(publicKeysLoader.get());
+            } catch (ParseException | RuntimeException e) {
+                log.warn("The public keys of the Gateway could not be loaded: {}", e.getMessage());
+            }
+        }
+    }
+
+    private List<RSAKey> parseKeys(String jwkSet) throws ParseException {
+        if (jwkSet == null) {
+            return Collections.emptyList();
+        }
+
+        List<RSAKey> loaded = new ArrayList<>();
+        for (JWK jwk : JWKSet.parse(jwkSet).getKeys()) {
+            if (jwk instanceof RSAKey) {
+                loaded.add((RSAKey) jwk);
+            }
+        }
+        return Collections.unmodifiableList(loaded);
+    }
+
+    private boolean isSignedBy(SignedJWT jwt, RSAKey key) {
+        try {
+            return jwt.verify(new RSASSAVerifier(key));
+        } catch (JOSEException e) {
+            return false;
+        }
+    }
+
+    private QueryResponse toQueryResponse(SignedJWT jwt) {
+        JWTClaimsSet claims;
+        try {
+            claims = jwt.getJWTClaimsSet();
+        } catch (ParseException e) {
+            return null;
+        }
+        if (claims.getExpirationTime() == null) {
+            return null;
+        }
+
+        QueryResponse queryResponse;
+        try {
+            queryResponse = new QueryResponse(
+                claims.getStringClaim(DOMAIN_CLAIM_NAME),
+                claims.getSubject(),
+                claims.getIssueTime(),
+                claims.getExpirationTime(),
+                QueryResponse.Source.valueByIssuer(claims.getIssuer())
+            );
+        } catch (ParseException e) {
+            return null;
+        }
+        if (queryResponse.isExpired()) {
+            throw new TokenNotValidException(ErrorType.TOKEN_NOT_VALID.getDefaultMessage());
+        }
+        return queryResponse;
+    }
+}
@@ -24,6 +24,15 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Optional;
 
@@ -151,6 +160,132 @@ class GatewaySecurityServiceTest {
         assertEquals("Token is not valid.", exception.getMessage());
     }
 
+    @Test
+    void givenValidToken_whenQueryTwice_thenGatewayIsCalledOnce() {
+        authConfigurationProperties.getTokenQuery().setCacheSize(1000);
+        QueryResponse expectedQueryResponse = new QueryResponse("domain", "user", new Date(), new Date(System.currentTimeMillis() + 60_000), QueryResponse.Source.ZOWE);
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class)))
+            .thenReturn(new ResponseEntity<>(expectedQueryResponse, HttpStatus.OK));
+
+        assertEquals(expectedQueryResponse, securityService.query("token"));
+        assertEquals(expectedQueryResponse, securityService.query("token"));
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class));
+    }
+
+    @Test
+    void givenCacheDisabled_whenQueryTwice_thenGatewayIsCalledTwice() {
+        QueryResponse expectedQueryResponse = new QueryResponse("domain", "user", new Date(), new Date(System.currentTimeMillis() + 60_000), QueryResponse.Source.ZOWE);
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class)))
+            .thenReturn(new ResponseEntity<>(expectedQueryResponse, HttpStatus.OK));
+
+        assertEquals(expectedQueryResponse, securityService.query("token"));
+        assertEquals(expectedQueryResponse, securityService.query("token"));
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class));
+    }
+
+    @Test
+    void givenCacheTtlElapsed_whenQueryTwice_thenGatewayIsCalledTwice() {
+        authConfigurationProperties.getTokenQuery().setCacheSize(1000);
+        authConfigurationProperties.getTokenQuery().setCacheTtlInSeconds(0);
+        QueryResponse expectedQueryResponse = new QueryResponse("domain", "user", new Date(), new Date(System.currentTimeMillis() + 60_000), QueryResponse.Source.ZOWE);
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class)))
+            .thenReturn(new ResponseEntity<>(expectedQueryResponse, HttpStatus.OK));
+
+        assertEquals(expectedQueryResponse, securityService.query("token"));
+        assertEquals(expectedQueryResponse, securityService.query("token"));
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class));
+    }
+
+    @Test
+    void givenInvalidToken_whenQueryTwice_thenGatewayIsCalledTwice() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+
+        assertThrows(TokenNotValidException.class, () -> securityService.query("token"));
+        assertThrows(TokenNotValidException.class, () -> securityService.query("token"));
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class));
+    }
+
+    @Test
+    void givenLocalValidation_whenQueryTokenSignedByGateway_thenGatewayIsNotQueried() throws Exception {
+        authConfigurationProperties.getTokenQuery().setLocalValidation(true);
+        KeyPair keyPair = generateKeyPair();
+        String keysUri = String.format("%s://%s%s", gatewayConfigProperties.getScheme(),
+            gatewayConfigProperties.getHostname(), authConfigurationProperties.getGatewayPublicKeysEndpoint());
+        when(restTemplate.getForObject(keysUri, String.class)).thenReturn(jwkSet(keyPair));
+
+        QueryResponse query = securityService.query(createJwtToken(keyPair, System.currentTimeMillis() / 1000 + 3600));
+
+        assertEquals("user", query.getUserId());
+        assertEquals("domain", query.getDomain());
+        assertEquals(QueryResponse.Source.ZOWE, query.getSource());
+        verify(restTemplate, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(QueryResponse.class));
+    }
+
+    @Test
+    void givenZeroRefreshInterval_whenQueryTwice_thenPublicKeysAreLoadedOnce() throws Exception {
+        authConfigurationProperties.getTokenQuery().setLocalValidation(true);
+        authConfigurationProperties.getTokenQuery().setPublicKeysRefreshIntervalInSeconds(0);
+        KeyPair keyPair = generateKeyPair();
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jwkSet(keyPair));
+        String token = createJwtToken(keyPair, System.currentTimeMillis() / 1000 + 3600);
+
+        assertEquals("user", securityService.query(token).getUserId());
+        assertEquals("user", securityService.query(token).getUserId());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void givenLocalValidation_whenQueryTokenSignedByUnknownKey_thenGatewayIsQueried() throws Exception {
+        authConfigurationProperties.getTokenQuery().setLocalValidation(true);
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jwkSet(generateKeyPair()));
+        QueryResponse expectedQueryResponse = new QueryResponse("domain", "user", new Date(), new Date(System.currentTimeMillis() + 60_000), QueryResponse.Source.ZOWE);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(QueryResponse.class)))
+            .thenReturn(new ResponseEntity<>(expectedQueryResponse, HttpStatus.OK));
+
+        QueryResponse query = securityService.query(createJwtToken(generateKeyPair(), System.currentTimeMillis() / 1000 + 3600));
+
+        assertEquals(expectedQueryResponse, query);
+    }
+
+    private KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private String jwkSet(KeyPair keyPair) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"e\":\"" + base64Url(publicKey.getPublicExponent()) +
+            "\",\"n\":\"" + base64Url(publicKey.getModulus()) + "\"}]}";
+    }
+
+    private String createJwtToken(KeyPair keyPair, long expiration) throws GeneralSecurityException {
+        String header = base64Url("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+        String claims = base64Url(("{\"sub\":\"user\",\"dom\":\"domain\",\"iss\":\"APIML\",\"iat\":" +
+            (expiration - 3600) + ",\"exp\":" + expiration + "}").getBytes(StandardCharsets.UTF_8));
+
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update((header + "." + claims).getBytes(StandardCharsets.US_ASCII));
+        return header + "." + claims + "." + base64Url(signature.sign());
+    }
+
+    private String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if ((bytes.length > 1) && (bytes[0] == 0)) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return base64Url(bytes);
+    }
+
+    private String base64Url(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
     private HttpEntity createLoginRequest() {
         ObjectMapper mapper = new ObjectMapper();
         ObjectNode loginRequest = mapper.createObjectNode();
@@ -28,6 +28,12 @@ public class ConfigProperties {
     private char[] trustStorePassword;
     private boolean httpOnly;
     private boolean nonStrictVerifySslCertificatesOfServices;
+    private boolean localTokenValidation;
+    private long publicKeysRefreshInterval;
+    private int connectTimeout;
+    private int readTimeout;
+    private int maxConnections;
+    private int maxConnectionsPerRoute;
 
     @Tolerate
     public ConfigProperties() {
@@ -44,6 +50,12 @@ public class ConfigProperties {
             .trustStorePassword(trustStorePassword)
             .httpOnly(httpOnly)
             .nonStrictVerifySslCertificatesOfServices(nonStrictVerifySslCertificatesOfServices)
+            .localTokenValidation(localTokenValidation)
+            .publicKeysRefreshInterval(publicKeysRefreshInterval)
+            .connectTimeout(connectTimeout)
+            .readTimeout(readTimeout)
+            .maxConnections(maxConnections)
+            .maxConnectionsPerRoute(maxConnectionsPerRoute)
             .build();
     }
 
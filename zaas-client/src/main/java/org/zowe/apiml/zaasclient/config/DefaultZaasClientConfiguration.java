@@ -11,8 +11,11 @@ package org.zowe.apiml.zaasclient.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
 import org.zowe.apiml.zaasclient.exception.ZaasConfigurationException;
+import org.zowe.apiml.zaasclient.service.ZaasAsyncClient;
 import org.zowe.apiml.zaasclient.service.ZaasClient;
+import org.zowe.apiml.zaasclient.service.internal.ZaasAsyncClientImpl;
 import org.zowe.apiml.zaasclient.service.internal.ZaasClientImpl;
 
 public class DefaultZaasClientConfiguration {
@@ -47,6 +50,24 @@ public class DefaultZaasClientConfiguration {
     @Value("${apiml.service.ssl.nonStrictVerifySslCertificatesOfServices:false}")
     private boolean nonStrictVerifySslCertificatesOfServices;
 
+    @Value("${apiml.service.zaas.localTokenValidation:false}")
+    private boolean localTokenValidation;
+
+    @Value("${apiml.service.zaas.publicKeysRefreshInterval:600000}")
+    private long publicKeysRefreshInterval;
+
+    @Value("${apiml.service.zaas.connectTimeout:0}")
+    private int connectTimeout;
+
+    @Value("${apiml.service.zaas.readTimeout:0}")
+    private int readTimeout;
+
+    @Value("${apiml.service.zaas.maxConnections:0}")
+    private int maxConnections;
+
+    @Value("${apiml.service.zaas.maxConnectionsPerRoute:0}")
+    private int maxConnectionsPerRoute;
+
     @Bean
     public ConfigProperties getConfigProperties() {
         ConfigProperties configProperties = new ConfigProperties();
@@ -60,6 +81,12 @@ public class DefaultZaasClientConfiguration {
         configProperties.setTrustStorePassword(trustStorePassword);
         configProperties.setTrustStoreType(trustStoreType);
         configProperties.setNonStrictVerifySslCertificatesOfServices(nonStrictVerifySslCertificatesOfServices);
+        configProperties.setLocalTokenValidation(localTokenValidation);
+        configProperties.setPublicKeysRefreshInterval(publicKeysRefreshInterval);
+        configProperties.setConnectTimeout(connectTimeout);
+        configProperties.setReadTimeout(readTimeout);
+        configProperties.setMaxConnections(maxConnections);
+        configProperties.setMaxConnectionsPerRoute(maxConnectionsPerRoute);
         return configProperties;
     }
 
@@ -67,4 +94,10 @@ public class DefaultZaasClientConfiguration {
     public ZaasClient zaasClient() throws ZaasConfigurationException {
         return new ZaasClientImpl(getConfigProperties());
     }
+
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public ZaasAsyncClient zaasAsyncClient() throws ZaasConfigurationException {
+        return new ZaasAsyncClientImpl(getConfigProperties());
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.zaasclient.service;
+
+import org.zowe.apiml.zaasclient.exception.ZaasClientException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link ZaasClient}. The methods don't block the calling thread, they return a future which
+ * is completed once the API Mediation Layer answers. Failures are reported by completing the future exceptionally
+ * with {@link ZaasClientException}.
+ * <p>
+ * The futures are completed on the I/O threads of the client. Use the asynchronous variants of the
+ * {@link CompletableFuture} methods for any longer processing of the results.
+ * <p>
+ * The client holds a pool of connections, close it once it isn't needed anymore.
+ */
+public interface ZaasAsyncClient extends Closeable {
+    /**
+     * Tries to login a user given the id and the password of the user. The password is expected in plain text.
+     *
+     * @param userId   Id of the user as the user is known to the authentication service
+     * @param password Password of the user which is passed through to the authentication service.
+     * @return Future of a valid JWT token obtained from the service
+     */
+    CompletableFuture<String> login(String userId, String password);
+
+    /**
+     * Tries to login a user given the information encoded in the format used by the Authorization HTTP header.
+     *
+     * @param authorizationHeader Base 64 encoded information retrievable e.g. from Authorization HTTP header
+     * @return Future of a valid JWT token obtained from the service
+     */
+    CompletableFuture<String> login(String authorizationHeader);
+
+    /**
+     * Return details about the provided JWT token. The token is expected to be valid.
+     *
+     * @param token JWT token to get more information about
+     * @return Future of the detailed information about the Token based on the information provided by ZAAS
+     * integrated in the API Mediation Layer
+     */
+    CompletableFuture<ZaasToken> query(String token);
+
+    /**
+     * Return details about the JWT token in the provided HttpServletRequest. If no token exists the future fails
+     * with ZaasClientException.
+     *
+     * @param request HttpServletRequest representing the request with the token to be queried.
+     * @return Future of the ZaasToken instance
+     */
+    CompletableFuture<ZaasToken> query(HttpServletRequest request);
+
+    /**
+     * Retrieve PassTicket based on the valid JWT Token and the application id.
+     *
+     * @param jwtToken      Valid JWT Token. One of the ways to obtain the token is via the login methods in this interface.
+     * @param applicationId Valid application id known by the provider.
+     * @return Future of a valid PassTicket to be used with other services supporting PassTicket as authorization method.
+     */
+    CompletableFuture<String> passTicket(String jwtToken, String applicationId);
+
+    /**
+     * Invalidate the provided JWT token in order to perform logout.
+     *
+     * @param token JWT token to invalidate
+     * @return Future completed once the token is invalidated
+     */
+    CompletableFuture<Void> logout(String token);
+}
@@ -24,12 +24,15 @@ import org.zowe.apiml.zaasclient.passticket.ZaasPassTicketResponse;
 
 import java.io.IOException;
 import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.cookie.SM;
 
 @Slf4j
 class PassTicketServiceImpl implements PassTicketService {
     private static final String TOKEN_PREFIX = "apimlAuthenticationToken";
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private final CloseableClientProvider httpClientProvider;
     private final String ticketUrl;
 
@@ -42,16 +45,7 @@ class PassTicketServiceImpl implements PassTicketService {
     public String passTicket(String jwtToken, String applicationId) throws ZaasClientException, ZaasConfigurationException {
         try {
             CloseableHttpClient closeableHttpsClient = httpClientProvider.getHttpClient();
-            ZaasClientTicketRequest zaasClientTicketRequest = new ZaasClientTicketRequest();
-            ObjectMapper mapper = new ObjectMapper();
-            zaasClientTicketRequest.setApplicationName(applicationId);
-
-            HttpPost httpPost = new HttpPost(ticketUrl);
-            httpPost.setEntity(new StringEntity(mapper.writeValueAsString(zaasClientTicketRequest)));
-            httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
-            httpPost.setHeader(SM.COOKIE, TOKEN_PREFIX + "=" + jwtToken);
-
-            CloseableHttpResponse response = closeableHttpsClient.execute(httpPost);
+            CloseableHttpResponse response = closeableHttpsClient.execute(createPassTicketRequest(ticketUrl, jwtToken, applicationId));
             return extractPassTicket(response);
         } catch (ZaasConfigurationException e) {
             throw e;
@@ -60,11 +54,21 @@ class PassTicketServiceImpl implements PassTicketService {
         }
     }
 
-    private String extractPassTicket(CloseableHttpResponse response) throws IOException, ZaasClientException {
+    static HttpPost createPassTicketRequest(String ticketUrl, String jwtToken, String applicationId) throws IOException {
+        ZaasClientTicketRequest zaasClientTicketRequest = new ZaasClientTicketRequest();
+        zaasClientTicketRequest.setApplicationName(applicationId);
+
+        HttpPost httpPost = new HttpPost(ticketUrl);
+        httpPost.setEntity(new StringEntity(MAPPER.writeValueAsString(zaasClientTicketRequest)));
+        httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+        httpPost.setHeader(SM.COOKIE, TOKEN_PREFIX + "=" + jwtToken);
+        return httpPost;
+    }
+
+    static String extractPassTicket(HttpResponse response) throws IOException, ZaasClientException {
         int statusCode = response.getStatusLine().getStatusCode();
         if (statusCode == 200) {
-            ObjectMapper mapper = new ObjectMapper();
-            ZaasPassTicketResponse zaasPassTicketResponse = mapper
+            ZaasPassTicketResponse zaasPassTicketResponse = MAPPER
                 .readValue(response.getEntity().getContent(), ZaasPassTicketResponse.class);
             return zaasPassTicketResponse.getTicket();
         } else {
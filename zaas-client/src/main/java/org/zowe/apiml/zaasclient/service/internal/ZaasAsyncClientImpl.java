@@ -0,0 +1,196 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.zaasclient.service.internal;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.zowe.apiml.zaasclient.config.ConfigProperties;
+import org.zowe.apiml.zaasclient.exception.ZaasClientErrorCodes;
+import org.zowe.apiml.zaasclient.exception.ZaasClientException;
+import org.zowe.apiml.zaasclient.exception.ZaasConfigurationErrorCodes;
+import org.zowe.apiml.zaasclient.exception.ZaasConfigurationException;
+import org.zowe.apiml.zaasclient.service.ZaasAsyncClient;
+import org.zowe.apiml.zaasclient.service.ZaasToken;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+public class ZaasAsyncClientImpl implements ZaasAsyncClient {
+    private final ZaasHttpAsyncClientProvider tokenClientProvider;
+    private final ZaasHttpAsyncClientProvider passTicketClientProvider;
+
+    private final String loginEndpoint;
+    private final String queryEndpoint;
+    private final String logoutEndpoint;
+    private final String ticketEndpoint;
+
+    public ZaasAsyncClientImpl(ConfigProperties configProperties) throws ZaasConfigurationException {
+        if (!configProperties.isHttpOnly() && (configProperties.getKeyStorePath() == null)) {
+            throw new ZaasConfigurationException(ZaasConfigurationErrorCodes.KEY_STORE_NOT_PROVIDED);
+        }
+
+        passTicketClientProvider = new ZaasHttpAsyncClientProvider(configProperties);
+        if (configProperties.isHttpOnly()) {
+            tokenClientProvider = passTicketClientProvider;
+        } else {
+            tokenClientProvider = new ZaasHttpAsyncClientProvider(configProperties.withoutKeyStore());
+        }
+
+        String baseUrl = String.format("%s://%s:%s%s", configProperties.isHttpOnly() ? "http" : "https",
+            configProperties.getApimlHost(), configProperties.getApimlPort(), configProperties.getApimlBaseUrl());
+        loginEndpoint = baseUrl + "/login";
+        queryEndpoint = baseUrl + "/query";
+        logoutEndpoint = baseUrl + "/logout";
+        ticketEndpoint = baseUrl + "/ticket";
+    }
+
+    ZaasAsyncClientImpl(ZaasHttpAsyncClientProvider clientProvider, String baseUrl) {
+        this.tokenClientProvider = clientProvider;
+        this.passTicketClientProvider = clientProvider;
+
+        loginEndpoint = baseUrl + "/login";
+        queryEndpoint = baseUrl + "/query";
+        logoutEndpoint = baseUrl + "/logout";
+        ticketEndpoint = baseUrl + "/ticket";
+    }
+
+    @Override
+    public CompletableFuture<String> login(String userId, String password) {
+        if (userId == null || password == null || userId.isEmpty() || password.isEmpty()) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.EMPTY_NULL_USERNAME_PASSWORD));
+        }
+
+        try {
+            return execute(tokenClientProvider, ZaasJwtService.createLoginRequest(loginEndpoint, userId, password),
+                ZaasJwtService::extractToken);
+        } catch (IOException e) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.GENERIC_EXCEPTION, e));
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> login(String authorizationHeader) {
+        if (authorizationHeader == null || authorizationHeader.isEmpty()) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.EMPTY_NULL_AUTHORIZATION_HEADER));
+        }
+
+        return execute(tokenClientProvider, ZaasJwtService.createLoginRequest(loginEndpoint, authorizationHeader),
+            ZaasJwtService::extractToken);
+    }
+
+    @Override
+    public CompletableFuture<ZaasToken> query(String token) {
+        if (token == null || token.isEmpty()) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.TOKEN_NOT_PROVIDED, "No token provided"));
+        }
+
+        return execute(tokenClientProvider, ZaasJwtService.createQueryRequest(queryEndpoint, token),
+            ZaasJwtService::extractZaasToken);
+    }
+
+    @Override
+    public CompletableFuture<ZaasToken> query(HttpServletRequest request) {
+        return query(ZaasJwtService.getJwtTokenFromRequest(request).orElse(null));
+    }
+
+    @Override
+    public CompletableFuture<String> passTicket(String jwtToken, String applicationId) {
+        if (Objects.isNull(applicationId) || applicationId.isEmpty()) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.APPLICATION_NAME_NOT_FOUND));
+        }
+        if (Objects.isNull(jwtToken) || jwtToken.isEmpty()) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.TOKEN_NOT_PROVIDED));
+        }
+
+        try {
+            return execute(passTicketClientProvider, PassTicketServiceImpl.createPassTicketRequest(ticketEndpoint, jwtToken, applicationId),
+                PassTicketServiceImpl::extractPassTicket);
+        } catch (IOException e) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.SERVICE_UNAVAILABLE, e));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> logout(String token) {
+        if (token == null || token.isEmpty()) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.TOKEN_NOT_PROVIDED, "No token provided"));
+        }
+
+        return execute(tokenClientProvider, ZaasJwtService.createLogoutRequest(logoutEndpoint, token), response -> {
+            ZaasJwtService.checkLogoutResponse(response);
+            return null;
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenClientProvider.close();
+        if (passTicketClientProvider != tokenClientProvider) {
+            passTicketClientProvider.close();
+        }
+    }
+
+    /**
+     * Send the request without blocking. Each call gets its own context, so cookies set by the Gateway in the response
+     * of one call cannot leak to concurrent calls of other users.
+     */
+    private <T> CompletableFuture<T> execute(ZaasHttpAsyncClientProvider clientProvider, HttpUriRequest request, ResponseExtractor<T> extractor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        HttpClientContext context = HttpClientContext.create();
+        context.setCookieStore(new BasicCookieStore());
+
+        CloseableHttpAsyncClient client = clientProvider.getHttpClient();
+        if (!client.isRunning()) {
+            return failed(new ZaasClientException(ZaasClientErrorCodes.SERVICE_UNAVAILABLE, "The client was already closed"));
+        }
+        client.execute(request, context, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    result.complete(extractor.extract(response));
+                } catch (ZaasClientException e) {
+                    result.completeExceptionally(e);
+                } catch (IOException e) {
+                    result.completeExceptionally(new ZaasClientException(ZaasClientErrorCodes.SERVICE_UNAVAILABLE, e));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(new ZaasClientException(ZaasClientErrorCodes.GENERIC_EXCEPTION, e));
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(new ZaasClientException(ZaasClientErrorCodes.SERVICE_UNAVAILABLE, e));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> failed(ZaasClientException e) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.completeExceptionally(e);
+        return result;
+    }
+
+    interface ResponseExtractor<T> {
+        T extract(HttpResponse response) throws IOException, ZaasClientException;
+    }
+}
@@ -36,7 +36,8 @@ public class ZaasClientImpl implements ZaasClient {
 
         String baseUrl = String.format("%s://%s:%s%s", getScheme(configProperties.isHttpOnly()), configProperties.getApimlHost(), configProperties.getApimlPort(),
             configProperties.getApimlBaseUrl());
-        tokens = new ZaasJwtService(httpClientProviderWithoutCert, baseUrl);
+        tokens = new ZaasJwtService(httpClientProviderWithoutCert, baseUrl,
+            configProperties.isLocalTokenValidation(), configProperties.getPublicKeysRefreshInterval());
         passTickets = new PassTicketServiceImpl(httpClientProvider, baseUrl);
     }
 
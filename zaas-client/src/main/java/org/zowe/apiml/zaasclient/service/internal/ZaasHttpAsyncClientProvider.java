@@ -0,0 +1,87 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.zaasclient.service.internal;
+
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.zowe.apiml.zaasclient.config.ConfigProperties;
+import org.zowe.apiml.zaasclient.exception.ZaasConfigurationErrorCodes;
+import org.zowe.apiml.zaasclient.exception.ZaasConfigurationException;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Provides the non-blocking HTTP client used by {@link ZaasAsyncClientImpl}. The client multiplexes all the requests
+ * over a small number of I/O dispatcher threads and a pool of persistent connections to the Gateway. The size of the
+ * pool and the timeouts are taken from {@link ConfigProperties}.
+ */
+class ZaasHttpAsyncClientProvider implements Closeable {
+    private static final int REQUEST_TIMEOUT = 30 * 1000;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 50;
+
+    private final CloseableHttpAsyncClient httpClient;
+
+    public ZaasHttpAsyncClientProvider(ConfigProperties configProperties) throws ZaasConfigurationException {
+        RegistryBuilder<SchemeIOSessionStrategy> registryBuilder = RegistryBuilder.<SchemeIOSessionStrategy>create()
+            .register("http", NoopIOSessionStrategy.INSTANCE);
+        if (!configProperties.isHttpOnly()) {
+            ZaasHttpsClientProvider httpsClientProvider = new ZaasHttpsClientProvider(configProperties);
+            registryBuilder.register("https",
+                new SSLIOSessionStrategy(httpsClientProvider.createSSLContext(), httpsClientProvider.getHostnameVerifier()));
+        }
+        Registry<SchemeIOSessionStrategy> registry = registryBuilder.build();
+
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+            .setConnectTimeout(configProperties.getConnectTimeout() > 0 ? configProperties.getConnectTimeout() : REQUEST_TIMEOUT)
+            .setSoTimeout(configProperties.getReadTimeout() > 0 ? configProperties.getReadTimeout() : REQUEST_TIMEOUT)
+            .setSoKeepAlive(true)
+            .setTcpNoDelay(true)
+            .build();
+
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig), registry);
+        } catch (IOReactorException e) {
+            throw new ZaasConfigurationException(ZaasConfigurationErrorCodes.IO_CONFIGURATION_ISSUE, e);
+        }
+        int maxConnectionsPerRoute = configProperties.getMaxConnectionsPerRoute() > 0 ?
+            configProperties.getMaxConnectionsPerRoute() : MAX_CONNECTIONS_PER_ROUTE;
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setMaxTotal(configProperties.getMaxConnections() > 0 ?
+            configProperties.getMaxConnections() : 2 * maxConnectionsPerRoute);
+
+        httpClient = HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(ZaasHttpsClientProvider.buildCustomRequestConfig(configProperties, REQUEST_TIMEOUT))
+            .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+            .build();
+        httpClient.start();
+    }
+
+    public CloseableHttpAsyncClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
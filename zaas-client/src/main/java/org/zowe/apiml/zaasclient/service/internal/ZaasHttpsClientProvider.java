@@ -34,6 +34,7 @@ import java.security.cert.CertificateException;
 @AllArgsConstructor
 class ZaasHttpsClientProvider implements CloseableClientProvider {
     private static final int REQUEST_TIMEOUT = 30 * 1000;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 3;
 
     private final RequestConfig requestConfig;
 
@@ -46,13 +47,19 @@ class ZaasHttpsClientProvider implements CloseableClientProvider {
     private final String keyStoreType;
     private final String keyStorePath;
     private final HostnameVerifier hostnameVerifier;
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
 
     private final CookieStore cookieStore = new BasicCookieStore();
 
     private CloseableHttpClient httpsClientWithKeyStoreAndTrustStore;
 
     public ZaasHttpsClientProvider(ConfigProperties configProperties) throws ZaasConfigurationException {
-        this.requestConfig = this.buildCustomRequestConfig();
+        this.requestConfig = buildCustomRequestConfig(configProperties, REQUEST_TIMEOUT);
+        this.maxConnectionsPerRoute = configProperties.getMaxConnectionsPerRoute() > 0 ?
+            configProperties.getMaxConnectionsPerRoute() : MAX_CONNECTIONS_PER_ROUTE;
+        this.maxConnections = configProperties.getMaxConnections() > 0 ?
+            configProperties.getMaxConnections() : 3 * maxConnectionsPerRoute;
 
         if (configProperties.getTrustStorePath() == null) {
             throw new ZaasConfigurationException(ZaasConfigurationErrorCodes.TRUST_STORE_NOT_PROVIDED);
@@ -72,15 +79,26 @@ class ZaasHttpsClientProvider implements CloseableClientProvider {
     @Override
     public synchronized CloseableHttpClient getHttpClient() throws ZaasConfigurationException {
         if (httpsClientWithKeyStoreAndTrustStore == null) {
-            if ((kmf == null) && (keyStorePath != null)) {
-                initializeKeyStoreManagerFactory();
-            }
-            httpsClientWithKeyStoreAndTrustStore = sharedHttpClientConfiguration(getSSLContext())
+            httpsClientWithKeyStoreAndTrustStore = sharedHttpClientConfiguration(createSSLContext())
                 .build();
         }
         return httpsClientWithKeyStoreAndTrustStore;
     }
 
+    /**
+     * Create SSL context with the configured trust store and, if provided, with the key store.
+     */
+    synchronized SSLContext createSSLContext() throws ZaasConfigurationException {
+        if ((kmf == null) && (keyStorePath != null)) {
+            initializeKeyStoreManagerFactory();
+        }
+        return getSSLContext();
+    }
+
+    HostnameVerifier getHostnameVerifier() {
+        return hostnameVerifier;
+    }
+
     private void initializeTrustManagerFactory(String trustStorePath, String trustStoreType, char[] trustStorePassword)
         throws ZaasConfigurationException {
         try {
@@ -154,16 +172,24 @@ class ZaasHttpsClientProvider implements CloseableClientProvider {
         return HttpClients.custom()
             .setSSLSocketFactory(sslsf)
             .setDefaultRequestConfig(this.requestConfig)
-            .setMaxConnTotal(3 * 3)
-            .setMaxConnPerRoute(3)
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
             .setDefaultCookieStore(cookieStore);
     }
 
-    private RequestConfig buildCustomRequestConfig() {
+    /**
+     * Create request configuration with the connect and read timeouts from the configuration. Timeouts which are not
+     * configured are replaced with the default one. The time to wait for a pooled connection is limited by the connect
+     * timeout.
+     */
+    static RequestConfig buildCustomRequestConfig(ConfigProperties configProperties, int defaultTimeout) {
+        int connectTimeout = configProperties.getConnectTimeout() > 0 ? configProperties.getConnectTimeout() : defaultTimeout;
+        int readTimeout = configProperties.getReadTimeout() > 0 ? configProperties.getReadTimeout() : defaultTimeout;
+
         final RequestConfig.Builder builder = RequestConfig.custom();
-        builder.setConnectionRequestTimeout(REQUEST_TIMEOUT);
-        builder.setSocketTimeout(REQUEST_TIMEOUT);
-        builder.setConnectTimeout(REQUEST_TIMEOUT);
+        builder.setConnectionRequestTimeout(connectTimeout);
+        builder.setSocketTimeout(readTimeout);
+        builder.setConnectTimeout(connectTimeout);
         return builder.build();
     }
 }
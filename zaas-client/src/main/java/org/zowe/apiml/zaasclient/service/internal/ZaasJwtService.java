@@ -17,6 +17,7 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HeaderElement;
 import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
@@ -33,57 +34,90 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 @Slf4j
 class ZaasJwtService implements TokenService {
     private static final String TOKEN_PREFIX = "apimlAuthenticationToken";
     private static final String BEARER_AUTHENTICATION_PREFIX = "Bearer";
+    private static final String PUBLIC_KEYS_PATH = "/keys/public/current";
+    private static final int MAX_CACHED_TOKENS = 1000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final String loginEndpoint;
     private final String queryEndpoint;
     private final String logoutEndpoint;
     private final CloseableClientProvider httpClientProvider;
 
+    /**
+     * Local verification of the tokens, null if each query should be answered by the Gateway
+     */
+    private final ZaasJwtVerifier verifier;
+    private final Map<String, ZaasToken> queriedTokens = new ConcurrentHashMap<>();
+
     public ZaasJwtService(CloseableClientProvider client, String baseUrl) {
+        this(client, baseUrl, false, 0);
+    }
+
+    /**
+     * @param client                    provider of the HTTP client used to call the Gateway
+     * @param baseUrl                   URL of the authentication endpoints of the Gateway
+     * @param localTokenValidation      verify the token signatures against the public keys of the Gateway and cache
+     *                                  the query results until the token expires
+     * @param publicKeysRefreshInterval interval in milliseconds to reload the public keys, default is used if not positive
+     */
+    public ZaasJwtService(CloseableClientProvider client, String baseUrl, boolean localTokenValidation, long publicKeysRefreshInterval) {
         this.httpClientProvider = client;
 
         loginEndpoint = baseUrl + "/login";
         queryEndpoint = baseUrl + "/query";
         logoutEndpoint = baseUrl + "/logout";
+
+        verifier = localTokenValidation ?
+            new ZaasJwtVerifier(client, baseUrl + PUBLIC_KEYS_PATH, MAPPER, publicKeysRefreshInterval) : null;
     }
 
     @Override
     public String login(String userId, String password) throws ZaasClientException {
         return (String) doRequest(
             () -> loginWithCredentials(userId, password),
-            this::extractToken);
+            ZaasJwtService::extractToken);
     }
 
     private ClientWithResponse loginWithCredentials(String userId, String password) throws ZaasConfigurationException, IOException {
         CloseableHttpClient client = httpClientProvider.getHttpClient();
+        return new ClientWithResponse(client, client.execute(createLoginRequest(loginEndpoint, userId, password)));
+    }
+
+    static HttpPost createLoginRequest(String loginEndpoint, String userId, String password) throws IOException {
         HttpPost httpPost = new HttpPost(loginEndpoint);
-        ObjectMapper mapper = new ObjectMapper();
-        String json = mapper.writeValueAsString(new Credentials(userId, password));
+        String json = MAPPER.writeValueAsString(new Credentials(userId, password));
         StringEntity entity = new StringEntity(json);
         httpPost.setEntity(entity);
         httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
-        return new ClientWithResponse(client, client.execute(httpPost));
+        return httpPost;
     }
 
     @Override
     public String login(String authorizationHeader) throws ZaasClientException {
         return (String) doRequest(
             () -> loginWithHeader(authorizationHeader),
-            this::extractToken);
+            ZaasJwtService::extractToken);
     }
 
     private ClientWithResponse loginWithHeader(String authorizationHeader) throws ZaasConfigurationException, IOException {
         CloseableHttpClient client = httpClientProvider.getHttpClient();
+        return new ClientWithResponse(client, client.execute(createLoginRequest(loginEndpoint, authorizationHeader)));
+    }
+
+    static HttpPost createLoginRequest(String loginEndpoint, String authorizationHeader) {
         HttpPost httpPost = new HttpPost(loginEndpoint);
         httpPost.setHeader(HttpHeaders.AUTHORIZATION, authorizationHeader);
-        return new ClientWithResponse(client, client.execute(httpPost));
+        return httpPost;
     }
 
     @Override
@@ -92,7 +126,45 @@ class ZaasJwtService implements TokenService {
             throw new ZaasClientException(ZaasClientErrorCodes.TOKEN_NOT_PROVIDED, "No token provided");
         }
 
-        return (ZaasToken) doRequest(() -> queryWithJwtToken(jwtToken), this::extractZaasToken);
+        if (verifier == null) {
+            return (ZaasToken) doRequest(() -> queryWithJwtToken(jwtToken), ZaasJwtService::extractZaasToken);
+        }
+
+        ZaasToken token = queriedTokens.get(jwtToken);
+        if (token == null) {
+            Optional<ZaasToken> verified = verifier.verify(jwtToken);
+            token = verified.isPresent() ?
+                verified.get() : (ZaasToken) doRequest(() -> queryWithJwtToken(jwtToken), ZaasJwtService::extractZaasToken);
+            cacheQueriedToken(jwtToken, token);
+        }
+
+        if ((token.getExpiration() != null) && (token.getExpiration().getTime() <= System.currentTimeMillis())) {
+            queriedTokens.remove(jwtToken);
+            token.setExpired(true);
+        }
+        if (token.isExpired()) {
+            throw new ZaasClientException(ZaasClientErrorCodes.EXPIRED_JWT_EXCEPTION, "Queried token is expired");
+        }
+        return token;
+    }
+
+    /**
+     * Remember the token details until the token expires. Tokens without expiration are not cached, because there
+     * wouldn't be a moment to forget them.
+     */
+    private void cacheQueriedToken(String jwtToken, ZaasToken token) {
+        if ((token.getExpiration() == null) || token.isExpired()) {
+            return;
+        }
+
+        if (queriedTokens.size() >= MAX_CACHED_TOKENS) {
+            long now = System.currentTimeMillis();
+            queriedTokens.values().removeIf(cached -> cached.getExpiration().getTime() <= now);
+            if (queriedTokens.size() >= MAX_CACHED_TOKENS) {
+                queriedTokens.clear();
+            }
+        }
+        queriedTokens.put(jwtToken, token);
     }
 
     @Override
@@ -103,6 +175,10 @@ class ZaasJwtService implements TokenService {
 
     @Override
     public void logout(String jwtToken) throws ZaasClientException {
+        if (jwtToken != null) {
+            Optional<String> token = extractJwtTokenFromAuthorizationHeader(jwtToken);
+            queriedTokens.remove(token.orElse(jwtToken));
+        }
         doRequest(() -> logoutJwtToken(jwtToken));
     }
 
@@ -116,13 +192,13 @@ class ZaasJwtService implements TokenService {
      * @param request the http request
      * @return the JWT token
      */
-    private Optional<String> getJwtTokenFromRequest(@NonNull HttpServletRequest request) {
+    static Optional<String> getJwtTokenFromRequest(@NonNull HttpServletRequest request) {
         Optional<String> fromCookie = getJwtTokenFromCookie(request);
         return fromCookie.isPresent() ?
             fromCookie : extractJwtTokenFromAuthorizationHeader(request.getHeader(HttpHeaders.AUTHORIZATION));
     }
 
-    private Optional<String> getJwtTokenFromCookie(HttpServletRequest request) {
+    private static Optional<String> getJwtTokenFromCookie(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
         if (cookies == null) return Optional.empty();
         return Arrays.stream(cookies)
@@ -132,7 +208,7 @@ class ZaasJwtService implements TokenService {
             .map(Cookie::getValue);
     }
 
-    private Optional<String> extractJwtTokenFromAuthorizationHeader(String header) {
+    private static Optional<String> extractJwtTokenFromAuthorizationHeader(String header) {
         if (header != null && header.startsWith(BEARER_AUTHENTICATION_PREFIX)) {
             header = header.replaceFirst(BEARER_AUTHENTICATION_PREFIX, "").trim();
             if (header.isEmpty()) {
@@ -147,21 +223,29 @@ class ZaasJwtService implements TokenService {
 
     private ClientWithResponse queryWithJwtToken(String jwtToken) throws ZaasConfigurationException, IOException {
         CloseableHttpClient client = httpClientProvider.getHttpClient();
+        return new ClientWithResponse(client, client.execute(createQueryRequest(queryEndpoint, jwtToken)));
+    }
+
+    static HttpGet createQueryRequest(String queryEndpoint, String jwtToken) {
         HttpGet httpGet = new HttpGet(queryEndpoint);
         httpGet.addHeader(SM.COOKIE, TOKEN_PREFIX + "=" + jwtToken);
-        return new ClientWithResponse(client, client.execute(httpGet));
+        return httpGet;
     }
 
     private ClientWithResponse logoutJwtToken(String jwtToken) throws ZaasConfigurationException, IOException, ZaasClientException {
         CloseableHttpClient client = httpClientProvider.getHttpClient();
         clearZaasClientCookies();
+        return getClientWithResponse(client, createLogoutRequest(logoutEndpoint, jwtToken));
+    }
+
+    static HttpPost createLogoutRequest(String logoutEndpoint, String jwtToken) {
         HttpPost httpPost = new HttpPost(logoutEndpoint);
         if (jwtToken.startsWith(BEARER_AUTHENTICATION_PREFIX)) {
             httpPost.addHeader(HttpHeaders.AUTHORIZATION, jwtToken);
         } else {
             httpPost.addHeader(SM.COOKIE, TOKEN_PREFIX + "=" + jwtToken);
         }
-        return getClientWithResponse(client, httpPost);
+        return httpPost;
     }
 
     private void clearZaasClientCookies() {
@@ -172,11 +256,14 @@ class ZaasJwtService implements TokenService {
 
     private ClientWithResponse getClientWithResponse(CloseableHttpClient client, HttpPost httpPost) throws IOException, ZaasClientException {
         ClientWithResponse clientWithResponse = new ClientWithResponse(client, client.execute(httpPost));
-        int httpResponseCode = clientWithResponse.getResponse().getStatusLine().getStatusCode();
-        if (httpResponseCode == 204) {
-            return clientWithResponse;
-        } else {
-            String obtainedMessage = EntityUtils.toString(clientWithResponse.getResponse().getEntity());
+        checkLogoutResponse(clientWithResponse.getResponse());
+        return clientWithResponse;
+    }
+
+    static void checkLogoutResponse(HttpResponse response) throws IOException, ZaasClientException {
+        int httpResponseCode = response.getStatusLine().getStatusCode();
+        if (httpResponseCode != 204) {
+            String obtainedMessage = EntityUtils.toString(response.getEntity());
             if (httpResponseCode == 401) {
                 throw new ZaasClientException(ZaasClientErrorCodes.EXPIRED_JWT_EXCEPTION, obtainedMessage);
             } else {
@@ -195,10 +282,10 @@ class ZaasJwtService implements TokenService {
         }
     }
 
-    private ZaasToken extractZaasToken(CloseableHttpResponse response) throws IOException, ZaasClientException {
+    static ZaasToken extractZaasToken(HttpResponse response) throws IOException, ZaasClientException {
         int statusCode = response.getStatusLine().getStatusCode();
         if (statusCode == 200) {
-            ZaasToken token = new ObjectMapper().readValue(response.getEntity().getContent(), ZaasToken.class);
+            ZaasToken token = MAPPER.readValue(response.getEntity().getContent(), ZaasToken.class);
 
             if (token == null) {
                 throw new ZaasClientException(ZaasClientErrorCodes.TOKEN_NOT_PROVIDED, "Queried token is null");
@@ -215,7 +302,7 @@ class ZaasJwtService implements TokenService {
         }
     }
 
-    private String extractToken(CloseableHttpResponse response) throws ZaasClientException, IOException {
+    static String extractToken(HttpResponse response) throws ZaasClientException, IOException {
         String token = "";
         int httpResponseCode = response.getStatusLine().getStatusCode();
         if (httpResponseCode == 204) {
@@ -0,0 +1,222 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.zaasclient.service.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.zowe.apiml.zaasclient.exception.ZaasClientErrorCodes;
+import org.zowe.apiml.zaasclient.exception.ZaasClientException;
+import org.zowe.apiml.zaasclient.exception.ZaasConfigurationException;
+import org.zowe.apiml.zaasclient.service.ZaasToken;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies JWT tokens issued by the API ML locally, using the public keys published by the Gateway on its
+ * current public keys endpoint. The keys are fetched lazily and refreshed once the refresh interval elapses or when
+ * a token refers to a key id which is not known yet.
+ * <p>
+ * The verifier answers only for the tokens it is able to decide about. If the signing key is not known, an empty
+ * result is returned and the caller is expected to ask the Gateway instead.
+ */
+@Slf4j
+class ZaasJwtVerifier {
+    static final long DEFAULT_REFRESH_INTERVAL = 10 * 60 * 1000L;
+    static final long MIN_REFRESH_INTERVAL = 30 * 1000L;
+
+    private static final String ALGORITHM = "RS256";
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+    private static final String DOMAIN_CLAIM_NAME = "dom";
+
+    private final String publicKeysEndpoint;
+    private final CloseableClientProvider httpClientProvider;
+    private final ObjectMapper mapper;
+    private final long refreshInterval;
+
+    private final Object refreshLock = new Object();
+    private volatile List<VerificationKey> keys = Collections.emptyList();
+    private volatile long lastRefresh;
+
+    ZaasJwtVerifier(CloseableClientProvider httpClientProvider, String publicKeysEndpoint, ObjectMapper mapper, long refreshInterval) {
+        this.httpClientProvider = httpClientProvider;
+        this.publicKeysEndpoint = publicKeysEndpoint;
+        this.mapper = mapper;
+        this.refreshInterval = refreshInterval > 0 ? refreshInterval : DEFAULT_REFRESH_INTERVAL;
+    }
+
+    /**
+     * Verify the signature of the token and read its claims.
+     *
+     * @param jwtToken JWT token to verify
+     * @return details about the token or empty if the token was not signed by any of the known keys
+     * @throws ZaasClientException if the token was signed by a known key, but the signature doesn't match
+     */
+    Optional<ZaasToken> verify(String jwtToken) throws ZaasClientException {
+        String[] parts = jwtToken.split("\\.");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+
+        JsonNode header = readPart(parts[0]);
+        if ((header == null) || !ALGORITHM.equals(header.path("alg").asText())) {
+            return Optional.empty();
+        }
+        String keyId = header.hasNonNull("kid") ? header.get("kid").asText() : null;
+
+        List<VerificationKey> candidates = getKeys(keyId);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        byte[] content = (parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII);
+        byte[] signature;
+        try {
+            signature = decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        for (VerificationKey key : candidates) {
+            if (isSignedBy(content, signature, key.getPublicKey())) {
+                return Optional.ofNullable(toZaasToken(readPart(parts[1])));
+            }
+        }
+
+        if (keyId != null) {
+            throw new ZaasClientException(ZaasClientErrorCodes.INVALID_JWT_TOKEN, "Queried token is invalid or expired");
+        }
+        return Optional.empty();
+    }
+
+    private List<VerificationKey> getKeys(String keyId) {
+        long now = System.currentTimeMillis();
+        if (now - lastRefresh >= refreshInterval) {
+            refresh(now);
+        }
+
+        List<VerificationKey> candidates = selectKeys(keyId);
+        if (candidates.isEmpty() && (now - lastRefresh >= MIN_REFRESH_INTERVAL)) {
+            // an unknown key id could mean the Gateway rotated its keys, don't wait for the regular refresh
+            refresh(now);
+            candidates = selectKeys(keyId);
+        }
+        return candidates;
+    }
+
+    private List<VerificationKey> selectKeys(String keyId) {
+        if (keyId == null) {
+            return keys;
+        }
+        return keys.stream()
+            .filter(key -> keyId.equals(key.getKeyId()))
+            .collect(Collectors.toList());
+    }
+
+    private void refresh(long now) {
+        synchronized (refreshLock) {
+            if (lastRefresh >= now) {
+                return;
+            }
+            lastRefresh = System.currentTimeMillis();
+            try {
+                keys = fetchKeys();
+            } catch (IOException | ZaasConfigurationException | GeneralSecurityException | RuntimeException e) {
+                log.warn("It wasn't possible to load the public keys from {}. {}", publicKeysEndpoint, e.getMessage());
+            }
+        }
+    }
+
+    private List<VerificationKey> fetchKeys() throws IOException, ZaasConfigurationException, GeneralSecurityException {
+        CloseableHttpClient client = httpClientProvider.getHttpClient();
+        try (CloseableHttpResponse response = client.execute(new HttpGet(publicKeysEndpoint))) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode != 200) {
+                throw new IOException("Unexpected status code " + statusCode + ": " + EntityUtils.toString(response.getEntity()));
+            }
+
+            JsonNode jwkSet = mapper.readTree(response.getEntity().getContent());
+            List<VerificationKey> loaded = new ArrayList<>();
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (JsonNode jwk : jwkSet.path("keys")) {
+                if (!"RSA".equals(jwk.path("kty").asText())) {
+                    continue;
+                }
+                RSAPublicKeySpec keySpec = new RSAPublicKeySpec(
+                    new BigInteger(1, decode(jwk.path("n").asText())),
+                    new BigInteger(1, decode(jwk.path("e").asText()))
+                );
+                String keyId = jwk.hasNonNull("kid") ? jwk.get("kid").asText() : null;
+                loaded.add(new VerificationKey(keyId, keyFactory.generatePublic(keySpec)));
+            }
+            return Collections.unmodifiableList(loaded);
+        }
+    }
+
+    private boolean isSignedBy(byte[] content, byte[] signature, PublicKey publicKey) {
+        try {
+            Signature verifier = Signature.getInstance(SIGNATURE_ALGORITHM);
+            verifier.initVerify(publicKey);
+            verifier.update(content);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    private ZaasToken toZaasToken(JsonNode claims) {
+        if (claims == null) {
+            return null;
+        }
+
+        ZaasToken token = new ZaasToken();
+        token.setDomain(claims.path(DOMAIN_CLAIM_NAME).asText(null));
+        token.setUserId(claims.path("sub").asText(null));
+        if (claims.has("iat")) {
+            token.setCreation(new Date(claims.get("iat").asLong() * 1000));
+        }
+        if (claims.has("exp")) {
+            token.setExpiration(new Date(claims.get("exp").asLong() * 1000));
+            token.setExpired(token.getExpiration().getTime() <= System.currentTimeMillis());
+        }
+        return token;
+    }
+
+    private JsonNode readPart(String part) {
+        try {
+            return mapper.readTree(decode(part));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] decode(String value) {
+        return Base64.getUrlDecoder().decode(value);
+    }
+
+    @Value
+    private static class VerificationKey {
+        String keyId;
+        PublicKey publicKey;
+    }
+}
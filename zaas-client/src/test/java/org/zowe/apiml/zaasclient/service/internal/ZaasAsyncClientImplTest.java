@@ -0,0 +1,153 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package org.zowe.apiml.zaasclient.service.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.cookie.SM;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.zowe.apiml.zaasclient.exception.ZaasClientErrorCodes;
+import org.zowe.apiml.zaasclient.exception.ZaasClientException;
+import org.zowe.apiml.zaasclient.service.ZaasToken;
+
+import java.net.ConnectException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ZaasAsyncClientImplTest {
+    private static final String BASE_URL = "https://localhost:10010/api/v1/gateway/auth";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Mock
+    private CloseableHttpAsyncClient httpAsyncClient;
+
+    @Mock
+    private ZaasHttpAsyncClientProvider clientProvider;
+
+    private ZaasAsyncClientImpl zaasAsyncClient;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(httpAsyncClient).when(clientProvider).getHttpClient();
+        doReturn(true).when(httpAsyncClient).isRunning();
+
+        zaasAsyncClient = new ZaasAsyncClientImpl(clientProvider, BASE_URL);
+    }
+
+    @Test
+    void givenValidCredentials_whenLogin_thenCompleteWithToken() throws Exception {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 204, null);
+        response.addHeader(SM.SET_COOKIE, "apimlAuthenticationToken=token; Path=/");
+        respond(response);
+
+        assertEquals("token", zaasAsyncClient.login("user", "password").get());
+    }
+
+    @Test
+    void givenEmptyCredentials_whenLogin_thenFailWithoutCall() {
+        assertFailsWith(ZaasClientErrorCodes.EMPTY_NULL_USERNAME_PASSWORD, zaasAsyncClient.login("user", ""));
+        verify(httpAsyncClient, never()).execute(any(HttpUriRequest.class), any(HttpClientContext.class), any());
+    }
+
+    @Test
+    void givenValidToken_whenQuery_thenCompleteWithDetails() throws Exception {
+        ZaasToken expectedToken = new ZaasToken();
+        expectedToken.setUserId("user");
+        respond(response(200, mapper.writeValueAsString(expectedToken)));
+
+        assertEquals(expectedToken, zaasAsyncClient.query("token").get());
+    }
+
+    @Test
+    void givenInvalidToken_whenQuery_thenFailWithInvalidToken() {
+        respond(response(401, ""));
+
+        assertFailsWith(ZaasClientErrorCodes.INVALID_JWT_TOKEN, zaasAsyncClient.query("token"));
+    }
+
+    @Test
+    void givenGatewayUnavailable_whenPassTicket_thenFailWithServiceUnavailable() {
+        doAnswer(invocation -> {
+            FutureCallback<HttpResponse> callback = invocation.getArgument(2);
+            callback.failed(new ConnectException("refused"));
+            return null;
+        }).when(httpAsyncClient).execute(any(HttpUriRequest.class), any(HttpClientContext.class), any());
+
+        assertFailsWith(ZaasClientErrorCodes.SERVICE_UNAVAILABLE, zaasAsyncClient.passTicket("token", "APPLID"));
+    }
+
+    @Test
+    void givenValidToken_whenLogout_thenComplete() throws Exception {
+        respond(response(204, ""));
+
+        assertNull(zaasAsyncClient.logout("token").get());
+    }
+
+    @Test
+    void givenConcurrentCalls_whenExecuted_thenEachCallHasOwnCookieStore() throws Exception {
+        respond(response(204, ""));
+
+        zaasAsyncClient.logout("token1").get();
+        zaasAsyncClient.logout("token2").get();
+
+        ArgumentCaptor<HttpClientContext> contexts = ArgumentCaptor.forClass(HttpClientContext.class);
+        verify(httpAsyncClient, times(2)).execute(any(HttpUriRequest.class), contexts.capture(), any());
+        assertNotSame(contexts.getAllValues().get(0).getCookieStore(), contexts.getAllValues().get(1).getCookieStore());
+    }
+
+    @Test
+    void givenClosedClient_whenQuery_thenFailWithServiceUnavailable() {
+        doReturn(false).when(httpAsyncClient).isRunning();
+
+        assertFailsWith(ZaasClientErrorCodes.SERVICE_UNAVAILABLE, zaasAsyncClient.query("token"));
+    }
+
+    private void respond(HttpResponse response) {
+        doAnswer(invocation -> {
+            FutureCallback<HttpResponse> callback = invocation.getArgument(2);
+            callback.completed(response);
+            return null;
+        }).when(httpAsyncClient).execute(any(HttpUriRequest.class), any(HttpClientContext.class), any());
+    }
+
+    private HttpResponse response(int statusCode, String content) {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+        response.setEntity(new StringEntity(content, ContentType.APPLICATION_JSON));
+        return response;
+    }
+
+    private void assertFailsWith(ZaasClientErrorCodes code, CompletableFuture<?> future) {
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof ZaasClientException);
+        assertEquals(code, ((ZaasClientException) exception.getCause()).getErrorCode());
+    }
+}
@@ -14,6 +14,7 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.ProtocolVersion;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.cookie.SM;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
@@ -35,8 +36,17 @@ import org.zowe.apiml.zaasclient.service.ZaasToken;
 
 import javax.servlet.http.Cookie;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -174,6 +184,44 @@ class ZaasJwtServiceTest {
         zaasClientTestAssertThrows(ZaasClientErrorCodes.TOKEN_NOT_PROVIDED, "No token provided", () -> zaasJwtService.query(mockRequest));
     }
 
+    @Test
+    void givenLocalValidation_whenQueryTokenSignedByGatewayKey_thenVerifyLocallyAndCache() throws Exception {
+        KeyPair keyPair = generateKeyPair();
+        zaasJwtService = new ZaasJwtService(closeableClientProvider, BASE_URL, true, 0);
+        mockHttpClient(200, jwkSet(keyPair), 200, "");
+
+        String jwtToken = createJwtToken(keyPair, "user", System.currentTimeMillis() / 1000 + 3600);
+        ZaasToken token = zaasJwtService.query(jwtToken);
+        assertEquals("user", token.getUserId());
+        assertEquals("security-domain", token.getDomain());
+
+        assertSame(token, zaasJwtService.query(jwtToken));
+        verify(closeableHttpClient, times(1)).execute(any());
+        verify(closeableHttpClient, never()).execute(argThat(x -> x.getURI().toString().endsWith("/query")));
+    }
+
+    @Test
+    void givenLocalValidation_whenQueryTokenSignedByUnknownKey_thenQueryGateway() throws Exception {
+        zaasJwtService = new ZaasJwtService(closeableClientProvider, BASE_URL, true, 0);
+        ZaasToken expectedToken = new ZaasToken();
+        expectedToken.setUserId("remote");
+        mockHttpClient(200, jwkSet(generateKeyPair()), 200, mapper.writeValueAsString(expectedToken));
+
+        ZaasToken actualToken = zaasJwtService.query(createJwtToken(generateKeyPair(), "user", System.currentTimeMillis() / 1000 + 3600));
+        assertEquals(expectedToken, actualToken);
+        verify(closeableHttpClient, times(1)).execute(argThat(x -> x.getURI().toString().endsWith("/query")));
+    }
+
+    @Test
+    void givenLocalValidation_whenQueryExpiredToken_thenThrowException() throws Exception {
+        KeyPair keyPair = generateKeyPair();
+        zaasJwtService = new ZaasJwtService(closeableClientProvider, BASE_URL, true, 0);
+        mockHttpClient(200, jwkSet(keyPair), 200, "");
+
+        String jwtToken = createJwtToken(keyPair, "user", System.currentTimeMillis() / 1000 - 60);
+        zaasClientTestAssertThrows(ZaasClientErrorCodes.EXPIRED_JWT_EXCEPTION, "Queried token is expired", () -> zaasJwtService.query(jwtToken));
+    }
+
     private void mockHttpClient(int statusCode) throws IOException {
         mockHttpClient(statusCode, "");
     }
@@ -187,6 +235,61 @@ class ZaasJwtServiceTest {
         doReturn(response).when(closeableHttpClient).execute(any());
     }
 
+    private void mockHttpClient(int keysStatusCode, String keysContent, int statusCode, String content) throws IOException {
+        doAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            if (request.getURI().toString().endsWith("/keys/public/current")) {
+                return mockResponse(keysStatusCode, keysContent);
+            }
+            return mockResponse(statusCode, content);
+        }).when(closeableHttpClient).execute(any());
+    }
+
+    private CloseableHttpResponse mockResponse(int statusCode, String content) {
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        doReturn(new BasicStatusLine(mock(ProtocolVersion.class), statusCode, null))
+            .when(response).getStatusLine();
+        doReturn(new StringEntity(content, ContentType.APPLICATION_JSON)).when(response).getEntity();
+        return response;
+    }
+
+    private KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private String jwkSet(KeyPair keyPair) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"e\":\"" + base64Url(publicKey.getPublicExponent()) +
+            "\",\"n\":\"" + base64Url(publicKey.getModulus()) + "\"}]}";
+    }
+
+    private String createJwtToken(KeyPair keyPair, String userId, long expiration) throws GeneralSecurityException {
+        String header = base64Url("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+        String claims = base64Url(("{\"sub\":\"" + userId + "\",\"dom\":\"security-domain\",\"iat\":" +
+            (expiration - 3600) + ",\"exp\":" + expiration + "}").getBytes(StandardCharsets.UTF_8));
+
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update((header + "." + claims).getBytes(StandardCharsets.US_ASCII));
+        return header + "." + claims + "." + base64Url(signature.sign());
+    }
+
+    private String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if ((bytes.length > 1) && (bytes[0] == 0)) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return base64Url(bytes);
+    }
+
+    private String base64Url(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
     private void zaasClientTestAssertThrows(ZaasClientErrorCodes code, String message, Executable executable) {
         ZaasClientException exc = new ZaasClientException(code, message);
         Exception exception = assertThrows(ZaasClientException.class, executable);